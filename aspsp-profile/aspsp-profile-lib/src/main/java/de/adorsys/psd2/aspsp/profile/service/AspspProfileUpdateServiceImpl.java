@@ -32,6 +32,7 @@ import java.util.List;
 public class AspspProfileUpdateServiceImpl implements AspspProfileUpdateService {
 
     private final ProfileConfiguration profileConfiguration;
+    private final AspspProfileVersionHolder aspspProfileVersionHolder;
 
     /**
      * Update sca approach
@@ -42,6 +43,7 @@ public class AspspProfileUpdateServiceImpl implements AspspProfileUpdateService
     public void updateScaApproaches(List<ScaApproach> scaApproaches) {
         profileConfiguration.getSetting()
             .setScaApproaches(scaApproaches);
+        aspspProfileVersionHolder.increaseVersion();
     }
 
     /**
@@ -89,5 +91,6 @@ public class AspspProfileUpdateServiceImpl implements AspspProfileUpdateService
         setting.setEntryReferenceFromSupported(aspspSettings.isEntryReferenceFromSupported());
         setting.setSupportedTransactionApplicationTypes(aspspSettings.getSupportedTransactionApplicationTypes());
         setting.setStartAuthorisationMode(aspspSettings.getStartAuthorisationMode() == null ? StartAuthorisationMode.AUTO.getValue() : aspspSettings.getStartAuthorisationMode().getValue());
+        aspspProfileVersionHolder.increaseVersion();
     }
 }
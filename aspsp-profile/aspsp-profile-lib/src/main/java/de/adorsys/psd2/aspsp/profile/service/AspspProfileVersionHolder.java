@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.aspsp.profile.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the version of ASPSP profile settings, which is increased on every update of the profile.
+ * <p>
+ * The version is exposed as an entity tag, that also contains the start time of the application, so tags issued
+ * before a restart never match the current one.
+ */
+@Component
+public class AspspProfileVersionHolder {
+    private final long startTime = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong(1);
+    private final List<Consumer<String>> changeListeners = new CopyOnWriteArrayList<>();
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Returns the current version of the profile as a quoted entity tag
+     *
+     * @return entity tag of the current profile version
+     */
+    public String getEtag() {
+        return buildEtag(version.get());
+    }
+
+    /**
+     * Checks whether given entity tag matches the current version of the profile
+     *
+     * @param etag entity tag, sent by the client (may be <code>null</code>)
+     * @return <code>true</code> if the client already has the current version of the profile
+     */
+    public boolean isCurrent(String etag) {
+        return getEtag().equals(etag);
+    }
+
+    /**
+     * Increases the version of the profile and notifies all registered change listeners with the new entity tag
+     */
+    public void increaseVersion() {
+        String etag = buildEtag(version.incrementAndGet());
+        changeListeners.forEach(listener -> listener.accept(etag));
+    }
+
+    public void addChangeListener(Consumer<String> listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(Consumer<String> listener) {
+        changeListeners.remove(listener);
+    }
+
+    private String buildEtag(long currentVersion) {
+        return "\"" + startTime + "-" + currentVersion + "\"";
+    }
+}
@@ -38,6 +38,7 @@ import java.util.*;
 
 import static de.adorsys.psd2.aspsp.profile.domain.SupportedAccountReferenceField.IBAN;
 import static de.adorsys.psd2.xs2a.core.ais.BookingStatus.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -82,6 +83,8 @@ public class AspspProfileUpdateServiceImplTest {
 
     @Mock
     private ProfileConfiguration profileConfiguration;
+    @Mock
+    private AspspProfileVersionHolder aspspProfileVersionHolder;
 
     @Before
     public void setUp() {
@@ -95,6 +98,7 @@ public class AspspProfileUpdateServiceImplTest {
 
         //Then:
         Assertions.assertThat(profileConfiguration.getSetting().getScaApproaches()).isEqualTo(Collections.singletonList(REDIRECT_APPROACH));
+        verify(aspspProfileVersionHolder).increaseVersion();
     }
 
     @Test
@@ -142,6 +146,7 @@ public class AspspProfileUpdateServiceImplTest {
         Assertions.assertThat(setting.isEntryReferenceFromSupported()).isEqualTo(ENTRY_REFERENCE_FROM_SUPPORTED);
         Assertions.assertThat(setting.getSupportedTransactionApplicationTypes()).isEqualTo(SUPPORTED_TRANSACTION_APPLICATION_TYPES);
         Assertions.assertThat(setting.getStartAuthorisationMode()).isEqualTo(START_AUTHORISATION_MODE.getValue());
+        verify(aspspProfileVersionHolder).increaseVersion();
     }
 
     private static List<SupportedAccountReferenceField> getSupportedAccountReferenceFields() {
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.aspsp.profile.service;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AspspProfileVersionHolderTest {
+    private AspspProfileVersionHolder aspspProfileVersionHolder;
+
+    @Before
+    public void setUp() {
+        aspspProfileVersionHolder = new AspspProfileVersionHolder();
+    }
+
+    @Test
+    public void increaseVersion_newEtagIssued() {
+        // Given
+        String etag = aspspProfileVersionHolder.getEtag();
+
+        // When
+        aspspProfileVersionHolder.increaseVersion();
+
+        // Then
+        assertThat(aspspProfileVersionHolder.getVersion()).isEqualTo(2);
+        assertThat(aspspProfileVersionHolder.isCurrent(etag)).isFalse();
+        assertThat(aspspProfileVersionHolder.isCurrent(aspspProfileVersionHolder.getEtag())).isTrue();
+    }
+
+    @Test
+    public void isCurrent_noEtag_false() {
+        assertThat(aspspProfileVersionHolder.isCurrent(null)).isFalse();
+    }
+
+    @Test
+    public void increaseVersion_listenersNotifiedUntilRemoved() {
+        // Given
+        List<String> notifiedEtags = new ArrayList<>();
+        Consumer<String> listener = notifiedEtags::add;
+        aspspProfileVersionHolder.addChangeListener(listener);
+
+        // When
+        aspspProfileVersionHolder.increaseVersion();
+        aspspProfileVersionHolder.removeChangeListener(listener);
+        aspspProfileVersionHolder.increaseVersion();
+
+        // Then
+        assertThat(notifiedEtags).hasSize(1);
+        assertThat(notifiedEtags.get(0)).endsWith("-2\"");
+    }
+}
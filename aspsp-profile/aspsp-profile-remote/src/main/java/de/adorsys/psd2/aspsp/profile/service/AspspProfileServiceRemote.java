@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2018 adorsys GmbH & Co KG
+ * Copyright 2018-2019 adorsys GmbH & Co KG
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,32 +19,114 @@ package de.adorsys.psd2.aspsp.profile.service;
 import de.adorsys.psd2.aspsp.profile.config.AspspProfileRemoteUrls;
 import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class AspspProfileServiceRemote implements AspspProfileService {
-    @Qualifier("aspspProfileRestTemplate")
     private final RestTemplate aspspProfileRestTemplate;
     private final AspspProfileRemoteUrls aspspProfileRemoteUrls;
+    private final long refreshIntervalMs;
+
+    private final ProfileSnapshotHolder<AspspSettings> aspspSettingsSnapshot;
+    private final ProfileSnapshotHolder<List<ScaApproach>> scaApproachesSnapshot;
+    private ScheduledExecutorService refreshExecutor;
+
+    public AspspProfileServiceRemote(@Qualifier("aspspProfileRestTemplate") RestTemplate aspspProfileRestTemplate,
+                                     AspspProfileRemoteUrls aspspProfileRemoteUrls,
+                                     @Value("${aspsp-profile.cache.refresh-interval.ms:10000}") long refreshIntervalMs) {
+        this.aspspProfileRestTemplate = aspspProfileRestTemplate;
+        this.aspspProfileRemoteUrls = aspspProfileRemoteUrls;
+        this.refreshIntervalMs = refreshIntervalMs;
+        this.aspspSettingsSnapshot = new ProfileSnapshotHolder<>("ASPSP settings", this::loadAspspSettings, UnaryOperator.identity());
+        this.scaApproachesSnapshot = new ProfileSnapshotHolder<>("SCA approaches", this::loadScaApproaches,
+                                                                 approaches -> Collections.unmodifiableList(new ArrayList<>(approaches)));
+    }
+
+    @PostConstruct
+    public void startRefresh() {
+        if (!isCacheEnabled()) {
+            return;
+        }
+
+        refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "aspsp-profile-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refreshExecutor.scheduleWithFixedDelay(this::refresh, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopRefresh() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
 
     @Override
     public AspspSettings getAspspSettings() {
-        return aspspProfileRestTemplate.exchange(
-            aspspProfileRemoteUrls.getAspspSettings(), HttpMethod.GET, null, AspspSettings.class).getBody();
+        return isCacheEnabled()
+                   ? aspspSettingsSnapshot.get()
+                   : loadAspspSettings(null).getBody();
     }
 
     @Override
     public List<ScaApproach> getScaApproaches() {
+        return isCacheEnabled()
+                   ? scaApproachesSnapshot.get()
+                   : loadScaApproaches(null).getBody();
+    }
+
+    /**
+     * Reloads cached profile data from the ASPSP profile server. Data that hasn't changed since the last load
+     * (according to its ETag) is not transferred again.
+     */
+    public void refresh() {
+        aspspSettingsSnapshot.refresh();
+        scaApproachesSnapshot.refresh();
+        log.debug("Refreshed ASPSP profile: {}, {}", aspspSettingsSnapshot, scaApproachesSnapshot);
+    }
+
+    private boolean isCacheEnabled() {
+        return refreshIntervalMs > 0;
+    }
+
+    private ResponseEntity<AspspSettings> loadAspspSettings(String etag) {
         return aspspProfileRestTemplate.exchange(
-            aspspProfileRemoteUrls.getScaApproaches(), HttpMethod.GET, null, new ParameterizedTypeReference<List<ScaApproach>>() {
-            }).getBody();
+            aspspProfileRemoteUrls.getAspspSettings(), HttpMethod.GET, buildRequest(etag), AspspSettings.class);
+    }
+
+    private ResponseEntity<List<ScaApproach>> loadScaApproaches(String etag) {
+        return aspspProfileRestTemplate.exchange(
+            aspspProfileRemoteUrls.getScaApproaches(), HttpMethod.GET, buildRequest(etag), new ParameterizedTypeReference<List<ScaApproach>>() {
+            });
+    }
+
+    private HttpEntity<Void> buildRequest(String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setIfNoneMatch(etag);
+        }
+        return new HttpEntity<>(headers);
     }
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.aspsp.profile.service;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the last known snapshot of some ASPSP profile data, loaded from the profile server.
+ * <p>
+ * Readers are always served from memory, the profile server is called only on the very first access and on explicit
+ * refresh. If the refresh fails, the previous snapshot is kept and served further.
+ *
+ * @param <T> type of the profile data
+ */
+@Slf4j
+public class ProfileSnapshotHolder<T> {
+    private final String name;
+    private final Function<String, ResponseEntity<T>> loader;
+    private final UnaryOperator<T> copier;
+    private final LongSupplier clock;
+    private final AtomicReference<Snapshot<T>> snapshot = new AtomicReference<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong refreshFailureCount = new AtomicLong();
+
+    /**
+     * @param name   name of the profile data, used for logging
+     * @param loader function, loading the profile data from the server. Receives the ETag of the current snapshot
+     *               (or <code>null</code>) and may return <code>304 Not Modified</code> if the data hasn't changed
+     * @param copier function, making an unmodifiable copy of the loaded data
+     */
+    public ProfileSnapshotHolder(String name, Function<String, ResponseEntity<T>> loader, UnaryOperator<T> copier) {
+        this(name, loader, copier, System::currentTimeMillis);
+    }
+
+    ProfileSnapshotHolder(String name, Function<String, ResponseEntity<T>> loader, UnaryOperator<T> copier, LongSupplier clock) {
+        this.name = name;
+        this.loader = loader;
+        this.copier = copier;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the current snapshot of the profile data, loading it synchronously if there is no snapshot yet
+     *
+     * @return profile data
+     */
+    public T get() {
+        Snapshot<T> current = snapshot.get();
+        if (current != null) {
+            hitCount.incrementAndGet();
+            return current.getValue();
+        }
+
+        synchronized (this) {
+            current = snapshot.get();
+            if (current == null) {
+                missCount.incrementAndGet();
+                current = load(null);
+            } else {
+                hitCount.incrementAndGet();
+            }
+        }
+        return current.getValue();
+    }
+
+    /**
+     * Reloads the profile data from the server. In case of failure the previous snapshot stays in use.
+     */
+    public void refresh() {
+        Snapshot<T> current = snapshot.get();
+        if (current == null) {
+            // Nobody has requested the data yet, it will be loaded on the first access
+            return;
+        }
+
+        try {
+            load(current.getEtag());
+        } catch (RuntimeException e) {
+            refreshFailureCount.incrementAndGet();
+            log.warn("Refresh of {} from ASPSP profile failed, serving data loaded {} ms ago: {}", name, getRefreshLagMs(), e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the time since the last successful load of the profile data
+     *
+     * @return time in milliseconds or <code>-1</code> if the data wasn't loaded yet
+     */
+    public long getRefreshLagMs() {
+        Snapshot<T> current = snapshot.get();
+        return current == null
+                   ? -1
+                   : clock.getAsLong() - current.getLoadTime();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getRefreshFailureCount() {
+        return refreshFailureCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ProfileSnapshotHolder{name=" + name
+                   + ", refreshLagMs=" + getRefreshLagMs()
+                   + ", hits=" + getHitCount()
+                   + ", misses=" + getMissCount()
+                   + ", refreshFailures=" + getRefreshFailureCount() + "}";
+    }
+
+    private Snapshot<T> load(String etag) {
+        ResponseEntity<T> response = loader.apply(etag);
+        Snapshot<T> current = snapshot.get();
+
+        Snapshot<T> loaded;
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && current != null) {
+            loaded = new Snapshot<>(current.getValue(), current.getEtag(), clock.getAsLong());
+        } else {
+            loaded = new Snapshot<>(copier.apply(response.getBody()), response.getHeaders().getETag(), clock.getAsLong());
+            log.debug("Loaded new snapshot of {} from ASPSP profile", name);
+        }
+
+        snapshot.set(loaded);
+        return loaded;
+    }
+
+    @Value
+    private static class Snapshot<T> {
+        private T value;
+        private String etag;
+        private long loadTime;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.aspsp.profile.service;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProfileSnapshotHolderTest {
+    private static final String ETAG = "\"1\"";
+    private static final String NEW_ETAG = "\"2\"";
+
+    private List<String> requestedEtags;
+    private List<ResponseEntity<String>> responses;
+    private AtomicLong time;
+    private ProfileSnapshotHolder<String> snapshotHolder;
+
+    @Before
+    public void setUp() {
+        requestedEtags = new ArrayList<>();
+        responses = new ArrayList<>();
+        time = new AtomicLong(1000);
+        snapshotHolder = new ProfileSnapshotHolder<>("test", this::load, UnaryOperator.identity(), time::get);
+    }
+
+    @Test
+    public void get_severalCalls_loadedOnce() {
+        // Given
+        responses.add(response("value", ETAG));
+
+        // When
+        String first = snapshotHolder.get();
+        String second = snapshotHolder.get();
+
+        // Then
+        assertThat(first).isEqualTo("value");
+        assertThat(second).isEqualTo("value");
+        assertThat(requestedEtags).containsExactly((String) null);
+        assertThat(snapshotHolder.getMissCount()).isEqualTo(1);
+        assertThat(snapshotHolder.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void refresh_notLoadedYet_nothingRequested() {
+        // When
+        snapshotHolder.refresh();
+
+        // Then
+        assertThat(requestedEtags).isEmpty();
+        assertThat(snapshotHolder.getRefreshLagMs()).isEqualTo(-1);
+    }
+
+    @Test
+    public void refresh_changedData_newValueServed() {
+        // Given
+        responses.add(response("value", ETAG));
+        responses.add(response("new value", NEW_ETAG));
+        snapshotHolder.get();
+
+        // When
+        snapshotHolder.refresh();
+
+        // Then
+        assertThat(snapshotHolder.get()).isEqualTo("new value");
+        assertThat(requestedEtags).containsExactly(null, ETAG);
+    }
+
+    @Test
+    public void refresh_notModified_oldValueKeptAndLagReset() {
+        // Given
+        responses.add(response("value", ETAG));
+        responses.add(new ResponseEntity<>(HttpStatus.NOT_MODIFIED));
+        responses.add(response("new value", NEW_ETAG));
+        snapshotHolder.get();
+        time.addAndGet(500);
+
+        // When
+        snapshotHolder.refresh();
+
+        // Then
+        assertThat(snapshotHolder.get()).isEqualTo("value");
+        assertThat(snapshotHolder.getRefreshLagMs()).isEqualTo(0);
+
+        // When
+        snapshotHolder.refresh();
+
+        // Then
+        assertThat(requestedEtags).containsExactly(null, ETAG, ETAG);
+    }
+
+    @Test
+    public void refresh_profileUnavailable_staleValueServed() {
+        // Given
+        responses.add(response("value", ETAG));
+        snapshotHolder.get();
+        time.addAndGet(500);
+
+        // When
+        snapshotHolder.refresh();
+
+        // Then
+        assertThat(snapshotHolder.get()).isEqualTo("value");
+        assertThat(snapshotHolder.getRefreshFailureCount()).isEqualTo(1);
+        assertThat(snapshotHolder.getRefreshLagMs()).isEqualTo(500);
+    }
+
+    private ResponseEntity<String> load(String etag) {
+        requestedEtags.add(etag);
+        if (responses.isEmpty()) {
+            throw new IllegalStateException("Profile is unavailable");
+        }
+        return responses.remove(0);
+    }
+
+    private ResponseEntity<String> response(String body, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+}
@@ -18,18 +18,26 @@ package de.adorsys.psd2.aspsp.profile.web;
 
 import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
 import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileVersionHolder;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @RestController
 @RequiredArgsConstructor
@@ -38,18 +46,67 @@ import java.util.List;
 public class AspspProfileController {
 
     private final AspspProfileService aspspProfileService;
+    private final AspspProfileVersionHolder aspspProfileVersionHolder;
+
+    @Value("${aspsp-profile.changes.timeout.ms:30000}")
+    private long changesTimeoutMs;
 
     @GetMapping
     @ApiOperation(value = "Reads aspsp specific settings")
-    @ApiResponse(code = 200, message = "Ok", response = AspspSettings.class)
-    public ResponseEntity<AspspSettings> getAspspSettings() {
-        return new ResponseEntity<>(aspspProfileService.getAspspSettings(), HttpStatus.OK);
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Ok", response = AspspSettings.class),
+        @ApiResponse(code = 304, message = "Not modified")})
+    public ResponseEntity<AspspSettings> getAspspSettings(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return buildVersionedResponse(ifNoneMatch, aspspProfileService::getAspspSettings);
     }
 
     @GetMapping(path = "/sca-approaches")
     @ApiOperation(value = "Reads list of sca approaches")
-    @ApiResponse(code = 200, message = "Ok", response = ScaApproach.class)
-    public ResponseEntity<List<ScaApproach>> getScaApproaches() {
-        return new ResponseEntity<>(aspspProfileService.getScaApproaches(), HttpStatus.OK);
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Ok", response = ScaApproach.class),
+        @ApiResponse(code = 304, message = "Not modified")})
+    public ResponseEntity<List<ScaApproach>> getScaApproaches(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return buildVersionedResponse(ifNoneMatch, aspspProfileService::getScaApproaches);
+    }
+
+    @GetMapping(path = "/changes")
+    @ApiOperation(value = "Waits for the change of aspsp profile. Responds immediately if the profile version differs from the given one, " +
+                              "otherwise as soon as the profile is updated or after the timeout")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Profile has been changed, new version is returned in ETag header"),
+        @ApiResponse(code = 304, message = "Profile hasn't been changed until the timeout")})
+    public DeferredResult<ResponseEntity<Void>> waitForChanges(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // If the version is still the same at the timeout, it is the one that is current now
+        DeferredResult<ResponseEntity<Void>> result = new DeferredResult<>(changesTimeoutMs, buildVersionResponse(HttpStatus.NOT_MODIFIED, aspspProfileVersionHolder.getEtag()));
+
+        Consumer<String> changeListener = etag -> result.setResult(buildVersionResponse(HttpStatus.OK, etag));
+        aspspProfileVersionHolder.addChangeListener(changeListener);
+        result.onCompletion(() -> aspspProfileVersionHolder.removeChangeListener(changeListener));
+
+        // The profile might have been changed before the listener was registered
+        if (!aspspProfileVersionHolder.isCurrent(ifNoneMatch)) {
+            result.setResult(buildVersionResponse(HttpStatus.OK, aspspProfileVersionHolder.getEtag()));
+        }
+        return result;
+    }
+
+    private <T> ResponseEntity<T> buildVersionedResponse(String ifNoneMatch, Supplier<T> bodySupplier) {
+        // Version is read before the data, so that the returned tag is never newer than the data itself
+        String etag = aspspProfileVersionHolder.getEtag();
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                       .eTag(etag)
+                       .build();
+        }
+
+        return ResponseEntity.ok()
+                   .eTag(etag)
+                   .body(bodySupplier.get());
+    }
+
+    private ResponseEntity<Void> buildVersionResponse(HttpStatus status, String etag) {
+        return ResponseEntity.status(status)
+                   .eTag(etag)
+                   .build();
     }
 }
@@ -20,6 +20,7 @@ import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
 import de.adorsys.psd2.aspsp.profile.domain.MulticurrencyAccountLevel;
 import de.adorsys.psd2.aspsp.profile.domain.SupportedAccountReferenceField;
 import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileVersionHolder;
 import de.adorsys.psd2.xs2a.core.ais.BookingStatus;
 import de.adorsys.psd2.xs2a.core.profile.PaymentType;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
@@ -28,18 +29,32 @@ import de.adorsys.psd2.xs2a.core.profile.StartAuthorisationMode;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import javax.servlet.AsyncListener;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static de.adorsys.psd2.aspsp.profile.domain.SupportedAccountReferenceField.IBAN;
 import static de.adorsys.psd2.xs2a.core.ais.BookingStatus.*;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(MockitoJUnitRunner.class)
 public class AspspProfileControllerTest {
@@ -76,45 +91,138 @@ public class AspspProfileControllerTest {
     private static final List<String> SUPPORTED_TRANSACTION_APPLICATION_TYPES = Arrays.asList("JSON", "XML");
     private static final boolean ENTRY_REFERENCE_FROM_SUPPORTED = true;
     private static final StartAuthorisationMode START_AUTHORISATION_MODE = StartAuthorisationMode.AUTO;
+    private static final String OLD_ETAG = "\"1563174000000-1\"";
+    private static final String ETAG = "\"1563174000000-2\"";
+    private static final String NEW_ETAG = "\"1563174000000-3\"";
+    private static final String CHANGES_URL = "/api/v1/aspsp-profile/changes";
 
     @InjectMocks
     private AspspProfileController aspspProfileController;
 
     @Mock
     private AspspProfileService aspspProfileService;
+    @Mock
+    private AspspProfileVersionHolder aspspProfileVersionHolder;
 
     @Before
     public void setUpAccountServiceMock() {
-        when(aspspProfileService.getAspspSettings())
-            .thenReturn(buildAspspSettings());
-        when(aspspProfileService.getScaApproaches())
-            .thenReturn(Collections.singletonList(ScaApproach.REDIRECT));
+        when(aspspProfileVersionHolder.getEtag())
+            .thenReturn(ETAG);
     }
 
     @Test
     public void getAspspSettings() {
         //Given:
         HttpStatus expectedStatusCode = HttpStatus.OK;
+        when(aspspProfileService.getAspspSettings())
+            .thenReturn(buildAspspSettings());
 
         //When:
-        ResponseEntity<AspspSettings> actualResponse = aspspProfileController.getAspspSettings();
+        ResponseEntity<AspspSettings> actualResponse = aspspProfileController.getAspspSettings(null);
 
         //Then:
         assertThat(actualResponse.getStatusCode()).isEqualTo(expectedStatusCode);
         assertThat(actualResponse.getBody()).isEqualTo(buildAspspSettings());
+        assertThat(actualResponse.getHeaders().getETag()).isEqualTo(ETAG);
+    }
+
+    @Test
+    public void getAspspSettings_currentVersion_notModified() {
+        //When:
+        ResponseEntity<AspspSettings> actualResponse = aspspProfileController.getAspspSettings(ETAG);
+
+        //Then:
+        assertThat(actualResponse.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(actualResponse.getBody()).isNull();
+        verify(aspspProfileService, never()).getAspspSettings();
     }
 
     @Test
     public void getScaApproach() {
         //Given:
         HttpStatus expectedStatusCode = HttpStatus.OK;
+        when(aspspProfileService.getScaApproaches())
+            .thenReturn(Collections.singletonList(ScaApproach.REDIRECT));
 
         //When:
-        ResponseEntity<List<ScaApproach>> actualResponse = aspspProfileController.getScaApproaches();
+        ResponseEntity<List<ScaApproach>> actualResponse = aspspProfileController.getScaApproaches(OLD_ETAG);
 
         //Then:
         assertThat(actualResponse.getStatusCode()).isEqualTo(expectedStatusCode);
         assertThat(actualResponse.getBody()).isEqualTo(Collections.singletonList(ScaApproach.REDIRECT));
+        assertThat(actualResponse.getHeaders().getETag()).isEqualTo(ETAG);
+    }
+
+    @Test
+    public void waitForChanges_outdatedVersion_respondedImmediately() {
+        //Given:
+        when(aspspProfileVersionHolder.isCurrent(OLD_ETAG))
+            .thenReturn(false);
+
+        //When:
+        DeferredResult<ResponseEntity<Void>> actualResult = aspspProfileController.waitForChanges(OLD_ETAG);
+
+        //Then:
+        ResponseEntity<?> actualResponse = (ResponseEntity<?>) actualResult.getResult();
+        assertThat(actualResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(actualResponse.getHeaders().getETag()).isEqualTo(ETAG);
+    }
+
+    @Test
+    public void waitForChanges_currentVersion_respondedOnChange() {
+        //Given:
+        when(aspspProfileVersionHolder.isCurrent(ETAG))
+            .thenReturn(true);
+        ArgumentCaptor<Consumer<String>> listenerCaptor = ArgumentCaptor.forClass(Consumer.class);
+
+        //When:
+        DeferredResult<ResponseEntity<Void>> actualResult = aspspProfileController.waitForChanges(ETAG);
+
+        //Then:
+        assertThat(actualResult.hasResult()).isFalse();
+        verify(aspspProfileVersionHolder).addChangeListener(listenerCaptor.capture());
+
+        //When:
+        listenerCaptor.getValue().accept(NEW_ETAG);
+
+        //Then:
+        ResponseEntity<?> actualResponse = (ResponseEntity<?>) actualResult.getResult();
+        assertThat(actualResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(actualResponse.getHeaders().getETag()).isEqualTo(NEW_ETAG);
+    }
+
+    @Test
+    public void waitForChanges_noIfNoneMatch_respondedImmediately() {
+        //When:
+        DeferredResult<ResponseEntity<Void>> actualResult = aspspProfileController.waitForChanges(null);
+
+        //Then:
+        ResponseEntity<?> actualResponse = (ResponseEntity<?>) actualResult.getResult();
+        assertThat(actualResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(actualResponse.getHeaders().getETag()).isEqualTo(ETAG);
+    }
+
+    @Test
+    public void waitForChanges_timeout_notModified() throws Exception {
+        //Given:
+        when(aspspProfileVersionHolder.isCurrent(ETAG))
+            .thenReturn(true);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(aspspProfileController).build();
+        MvcResult mvcResult = mockMvc.perform(get(CHANGES_URL).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        //When:
+        MockAsyncContext asyncContext = (MockAsyncContext) mvcResult.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(null);
+        }
+
+        //Then:
+        mockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+        verify(aspspProfileVersionHolder).removeChangeListener(any());
     }
 
     private static AspspSettings buildAspspSettings() {
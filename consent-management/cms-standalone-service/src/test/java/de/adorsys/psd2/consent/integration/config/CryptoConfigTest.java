@@ -21,6 +21,7 @@ import de.adorsys.psd2.consent.config.CryptoConfig;
 import de.adorsys.psd2.consent.domain.CryptoAlgorithm;
 import de.adorsys.psd2.consent.repository.CryptoAlgorithmRepository;
 import de.adorsys.psd2.consent.service.security.provider.CryptoProviderHolder;
+import de.adorsys.psd2.consent.service.security.provider.DerivedKeyCache;
 import org.jetbrains.annotations.NotNull;
 import org.junit.Before;
 import org.junit.Test;
@@ -59,7 +60,7 @@ public class CryptoConfigTest {
                                                             "nML0IXWdMa"));
 
         //When
-        CryptoProviderHolder cryptoProviderHolder = cryptoConfig.initCryptoProviders(cryptoAlgorithmRepository);
+        CryptoProviderHolder cryptoProviderHolder = cryptoConfig.initCryptoProviders(cryptoAlgorithmRepository, new DerivedKeyCache());
         //Then
         assertNotNull(cryptoProviderHolder.getDefaultIdProvider());
         assertNotNull(cryptoProviderHolder.getDefaultDataProvider());
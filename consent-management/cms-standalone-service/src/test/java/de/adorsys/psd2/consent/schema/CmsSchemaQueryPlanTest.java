@@ -0,0 +1,389 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.schema;
+
+import de.adorsys.psd2.consent.api.CmsAuthorisationType;
+import de.adorsys.psd2.consent.domain.account.AisConsent;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.repository.*;
+import de.adorsys.psd2.consent.repository.specification.PiisConsentEntitySpecification;
+import de.adorsys.psd2.report.jpa.EventReportJPARepository;
+import de.adorsys.psd2.report.jpa.builder.SqlEventReportDbBuilder;
+import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
+import de.adorsys.psd2.xs2a.core.tpp.TppStatus;
+import liquibase.Contexts;
+import liquibase.Liquibase;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.boot.orm.jpa.hibernate.SpringPhysicalNamingStrategy;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.persistence.Entity;
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks, that lookups of the CMS repositories are executed with indexes of the migrated schema instead of full table
+ * scans. The schema is created by the Liquibase changelog in an embedded H2 database. The repositories are called
+ * against it, and the SQL, that Hibernate and the event report send to the database, is explained.
+ * <p>
+ * Lookups by foreign keys are only checked for the absence of table scans, as H2 indexes foreign keys implicitly.
+ */
+public class CmsSchemaQueryPlanTest {
+    private static final String CHANGELOG = "master.xml";
+    private static final String SCHEMA = "consent";
+    private static final String URL = "jdbc:h2:mem:cms_schema;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS " + SCHEMA + "\\;SET SCHEMA " + SCHEMA;
+    private static final String DOMAIN_PACKAGE = "de.adorsys.psd2.consent.domain";
+    private static final String TABLE_SCAN = "tableScan";
+    private static final String EXTERNAL_ID = "external id";
+    private static final String INSTANCE_ID = "UNDEFINED";
+    private static final OffsetDateTime PERIOD_FROM = OffsetDateTime.now().minusDays(1);
+    private static final OffsetDateTime PERIOD_TO = OffsetDateTime.now();
+
+    private static Connection connection;
+    private static SqlCapturingDataSource dataSource;
+    private static StandardServiceRegistry serviceRegistry;
+    private static SessionFactory sessionFactory;
+
+    private EntityManager entityManager;
+    private JpaRepositoryFactory repositoryFactory;
+
+    @BeforeClass
+    public static void migrateSchema() throws Exception {
+        connection = DriverManager.getConnection(URL, "sa", "");
+        Database database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+        new Liquibase(CHANGELOG, new ClassLoaderResourceAccessor(), database).update(new Contexts());
+
+        dataSource = new SqlCapturingDataSource(new DriverManagerDataSource(URL, "sa", ""));
+        serviceRegistry = new StandardServiceRegistryBuilder()
+                              .applySetting(AvailableSettings.DATASOURCE, dataSource)
+                              .applySetting(AvailableSettings.DIALECT, H2Dialect.class.getName())
+                              .applySetting(AvailableSettings.DEFAULT_SCHEMA, SCHEMA)
+                              .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY, SpringPhysicalNamingStrategy.class.getName())
+                              .applySetting(AvailableSettings.IMPLICIT_NAMING_STRATEGY, SpringImplicitNamingStrategy.class.getName())
+                              .build();
+
+        MetadataSources metadataSources = new MetadataSources(serviceRegistry);
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        for (BeanDefinition entity : scanner.findCandidateComponents(DOMAIN_PACKAGE)) {
+            metadataSources.addAnnotatedClass(Class.forName(entity.getBeanClassName()));
+        }
+        sessionFactory = metadataSources.buildMetadata().buildSessionFactory();
+    }
+
+    @AfterClass
+    public static void closeConnection() throws Exception {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(serviceRegistry);
+        connection.close();
+    }
+
+    @Before
+    public void setUp() {
+        entityManager = sessionFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        repositoryFactory = new JpaRepositoryFactory(entityManager);
+        dataSource.getCapturedSql().clear();
+    }
+
+    @After
+    public void tearDown() {
+        entityManager.getTransaction().rollback();
+        entityManager.close();
+    }
+
+    @Test
+    public void aisConsentRepository_findByExternalId() throws Exception {
+        repositoryFactory.getRepository(AisConsentRepository.class).findByExternalId(EXTERNAL_ID);
+
+        assertIndexUsed("idx_ais_consent_external_id");
+    }
+
+    @Test
+    public void aisConsentRepository_findByConsentStatusIn() throws Exception {
+        repositoryFactory.getRepository(AisConsentRepository.class)
+            .findByConsentStatusIn(EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.VALID, ConsentStatus.PARTIALLY_AUTHORISED));
+
+        assertIndexUsed("idx_ais_consent_status");
+    }
+
+    @Test
+    public void aisConsentRepository_findShardChunkByConsentStatusIn() throws Exception {
+        repositoryFactory.getRepository(AisConsentRepository.class)
+            .findShardChunkByConsentStatusIn(EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.VALID, ConsentStatus.PARTIALLY_AUTHORISED),
+                                             0L, 0, 1, PageRequest.of(0, 100));
+
+        assertKeysetIndexCondition("ais_consent", "idx_ais_consent_status");
+    }
+
+    @Test
+    public void piisConsentRepository_findByExternalId() throws Exception {
+        repositoryFactory.getRepository(PiisConsentRepository.class).findByExternalId(EXTERNAL_ID);
+
+        assertIndexUsed("idx_piis_consent_external_id");
+    }
+
+    @Test
+    public void piisConsentRepository_byPsuDataAndInstanceId() throws Exception {
+        repositoryFactory.getRepository(PiisConsentRepository.class)
+            .findAll(new PiisConsentEntitySpecification().byPsuDataAndInstanceId(new PsuIdData("psu id", null, null, null), INSTANCE_ID));
+
+        assertIndexUsed("idx_psu_data_psu_id");
+    }
+
+    @Test
+    public void pisCommonPaymentDataRepository_findByPaymentId() throws Exception {
+        repositoryFactory.getRepository(PisCommonPaymentDataRepository.class).findByPaymentId(EXTERNAL_ID);
+
+        assertIndexUsed("idx_pis_com_payment_payment_id");
+    }
+
+    @Test
+    public void pisCommonPaymentDataRepository_findByTransactionStatusIn() throws Exception {
+        repositoryFactory.getRepository(PisCommonPaymentDataRepository.class)
+            .findByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PDNG, TransactionStatus.ACTC));
+
+        assertIndexUsed("idx_pis_com_payment_status");
+    }
+
+    @Test
+    public void pisCommonPaymentDataRepository_findShardChunkStatusViewsByTransactionStatusIn() throws Exception {
+        repositoryFactory.getRepository(PisCommonPaymentDataRepository.class)
+            .findShardChunkStatusViewsByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PDNG, TransactionStatus.ACTC),
+                                                            0L, 0, 1, PageRequest.of(0, 100));
+
+        assertKeysetIndexCondition("pis_common_payment", "idx_pis_com_payment_status");
+    }
+
+    @Test
+    public void pisPaymentDataRepository_findByPaymentId() throws Exception {
+        repositoryFactory.getRepository(PisPaymentDataRepository.class).findByPaymentId(EXTERNAL_ID);
+
+        assertIndexUsed("idx_pis_pmt_data_payment_id");
+    }
+
+    @Test
+    public void aisConsentAuthorisationRepository_findByExternalId() throws Exception {
+        repositoryFactory.getRepository(AisConsentAuthorisationRepository.class).findByExternalId(EXTERNAL_ID);
+
+        assertIndexUsed("idx_ais_auth_external_id");
+    }
+
+    @Test
+    public void aisConsent_authorisations() throws Exception {
+        initializeCollection(AisConsent.class, "authorizations");
+
+        assertNoTableScan();
+    }
+
+    @Test
+    public void pisAuthorisationRepository_findByExternalIdAndAuthorizationType() throws Exception {
+        repositoryFactory.getRepository(PisAuthorisationRepository.class)
+            .findByExternalIdAndAuthorizationType(EXTERNAL_ID, CmsAuthorisationType.CREATED);
+
+        assertIndexUsed("idx_pis_auth_external_id_type");
+    }
+
+    @Test
+    public void pisCommonPayment_authorisations() throws Exception {
+        initializeCollection(PisCommonPaymentData.class, "authorizations");
+
+        assertNoTableScan();
+    }
+
+    @Test
+    public void pisCommonPayment_payments() throws Exception {
+        initializeCollection(PisCommonPaymentData.class, "payments");
+
+        assertNoTableScan();
+    }
+
+    @Test
+    public void tppInfoRepository_findFirstByAuthorisationNumberAndAuthorityIdAndInstanceId() throws Exception {
+        repositoryFactory.getRepository(TppInfoRepository.class)
+            .findFirstByAuthorisationNumberAndAuthorityIdAndInstanceId("authorisation number", "authority id", INSTANCE_ID);
+
+        assertIndexUsed("idx_tpp_info_authorisation");
+    }
+
+    @Test
+    public void tppStopListRepository_findByTppAuthorisationNumberAndInstanceId() throws Exception {
+        repositoryFactory.getRepository(TppStopListRepository.class)
+            .findByTppAuthorisationNumberAndInstanceId("authorisation number", INSTANCE_ID);
+
+        assertIndexUsed("uniq_auth_num_and_instance_id");
+    }
+
+    @Test
+    public void tppStopListRepository_findAllByStatusAndBlockingExpirationTimestampLessThanEqual() throws Exception {
+        repositoryFactory.getRepository(TppStopListRepository.class)
+            .findAllByStatusAndBlockingExpirationTimestampLessThanEqual(TppStatus.BLOCKED, PERIOD_TO);
+
+        assertIndexUsed("idx_tpp_stop_list_expiration");
+    }
+
+    @Test
+    public void aisConsentUsageRepository_findReadByConsentAndUsageDate() throws Exception {
+        repositoryFactory.getRepository(AisConsentUsageRepository.class, RepositoryFragments.just(new AisConsentUsageRepositoryImpl()))
+            .findReadByConsentAndUsageDate(entityManager.getReference(AisConsent.class, 1L), LocalDate.now());
+
+        assertNoTableScan();
+    }
+
+    @Test
+    public void eventReport_period() throws Exception {
+        buildEventReportRepository().getEventsForPeriod(PERIOD_FROM, PERIOD_TO, INSTANCE_ID);
+
+        assertIndexUsed("idx_event_instance_timestamp");
+    }
+
+    @Test
+    public void eventReport_consentId() throws Exception {
+        buildEventReportRepository().findByTimestampBetweenAndConsentIdAndInstanceIdOrderByTimestampAsc(PERIOD_FROM, PERIOD_TO, EXTERNAL_ID, INSTANCE_ID);
+
+        assertIndexUsed("idx_event_consent_id");
+    }
+
+    @Test
+    public void eventReport_paymentId() throws Exception {
+        buildEventReportRepository().findByTimestampBetweenAndPaymentIdAndInstanceIdOrderByTimestampAsc(PERIOD_FROM, PERIOD_TO, EXTERNAL_ID, INSTANCE_ID);
+
+        assertIndexUsed("idx_event_payment_id");
+    }
+
+    private EventReportJPARepository buildEventReportRepository() {
+        return new EventReportJPARepository(new NamedParameterJdbcTemplate(dataSource), new SqlEventReportDbBuilder(), 500);
+    }
+
+    /**
+     * Loads the collection of an owner, that doesn't exist, with the loader, that Hibernate uses for lazy collections
+     */
+    private void initializeCollection(Class<?> ownerClass, String property) {
+        sessionFactory.unwrap(SessionFactoryImplementor.class)
+            .getMetamodel()
+            .collectionPersister(ownerClass.getName() + "." + property)
+            .initialize(1L, entityManager.unwrap(SharedSessionContractImplementor.class));
+    }
+
+    private void assertIndexUsed(String indexName) throws Exception {
+        assertThat(assertNoTableScan()).containsIgnoringCase(indexName);
+    }
+
+    /**
+     * H2 has no statistics on the empty tables and prefers the primary key for ordering by id. The status index is
+     * therefore forced into the captured query, to check, that it covers both the status filter and the keyset
+     * condition on id.
+     */
+    private void assertKeysetIndexCondition(String table, String indexName) throws Exception {
+        List<String> capturedSql = dataSource.getCapturedSql();
+        assertThat(capturedSql).hasSize(1);
+
+        String query = capturedSql.get(0).replaceFirst("(from\\s+\\S*" + table + "\\s+\\w+)", "$1 USE INDEX (" + indexName + ")");
+        assertThat(explain(query)).containsPattern("(?i)" + indexName + ": [^*]*IN\\([^*]*ID > ");
+    }
+
+    private String assertNoTableScan() throws Exception {
+        List<String> capturedSql = dataSource.getCapturedSql();
+        assertThat(capturedSql).hasSize(1);
+
+        String plan = explain(capturedSql.get(0));
+        assertThat(plan).doesNotContain(TABLE_SCAN);
+        return plan;
+    }
+
+    private String explain(String query) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query);
+             ResultSet resultSet = statement.executeQuery()) {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1));
+            }
+            return plan.toString();
+        }
+    }
+
+    /**
+     * Data source, that records the SQL of all prepared statements
+     */
+    private static class SqlCapturingDataSource extends DelegatingDataSource {
+        private final List<String> capturedSql = new CopyOnWriteArrayList<>();
+
+        SqlCapturingDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        List<String> getCapturedSql() {
+            return capturedSql;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection target = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Connection.class}, (proxy, method, args) -> {
+                if ("prepareStatement".equals(method.getName())) {
+                    capturedSql.add((String) args[0]);
+                }
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            });
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package de.adorsys.psd2.consent.web.aspsp.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import de.adorsys.psd2.event.service.AspspEventService;
 import de.adorsys.psd2.event.service.model.AspspEvent;
 import io.swagger.annotations.*;
@@ -28,6 +30,10 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.OffsetDateTime;
 import java.util.List;
 
@@ -36,7 +42,11 @@ import java.util.List;
 @RequestMapping(path = "aspsp-api/v1/events")
 @Api(value = "aspsp-api/v1/events", tags = "ASPSP Events", description = "Provides access to the consent management system for ASPSP Events")
 public class CmsAspspEventController {
+    private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+    private static final byte[] LINE_SEPARATOR = {'\n'};
+
     private final AspspEventService aspspEventService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping(path = "/")
     @ApiOperation(value = "Returns a list of Event objects between two dates")
@@ -54,4 +64,37 @@ public class CmsAspspEventController {
         List<AspspEvent> events = aspspEventService.getEventsForPeriod(start, end, instanceId);
         return new ResponseEntity<>(events, HttpStatus.OK);
     }
+
+    @GetMapping(path = "/stream", produces = NDJSON_CONTENT_TYPE)
+    @ApiOperation(value = "Streams Event objects between two dates as newline delimited JSON, one event per line")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK")})
+    public void streamEventsForDates(
+        @ApiParam(value = "Start date", example = "2010-01-01T00:00:00Z", required = true)
+        @RequestHeader(value = "start-date")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime start,
+        @ApiParam(value = "End date", example = "2030-01-01T00:00:00Z", required = true)
+        @RequestHeader(value = "end-date")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime end,
+        @ApiParam(value = "Bank instance ID")
+        @RequestHeader(value = "instance-id", required = false, defaultValue = "UNDEFINED") String instanceId,
+        HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON_CONTENT_TYPE);
+        response.setCharacterEncoding("UTF-8");
+
+        OutputStream outputStream = response.getOutputStream();
+        ObjectWriter eventWriter = objectMapper.writerFor(AspspEvent.class);
+        aspspEventService.streamEventsForPeriod(start, end, instanceId, event -> writeLine(outputStream, eventWriter, event));
+        outputStream.flush();
+    }
+
+    private void writeLine(OutputStream outputStream, ObjectWriter eventWriter, AspspEvent event) {
+        try {
+            outputStream.write(eventWriter.writeValueAsBytes(event));
+            outputStream.write(LINE_SEPARATOR);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -16,7 +16,10 @@
 
 package de.adorsys.psd2.consent.web.aspsp.controller;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import de.adorsys.psd2.event.service.AspspEventService;
+import de.adorsys.psd2.event.service.model.AspspEvent;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -28,7 +31,9 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.OffsetDateTime;
 import java.util.Collections;
+import java.util.function.Consumer;
 
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -51,7 +56,7 @@ public class CmsAspspEventControllerTest {
     public void setUp() {
         MockitoAnnotations.initMocks(this);
         mockMvc = MockMvcBuilders
-                      .standaloneSetup(new CmsAspspEventController(aspspEventService))
+                      .standaloneSetup(new CmsAspspEventController(aspspEventService, new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL)))
                       .build();
     }
 
@@ -89,4 +94,33 @@ public class CmsAspspEventControllerTest {
 
         verify(aspspEventService, times(1)).getEventsForPeriod(eq(OffsetDateTime.parse(START)), eq(OffsetDateTime.parse(END)), eq(INSTANCE_ID));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void streamEventsForDates_success() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<AspspEvent> eventConsumer = (Consumer<AspspEvent>) invocation.getArguments()[3];
+            eventConsumer.accept(buildAspspEvent("consent 1"));
+            eventConsumer.accept(buildAspspEvent("consent 2"));
+            return null;
+        }).when(aspspEventService).streamEventsForPeriod(eq(OffsetDateTime.parse(START)), eq(OffsetDateTime.parse(END)), eq(INSTANCE_ID), any(Consumer.class));
+
+        mockMvc.perform(get("/aspsp-api/v1/events/stream")
+                            .header("start-date", START)
+                            .header("end-date", END)
+                            .header("instance-id", INSTANCE_ID)
+        )
+            .andExpect(status().is(HttpStatus.OK.value()))
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andExpect(content().string("{\"consentId\":\"consent 1\"}\n{\"consentId\":\"consent 2\"}\n"))
+            .andReturn();
+
+        verify(aspspEventService, never()).getEventsForPeriod(any(OffsetDateTime.class), any(OffsetDateTime.class), any(String.class));
+    }
+
+    private AspspEvent buildAspspEvent(String consentId) {
+        return AspspEvent.builder()
+                   .consentId(consentId)
+                   .build();
+    }
 }
@@ -17,9 +17,14 @@
 package de.adorsys.psd2.consent.config;
 
 import de.adorsys.psd2.consent.repository.CryptoAlgorithmRepository;
+import de.adorsys.psd2.consent.service.security.cache.DecryptedIdCache;
+import de.adorsys.psd2.consent.service.security.cache.DecryptedIdCacheMode;
+import de.adorsys.psd2.consent.service.security.cache.LruDecryptedIdCache;
+import de.adorsys.psd2.consent.service.security.cache.RequestScopedDecryptedIdCache;
 import de.adorsys.psd2.consent.service.security.provider.CryptoInstanceFactory;
 import de.adorsys.psd2.consent.service.security.provider.CryptoProvider;
 import de.adorsys.psd2.consent.service.security.provider.CryptoProviderHolder;
+import de.adorsys.psd2.consent.service.security.provider.DerivedKeyCache;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
@@ -40,9 +45,36 @@ public class CryptoConfig {
     @Value("${encryption.defaultProvider.idProvider:psGLvQpt9Q}")
     private String defaultIdProviderId;
 
+    @Value("${encryption.derivedKeyCache.maxSize:10000}")
+    private int derivedKeyCacheMaxSize;
+
+    @Value("${encryption.derivedKeyCache.ttlSeconds:3600}")
+    private long derivedKeyCacheTtlSeconds;
+
+    @Value("${encryption.decryptedIdCache.mode:REQUEST}")
+    private DecryptedIdCacheMode decryptedIdCacheMode;
+
+    @Value("${encryption.decryptedIdCache.maxSize:10000}")
+    private int decryptedIdCacheMaxSize;
+
+    @Bean
+    public DerivedKeyCache derivedKeyCache() {
+        return new DerivedKeyCache(derivedKeyCacheMaxSize, derivedKeyCacheTtlSeconds);
+    }
+
+    @Bean
+    public DecryptedIdCache decryptedIdCache() {
+        log.info("Decrypted ID cache mode: {}", decryptedIdCacheMode);
+
+        if (decryptedIdCacheMode == DecryptedIdCacheMode.PROCESS) {
+            return new LruDecryptedIdCache(decryptedIdCacheMaxSize);
+        }
+        return new RequestScopedDecryptedIdCache();
+    }
+
     @Bean
-    public CryptoProviderHolder initCryptoProviders(CryptoAlgorithmRepository cryptoAlgorithmRepository) {
-        Map<String, CryptoProvider> providerMap = getInitializedProviderMap(cryptoAlgorithmRepository);
+    public CryptoProviderHolder initCryptoProviders(CryptoAlgorithmRepository cryptoAlgorithmRepository, DerivedKeyCache derivedKeyCache) {
+        Map<String, CryptoProvider> providerMap = getInitializedProviderMap(cryptoAlgorithmRepository, derivedKeyCache);
         CryptoProviderHolder cryptoProviderHolder = new CryptoProviderHolder(providerMap, defaultDataProviderId, defaultIdProviderId);
 
         validateDefaultProviders(cryptoProviderHolder.getDefaultDataProvider(), cryptoProviderHolder.getDefaultIdProvider());
@@ -54,22 +86,22 @@ public class CryptoConfig {
         return cryptoProviderHolder;
     }
 
-    private Map<String, CryptoProvider> getInitializedProviderMap(CryptoAlgorithmRepository cryptoAlgorithmRepository) {
+    private Map<String, CryptoProvider> getInitializedProviderMap(CryptoAlgorithmRepository cryptoAlgorithmRepository, DerivedKeyCache derivedKeyCache) {
         return StreamSupport.stream(cryptoAlgorithmRepository.findAll().spliterator(), false)
                    .filter(crp -> StringUtils.isNotBlank(crp.getEncryptorClass())
                                       && !crp.getEncryptorClass().equals("UNDEFINED"))
-                   .map(crp -> getCryptoProviderInstance(crp.getEncryptorClass(), crp.getCryptoProviderId(), crp.getEncryptorParams()))
+                   .map(crp -> getCryptoProviderInstance(crp.getEncryptorClass(), crp.getCryptoProviderId(), crp.getEncryptorParams(), derivedKeyCache))
                    .filter(Objects::nonNull)
                    .collect(Collectors.toMap(CryptoProvider::getCryptoProviderId, crp -> crp));
     }
 
-    private CryptoProvider getCryptoProviderInstance(String factoryClassName, String cryptoProviderId, String params) {
+    private CryptoProvider getCryptoProviderInstance(String factoryClassName, String cryptoProviderId, String params, DerivedKeyCache derivedKeyCache) {
         try {
             Class factoryClass = Class.forName(factoryClassName);
             Object factoryImpl = factoryClass.newInstance();
 
             if (factoryImpl instanceof CryptoInstanceFactory) {
-                return ((CryptoInstanceFactory) factoryImpl).initProvider(cryptoProviderId, params);
+                return ((CryptoInstanceFactory) factoryImpl).initProvider(cryptoProviderId, params, derivedKeyCache);
             }
         } catch (Exception ex) {
             log.info("Error creation {} factory: ", factoryClassName, ex);
@@ -22,6 +22,9 @@ import de.adorsys.psd2.consent.domain.ScaMethod;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import lombok.Data;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import java.time.OffsetDateTime;
@@ -34,7 +37,10 @@ public class AisConsentAuthorization extends InstanceDependableEntity {
     @Id
     @Column(name = "authorization_id")
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ais_consent_authorization_generator")
-    @SequenceGenerator(name = "ais_consent_authorization_generator", sequenceName = "ais_consent_auth_id_seq", allocationSize = 1)
+    @GenericGenerator(name = "ais_consent_authorization_generator", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+        @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "ais_consent_auth_id_seq"),
+        @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+        @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")})
     private Long id;
 
     @Column(name = "external_id", nullable = false)
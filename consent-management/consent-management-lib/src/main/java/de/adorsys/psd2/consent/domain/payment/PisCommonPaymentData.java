@@ -22,6 +22,11 @@ import de.adorsys.psd2.consent.domain.TppInfoEntity;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.profile.PaymentType;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import java.time.OffsetDateTime;
@@ -35,7 +40,10 @@ import java.util.Objects;
 public class PisCommonPaymentData extends InstanceDependableEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pis_common_payment_generator")
-    @SequenceGenerator(name = "pis_common_payment_generator", sequenceName = "pis_common_payment_id_seq", allocationSize = 1)
+    @GenericGenerator(name = "pis_common_payment_generator", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+        @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "pis_common_payment_id_seq"),
+        @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+        @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")})
     private Long id;
 
     @Column(name = "payment_id", nullable = false)
@@ -52,9 +60,11 @@ public class PisCommonPaymentData extends InstanceDependableEntity {
     @Enumerated(value = EnumType.STRING)
     private TransactionStatus transactionStatus;
 
-    @Lob
-    @Column(name = "payment")
-    private byte[] payment;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "payload_id")
+    private PisCommonPaymentPayload payload;
 
     @OneToMany(cascade = CascadeType.ALL)
     @JoinTable(name = "pis_common_payment_psu_data",
@@ -110,6 +120,27 @@ public class PisCommonPaymentData extends InstanceDependableEntity {
         }
     }
 
+    /**
+     * Returns raw payment, loading it on first access
+     *
+     * @return raw payment or <code>null</code> if there is no payment
+     */
+    public byte[] getPayment() {
+        return payload == null ? null : payload.getPayment();
+    }
+
+    public void setPayment(byte[] payment) {
+        if (payment == null) {
+            payload = null;
+            return;
+        }
+
+        if (payload == null) {
+            payload = new PisCommonPaymentPayload();
+        }
+        payload.setPayment(payment);
+    }
+
     public boolean isConfirmationExpired(long expirationPeriodMs) {
         if (isNotConfirmed()) {
             return creationTimestamp.plus(expirationPeriodMs, ChronoUnit.MILLIS)
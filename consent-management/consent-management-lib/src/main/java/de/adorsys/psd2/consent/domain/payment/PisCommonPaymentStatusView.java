@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.domain.payment;
+
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Status of the common payment, that can be loaded as a projection without the rest of the payment.
+ * <p>
+ * Must not be implemented by {@link PisCommonPaymentData}, as Spring Data would load the whole entity then.
+ */
+public interface PisCommonPaymentStatusView {
+    Long getId();
+
+    TransactionStatus getTransactionStatus();
+
+    OffsetDateTime getCreationTimestamp();
+
+    default boolean isConfirmationExpired(long expirationPeriodMs) {
+        if (isNotConfirmed()) {
+            return getCreationTimestamp().plus(expirationPeriodMs, ChronoUnit.MILLIS)
+                       .isBefore(OffsetDateTime.now());
+        }
+
+        return false;
+    }
+
+    default boolean isNotConfirmed() {
+        return getTransactionStatus() == TransactionStatus.RCVD;
+    }
+}
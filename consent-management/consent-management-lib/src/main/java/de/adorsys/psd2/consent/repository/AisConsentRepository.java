@@ -18,12 +18,15 @@ package de.adorsys.psd2.consent.repository;
 
 import de.adorsys.psd2.consent.domain.account.AisConsent;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -31,6 +34,31 @@ import java.util.Set;
 public interface AisConsentRepository extends CrudRepository<AisConsent, Long>, JpaSpecificationExecutor<AisConsent> {
     List<AisConsent> findByConsentStatusIn(Set<ConsentStatus> statuses);
 
+    @Query(
+        "select c from ais_consent c " +
+            "where c.consentStatus in :consentStatuses " +
+            "and c.id > :lastId " +
+            "and mod(c.id, :shardCount) = :shardIndex " +
+            "order by c.id"
+    )
+    List<AisConsent> findShardChunkByConsentStatusIn(@Param("consentStatuses") Set<ConsentStatus> consentStatuses,
+                                                     @Param("lastId") Long lastId,
+                                                     @Param("shardIndex") int shardIndex,
+                                                     @Param("shardCount") int shardCount,
+                                                     Pageable pageable);
+
+    @Modifying
+    @Query(
+        "update ais_consent c " +
+            "set c.consentStatus = :newStatus, c.statusChangeTimestamp = :statusChangeTimestamp " +
+            "where c.consentStatus in :consentStatuses " +
+            "and c.expireDate < :currentDate"
+    )
+    int updateStatusOfConsentsExpiredByDate(@Param("consentStatuses") Set<ConsentStatus> consentStatuses,
+                                            @Param("currentDate") LocalDate currentDate,
+                                            @Param("newStatus") ConsentStatus newStatus,
+                                            @Param("statusChangeTimestamp") OffsetDateTime statusChangeTimestamp);
+
     Optional<AisConsent> findByExternalId(String externalId);
 
     @Query(
@@ -24,12 +24,8 @@ import org.springframework.data.repository.CrudRepository;
 import javax.persistence.LockModeType;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
-
-public interface AisConsentUsageRepository extends CrudRepository<AisConsentUsage, Long> {
-    @Lock(value = LockModeType.OPTIMISTIC_FORCE_INCREMENT)
-    Optional<AisConsentUsage> findWriteByConsentAndUsageDateAndRequestUri(AisConsent aisConsent, LocalDate usageDate, String requestUri);
 
+public interface AisConsentUsageRepository extends CrudRepository<AisConsentUsage, Long>, AisConsentUsageRepositoryCustom {
     @Lock(value = LockModeType.OPTIMISTIC)
     List<AisConsentUsage> findReadByConsentAndUsageDate(AisConsent aisConsent, LocalDate usageDate);
 }
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.repository;
+
+import java.time.LocalDate;
+
+public interface AisConsentUsageRepositoryCustom {
+    /**
+     * Atomically adds given amount to the usage of the consent for given request URI and date. The usage row is
+     * created, if it doesn't exist yet.
+     *
+     * @param consentId  primary key of the AIS consent
+     * @param requestUri URI of the request, the consent was used for
+     * @param usageDate  date of the usage
+     * @param amount     number of usages to be added
+     */
+    void addUsage(Long consentId, String requestUri, LocalDate usageDate, int amount);
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.repository;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MariaDB103Dialect;
+import org.hibernate.dialect.Oracle8iDialect;
+import org.hibernate.dialect.PostgreSQL95Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.time.LocalDate;
+
+/**
+ * Increments consent usages with a single upsert statement in the dialect of the database, so that parallel requests
+ * on the same consent don't conflict on the version of the usage row. The dialect is taken from Hibernate, databases
+ * without a known upsert syntax fall back to an atomic update, followed by an insert if there was no row to update.
+ * The ID for such insert is taken from the sequence with the statement of the dialect.
+ */
+public class AisConsentUsageRepositoryImpl implements AisConsentUsageRepositoryCustom {
+    private static final String POSTGRESQL_UPSERT =
+        "insert into {h-schema}ais_consent_usage (id, consent_id, request_uri, usage_date, usage_amount, version) " +
+            "values (nextval('{h-schema}ais_consent_usage_id_seq'), :consentId, :requestUri, :usageDate, :amount, 0) " +
+            "on conflict (consent_id, request_uri, usage_date) " +
+            "do update set usage_amount = ais_consent_usage.usage_amount + :amount, version = ais_consent_usage.version + 1";
+
+    private static final String MARIADB_UPSERT =
+        "insert into {h-schema}ais_consent_usage (id, consent_id, request_uri, usage_date, usage_amount, version) " +
+            "values (nextval({h-schema}ais_consent_usage_id_seq), :consentId, :requestUri, :usageDate, :amount, 0) " +
+            "on duplicate key update usage_amount = usage_amount + :amount, version = version + 1";
+
+    private static final String ORACLE_UPSERT =
+        "merge into {h-schema}ais_consent_usage u " +
+            "using (select :consentId consent_id, :requestUri request_uri, :usageDate usage_date from dual) s " +
+            "on (u.consent_id = s.consent_id and u.request_uri = s.request_uri and u.usage_date = s.usage_date) " +
+            "when matched then update set u.usage_amount = u.usage_amount + :amount, u.version = u.version + 1 " +
+            "when not matched then insert (id, consent_id, request_uri, usage_date, usage_amount, version) " +
+            "values ({h-schema}ais_consent_usage_id_seq.nextval, s.consent_id, s.request_uri, s.usage_date, :amount, 0)";
+
+    private static final String GENERIC_UPDATE =
+        "update {h-schema}ais_consent_usage " +
+            "set usage_amount = usage_amount + :amount, version = version + 1 " +
+            "where consent_id = :consentId and request_uri = :requestUri and usage_date = :usageDate";
+
+    private static final String GENERIC_INSERT =
+        "insert into {h-schema}ais_consent_usage (id, consent_id, request_uri, usage_date, usage_amount, version) " +
+            "values (:id, :consentId, :requestUri, :usageDate, :amount, 0)";
+
+    private static final String ID_SEQUENCE = "{h-schema}ais_consent_usage_id_seq";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile String upsertStatement;
+    private volatile String nextIdStatement;
+
+    @Override
+    public void addUsage(Long consentId, String requestUri, LocalDate usageDate, int amount) {
+        String upsert = getUpsertStatement();
+        if (!upsert.isEmpty()) {
+            executeUpdate(upsert, consentId, requestUri, usageDate, amount);
+            return;
+        }
+
+        if (executeUpdate(GENERIC_UPDATE, consentId, requestUri, usageDate, amount) == 0) {
+            Object id = entityManager.createNativeQuery(getNextIdStatement()).getSingleResult();
+            entityManager.createNativeQuery(GENERIC_INSERT)
+                .setParameter("id", ((Number) id).longValue())
+                .setParameter("consentId", consentId)
+                .setParameter("requestUri", requestUri)
+                .setParameter("usageDate", usageDate)
+                .setParameter("amount", amount)
+                .executeUpdate();
+        }
+    }
+
+    private String getUpsertStatement() {
+        if (upsertStatement == null) {
+            upsertStatement = resolveUpsertStatement(getDialect());
+        }
+        return upsertStatement;
+    }
+
+    private String getNextIdStatement() {
+        if (nextIdStatement == null) {
+            nextIdStatement = getDialect().getSequenceNextValString(ID_SEQUENCE);
+        }
+        return nextIdStatement;
+    }
+
+    private Dialect getDialect() {
+        return entityManager.getEntityManagerFactory()
+                   .unwrap(SessionFactoryImplementor.class)
+                   .getJdbcServices()
+                   .getDialect();
+    }
+
+    private String resolveUpsertStatement(Dialect dialect) {
+        if (dialect instanceof PostgreSQL95Dialect) {
+            return POSTGRESQL_UPSERT;
+        } else if (dialect instanceof MariaDB103Dialect) {
+            return MARIADB_UPSERT;
+        } else if (dialect instanceof Oracle8iDialect) {
+            return ORACLE_UPSERT;
+        }
+        return "";
+    }
+
+    private int executeUpdate(String statement, Long consentId, String requestUri, LocalDate usageDate, int amount) {
+        Query query = entityManager.createNativeQuery(statement)
+                          .setParameter("consentId", consentId)
+                          .setParameter("requestUri", requestUri)
+                          .setParameter("usageDate", usageDate)
+                          .setParameter("amount", amount);
+        return query.executeUpdate();
+    }
+}
@@ -17,9 +17,13 @@
 package de.adorsys.psd2.consent.repository;
 
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentStatusView;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -30,5 +34,21 @@ public interface PisCommonPaymentDataRepository extends CrudRepository<PisCommon
 
     Optional<PisCommonPaymentData> findByPaymentId(String paymentId);
 
+    Optional<PisCommonPaymentStatusView> findStatusViewByPaymentId(String paymentId);
+
     List<PisCommonPaymentData> findByTransactionStatusIn(Set<TransactionStatus> statuses);
+
+    @Query(
+        "select p.id as id, p.transactionStatus as transactionStatus, p.creationTimestamp as creationTimestamp " +
+            "from pis_common_payment p " +
+            "where p.transactionStatus in :transactionStatuses " +
+            "and p.id > :lastId " +
+            "and mod(p.id, :shardCount) = :shardIndex " +
+            "order by p.id"
+    )
+    List<PisCommonPaymentStatusView> findShardChunkStatusViewsByTransactionStatusIn(@Param("transactionStatuses") Set<TransactionStatus> transactionStatuses,
+                                                                                    @Param("lastId") Long lastId,
+                                                                                    @Param("shardIndex") int shardIndex,
+                                                                                    @Param("shardCount") int shardCount,
+                                                                                    Pageable pageable);
 }
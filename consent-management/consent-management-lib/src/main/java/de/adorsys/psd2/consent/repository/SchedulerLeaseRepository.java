@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.repository;
+
+import de.adorsys.psd2.consent.domain.SchedulerLeaseEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+
+public interface SchedulerLeaseRepository extends CrudRepository<SchedulerLeaseEntity, String> {
+
+    @Modifying
+    @Query(
+        "update scheduler_lease l " +
+            "set l.owner = :owner, l.leaseUntil = :leaseUntil " +
+            "where l.leaseName = :leaseName " +
+            "and (l.leaseUntil < :currentTime or l.owner = :owner)"
+    )
+    int acquireLease(@Param("leaseName") String leaseName,
+                     @Param("owner") String owner,
+                     @Param("currentTime") OffsetDateTime currentTime,
+                     @Param("leaseUntil") OffsetDateTime leaseUntil);
+}
@@ -362,7 +362,12 @@ public class AisConsentServiceInternal implements AisConsentService {
             return;
         }
         aisConsentUsageService.incrementUsage(consent, request.getRequestUri());
-        consent.setLastActionDate(LocalDate.now());
-        aisConsentRepository.save(consent);
+
+        // The consent itself is written only on the first usage of the day
+        LocalDate today = LocalDate.now();
+        if (!today.equals(consent.getLastActionDate())) {
+            consent.setLastActionDate(today);
+            aisConsentRepository.save(consent);
+        }
     }
 }
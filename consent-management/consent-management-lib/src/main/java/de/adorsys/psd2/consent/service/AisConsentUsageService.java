@@ -19,30 +19,62 @@ package de.adorsys.psd2.consent.service;
 import de.adorsys.psd2.consent.domain.account.AisConsent;
 import de.adorsys.psd2.consent.domain.account.AisConsentUsage;
 import de.adorsys.psd2.consent.repository.AisConsentUsageRepository;
-import lombok.RequiredArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.annotation.PreDestroy;
 import java.time.LocalDate;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+/**
+ * Counts usages of AIS consents per request URI and day.
+ * <p>
+ * Usages are incremented with a single atomic statement in the database. Optionally the increments can be aggregated
+ * on this node and written in batches by a scheduled flush ("write-behind"). In this mode usage counters, returned by
+ * other CMS nodes, can lag behind by up to one flush interval.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class AisConsentUsageService {
     private final AisConsentUsageRepository aisConsentUsageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean writeBehindEnabled;
+    private final Map<UsageKey, Integer> pendingUsages = new ConcurrentHashMap<>();
+
+    public AisConsentUsageService(AisConsentUsageRepository aisConsentUsageRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${ais.consent.usage.write-behind.enabled:false}") boolean writeBehindEnabled) {
+        this.aisConsentUsageRepository = aisConsentUsageRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.writeBehindEnabled = writeBehindEnabled;
+    }
 
     @Transactional
     public void incrementUsage(AisConsent aisConsent, String requestUri) {
-        AisConsentUsage aisConsentUsage = getUsage(aisConsent, requestUri);
-        int usage = aisConsentUsage.getUsage();
-        aisConsentUsage.setUsage(++usage);
-        aisConsentUsageRepository.save(aisConsentUsage);
+        UsageKey usageKey = new UsageKey(aisConsent.getId(), requestUri, LocalDate.now());
+        if (writeBehindEnabled) {
+            pendingUsages.merge(usageKey, 1, Integer::sum);
+        } else {
+            addUsage(usageKey, 1);
+        }
     }
 
     @Transactional
     public void resetUsage(AisConsent aisConsent) {
+        pendingUsages.keySet().removeIf(k -> Objects.equals(k.getConsentId(), aisConsent.getId()));
         List<AisConsentUsage> aisConsentUsageList = aisConsentUsageRepository.findReadByConsentAndUsageDate(aisConsent, LocalDate.now());
         aisConsentUsageList.forEach(acu -> acu.setUsage(0));
         aisConsentUsageRepository.saveAll(aisConsentUsageList);
@@ -50,18 +82,69 @@ public class AisConsentUsageService {
 
     @Transactional
     public Map<String, Integer> getUsageCounterMap(AisConsent aisConsent) {
-        return aisConsentUsageRepository.findReadByConsentAndUsageDate(aisConsent, LocalDate.now())
+        LocalDate today = LocalDate.now();
+        Map<String, Integer> usages = aisConsentUsageRepository.findReadByConsentAndUsageDate(aisConsent, today)
+                                          .stream()
+                                          .collect(Collectors.toMap(AisConsentUsage::getRequestUri, AisConsentUsage::getUsage));
+
+        if (!pendingUsages.isEmpty()) {
+            Map<String, Integer> allUsages = new HashMap<>(usages);
+            pendingUsages.forEach((k, v) -> {
+                if (Objects.equals(k.getConsentId(), aisConsent.getId()) && today.equals(k.getUsageDate())) {
+                    allUsages.merge(k.getRequestUri(), v, Integer::sum);
+                }
+            });
+            usages = allUsages;
+        }
+
+        return usages.entrySet()
                    .stream()
-                   .collect(Collectors.toMap(AisConsentUsage::getRequestUri,
-                                             u -> Math.max(aisConsent.getAllowedFrequencyPerDay() - u.getUsage(), 0)));
+                   .collect(Collectors.toMap(Map.Entry::getKey,
+                                             e -> Math.max(aisConsent.getAllowedFrequencyPerDay() - e.getValue(), 0)));
+    }
+
+    /**
+     * Writes usages, aggregated on this node, to the database. Does nothing unless write-behind is enabled.
+     */
+    @Scheduled(fixedDelayString = "${ais.consent.usage.write-behind.flush-interval.ms:1000}")
+    public void flushPendingUsages() {
+        if (pendingUsages.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<UsageKey, Integer>> drained = new ArrayList<>();
+        for (UsageKey usageKey : pendingUsages.keySet()) {
+            Integer amount = pendingUsages.remove(usageKey);
+            if (amount != null) {
+                drained.add(new AbstractMap.SimpleEntry<>(usageKey, amount));
+            }
+        }
+
+        try {
+            transactionTemplate.execute(status -> {
+                drained.forEach(e -> addUsage(e.getKey(), e.getValue()));
+                return null;
+            });
+            log.debug("Flushed {} pending AIS consent usages", drained.size());
+        } catch (RuntimeException e) {
+            log.warn("Pending AIS consent usages couldn't be flushed and will be retried: {}", e.getMessage());
+            drained.forEach(d -> pendingUsages.merge(d.getKey(), d.getValue(), Integer::sum));
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        flushPendingUsages();
+    }
+
+    private void addUsage(UsageKey usageKey, int amount) {
+        aisConsentUsageRepository.addUsage(usageKey.getConsentId(), usageKey.getRequestUri(), usageKey.getUsageDate(), amount);
     }
 
-    private AisConsentUsage getUsage(AisConsent aisConsent, String requestUri) {
-        return aisConsentUsageRepository.findWriteByConsentAndUsageDateAndRequestUri(aisConsent, LocalDate.now(), requestUri)
-                   .orElseGet(() -> {
-                       AisConsentUsage usage = new AisConsentUsage(aisConsent, requestUri);
-                       aisConsent.addUsage(usage);
-                       return usage;
-                   });
+    @Data
+    private static class UsageKey {
+        private final Long consentId;
+        private final String requestUri;
+        private final LocalDate usageDate;
     }
 }
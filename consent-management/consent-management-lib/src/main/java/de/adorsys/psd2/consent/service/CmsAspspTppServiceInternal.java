@@ -42,6 +42,7 @@ public class CmsAspspTppServiceInternal implements CmsAspspTppService {
     private final TppStopListMapper tppStopListMapper;
     private final TppInfoRepository tppInfoRepository;
     private final TppInfoMapper tppInfoMapper;
+    private final TppStopListCacheInvalidator tppStopListCacheInvalidator;
 
     @NotNull
     @Override
@@ -65,6 +66,7 @@ public class CmsAspspTppServiceInternal implements CmsAspspTppService {
         entityToBeBlocked.block(lockPeriod);
 
         stopListRepository.save(entityToBeBlocked);
+        tppStopListCacheInvalidator.invalidate(tppAuthorisationNumber);
         return true;
     }
 
@@ -78,6 +80,7 @@ public class CmsAspspTppServiceInternal implements CmsAspspTppService {
             entityToBeUnblocked.unblock();
 
             stopListRepository.save(entityToBeUnblocked);
+            tppStopListCacheInvalidator.invalidate(tppAuthorisationNumber);
         }
         return true;
     }
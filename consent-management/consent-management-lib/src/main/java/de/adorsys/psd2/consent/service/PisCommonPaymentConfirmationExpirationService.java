@@ -19,6 +19,7 @@ package de.adorsys.psd2.consent.service;
 import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
 import de.adorsys.psd2.consent.domain.payment.PisAuthorization;
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentStatusView;
 import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
@@ -51,6 +52,11 @@ public class PisCommonPaymentConfirmationExpirationService {
         return pisCommonPaymentData != null && pisCommonPaymentData.isConfirmationExpired(expirationPeriodMs);
     }
 
+    public boolean isPaymentStatusOnConfirmationExpired(PisCommonPaymentStatusView paymentStatusView) {
+        long expirationPeriodMs = aspspProfileService.getAspspSettings().getNotConfirmedPaymentExpirationPeriodMs();
+        return paymentStatusView != null && paymentStatusView.isConfirmationExpired(expirationPeriodMs);
+    }
+
     @Transactional
     public PisCommonPaymentData updatePaymentDataOnConfirmationExpiration(PisCommonPaymentData pisCommonPaymentData) {
         pisCommonPaymentData.setTransactionStatus(TransactionStatus.RJCT);
@@ -29,6 +29,7 @@ import de.adorsys.psd2.consent.domain.PsuData;
 import de.adorsys.psd2.consent.domain.ScaMethod;
 import de.adorsys.psd2.consent.domain.payment.PisAuthorization;
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentStatusView;
 import de.adorsys.psd2.consent.repository.PisAuthorisationRepository;
 import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
 import de.adorsys.psd2.consent.repository.PisPaymentDataRepository;
@@ -102,9 +103,16 @@ public class PisCommonPaymentServiceInternal implements PisCommonPaymentService
     @Override
     @Transactional
     public Optional<TransactionStatus> getPisCommonPaymentStatusById(String paymentId) {
-        return pisCommonPaymentDataRepository.findByPaymentId(paymentId)
-                   .map(pisCommonPaymentConfirmationExpirationService::checkAndUpdatePaymentDataOnConfirmationExpiration)
-                   .map(PisCommonPaymentData::getTransactionStatus);
+        Optional<PisCommonPaymentStatusView> paymentStatusView = pisCommonPaymentDataRepository.findStatusViewByPaymentId(paymentId);
+
+        // Only expired payments need the whole entity, as they have to be rejected together with their authorisations
+        if (paymentStatusView.filter(pisCommonPaymentConfirmationExpirationService::isPaymentStatusOnConfirmationExpired).isPresent()) {
+            return pisCommonPaymentDataRepository.findByPaymentId(paymentId)
+                       .map(pisCommonPaymentConfirmationExpirationService::checkAndUpdatePaymentDataOnConfirmationExpiration)
+                       .map(PisCommonPaymentData::getTransactionStatus);
+        }
+
+        return paymentStatusView.map(PisCommonPaymentStatusView::getTransactionStatus);
     }
 
     /**
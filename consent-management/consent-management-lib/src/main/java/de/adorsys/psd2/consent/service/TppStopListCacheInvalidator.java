@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service;
+
+import de.adorsys.psd2.consent.api.tpp.TppStopListCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Propagates changes of the TPP stop list to the {@link TppStopListCache} of the current node.
+ * <p>
+ * If there is an active transaction, the cached status is removed only after the commit, so that a concurrent stop
+ * list check can't put the old status back into the cache. Caches of other nodes expire after their time to live.
+ */
+@Component
+@RequiredArgsConstructor
+public class TppStopListCacheInvalidator {
+    private final TppStopListCache tppStopListCache;
+
+    public void invalidate(String tppAuthorisationNumber) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            tppStopListCache.invalidate(tppAuthorisationNumber);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                tppStopListCache.invalidate(tppAuthorisationNumber);
+            }
+        });
+    }
+}
@@ -17,6 +17,7 @@
 package de.adorsys.psd2.consent.service;
 
 import de.adorsys.psd2.consent.api.service.TppStopListService;
+import de.adorsys.psd2.consent.api.tpp.TppStopListCache;
 import de.adorsys.psd2.consent.domain.TppStopListEntity;
 import de.adorsys.psd2.consent.repository.TppStopListRepository;
 import lombok.RequiredArgsConstructor;
@@ -31,12 +32,17 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class TppStopListServiceInternal implements TppStopListService {
     private final TppStopListRepository tppStopListRepository;
+    private final TppStopListCache tppStopListCache;
 
     @Value("${cms.service.instance-id:UNDEFINED}")
     private String serviceInstanceId;
 
     @Override
     public boolean checkIfTppBlocked(String tppAuthorisationNumber) {
+        return tppStopListCache.isBlocked(tppAuthorisationNumber, serviceInstanceId, () -> checkInStopList(tppAuthorisationNumber));
+    }
+
+    private boolean checkInStopList(String tppAuthorisationNumber) {
         Optional<TppStopListEntity> stopListEntityOptional = tppStopListRepository.findByTppAuthorisationNumberAndInstanceId(tppAuthorisationNumber, serviceInstanceId);
 
         return stopListEntityOptional
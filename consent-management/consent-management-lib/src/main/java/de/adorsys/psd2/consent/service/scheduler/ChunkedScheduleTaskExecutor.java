@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.scheduler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Executes schedule tasks over large sets of entities in chunks.
+ * <p>
+ * Entities are loaded with keyset pagination over their IDs, each chunk is processed and committed in its own
+ * transaction, after which the persistence context is flushed and cleared, so only one chunk is kept in memory at a time.
+ */
+@Slf4j
+@Component
+public class ChunkedScheduleTaskExecutor {
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ChunkedScheduleTaskExecutor(PlatformTransactionManager transactionManager,
+                                       @Value("${scheduler.chunk.size:1000}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size of schedule tasks must be positive");
+        }
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Loads entities chunk by chunk and passes every chunk to the processor
+     *
+     * @param taskName       name of the schedule task, used for logging
+     * @param chunkLoader    function for loading next chunk of entities with IDs greater than the given one, ordered by ID
+     * @param idExtractor    function for extracting the ID of the entity
+     * @param chunkProcessor processor of loaded entities, executed in the same transaction as the chunk loader
+     * @param <T>            type of entities
+     * @return total number of loaded entities
+     */
+    public <T> long execute(String taskName,
+                            BiFunction<Long, Pageable, List<T>> chunkLoader,
+                            Function<T, Long> idExtractor,
+                            Consumer<List<T>> chunkProcessor) {
+        Pageable pageable = PageRequest.of(0, chunkSize);
+        long lastId = 0;
+        long processed = 0;
+        int loaded;
+
+        do {
+            long previousId = lastId;
+            List<T> chunk = transactionTemplate.execute(status -> processChunk(chunkLoader.apply(previousId, pageable), chunkProcessor));
+            loaded = chunk.size();
+
+            if (loaded > 0) {
+                lastId = idExtractor.apply(chunk.get(loaded - 1));
+                processed += loaded;
+                log.debug("{}: processed chunk of {} entities, last ID: {}", taskName, loaded, lastId);
+            }
+        } while (loaded == chunkSize);
+
+        log.info("{}: {} entities processed", taskName, processed);
+        return processed;
+    }
+
+    private <T> List<T> processChunk(List<T> chunk, Consumer<List<T>> chunkProcessor) {
+        if (!chunk.isEmpty()) {
+            chunkProcessor.accept(chunk);
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return chunk;
+    }
+}
@@ -16,55 +16,42 @@
 
 package de.adorsys.psd2.consent.service.scheduler;
 
-import de.adorsys.psd2.consent.domain.account.AisConsent;
 import de.adorsys.psd2.consent.repository.AisConsentRepository;
-import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.EnumSet;
-import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
-import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.RECEIVED;
-import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.VALID;
+import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.*;
 
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ConsentScheduleTask {
+    private static final String TASK_NAME = "Consent schedule task";
+
     private final AisConsentRepository aisConsentRepository;
+    private final ScheduleTaskCoordinator scheduleTaskCoordinator;
 
     @Scheduled(cron = "${consent.cron.expression}")
     @Transactional
     public void checkConsentStatus() {
         log.info("Consent schedule task is run!");
 
-        List<AisConsent> availableConsents = Optional.ofNullable(aisConsentRepository.findByConsentStatusIn(EnumSet.of(RECEIVED, VALID)))
-                                                 .orElse(Collections.emptyList());
-        aisConsentRepository.saveAll(updateConsent(availableConsents));
-    }
-
-    private List<AisConsent> updateConsent(List<AisConsent> availableConsents) {
-        return availableConsents.stream()
-                   .map(this::updateConsentParameters)
-                   .collect(Collectors.toList());
-    }
-
-    private AisConsent updateConsentParameters(AisConsent consent) {
-        consent.setConsentStatus(updateConsentStatus(consent));
-        return consent;
+        scheduleTaskCoordinator.runExclusively(TASK_NAME, this::expireConsentsByDate);
     }
 
-    private ConsentStatus updateConsentStatus(AisConsent consent) {
-        return consent.isExpiredByDate()
-                   ? ConsentStatus.EXPIRED
-                   : consent.getConsentStatus();
+    private void expireConsentsByDate() {
+        int expiredConsents = aisConsentRepository.updateStatusOfConsentsExpiredByDate(EnumSet.of(RECEIVED, VALID),
+                                                                                       LocalDate.now(),
+                                                                                       EXPIRED,
+                                                                                       OffsetDateTime.now());
+        log.info("Consent schedule task: {} consents expired", expiredConsents);
     }
 }
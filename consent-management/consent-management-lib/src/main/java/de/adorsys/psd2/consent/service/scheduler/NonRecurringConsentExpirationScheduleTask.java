@@ -35,13 +35,20 @@ import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.*;
 @Component
 @RequiredArgsConstructor
 public class NonRecurringConsentExpirationScheduleTask {
+    private static final String TASK_NAME = "Non-recurring consent expiration task";
+
     private final AisConsentRepository aisConsentRepository;
+    private final ScheduleTaskCoordinator scheduleTaskCoordinator;
 
     @Scheduled(cron = "${used-non-recurring-consent-expiration.cron.expression}")
     @Transactional
     public void expireUsedNonRecurringConsent() {
         log.info("Non-recurring consent expiration task has started!");
 
+        scheduleTaskCoordinator.runExclusively(TASK_NAME, this::expireConsents);
+    }
+
+    private void expireConsents() {
         List<AisConsent> consents = aisConsentRepository.findUsedNonRecurringConsents(EnumSet.of(RECEIVED, VALID),
                                                                                       LocalDate.now())
                                         .stream()
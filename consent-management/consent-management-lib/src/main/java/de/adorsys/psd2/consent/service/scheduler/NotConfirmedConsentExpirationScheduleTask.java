@@ -24,7 +24,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.EnumSet;
 import java.util.List;
@@ -34,18 +33,31 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Component
 public class NotConfirmedConsentExpirationScheduleTask {
+    private static final String TASK_NAME = "Not confirmed consent expiration schedule task";
+
     private final AisConsentConfirmationExpirationService aisConsentConfirmationExpirationService;
     private final AisConsentRepository aisConsentRepository;
+    private final ChunkedScheduleTaskExecutor chunkedScheduleTaskExecutor;
+    private final ScheduleTaskCoordinator scheduleTaskCoordinator;
 
     @Scheduled(cron = "${not-confirmed-consent-expiration.cron.expression}")
-    @Transactional
     public void obsoleteNotConfirmedConsentIfExpired() {
         log.info("Not confirmed consent expiration schedule task is run!");
 
-        List<AisConsent> expiredNotConfirmedConsents = aisConsentRepository.findByConsentStatusIn(EnumSet.of(ConsentStatus.RECEIVED))
-                                       .stream()
-                                       .filter(aisConsentConfirmationExpirationService::isConsentConfirmationExpired)
-                                       .collect(Collectors.toList());
+        scheduleTaskCoordinator.runSharded(TASK_NAME, this::obsoleteNotConfirmedConsentsInShard);
+    }
+
+    private void obsoleteNotConfirmedConsentsInShard(ScheduleTaskCoordinator.Shard shard) {
+        chunkedScheduleTaskExecutor.execute(TASK_NAME,
+                                            (lastId, pageable) -> aisConsentRepository.findShardChunkByConsentStatusIn(EnumSet.of(ConsentStatus.RECEIVED), lastId, shard.getIndex(), shard.getCount(), pageable),
+                                            AisConsent::getId,
+                                            this::obsoleteExpiredConsents);
+    }
+
+    private void obsoleteExpiredConsents(List<AisConsent> notConfirmedConsents) {
+        List<AisConsent> expiredNotConfirmedConsents = notConfirmedConsents.stream()
+                                                           .filter(aisConsentConfirmationExpirationService::isConsentConfirmationExpired)
+                                                           .collect(Collectors.toList());
 
         if (!expiredNotConfirmedConsents.isEmpty()) {
             aisConsentConfirmationExpirationService.updateConsentListOnConfirmationExpiration(expiredNotConfirmedConsents);
@@ -17,14 +17,15 @@
 package de.adorsys.psd2.consent.service.scheduler;
 
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentStatusView;
 import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
 import de.adorsys.psd2.consent.service.PisCommonPaymentConfirmationExpirationService;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.IterableUtils;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.EnumSet;
 import java.util.List;
@@ -34,20 +35,35 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Component
 public class NotConfirmedPaymentExpirationScheduleTask {
+    private static final String TASK_NAME = "Not confirmed payment expiration schedule task";
+
     private final PisCommonPaymentConfirmationExpirationService pisCommonPaymentConfirmationExpirationService;
     private final PisCommonPaymentDataRepository paymentDataRepository;
+    private final ChunkedScheduleTaskExecutor chunkedScheduleTaskExecutor;
+    private final ScheduleTaskCoordinator scheduleTaskCoordinator;
 
     @Scheduled(cron = "${not-confirmed-payment-expiration.cron.expression}")
-    @Transactional
     public void obsoleteNotConfirmedPaymentIfExpired() {
         log.info("Not confirmed payment expiration schedule task is run!");
 
-        List<PisCommonPaymentData> expiredNotConfirmedPaymentDatas = paymentDataRepository.findByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD))
-                                                                         .stream()
-                                                                         .filter(pisCommonPaymentConfirmationExpirationService::isPaymentDataOnConfirmationExpired)
-                                                                         .collect(Collectors.toList());
+        scheduleTaskCoordinator.runSharded(TASK_NAME, this::obsoleteNotConfirmedPaymentsInShard);
+    }
+
+    private void obsoleteNotConfirmedPaymentsInShard(ScheduleTaskCoordinator.Shard shard) {
+        chunkedScheduleTaskExecutor.execute(TASK_NAME,
+                                            (lastId, pageable) -> paymentDataRepository.findShardChunkStatusViewsByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD), lastId, shard.getIndex(), shard.getCount(), pageable),
+                                            PisCommonPaymentStatusView::getId,
+                                            this::obsoleteExpiredPayments);
+    }
+
+    private void obsoleteExpiredPayments(List<PisCommonPaymentStatusView> notConfirmedPaymentStatuses) {
+        List<Long> expiredNotConfirmedPaymentIds = notConfirmedPaymentStatuses.stream()
+                                                       .filter(pisCommonPaymentConfirmationExpirationService::isPaymentStatusOnConfirmationExpired)
+                                                       .map(PisCommonPaymentStatusView::getId)
+                                                       .collect(Collectors.toList());
 
-        if (!expiredNotConfirmedPaymentDatas.isEmpty()) {
+        if (!expiredNotConfirmedPaymentIds.isEmpty()) {
+            List<PisCommonPaymentData> expiredNotConfirmedPaymentDatas = IterableUtils.toList(paymentDataRepository.findAllById(expiredNotConfirmedPaymentIds));
             pisCommonPaymentConfirmationExpirationService.updatePaymentDataListOnConfirmationExpiration(expiredNotConfirmedPaymentDatas);
         }
     }
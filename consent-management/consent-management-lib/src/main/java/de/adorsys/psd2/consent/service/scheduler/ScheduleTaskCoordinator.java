@@ -0,0 +1,154 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.scheduler;
+
+import de.adorsys.psd2.consent.domain.SchedulerLeaseEntity;
+import de.adorsys.psd2.consent.repository.SchedulerLeaseRepository;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Coordinates execution of schedule tasks between several CMS nodes, sharing the same database.
+ * <p>
+ * Before running a task, the node acquires a lease for it in the <code>scheduler_lease</code> table. The lease is
+ * held until it expires, so other nodes, triggered by the same cron expression, skip the task. Tasks, processing large
+ * sets of entities, may be split into shards by entity ID, each shard being leased separately, so that several nodes
+ * process the same task in parallel.
+ */
+@Slf4j
+@Component
+public class ScheduleTaskCoordinator {
+    private static final String SHARD_SEPARATOR = "#";
+
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerCoordinationProperties properties;
+    private final String nodeId;
+
+    @Autowired
+    public ScheduleTaskCoordinator(SchedulerLeaseRepository schedulerLeaseRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   SchedulerCoordinationProperties properties) {
+        this.schedulerLeaseRepository = schedulerLeaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+        this.nodeId = StringUtils.defaultIfBlank(properties.getNodeId(), generateNodeId());
+        log.info("Schedule task coordination enabled: {}, node ID: {}", properties.isEnabled(), nodeId);
+    }
+
+    /**
+     * Runs the task, if no other node is running it at the moment
+     *
+     * @param taskName name of the task
+     * @param task     task to be executed
+     * @return <code>true</code> if the task was executed by this node, <code>false</code> otherwise
+     */
+    public boolean runExclusively(String taskName, Runnable task) {
+        if (!tryAcquireLease(taskName)) {
+            log.info("{}: skipped, the task is run by another node", taskName);
+            return false;
+        }
+
+        task.run();
+        return true;
+    }
+
+    /**
+     * Runs the task for all shards, that are not processed by other nodes at the moment
+     *
+     * @param taskName name of the task
+     * @param task     task to be executed for one shard
+     * @return number of shards, processed by this node
+     */
+    public int runSharded(String taskName, Consumer<Shard> task) {
+        int shardCount = properties.getShardCount();
+        int processed = 0;
+
+        for (int index = 0; index < shardCount; index++) {
+            if (tryAcquireLease(taskName + SHARD_SEPARATOR + index)) {
+                task.accept(new Shard(index, shardCount));
+                processed++;
+            }
+        }
+
+        log.info("{}: {} of {} shards processed by this node", taskName, processed, shardCount);
+        return processed;
+    }
+
+    private boolean tryAcquireLease(String leaseName) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime leaseUntil = now.plus(Duration.ofSeconds(properties.getLeaseDurationSeconds()));
+
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> acquireLease(leaseName, now, leaseUntil)));
+        } catch (DataAccessException | TransactionException e) {
+            log.info("Lease [{}] couldn't be acquired, probably it was acquired by another node: {}", leaseName, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean acquireLease(String leaseName, OffsetDateTime now, OffsetDateTime leaseUntil) {
+        if (schedulerLeaseRepository.acquireLease(leaseName, nodeId, now, leaseUntil) > 0) {
+            return true;
+        }
+
+        if (schedulerLeaseRepository.existsById(leaseName)) {
+            return false;
+        }
+
+        schedulerLeaseRepository.save(new SchedulerLeaseEntity(leaseName, nodeId, leaseUntil));
+        return true;
+    }
+
+    private String generateNodeId() {
+        String randomPart = UUID.randomUUID().toString().substring(0, 8);
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + randomPart;
+        } catch (UnknownHostException e) {
+            return randomPart;
+        }
+    }
+
+    /**
+     * Part of the entity ID space: entities with <code>id % count == index</code>
+     */
+    @Value
+    public static class Shard {
+        private int index;
+        private int count;
+    }
+}
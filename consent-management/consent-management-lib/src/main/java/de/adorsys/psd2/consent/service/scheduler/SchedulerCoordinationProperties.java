@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.scheduler;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+public class SchedulerCoordinationProperties {
+    /**
+     * Whether schedule tasks should be coordinated between CMS nodes via leases in the database
+     */
+    @Value("${scheduler.coordination.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Unique ID of this CMS node. If omitted, it's generated from the host name on start.
+     */
+    @Value("${scheduler.coordination.node-id:}")
+    private String nodeId;
+
+    /**
+     * Time in seconds, for which the lease of the task is held. Must be shorter than the interval between task runs.
+     */
+    @Value("${scheduler.coordination.lease-duration-seconds:300}")
+    private long leaseDurationSeconds;
+
+    /**
+     * Number of shards, into which entity ID space of sharded tasks is split
+     */
+    @Value("${scheduler.coordination.shard-count:1}")
+    private int shardCount;
+}
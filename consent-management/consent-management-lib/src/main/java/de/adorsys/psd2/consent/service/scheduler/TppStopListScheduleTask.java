@@ -18,6 +18,7 @@ package de.adorsys.psd2.consent.service.scheduler;
 
 import de.adorsys.psd2.consent.domain.TppStopListEntity;
 import de.adorsys.psd2.consent.repository.TppStopListRepository;
+import de.adorsys.psd2.consent.service.TppStopListCacheInvalidator;
 import de.adorsys.psd2.xs2a.core.tpp.TppStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,18 +34,27 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Component
 public class TppStopListScheduleTask {
+    private static final String TASK_NAME = "Tpp Stop List schedule task";
+
     private final TppStopListRepository tppStopListRepository;
+    private final ScheduleTaskCoordinator scheduleTaskCoordinator;
+    private final TppStopListCacheInvalidator tppStopListCacheInvalidator;
 
     @Scheduled(cron = "${stoplist.cron.expression}")
     @Transactional
     public void unblockTppIfBlockingExpired() {
         log.info("Tpp Stop List schedule task is run!");
 
+        scheduleTaskCoordinator.runExclusively(TASK_NAME, this::unblockExpiredTpps);
+    }
+
+    private void unblockExpiredTpps() {
         List<TppStopListEntity> blockedWithExpirationTpps = tppStopListRepository.findAllByStatusAndBlockingExpirationTimestampLessThanEqual(TppStatus.BLOCKED, OffsetDateTime.now());
         List<TppStopListEntity> unblockedTpps = unblockTpps(blockedWithExpirationTpps);
 
         if (!unblockedTpps.isEmpty()) {
             tppStopListRepository.saveAll(unblockedTpps);
+            unblockedTpps.forEach(tpp -> tppStopListCacheInvalidator.invalidate(tpp.getTppAuthorisationNumber()));
         }
     }
 
@@ -17,9 +17,9 @@
 package de.adorsys.psd2.consent.service.security;
 
 
+import de.adorsys.psd2.consent.service.security.cache.DecryptedIdCache;
 import de.adorsys.psd2.consent.service.security.provider.CryptoProvider;
 import de.adorsys.psd2.consent.service.security.provider.CryptoProviderHolder;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -32,15 +32,16 @@ import java.util.Optional;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class SecurityDataService {
     private static final String SEPARATOR = "_=_";
     private String serverKey;
     private final CryptoProviderHolder cryptoProviderHolder;
+    private final DecryptedIdCache decryptedIdCache;
 
     @Autowired
-    public SecurityDataService(Environment environment, CryptoProviderHolder cryptoProviderHolder) {
+    public SecurityDataService(Environment environment, CryptoProviderHolder cryptoProviderHolder, DecryptedIdCache decryptedIdCache) {
         this.cryptoProviderHolder = cryptoProviderHolder;
+        this.decryptedIdCache = decryptedIdCache;
         serverKey = environment.getProperty("server_key");
         if (StringUtils.isBlank(serverKey)) {
             log.info("The 'server_key' missing - must be specified at CMS start");
@@ -86,8 +87,8 @@ public class SecurityDataService {
             return Optional.empty();
         }
 
-        Optional<String> decryptedId = decryptCompositeId(encryptedId)
-                                           .map(cmst -> cmst.split(SEPARATOR)[0]);
+        Optional<String> decryptedId = getDecryptedIdSetByEncryptedId(encryptedId)
+                                           .map(DecryptedIdSet::getDecryptedId);
 
         if (!decryptedId.isPresent()) {
             log.info("ID: [{}]. Couldn't decrypt ID", encryptedId);
@@ -141,8 +142,14 @@ public class SecurityDataService {
     }
 
     private Optional<DecryptedIdSet> getDecryptedIdSetByEncryptedId(String encryptedId) {
+        return decryptedIdCache.getDecryptedIdSet(encryptedId, this::decryptIdSet);
+    }
+
+    private Optional<DecryptedIdSet> decryptIdSet(String encryptedId) {
         return decryptCompositeId(encryptedId)
-                   .map(cmpid -> new DecryptedIdSet(cmpid.split(SEPARATOR)));
+                   .map(cmpid -> cmpid.split(SEPARATOR))
+                   .filter(idDataValues -> idDataValues.length > 1)
+                   .map(DecryptedIdSet::new);
     }
 
     private Optional<String> decryptCompositeId(String encryptedId) {
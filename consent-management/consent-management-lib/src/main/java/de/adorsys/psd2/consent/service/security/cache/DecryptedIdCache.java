@@ -0,0 +1,38 @@
+/*
+ * Copyright 2018-2018 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security.cache;
+
+import de.adorsys.psd2.consent.service.security.DecryptedIdSet;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Cache for crypto information, extracted from encrypted IDs, used to avoid decrypting the same ID several times
+ */
+public interface DecryptedIdCache {
+
+    /**
+     * Returns cached crypto information for given encrypted ID or decrypts the ID with given function if there is no
+     * cached value. Only successfully decrypted IDs are cached.
+     *
+     * @param encryptedId encrypted ID
+     * @param decryptor   function for decrypting the ID on cache miss
+     * @return crypto information, extracted from the ID
+     */
+    Optional<DecryptedIdSet> getDecryptedIdSet(String encryptedId, Function<String, Optional<DecryptedIdSet>> decryptor);
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2018-2018 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security.cache;
+
+/**
+ * Defines lifetime of the values, stored in decrypted ID cache
+ */
+public enum DecryptedIdCacheMode {
+    /**
+     * Decrypted IDs are kept until the end of the current CMS request (i.e. the transaction of the service call)
+     */
+    REQUEST,
+    /**
+     * Decrypted IDs are kept in process-wide cache with limited size, least recently used values are evicted first
+     */
+    PROCESS
+}
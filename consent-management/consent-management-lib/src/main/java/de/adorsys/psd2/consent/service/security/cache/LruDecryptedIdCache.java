@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018-2018 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security.cache;
+
+import de.adorsys.psd2.consent.service.security.DecryptedIdSet;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Process-wide decrypted ID cache with limited size. When the maximum size is reached, least recently used values
+ * are evicted.
+ */
+public class LruDecryptedIdCache implements DecryptedIdCache {
+    private final Map<String, DecryptedIdSet> cache;
+
+    public LruDecryptedIdCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size of the decrypted ID cache must be positive");
+        }
+
+        this.cache = new LinkedHashMap<String, DecryptedIdSet>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, DecryptedIdSet> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public Optional<DecryptedIdSet> getDecryptedIdSet(String encryptedId, Function<String, Optional<DecryptedIdSet>> decryptor) {
+        DecryptedIdSet cached;
+        synchronized (cache) {
+            cached = cache.get(encryptedId);
+        }
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<DecryptedIdSet> decryptedIdSet = decryptor.apply(encryptedId);
+        decryptedIdSet.ifPresent(set -> {
+            synchronized (cache) {
+                cache.put(encryptedId, set);
+            }
+        });
+        return decryptedIdSet;
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018-2018 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security.cache;
+
+import de.adorsys.psd2.consent.service.security.DecryptedIdSet;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Decrypted ID cache, bound to the transaction of the current CMS request. Values are discarded as soon as the
+ * transaction is completed. If there is no active transaction, IDs are decrypted on every call.
+ */
+public class RequestScopedDecryptedIdCache implements DecryptedIdCache {
+    private static final Object RESOURCE_KEY = RequestScopedDecryptedIdCache.class.getName() + ".CACHE";
+
+    @Override
+    public Optional<DecryptedIdSet> getDecryptedIdSet(String encryptedId, Function<String, Optional<DecryptedIdSet>> decryptor) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return decryptor.apply(encryptedId);
+        }
+
+        Map<String, DecryptedIdSet> requestCache = getRequestCache();
+        DecryptedIdSet cached = requestCache.get(encryptedId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<DecryptedIdSet> decryptedIdSet = decryptor.apply(encryptedId);
+        decryptedIdSet.ifPresent(set -> requestCache.put(encryptedId, set));
+        return decryptedIdSet;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, DecryptedIdSet> getRequestCache() {
+        Map<String, DecryptedIdSet> requestCache = (Map<String, DecryptedIdSet>) TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+        if (requestCache == null) {
+            requestCache = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(RESOURCE_KEY, requestCache);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+                }
+            });
+        }
+        return requestCache;
+    }
+}
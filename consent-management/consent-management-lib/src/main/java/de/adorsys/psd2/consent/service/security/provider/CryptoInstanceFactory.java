@@ -26,4 +26,17 @@ public interface CryptoInstanceFactory {
      * @return instance of crypto provider
      */
     CryptoProvider initProvider(String cryptoProviderId, String parameters);
+
+    /**
+     * Creates new instance of Crypto provider using given parameters and shared cache for derived secret keys.
+     * Factories of providers, that don't derive keys from passwords, may ignore the cache.
+     *
+     * @param cryptoProviderId Id of Crypto provider
+     * @param parameters       Data for creating and initializing crypto providers
+     * @param derivedKeyCache  Cache for secret keys, derived from passwords
+     * @return instance of crypto provider
+     */
+    default CryptoProvider initProvider(String cryptoProviderId, String parameters, DerivedKeyCache derivedKeyCache) {
+        return initProvider(cryptoProviderId, parameters);
+    }
 }
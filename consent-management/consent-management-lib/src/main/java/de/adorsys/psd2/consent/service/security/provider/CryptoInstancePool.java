@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018-2018 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security.provider;
+
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.SecretKeyFactory;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-thread pool of JCA instances, used by crypto providers.
+ * <p>
+ * Lookup of JCA implementations in <code>getInstance</code> methods is synchronized and allocates new objects on every
+ * call, so each thread keeps its own instances instead, one per algorithm. Pooled {@link Cipher} instances must always
+ * be initialized before use, as they may still hold the state of the previous operation.
+ */
+public final class CryptoInstancePool {
+    private static final ThreadLocal<Map<String, Cipher>> CIPHERS = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Map<String, SecretKeyFactory>> SECRET_KEY_FACTORIES = ThreadLocal.withInitial(HashMap::new);
+
+    private CryptoInstancePool() {
+    }
+
+    /**
+     * Returns cipher instance for given transformation, owned by the current thread
+     *
+     * @param transformation name of the transformation, e.g. AES/ECB/PKCS5Padding
+     * @return cipher instance
+     * @throws NoSuchAlgorithmException if transformation is not supported
+     * @throws NoSuchPaddingException   if padding scheme is not supported
+     */
+    public static Cipher getCipher(String transformation) throws NoSuchAlgorithmException, NoSuchPaddingException {
+        Map<String, Cipher> ciphers = CIPHERS.get();
+        Cipher cipher = ciphers.get(transformation);
+        if (cipher == null) {
+            cipher = Cipher.getInstance(transformation);
+            ciphers.put(transformation, cipher);
+        }
+        return cipher;
+    }
+
+    /**
+     * Returns secret key factory instance for given algorithm, owned by the current thread
+     *
+     * @param algorithm name of the secret key algorithm, e.g. PBKDF2WithHmacSHA256
+     * @return secret key factory instance
+     * @throws NoSuchAlgorithmException if algorithm is not supported
+     */
+    public static SecretKeyFactory getSecretKeyFactory(String algorithm) throws NoSuchAlgorithmException {
+        Map<String, SecretKeyFactory> factories = SECRET_KEY_FACTORIES.get();
+        SecretKeyFactory factory = factories.get(algorithm);
+        if (factory == null) {
+            factory = SecretKeyFactory.getInstance(algorithm);
+            factories.put(algorithm, factory);
+        }
+        return factory;
+    }
+}
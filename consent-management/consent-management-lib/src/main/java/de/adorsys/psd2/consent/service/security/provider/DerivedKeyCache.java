@@ -0,0 +1,214 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security.provider;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache for secret keys, derived from passwords by crypto providers.
+ * <p>
+ * Keys are stored by crypto provider ID and SHA-256 fingerprint of the password, so the password itself is never kept
+ * in memory. Entries are evicted in LRU order when the maximum size is reached or when their time to live expires,
+ * evicted key material is overwritten with zeroes.
+ */
+@Slf4j
+public class DerivedKeyCache {
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+    public static final long DEFAULT_TTL_SECONDS = 3_600;
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final Map<CacheKey, CacheEntry> entries;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public DerivedKeyCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TTL_SECONDS);
+    }
+
+    public DerivedKeyCache(int maxSize, long ttlSeconds) {
+        this(maxSize, ttlSeconds, System::nanoTime);
+    }
+
+    DerivedKeyCache(int maxSize, long ttlSeconds, LongSupplier nanoClock) {
+        if (maxSize < 1 || ttlSeconds < 1) {
+            throw new IllegalArgumentException("Max size and time to live of the derived key cache must be positive");
+        }
+
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the key derived from given password by given crypto provider. The key is derived with the derivation
+     * function only if there is no valid cached key for this provider and password.
+     *
+     * @param cryptoProviderId ID of the crypto provider, that derives the key
+     * @param password         password the key is derived from
+     * @param derivation       function for deriving the key
+     * @return copy of the raw key bytes
+     * @throws GeneralSecurityException if the key couldn't be derived
+     */
+    public byte[] getKey(String cryptoProviderId, String password, KeyDerivation derivation) throws GeneralSecurityException {
+        CacheKey cacheKey = new CacheKey(cryptoProviderId, fingerprint(password));
+
+        synchronized (entries) {
+            CacheEntry cached = entries.get(cacheKey);
+            if (cached != null) {
+                if (!isExpired(cached)) {
+                    hitCount.incrementAndGet();
+                    return cached.getKey().clone();
+                }
+
+                entries.remove(cacheKey);
+                evict(cached);
+            }
+        }
+
+        missCount.incrementAndGet();
+        byte[] derivedKey = derivation.derive();
+
+        synchronized (entries) {
+            CacheEntry previous = entries.put(cacheKey, new CacheEntry(derivedKey.clone(), nanoClock.getAsLong()));
+            if (previous != null) {
+                previous.destroy();
+            }
+            evictEldestEntries();
+        }
+
+        return derivedKey;
+    }
+
+    /**
+     * Removes all expired entries from the cache
+     */
+    public void evictExpired() {
+        synchronized (entries) {
+            Iterator<CacheEntry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                CacheEntry entry = iterator.next();
+                if (isExpired(entry)) {
+                    iterator.remove();
+                    evict(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all entries from the cache and destroys cached key material
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.values().forEach(CacheEntry::destroy);
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "DerivedKeyCache{size=" + size()
+                   + ", hits=" + getHitCount()
+                   + ", misses=" + getMissCount()
+                   + ", evictions=" + getEvictionCount() + "}";
+    }
+
+    private void evictEldestEntries() {
+        Iterator<CacheEntry> iterator = entries.values().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            CacheEntry eldest = iterator.next();
+            iterator.remove();
+            evict(eldest);
+        }
+    }
+
+    private void evict(CacheEntry entry) {
+        entry.destroy();
+        evictionCount.incrementAndGet();
+    }
+
+    private boolean isExpired(CacheEntry entry) {
+        return nanoClock.getAsLong() - entry.getCreationTime() >= ttlNanos;
+    }
+
+    private String fingerprint(String password) throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] hash = digest.digest(password.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    /**
+     * Function for deriving secret key from the password on cache miss
+     */
+    @FunctionalInterface
+    public interface KeyDerivation {
+        byte[] derive() throws GeneralSecurityException;
+    }
+
+    @Value
+    private static class CacheKey {
+        private String cryptoProviderId;
+        private String passwordFingerprint;
+    }
+
+    @Value
+    private static class CacheEntry {
+        private byte[] key;
+        private long creationTime;
+
+        void destroy() {
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+}
@@ -18,7 +18,9 @@ package de.adorsys.psd2.consent.service.security.provider.aes;
 
 import de.adorsys.psd2.consent.service.security.DecryptedData;
 import de.adorsys.psd2.consent.service.security.EncryptedData;
+import de.adorsys.psd2.consent.service.security.provider.CryptoInstancePool;
 import de.adorsys.psd2.consent.service.security.provider.CryptoProvider;
+import de.adorsys.psd2.consent.service.security.provider.DerivedKeyCache;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.crypto.BadPaddingException;
@@ -31,6 +33,7 @@ import java.security.GeneralSecurityException;
 import java.security.Key;
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
+import java.util.Arrays;
 import java.util.Optional;
 
 @Slf4j
@@ -40,13 +43,19 @@ public class AesEcbCryptoProviderImpl implements CryptoProvider {
     private final int keyLength;
     private final int hashIterations;
     private final String skfAlgorithm;
+    private final DerivedKeyCache derivedKeyCache;
 
     public AesEcbCryptoProviderImpl(String cryptoProviderId, String algorithm, int keyLength, int hashIterations, String skfAlgorithm) {
+        this(cryptoProviderId, algorithm, keyLength, hashIterations, skfAlgorithm, new DerivedKeyCache());
+    }
+
+    public AesEcbCryptoProviderImpl(String cryptoProviderId, String algorithm, int keyLength, int hashIterations, String skfAlgorithm, DerivedKeyCache derivedKeyCache) {
         this.cryptoProviderId = cryptoProviderId;
         this.algorithm = algorithm;
         this.keyLength = keyLength;
         this.hashIterations = hashIterations;
         this.skfAlgorithm = skfAlgorithm;
+        this.derivedKeyCache = derivedKeyCache;
     }
 
     @Override
@@ -54,7 +63,7 @@ public class AesEcbCryptoProviderImpl implements CryptoProvider {
         try {
             Key secretKey = getSecretKey(password);
 
-            Cipher cipher = Cipher.getInstance(algorithm);
+            Cipher cipher = CryptoInstancePool.getCipher(algorithm);
             cipher.init(Cipher.ENCRYPT_MODE, secretKey);
             byte[] encryptedData = cipher.doFinal(data);
 
@@ -71,7 +80,7 @@ public class AesEcbCryptoProviderImpl implements CryptoProvider {
         try {
             Key secretKey = getSecretKey(password);
 
-            Cipher cipher = Cipher.getInstance(algorithm);
+            Cipher cipher = CryptoInstancePool.getCipher(algorithm);
             cipher.init(Cipher.DECRYPT_MODE, secretKey);
             byte[] decryptedData = cipher.doFinal(data);
 
@@ -90,13 +99,22 @@ public class AesEcbCryptoProviderImpl implements CryptoProvider {
         return cryptoProviderId;
     }
 
-    private SecretKey getSecretKey(String password) throws InvalidKeySpecException, NoSuchAlgorithmException {
+    private SecretKey getSecretKey(String password) throws GeneralSecurityException {
+        byte[] derivedKey = derivedKeyCache.getKey(cryptoProviderId, password, () -> deriveKey(password));
+        try {
+            return new SecretKeySpec(derivedKey, "AES");
+        } finally {
+            Arrays.fill(derivedKey, (byte) 0);
+        }
+    }
+
+    private byte[] deriveKey(String password) throws InvalidKeySpecException, NoSuchAlgorithmException {
         byte[] salt = new byte[16];
         PBEKeySpec keySpec = new PBEKeySpec(password.toCharArray(), salt, hashIterations, keyLength);
         try {
-            SecretKeyFactory factory = SecretKeyFactory.getInstance(skfAlgorithm);
+            SecretKeyFactory factory = CryptoInstancePool.getSecretKeyFactory(skfAlgorithm);
             SecretKey secretKey = factory.generateSecret(keySpec);
-            return new SecretKeySpec(secretKey.getEncoded(), "AES");
+            return secretKey.getEncoded();
         } finally {
             keySpec.clearPassword();
         }
@@ -21,7 +21,9 @@ import com.nimbusds.jose.crypto.AESDecrypter;
 import com.nimbusds.jose.crypto.AESEncrypter;
 import de.adorsys.psd2.consent.service.security.DecryptedData;
 import de.adorsys.psd2.consent.service.security.EncryptedData;
+import de.adorsys.psd2.consent.service.security.provider.CryptoInstancePool;
 import de.adorsys.psd2.consent.service.security.provider.CryptoProvider;
+import de.adorsys.psd2.consent.service.security.provider.DerivedKeyCache;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.crypto.SecretKey;
@@ -32,6 +34,7 @@ import java.security.GeneralSecurityException;
 import java.security.Key;
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
+import java.util.Arrays;
 import java.util.Optional;
 
 @Slf4j
@@ -42,12 +45,18 @@ public class JweCryptoProviderImpl implements CryptoProvider {
     private final int keyLength;
     private final int hashIterations;
     private final String skfAlgorithm;
+    private final DerivedKeyCache derivedKeyCache;
 
     public JweCryptoProviderImpl(String cryptoProviderId, int keyLength, int hashIterations, String skfAlgorithm) {
+        this(cryptoProviderId, keyLength, hashIterations, skfAlgorithm, new DerivedKeyCache());
+    }
+
+    public JweCryptoProviderImpl(String cryptoProviderId, int keyLength, int hashIterations, String skfAlgorithm, DerivedKeyCache derivedKeyCache) {
         this.cryptoProviderId = cryptoProviderId;
         this.keyLength = keyLength;
         this.hashIterations = hashIterations;
         this.skfAlgorithm = skfAlgorithm;
+        this.derivedKeyCache = derivedKeyCache;
     }
 
     @Override
@@ -94,13 +103,22 @@ public class JweCryptoProviderImpl implements CryptoProvider {
         return cryptoProviderId;
     }
 
-    private SecretKey getSecretKey(String password) throws InvalidKeySpecException, NoSuchAlgorithmException {
+    private SecretKey getSecretKey(String password) throws GeneralSecurityException {
+        byte[] derivedKey = derivedKeyCache.getKey(cryptoProviderId, password, () -> deriveKey(password));
+        try {
+            return new SecretKeySpec(derivedKey, "AES");
+        } finally {
+            Arrays.fill(derivedKey, (byte) 0);
+        }
+    }
+
+    private byte[] deriveKey(String password) throws InvalidKeySpecException, NoSuchAlgorithmException {
         byte[] salt = new byte[16];
         PBEKeySpec keySpec = new PBEKeySpec(password.toCharArray(), salt, hashIterations, keyLength);
         try {
-            SecretKeyFactory factory = SecretKeyFactory.getInstance(skfAlgorithm);
+            SecretKeyFactory factory = CryptoInstancePool.getSecretKeyFactory(skfAlgorithm);
             SecretKey secretKey = factory.generateSecret(keySpec);
-            return new SecretKeySpec(secretKey.getEncoded(), "AES");
+            return secretKey.getEncoded();
         } finally {
             keySpec.clearPassword();
         }
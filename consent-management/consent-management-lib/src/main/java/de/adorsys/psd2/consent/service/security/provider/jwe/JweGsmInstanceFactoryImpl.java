@@ -18,6 +18,7 @@ package de.adorsys.psd2.consent.service.security.provider.jwe;
 
 import de.adorsys.psd2.consent.service.security.provider.CryptoInstanceFactory;
 import de.adorsys.psd2.consent.service.security.provider.CryptoProvider;
+import de.adorsys.psd2.consent.service.security.provider.DerivedKeyCache;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
@@ -27,13 +28,18 @@ public class JweGsmInstanceFactoryImpl implements CryptoInstanceFactory {
 
     @Override
     public CryptoProvider initProvider(String cryptoProviderId, String parameters) throws IllegalArgumentException {
+        return initProvider(cryptoProviderId, parameters, new DerivedKeyCache());
+    }
+
+    @Override
+    public CryptoProvider initProvider(String cryptoProviderId, String parameters, DerivedKeyCache derivedKeyCache) throws IllegalArgumentException {
         String[] paramsArr = StringUtils.split(parameters, SEPARATOR);
 
         int keyLength = getIntegerValueByIndex(paramsArr, 2, 256);
         int hashIterations = getIntegerValueByIndex(paramsArr, 3, 65536);
         String skfAlgorithm = getStringValueByIndex(paramsArr, 4, "PBKDF2WithHmacSHA256");
 
-        return new JweCryptoProviderImpl(cryptoProviderId, keyLength, hashIterations, skfAlgorithm);
+        return new JweCryptoProviderImpl(cryptoProviderId, keyLength, hashIterations, skfAlgorithm, derivedKeyCache);
     }
 
     private String getStringValueByIndex(String[] paramsArr, int index, String defaultValue) {
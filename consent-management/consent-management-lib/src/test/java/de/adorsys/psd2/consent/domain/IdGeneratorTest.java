@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.domain;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.PostgreSQL95Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.metamodel.spi.MetamodelImplementor;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+import javax.persistence.Entity;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the ID generators of all CMS entities. Entities, sharing a sequence, have to allocate IDs with the same
+ * optimizer and increment, as different optimizers on one sequence hand out overlapping ID ranges.
+ */
+public class IdGeneratorTest {
+    private static final String DOMAIN_PACKAGE = "de.adorsys.psd2.consent.domain";
+    private static final String PIS_COMMON_PAYMENT_SEQUENCE = "pis_common_payment_id_seq";
+
+    private static StandardServiceRegistry serviceRegistry;
+    private static SessionFactory sessionFactory;
+
+    @BeforeClass
+    public static void buildSessionFactory() throws Exception {
+        serviceRegistry = new StandardServiceRegistryBuilder()
+                              .applySetting(AvailableSettings.DIALECT, PostgreSQL95Dialect.class.getName())
+                              .applySetting("hibernate.temp.use_jdbc_metadata_defaults", false)
+                              .build();
+
+        MetadataSources metadataSources = new MetadataSources(serviceRegistry);
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        for (BeanDefinition entity : scanner.findCandidateComponents(DOMAIN_PACKAGE)) {
+            metadataSources.addAnnotatedClass(Class.forName(entity.getBeanClassName()));
+        }
+        sessionFactory = metadataSources.buildMetadata().buildSessionFactory();
+    }
+
+    @AfterClass
+    public static void closeSessionFactory() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(serviceRegistry);
+    }
+
+    @Test
+    public void sequenceGenerators_sameOptimizerPerSequence() {
+        // Given
+        MetamodelImplementor metamodel = sessionFactory.unwrap(SessionFactoryImplementor.class).getMetamodel();
+        Map<String, Optimizer> optimizersBySequence = new HashMap<>();
+
+        for (String entityName : metamodel.getAllEntityNames()) {
+            IdentifierGenerator generator = metamodel.entityPersister(entityName).getIdentifierGenerator();
+            if (!(generator instanceof SequenceStyleGenerator)) {
+                continue;
+            }
+
+            // When
+            SequenceStyleGenerator sequenceGenerator = (SequenceStyleGenerator) generator;
+            String sequenceName = sequenceGenerator.getDatabaseStructure().getName();
+            Optimizer optimizer = sequenceGenerator.getOptimizer();
+            Optimizer sharedOptimizer = optimizersBySequence.putIfAbsent(sequenceName, optimizer);
+
+            // Then
+            if (sharedOptimizer != null) {
+                assertEquals("Optimizer of " + entityName + " on " + sequenceName, sharedOptimizer.getClass(), optimizer.getClass());
+                assertEquals("Increment of " + entityName + " on " + sequenceName, sharedOptimizer.getIncrementSize(), optimizer.getIncrementSize());
+            }
+        }
+    }
+
+    @Test
+    public void pisCommonPaymentSequence_pooledLoOptimizer() {
+        // Given
+        MetamodelImplementor metamodel = sessionFactory.unwrap(SessionFactoryImplementor.class).getMetamodel();
+        int generatorCount = 0;
+
+        for (String entityName : metamodel.getAllEntityNames()) {
+            IdentifierGenerator generator = metamodel.entityPersister(entityName).getIdentifierGenerator();
+            if (!(generator instanceof SequenceStyleGenerator)
+                    || !PIS_COMMON_PAYMENT_SEQUENCE.equals(((SequenceStyleGenerator) generator).getDatabaseStructure().getName())) {
+                continue;
+            }
+
+            // When
+            Optimizer optimizer = ((SequenceStyleGenerator) generator).getOptimizer();
+            generatorCount++;
+
+            // Then
+            assertTrue("Optimizer of " + entityName, optimizer instanceof PooledLoOptimizer);
+            assertEquals(50, optimizer.getIncrementSize());
+        }
+
+        assertEquals(2, generatorCount);
+    }
+}
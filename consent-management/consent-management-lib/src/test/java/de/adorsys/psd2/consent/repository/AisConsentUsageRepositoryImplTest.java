@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.repository;
+
+import org.hibernate.dialect.DB2Dialect;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQL95Dialect;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Query;
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AisConsentUsageRepositoryImplTest {
+    private static final Long CONSENT_ID = 1L;
+    private static final String REQUEST_URI = "/v1/accounts";
+    private static final LocalDate USAGE_DATE = LocalDate.of(2019, 7, 29);
+    private static final Long NEXT_ID = 51L;
+
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private SessionFactoryImplementor sessionFactory;
+    @Mock
+    private JdbcServices jdbcServices;
+
+    @InjectMocks
+    private AisConsentUsageRepositoryImpl aisConsentUsageRepository;
+
+    private Query query;
+
+    @Before
+    public void setUp() {
+        query = mock(Query.class, RETURNS_SELF);
+        when(entityManager.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getJdbcServices()).thenReturn(jdbcServices);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+    }
+
+    @Test
+    public void addUsage_knownUpsertDialect_singleUpsert() {
+        // Given
+        givenDialect(new PostgreSQL95Dialect());
+        doReturn(1).when(query).executeUpdate();
+
+        // When
+        aisConsentUsageRepository.addUsage(CONSENT_ID, REQUEST_URI, USAGE_DATE, 1);
+
+        // Then
+        verify(entityManager).createNativeQuery(startsWith("insert into {h-schema}ais_consent_usage"));
+        verify(query).executeUpdate();
+    }
+
+    @Test
+    public void addUsage_otherDialect_nextIdFromDialect() {
+        // Given
+        Dialect dialect = new DB2Dialect();
+        givenDialect(dialect);
+        doReturn(0, 1).when(query).executeUpdate();
+        doReturn(NEXT_ID).when(query).getSingleResult();
+
+        // When
+        aisConsentUsageRepository.addUsage(CONSENT_ID, REQUEST_URI, USAGE_DATE, 1);
+
+        // Then
+        verify(entityManager).createNativeQuery(startsWith("update {h-schema}ais_consent_usage"));
+        verify(entityManager).createNativeQuery(dialect.getSequenceNextValString("{h-schema}ais_consent_usage_id_seq"));
+        verify(query).setParameter("id", NEXT_ID);
+        verify(query, times(2)).executeUpdate();
+    }
+
+    @Test
+    public void addUsage_otherDialect_existingRowUpdated() {
+        // Given
+        givenDialect(new H2Dialect());
+        doReturn(1).when(query).executeUpdate();
+
+        // When
+        aisConsentUsageRepository.addUsage(CONSENT_ID, REQUEST_URI, USAGE_DATE, 1);
+
+        // Then
+        verify(entityManager).createNativeQuery(startsWith("update {h-schema}ais_consent_usage"));
+        verify(query, never()).getSingleResult();
+    }
+
+    private void givenDialect(Dialect dialect) {
+        when(jdbcServices.getDialect()).thenReturn(dialect);
+    }
+}
@@ -487,6 +487,18 @@ public class AisConsentServiceInternalTest {
         verify(aisConsentUsageService, atLeastOnce()).incrementUsage(aisConsent, REQUEST_URI);
     }
 
+    @Test
+    public void checkConsentAndSaveActionLog_updateUsageCounter_alreadyUsedToday_consentNotSaved() {
+        //Given
+        aisConsent.setLastActionDate(LocalDate.now());
+        when(aisConsentRepository.findByExternalId(EXTERNAL_CONSENT_ID)).thenReturn(Optional.ofNullable(aisConsent));
+        //When
+        aisConsentService.checkConsentAndSaveActionLog(new AisConsentActionRequest(TPP_ID, EXTERNAL_CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, true));
+        //Then
+        verify(aisConsentUsageService).incrementUsage(aisConsent, REQUEST_URI);
+        verify(aisConsentRepository, never()).save(any(AisConsent.class));
+    }
+
     @Test
     public void checkConsentAndSaveActionLog_NotUpdateUsageCounter() {
         //Given
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service;
+
+import de.adorsys.psd2.consent.domain.account.AisConsent;
+import de.adorsys.psd2.consent.domain.account.AisConsentUsage;
+import de.adorsys.psd2.consent.repository.AisConsentUsageRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AisConsentUsageServiceTest {
+    private static final Long CONSENT_ID = 1L;
+    private static final String REQUEST_URI = "/v1/accounts";
+    private static final String ANOTHER_REQUEST_URI = "/v1/accounts/account-id";
+
+    @Mock
+    private AisConsentUsageRepository aisConsentUsageRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void incrementUsage_writeBehindDisabled_usageAddedImmediately() {
+        // Given
+        AisConsentUsageService aisConsentUsageService = buildService(false);
+
+        // When
+        aisConsentUsageService.incrementUsage(buildConsent(), REQUEST_URI);
+
+        // Then
+        verify(aisConsentUsageRepository).addUsage(CONSENT_ID, REQUEST_URI, LocalDate.now(), 1);
+    }
+
+    @Test
+    public void incrementUsage_writeBehindEnabled_usagesAggregatedUntilFlush() {
+        // Given
+        AisConsentUsageService aisConsentUsageService = buildService(true);
+        AisConsent consent = buildConsent();
+
+        // When
+        aisConsentUsageService.incrementUsage(consent, REQUEST_URI);
+        aisConsentUsageService.incrementUsage(consent, REQUEST_URI);
+        aisConsentUsageService.incrementUsage(consent, ANOTHER_REQUEST_URI);
+
+        // Then
+        verify(aisConsentUsageRepository, never()).addUsage(anyLong(), anyString(), any(), anyInt());
+
+        // When
+        aisConsentUsageService.flushPendingUsages();
+        aisConsentUsageService.flushPendingUsages();
+
+        // Then
+        verify(aisConsentUsageRepository).addUsage(CONSENT_ID, REQUEST_URI, LocalDate.now(), 2);
+        verify(aisConsentUsageRepository).addUsage(CONSENT_ID, ANOTHER_REQUEST_URI, LocalDate.now(), 1);
+    }
+
+    @Test
+    public void flushPendingUsages_failure_usagesRetained() {
+        // Given
+        AisConsentUsageService aisConsentUsageService = buildService(true);
+        aisConsentUsageService.incrementUsage(buildConsent(), REQUEST_URI);
+        doThrow(new IllegalStateException("database unavailable"))
+            .when(aisConsentUsageRepository).addUsage(CONSENT_ID, REQUEST_URI, LocalDate.now(), 1);
+
+        // When
+        aisConsentUsageService.flushPendingUsages();
+        aisConsentUsageService.flushPendingUsages();
+
+        // Then
+        verify(aisConsentUsageRepository, times(2)).addUsage(CONSENT_ID, REQUEST_URI, LocalDate.now(), 1);
+    }
+
+    @Test
+    public void getUsageCounterMap_pendingUsagesIncluded() {
+        // Given
+        AisConsentUsageService aisConsentUsageService = buildService(true);
+        AisConsent consent = buildConsent();
+        AisConsentUsage usage = new AisConsentUsage(consent, REQUEST_URI);
+        usage.setUsage(2);
+        when(aisConsentUsageRepository.findReadByConsentAndUsageDate(consent, LocalDate.now()))
+            .thenReturn(Collections.singletonList(usage));
+        aisConsentUsageService.incrementUsage(consent, REQUEST_URI);
+        aisConsentUsageService.incrementUsage(consent, ANOTHER_REQUEST_URI);
+
+        // When
+        Map<String, Integer> usageCounterMap = aisConsentUsageService.getUsageCounterMap(consent);
+
+        // Then
+        assertEquals(2, usageCounterMap.size());
+        assertEquals(Integer.valueOf(1), usageCounterMap.get(REQUEST_URI));
+        assertEquals(Integer.valueOf(3), usageCounterMap.get(ANOTHER_REQUEST_URI));
+    }
+
+    @Test
+    public void resetUsage_pendingUsagesDiscarded() {
+        // Given
+        AisConsentUsageService aisConsentUsageService = buildService(true);
+        AisConsent consent = buildConsent();
+        aisConsentUsageService.incrementUsage(consent, REQUEST_URI);
+
+        // When
+        aisConsentUsageService.resetUsage(consent);
+        aisConsentUsageService.flushPendingUsages();
+
+        // Then
+        verify(aisConsentUsageRepository, never()).addUsage(anyLong(), anyString(), any(), anyInt());
+    }
+
+    private AisConsentUsageService buildService(boolean writeBehindEnabled) {
+        return new AisConsentUsageService(aisConsentUsageRepository, transactionManager, writeBehindEnabled);
+    }
+
+    private AisConsent buildConsent() {
+        AisConsent consent = new AisConsent();
+        consent.setId(CONSENT_ID);
+        consent.setAllowedFrequencyPerDay(4);
+        return consent;
+    }
+}
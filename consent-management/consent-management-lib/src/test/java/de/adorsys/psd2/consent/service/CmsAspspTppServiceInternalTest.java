@@ -56,6 +56,8 @@ public class CmsAspspTppServiceInternalTest {
     private TppInfoRepository tppInfoRepository;
     @Mock
     private TppInfoMapper tppInfoMapper;
+    @Mock
+    private TppStopListCacheInvalidator tppStopListCacheInvalidator;
 
     @Mock
     private TppStopListEntity tppStopListEntity;
@@ -105,6 +107,7 @@ public class CmsAspspTppServiceInternalTest {
 
         assertTrue(isBlocked);
         verify(stopListRepository).save(tppStopListEntity);
+        verify(tppStopListCacheInvalidator).invalidate(AUTHORISATION_NUMBER);
     }
 
     @Test
@@ -132,6 +135,7 @@ public class CmsAspspTppServiceInternalTest {
 
         assertTrue(isUnblocked);
         verify(stopListRepository, never()).save(any(TppStopListEntity.class));
+        verify(tppStopListCacheInvalidator, never()).invalidate(any());
     }
 
     @Test
@@ -149,6 +153,7 @@ public class CmsAspspTppServiceInternalTest {
 
         assertTrue(isUnblocked);
         verify(stopListRepository).save(tppStopListEntity);
+        verify(tppStopListCacheInvalidator).invalidate(AUTHORISATION_NUMBER);
     }
 
     @Test
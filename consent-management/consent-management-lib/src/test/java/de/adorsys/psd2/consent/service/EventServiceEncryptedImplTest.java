@@ -28,10 +28,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -131,6 +133,24 @@ public class EventServiceEncryptedImplTest {
         assertEquals(decryptedEvent, argumentCaptor.getValue());
     }
 
+    @Test
+    public void recordEvents_success() {
+        // Given
+        EventBO undecryptableEvent = buildEvent(UNDECRYPTABLE_CONSENT_ID, UNDECRYPTABLE_PAYMENT_ID);
+        when(securityDataService.decryptId(ENCRYPTED_PAYMENT_ID)).thenReturn(Optional.of(DECRYPTED_PAYMENT_ID));
+        when(securityDataService.decryptId(ENCRYPTED_CONSENT_ID)).thenReturn(Optional.of(DECRYPTED_CONSENT_ID));
+        when(securityDataService.decryptId(UNDECRYPTABLE_PAYMENT_ID)).thenReturn(Optional.empty());
+        when(securityDataService.decryptId(UNDECRYPTABLE_CONSENT_ID)).thenReturn(Optional.empty());
+        when(eventService.recordEvents(Arrays.asList(decryptedEvent, buildEvent()))).thenReturn(true);
+
+        // When
+        boolean actual = eventServiceEncryptedImpl.recordEvents(Arrays.asList(event, undecryptableEvent));
+
+        // Then
+        assertTrue(actual);
+        verify(eventService, never()).recordEvent(any(EventBO.class));
+    }
+
     private EventBO buildEvent() {
         return buildEvent(null, null);
     }
@@ -26,6 +26,7 @@ import de.adorsys.psd2.consent.api.pis.authorisation.UpdatePisCommonPaymentPsuDa
 import de.adorsys.psd2.consent.domain.PsuData;
 import de.adorsys.psd2.consent.domain.payment.PisAuthorization;
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentStatusView;
 import de.adorsys.psd2.consent.domain.payment.PisPaymentData;
 import de.adorsys.psd2.consent.reader.JsonReader;
 import de.adorsys.psd2.consent.repository.PisAuthorisationRepository;
@@ -34,6 +35,7 @@ import de.adorsys.psd2.consent.repository.PisPaymentDataRepository;
 import de.adorsys.psd2.consent.service.mapper.PsuDataMapper;
 import de.adorsys.psd2.consent.service.psu.CmsPsuService;
 import de.adorsys.psd2.consent.service.security.SecurityDataService;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import de.adorsys.psd2.xs2a.core.sca.AuthorisationScaApproachResponse;
@@ -109,6 +111,52 @@ public class PisCommonPaymentServiceInternalTest {
         pisAuthorizationList.add(buildPisAuthorisation(AUTHORISATION_ID, CmsAuthorisationType.CREATED));
     }
 
+    @Test
+    public void getPisCommonPaymentStatusById_notExpired_entityNotLoaded() {
+        // Given
+        PisCommonPaymentStatusView paymentStatusView = mock(PisCommonPaymentStatusView.class);
+        when(paymentStatusView.getTransactionStatus()).thenReturn(RCVD);
+        when(pisCommonPaymentDataRepository.findStatusViewByPaymentId(PAYMENT_ID)).thenReturn(Optional.of(paymentStatusView));
+        when(pisCommonPaymentConfirmationExpirationService.isPaymentStatusOnConfirmationExpired(paymentStatusView)).thenReturn(false);
+
+        // When
+        Optional<TransactionStatus> actual = pisCommonPaymentService.getPisCommonPaymentStatusById(PAYMENT_ID);
+
+        // Then
+        assertEquals(Optional.of(RCVD), actual);
+        verify(pisCommonPaymentDataRepository, never()).findByPaymentId(any());
+    }
+
+    @Test
+    public void getPisCommonPaymentStatusById_expired_paymentRejected() {
+        // Given
+        PisCommonPaymentStatusView paymentStatusView = mock(PisCommonPaymentStatusView.class);
+        when(pisCommonPaymentDataRepository.findStatusViewByPaymentId(PAYMENT_ID)).thenReturn(Optional.of(paymentStatusView));
+        when(pisCommonPaymentConfirmationExpirationService.isPaymentStatusOnConfirmationExpired(paymentStatusView)).thenReturn(true);
+        when(pisCommonPaymentDataRepository.findByPaymentId(PAYMENT_ID)).thenReturn(Optional.of(pisCommonPaymentData));
+        PisCommonPaymentData rejectedPaymentData = buildPisCommonPaymentData();
+        rejectedPaymentData.setTransactionStatus(TransactionStatus.RJCT);
+        when(pisCommonPaymentConfirmationExpirationService.checkAndUpdatePaymentDataOnConfirmationExpiration(pisCommonPaymentData)).thenReturn(rejectedPaymentData);
+
+        // When
+        Optional<TransactionStatus> actual = pisCommonPaymentService.getPisCommonPaymentStatusById(PAYMENT_ID);
+
+        // Then
+        assertEquals(Optional.of(TransactionStatus.RJCT), actual);
+    }
+
+    @Test
+    public void getPisCommonPaymentStatusById_notFound() {
+        // Given
+        when(pisCommonPaymentDataRepository.findStatusViewByPaymentId(PAYMENT_ID_WRONG)).thenReturn(Optional.empty());
+
+        // When
+        Optional<TransactionStatus> actual = pisCommonPaymentService.getPisCommonPaymentStatusById(PAYMENT_ID_WRONG);
+
+        // Then
+        assertFalse(actual.isPresent());
+    }
+
     @Test
     public void getAuthorisationScaStatus_success() {
         when(pisAuthorisationRepository.findByExternalIdAndAuthorizationType(AUTHORISATION_ID, CmsAuthorisationType.CREATED)).thenReturn(Optional.of(pisAuthorization));
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service;
+
+import de.adorsys.psd2.consent.api.tpp.TppStopListCache;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TppStopListCacheInvalidatorTest {
+    private static final String AUTHORISATION_NUMBER = "Authorisation number";
+
+    @InjectMocks
+    private TppStopListCacheInvalidator tppStopListCacheInvalidator;
+
+    @Mock
+    private TppStopListCache tppStopListCache;
+
+    @After
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void invalidate_noTransaction_invalidatedImmediately() {
+        tppStopListCacheInvalidator.invalidate(AUTHORISATION_NUMBER);
+
+        verify(tppStopListCache).invalidate(AUTHORISATION_NUMBER);
+    }
+
+    @Test
+    public void invalidate_activeTransaction_invalidatedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        tppStopListCacheInvalidator.invalidate(AUTHORISATION_NUMBER);
+
+        verify(tppStopListCache, never()).invalidate(AUTHORISATION_NUMBER);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(tppStopListCache).invalidate(AUTHORISATION_NUMBER);
+    }
+}
@@ -16,18 +16,22 @@
 
 package de.adorsys.psd2.consent.service;
 
+import de.adorsys.psd2.consent.api.tpp.TppStopListCache;
 import de.adorsys.psd2.consent.domain.TppStopListEntity;
 import de.adorsys.psd2.consent.repository.TppStopListRepository;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.Optional;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -42,6 +46,9 @@ public class TppStopListServiceInternalTest {
     @Mock
     private TppStopListRepository tppStopListRepository;
 
+    @Spy
+    private TppStopListCache tppStopListCache = new TppStopListCache(5000);
+
     @Mock
     private TppStopListEntity tppStopListEntity;
 
@@ -80,4 +87,16 @@ public class TppStopListServiceInternalTest {
 
         assertTrue(isTppBlocked);
     }
+
+    @Test
+    public void checkIfTppBlocked_Success_ResultCached() {
+        when(tppStopListRepository.findByTppAuthorisationNumberAndInstanceId(AUTHORISATION_NUMBER_NOT_EXISTING, INSTANCE_ID))
+            .thenReturn(Optional.empty());
+
+        tppStopListService.checkIfTppBlocked(AUTHORISATION_NUMBER_NOT_EXISTING);
+        boolean isTppBlocked = tppStopListService.checkIfTppBlocked(AUTHORISATION_NUMBER_NOT_EXISTING);
+
+        assertFalse(isTppBlocked);
+        verify(tppStopListRepository, times(1)).findByTppAuthorisationNumberAndInstanceId(AUTHORISATION_NUMBER_NOT_EXISTING, INSTANCE_ID);
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.scheduler;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ChunkedScheduleTaskExecutorTest {
+    private static final String TASK_NAME = "test task";
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private BiFunction<Long, Pageable, List<Long>> chunkLoader;
+
+    private ChunkedScheduleTaskExecutor chunkedScheduleTaskExecutor;
+
+    @Before
+    public void setUp() {
+        chunkedScheduleTaskExecutor = new ChunkedScheduleTaskExecutor(transactionManager, CHUNK_SIZE);
+        ReflectionTestUtils.setField(chunkedScheduleTaskExecutor, "entityManager", entityManager);
+    }
+
+    @Test
+    public void execute_loadsChunksByLastId_untilIncompleteChunk() {
+        // Given
+        when(chunkLoader.apply(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(3L, 5L));
+        when(chunkLoader.apply(eq(5L), any(Pageable.class))).thenReturn(Collections.singletonList(8L));
+        List<List<Long>> processedChunks = new ArrayList<>();
+
+        // When
+        long processed = chunkedScheduleTaskExecutor.execute(TASK_NAME, chunkLoader, id -> id, processedChunks::add);
+
+        // Then
+        assertEquals(3, processed);
+        assertEquals(Arrays.asList(Arrays.asList(3L, 5L), Collections.singletonList(8L)), processedChunks);
+        verify(transactionManager, times(2)).commit(any());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    public void execute_lastChunkEmpty_notProcessed() {
+        // Given
+        when(chunkLoader.apply(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(3L, 5L));
+        when(chunkLoader.apply(eq(5L), any(Pageable.class))).thenReturn(Collections.emptyList());
+        List<List<Long>> processedChunks = new ArrayList<>();
+
+        // When
+        long processed = chunkedScheduleTaskExecutor.execute(TASK_NAME, chunkLoader, id -> id, processedChunks::add);
+
+        // Then
+        assertEquals(2, processed);
+        assertEquals(Collections.singletonList(Arrays.asList(3L, 5L)), processedChunks);
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_zeroChunkSize_exception() {
+        new ChunkedScheduleTaskExecutor(transactionManager, 0);
+    }
+}
@@ -36,8 +36,9 @@ import java.util.List;
 
 import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.*;
 import static org.junit.Assert.assertEquals;
-import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.verify;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
 public class NonRecurringConsentExpirationScheduleTaskTest {
@@ -49,6 +50,8 @@ public class NonRecurringConsentExpirationScheduleTaskTest {
 
     @Mock
     private AisConsentRepository aisConsentRepository;
+    @Mock
+    private ScheduleTaskCoordinator scheduleTaskCoordinator;
     @Captor
     private ArgumentCaptor<List<AisConsent>> aisConsentsCaptor;
 
@@ -58,6 +61,11 @@ public class NonRecurringConsentExpirationScheduleTaskTest {
     @Test
     public void expireUsedNonRecurringConsent_expiresReceivedAndValidConsents() {
         // Given
+        when(scheduleTaskCoordinator.runExclusively(anyString(), any(Runnable.class)))
+            .thenAnswer(invocation -> {
+                invocation.<Runnable>getArgument(1).run();
+                return true;
+            });
         List<AisConsent> aisConsentList = Arrays.asList(buildAisConsent(CONSENT_ID_1, RECEIVED),
                                                         buildAisConsent(CONSENT_ID_2, VALID));
         doReturn(aisConsentList).when(aisConsentRepository)
@@ -73,6 +81,18 @@ public class NonRecurringConsentExpirationScheduleTaskTest {
         assertEquals(expiredConsentList, aisConsentsCaptor.getValue());
     }
 
+    @Test
+    public void expireUsedNonRecurringConsent_runByAnotherNode_skipped() {
+        // Given
+        when(scheduleTaskCoordinator.runExclusively(anyString(), any(Runnable.class))).thenReturn(false);
+
+        // When
+        nonRecurringConsentExpirationScheduleTask.expireUsedNonRecurringConsent();
+
+        // Then
+        verifyZeroInteractions(aisConsentRepository);
+    }
+
     private AisConsent buildAisConsent(String externalId, ConsentStatus status) {
         AisConsent aisConsent = new AisConsent();
         aisConsent.setExternalId(externalId);
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.scheduler;
+
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentStatusView;
+import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
+import de.adorsys.psd2.consent.service.PisCommonPaymentConfirmationExpirationService;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NotConfirmedPaymentExpirationScheduleTaskTest {
+    private static final long EXPIRED_PAYMENT_ID = 1L;
+    private static final long VALID_PAYMENT_ID = 2L;
+
+    @Mock
+    private PisCommonPaymentConfirmationExpirationService pisCommonPaymentConfirmationExpirationService;
+    @Mock
+    private PisCommonPaymentDataRepository paymentDataRepository;
+    @Mock
+    private ChunkedScheduleTaskExecutor chunkedScheduleTaskExecutor;
+    @Mock
+    private ScheduleTaskCoordinator scheduleTaskCoordinator;
+
+    @InjectMocks
+    private NotConfirmedPaymentExpirationScheduleTask notConfirmedPaymentExpirationScheduleTask;
+
+    @Before
+    public void setUp() {
+        when(scheduleTaskCoordinator.runSharded(anyString(), any()))
+            .thenAnswer(invocation -> {
+                invocation.<Consumer<ScheduleTaskCoordinator.Shard>>getArgument(1).accept(new ScheduleTaskCoordinator.Shard(0, 1));
+                return 1;
+            });
+        when(chunkedScheduleTaskExecutor.execute(anyString(), any(), any(), any()))
+            .thenAnswer(invocation -> {
+                BiFunction<Long, PageRequest, List<PisCommonPaymentStatusView>> chunkLoader = invocation.getArgument(1);
+                List<PisCommonPaymentStatusView> chunk = chunkLoader.apply(0L, PageRequest.of(0, 10));
+                invocation.<Consumer<List<PisCommonPaymentStatusView>>>getArgument(3).accept(chunk);
+                return (long) chunk.size();
+            });
+    }
+
+    @Test
+    public void obsoleteNotConfirmedPaymentIfExpired_onlyExpiredPaymentsLoadedAndRejected() {
+        // Given
+        PisCommonPaymentStatusView expiredStatus = buildStatusView(EXPIRED_PAYMENT_ID);
+        PisCommonPaymentStatusView validStatus = buildStatusView(VALID_PAYMENT_ID);
+        when(paymentDataRepository.findShardChunkStatusViewsByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD), 0L, 0, 1, PageRequest.of(0, 10)))
+            .thenReturn(Arrays.asList(expiredStatus, validStatus));
+        when(pisCommonPaymentConfirmationExpirationService.isPaymentStatusOnConfirmationExpired(expiredStatus)).thenReturn(true);
+        when(pisCommonPaymentConfirmationExpirationService.isPaymentStatusOnConfirmationExpired(validStatus)).thenReturn(false);
+        PisCommonPaymentData expiredPaymentData = new PisCommonPaymentData();
+        when(paymentDataRepository.findAllById(Collections.singletonList(EXPIRED_PAYMENT_ID)))
+            .thenReturn(Collections.singletonList(expiredPaymentData));
+
+        // When
+        notConfirmedPaymentExpirationScheduleTask.obsoleteNotConfirmedPaymentIfExpired();
+
+        // Then
+        verify(pisCommonPaymentConfirmationExpirationService).updatePaymentDataListOnConfirmationExpiration(Collections.singletonList(expiredPaymentData));
+    }
+
+    @Test
+    public void obsoleteNotConfirmedPaymentIfExpired_noExpiredPayments_nothingLoaded() {
+        // Given
+        PisCommonPaymentStatusView validStatus = buildStatusView(VALID_PAYMENT_ID);
+        when(paymentDataRepository.findShardChunkStatusViewsByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD), 0L, 0, 1, PageRequest.of(0, 10)))
+            .thenReturn(Collections.singletonList(validStatus));
+        when(pisCommonPaymentConfirmationExpirationService.isPaymentStatusOnConfirmationExpired(validStatus)).thenReturn(false);
+
+        // When
+        notConfirmedPaymentExpirationScheduleTask.obsoleteNotConfirmedPaymentIfExpired();
+
+        // Then
+        verify(paymentDataRepository, never()).findAllById(any());
+        verify(pisCommonPaymentConfirmationExpirationService, never()).updatePaymentDataListOnConfirmationExpiration(any());
+    }
+
+    private PisCommonPaymentStatusView buildStatusView(long id) {
+        PisCommonPaymentStatusView statusView = mock(PisCommonPaymentStatusView.class);
+        lenient().when(statusView.getId()).thenReturn(id);
+        return statusView;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.scheduler;
+
+import de.adorsys.psd2.consent.domain.SchedulerLeaseEntity;
+import de.adorsys.psd2.consent.repository.SchedulerLeaseRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ScheduleTaskCoordinatorTest {
+    private static final String TASK_NAME = "test task";
+    private static final String NODE_ID = "node 1";
+
+    @Mock
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SchedulerCoordinationProperties properties;
+    private ScheduleTaskCoordinator scheduleTaskCoordinator;
+
+    @Before
+    public void setUp() {
+        properties = new SchedulerCoordinationProperties();
+        properties.setEnabled(true);
+        properties.setNodeId(NODE_ID);
+        properties.setLeaseDurationSeconds(300);
+        properties.setShardCount(3);
+        scheduleTaskCoordinator = new ScheduleTaskCoordinator(schedulerLeaseRepository, transactionManager, properties);
+    }
+
+    @Test
+    public void runExclusively_leaseAcquired_taskExecuted() {
+        // Given
+        when(schedulerLeaseRepository.acquireLease(eq(TASK_NAME), eq(NODE_ID), any(OffsetDateTime.class), any(OffsetDateTime.class)))
+            .thenReturn(1);
+        List<String> executed = new ArrayList<>();
+
+        // When
+        boolean result = scheduleTaskCoordinator.runExclusively(TASK_NAME, () -> executed.add(TASK_NAME));
+
+        // Then
+        assertTrue(result);
+        assertEquals(Arrays.asList(TASK_NAME), executed);
+        verify(schedulerLeaseRepository, never()).save(any());
+    }
+
+    @Test
+    public void runExclusively_leaseHeldByAnotherNode_taskSkipped() {
+        // Given
+        when(schedulerLeaseRepository.acquireLease(eq(TASK_NAME), eq(NODE_ID), any(OffsetDateTime.class), any(OffsetDateTime.class)))
+            .thenReturn(0);
+        when(schedulerLeaseRepository.existsById(TASK_NAME)).thenReturn(true);
+        List<String> executed = new ArrayList<>();
+
+        // When
+        boolean result = scheduleTaskCoordinator.runExclusively(TASK_NAME, () -> executed.add(TASK_NAME));
+
+        // Then
+        assertFalse(result);
+        assertTrue(executed.isEmpty());
+    }
+
+    @Test
+    public void runExclusively_noLease_leaseCreated() {
+        // Given
+        when(schedulerLeaseRepository.acquireLease(eq(TASK_NAME), eq(NODE_ID), any(OffsetDateTime.class), any(OffsetDateTime.class)))
+            .thenReturn(0);
+        when(schedulerLeaseRepository.existsById(TASK_NAME)).thenReturn(false);
+
+        // When
+        boolean result = scheduleTaskCoordinator.runExclusively(TASK_NAME, () -> {
+        });
+
+        // Then
+        assertTrue(result);
+        verify(schedulerLeaseRepository).save(any(SchedulerLeaseEntity.class));
+    }
+
+    @Test
+    public void runExclusively_leaseCreatedConcurrently_taskSkipped() {
+        // Given
+        when(schedulerLeaseRepository.acquireLease(eq(TASK_NAME), eq(NODE_ID), any(OffsetDateTime.class), any(OffsetDateTime.class)))
+            .thenReturn(0);
+        when(schedulerLeaseRepository.existsById(TASK_NAME)).thenReturn(false);
+        when(schedulerLeaseRepository.save(any(SchedulerLeaseEntity.class))).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // When
+        boolean result = scheduleTaskCoordinator.runExclusively(TASK_NAME, () -> {
+        });
+
+        // Then
+        assertFalse(result);
+    }
+
+    @Test
+    public void runExclusively_coordinationDisabled_taskExecutedWithoutLease() {
+        // Given
+        properties.setEnabled(false);
+        List<String> executed = new ArrayList<>();
+
+        // When
+        boolean result = scheduleTaskCoordinator.runExclusively(TASK_NAME, () -> executed.add(TASK_NAME));
+
+        // Then
+        assertTrue(result);
+        assertEquals(1, executed.size());
+        verifyZeroInteractions(schedulerLeaseRepository);
+    }
+
+    @Test
+    public void runSharded_onlyFreeShardsProcessed() {
+        // Given
+        when(schedulerLeaseRepository.acquireLease(eq(TASK_NAME + "#0"), eq(NODE_ID), any(OffsetDateTime.class), any(OffsetDateTime.class)))
+            .thenReturn(1);
+        when(schedulerLeaseRepository.acquireLease(eq(TASK_NAME + "#1"), eq(NODE_ID), any(OffsetDateTime.class), any(OffsetDateTime.class)))
+            .thenReturn(0);
+        when(schedulerLeaseRepository.existsById(TASK_NAME + "#1")).thenReturn(true);
+        when(schedulerLeaseRepository.acquireLease(eq(TASK_NAME + "#2"), eq(NODE_ID), any(OffsetDateTime.class), any(OffsetDateTime.class)))
+            .thenReturn(1);
+        List<ScheduleTaskCoordinator.Shard> processedShards = new ArrayList<>();
+
+        // When
+        int processed = scheduleTaskCoordinator.runSharded(TASK_NAME, processedShards::add);
+
+        // Then
+        assertEquals(2, processed);
+        assertEquals(Arrays.asList(new ScheduleTaskCoordinator.Shard(0, 3), new ScheduleTaskCoordinator.Shard(2, 3)), processedShards);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018-2018 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security;
+
+import de.adorsys.psd2.consent.service.security.provider.CryptoInstancePool;
+import org.junit.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKeyFactory;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CryptoInstancePoolTest {
+    private static final String CIPHER_TRANSFORMATION = "AES/ECB/PKCS5Padding";
+    private static final String SKF_ALGORITHM = "PBKDF2WithHmacSHA256";
+
+    @Test
+    public void getCipher_sameThread_sameInstance() throws Exception {
+        // When
+        Cipher first = CryptoInstancePool.getCipher(CIPHER_TRANSFORMATION);
+        Cipher second = CryptoInstancePool.getCipher(CIPHER_TRANSFORMATION);
+
+        // Then
+        assertThat(first).isSameAs(second);
+        assertThat(first.getAlgorithm()).isEqualTo(CIPHER_TRANSFORMATION);
+    }
+
+    @Test
+    public void getCipher_differentThreads_differentInstances() throws Exception {
+        // Given
+        Cipher current = CryptoInstancePool.getCipher(CIPHER_TRANSFORMATION);
+
+        // When
+        Cipher other = CompletableFuture.supplyAsync(this::getCipherUnchecked).get();
+
+        // Then
+        assertThat(other).isNotSameAs(current);
+    }
+
+    @Test
+    public void getSecretKeyFactory_sameThread_sameInstance() throws Exception {
+        // When
+        SecretKeyFactory first = CryptoInstancePool.getSecretKeyFactory(SKF_ALGORITHM);
+        SecretKeyFactory second = CryptoInstancePool.getSecretKeyFactory(SKF_ALGORITHM);
+
+        // Then
+        assertThat(first).isSameAs(second);
+        assertThat(first.getAlgorithm()).isEqualTo(SKF_ALGORITHM);
+    }
+
+    private Cipher getCipherUnchecked() {
+        try {
+            return CryptoInstancePool.getCipher(CIPHER_TRANSFORMATION);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security;
+
+import de.adorsys.psd2.consent.service.security.provider.DerivedKeyCache;
+import de.adorsys.psd2.consent.service.security.provider.aes.AesEcbCryptoProviderImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.security.GeneralSecurityException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DerivedKeyCacheTest {
+    private static final String PROVIDER_ID = "bS6p6XvTWI";
+    private static final String ANOTHER_PROVIDER_ID = "psGLvQpt9Q";
+    private static final String PASSWORD = "mvLBiZsiTbGwrfJB";
+    private static final String ANOTHER_PASSWORD = "rvIgmcYarc8eMbqk";
+    private static final byte[] KEY = {1, 2, 3, 4};
+
+    private DerivedKeyCache derivedKeyCache;
+    private AtomicInteger derivationCount;
+
+    @Before
+    public void setUp() {
+        derivedKeyCache = new DerivedKeyCache(2, 60);
+        derivationCount = new AtomicInteger();
+    }
+
+    @Test
+    public void getKey_sameProviderAndPassword_derivedOnce() throws GeneralSecurityException {
+        // When
+        byte[] first = derivedKeyCache.getKey(PROVIDER_ID, PASSWORD, this::derive);
+        byte[] second = derivedKeyCache.getKey(PROVIDER_ID, PASSWORD, this::derive);
+
+        // Then
+        assertThat(first).isEqualTo(KEY);
+        assertThat(second).isEqualTo(KEY);
+        assertThat(derivationCount.get()).isEqualTo(1);
+        assertThat(derivedKeyCache.getHitCount()).isEqualTo(1);
+        assertThat(derivedKeyCache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void getKey_differentProviderOrPassword_derivedSeparately() throws GeneralSecurityException {
+        // When
+        derivedKeyCache.getKey(PROVIDER_ID, PASSWORD, this::derive);
+        derivedKeyCache.getKey(ANOTHER_PROVIDER_ID, PASSWORD, this::derive);
+        derivedKeyCache.getKey(PROVIDER_ID, ANOTHER_PASSWORD, this::derive);
+
+        // Then
+        assertThat(derivationCount.get()).isEqualTo(3);
+        assertThat(derivedKeyCache.getMissCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void getKey_returnedKeyModified_cachedKeyNotAffected() throws GeneralSecurityException {
+        // Given
+        byte[] first = derivedKeyCache.getKey(PROVIDER_ID, PASSWORD, this::derive);
+
+        // When
+        first[0] = 0;
+        byte[] second = derivedKeyCache.getKey(PROVIDER_ID, PASSWORD, this::derive);
+
+        // Then
+        assertThat(second).isEqualTo(KEY);
+    }
+
+    @Test
+    public void getKey_maxSizeExceeded_eldestEntryEvicted() throws GeneralSecurityException {
+        // Given
+        derivedKeyCache.getKey(PROVIDER_ID, PASSWORD, this::derive);
+        derivedKeyCache.getKey(PROVIDER_ID, ANOTHER_PASSWORD, this::derive);
+
+        // When
+        derivedKeyCache.getKey(ANOTHER_PROVIDER_ID, PASSWORD, this::derive);
+        derivedKeyCache.getKey(PROVIDER_ID, PASSWORD, this::derive);
+
+        // Then
+        assertThat(derivedKeyCache.size()).isEqualTo(2);
+        assertThat(derivedKeyCache.getEvictionCount()).isEqualTo(2);
+        assertThat(derivationCount.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void clear_allEntriesRemoved() throws GeneralSecurityException {
+        // Given
+        derivedKeyCache.getKey(PROVIDER_ID, PASSWORD, this::derive);
+
+        // When
+        derivedKeyCache.clear();
+        derivedKeyCache.getKey(PROVIDER_ID, PASSWORD, this::derive);
+
+        // Then
+        assertThat(derivationCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void cryptoProvider_encryptAndDecrypt_keyDerivedOnce() {
+        // Given
+        AesEcbCryptoProviderImpl cryptoProvider = new AesEcbCryptoProviderImpl(PROVIDER_ID, "AES/ECB/PKCS5Padding", 256, 1024, "PBKDF2WithHmacSHA256", derivedKeyCache);
+        byte[] data = "consent id".getBytes();
+
+        // When
+        Optional<EncryptedData> encryptedData = cryptoProvider.encryptData(data, PASSWORD);
+        Optional<DecryptedData> decryptedData = encryptedData.flatMap(ed -> cryptoProvider.decryptData(ed.getData(), PASSWORD));
+
+        // Then
+        assertThat(decryptedData.isPresent()).isTrue();
+        assertThat(decryptedData.get().getData()).isEqualTo(data);
+        assertThat(derivedKeyCache.getMissCount()).isEqualTo(1);
+        assertThat(derivedKeyCache.getHitCount()).isEqualTo(1);
+    }
+
+    private byte[] derive() {
+        derivationCount.incrementAndGet();
+        return KEY.clone();
+    }
+}
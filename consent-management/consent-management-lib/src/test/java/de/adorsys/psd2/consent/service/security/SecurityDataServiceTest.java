@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.consent.service.security;
 
+import de.adorsys.psd2.consent.service.security.cache.RequestScopedDecryptedIdCache;
 import de.adorsys.psd2.consent.service.security.provider.CryptoProvider;
 import de.adorsys.psd2.consent.service.security.provider.CryptoProviderHolder;
 import org.apache.commons.lang3.ArrayUtils;
@@ -65,7 +66,7 @@ public class SecurityDataServiceTest {
 
         when(environment.getProperty("server_key")).thenReturn(SERVER_KEY);
 
-        securityDataService = new SecurityDataService(environment, cryptoProviderHolder);
+        securityDataService = new SecurityDataService(environment, cryptoProviderHolder, new RequestScopedDecryptedIdCache());
 
         when(cryptoProviderHolder.getProviderById(CRYPTO_PROVIDER_ID))
             .thenReturn(Optional.of(CRYPTO_PROVIDER));
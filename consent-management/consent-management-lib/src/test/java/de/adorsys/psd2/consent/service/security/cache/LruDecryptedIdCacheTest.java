@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018-2018 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security.cache;
+
+import de.adorsys.psd2.consent.service.security.DecryptedIdSet;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LruDecryptedIdCacheTest {
+    private static final String ENCRYPTED_ID = "encrypted id";
+    private static final String ANOTHER_ENCRYPTED_ID = "another encrypted id";
+    private static final String THIRD_ENCRYPTED_ID = "third encrypted id";
+    private static final DecryptedIdSet DECRYPTED_ID_SET = new DecryptedIdSet("fa6e687b-1ac9-4b1a-9c74-357c35c82ba1", "rvIgmcYarc8eMbqk");
+
+    private LruDecryptedIdCache decryptedIdCache;
+    private AtomicInteger decryptionCount;
+
+    @Before
+    public void setUp() {
+        decryptedIdCache = new LruDecryptedIdCache(2);
+        decryptionCount = new AtomicInteger();
+    }
+
+    @Test
+    public void getDecryptedIdSet_sameId_decryptedOnce() {
+        // When
+        Optional<DecryptedIdSet> first = decryptedIdCache.getDecryptedIdSet(ENCRYPTED_ID, this::decrypt);
+        Optional<DecryptedIdSet> second = decryptedIdCache.getDecryptedIdSet(ENCRYPTED_ID, this::decrypt);
+
+        // Then
+        assertThat(first).isEqualTo(Optional.of(DECRYPTED_ID_SET));
+        assertThat(second).isEqualTo(Optional.of(DECRYPTED_ID_SET));
+        assertThat(decryptionCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void getDecryptedIdSet_decryptionFailed_notCached() {
+        // When
+        Optional<DecryptedIdSet> first = decryptedIdCache.getDecryptedIdSet(ENCRYPTED_ID, this::failDecryption);
+        Optional<DecryptedIdSet> second = decryptedIdCache.getDecryptedIdSet(ENCRYPTED_ID, this::failDecryption);
+
+        // Then
+        assertThat(first.isPresent()).isFalse();
+        assertThat(second.isPresent()).isFalse();
+        assertThat(decryptionCount.get()).isEqualTo(2);
+        assertThat(decryptedIdCache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void getDecryptedIdSet_maxSizeExceeded_leastRecentlyUsedEvicted() {
+        // Given
+        decryptedIdCache.getDecryptedIdSet(ENCRYPTED_ID, this::decrypt);
+        decryptedIdCache.getDecryptedIdSet(ANOTHER_ENCRYPTED_ID, this::decrypt);
+        decryptedIdCache.getDecryptedIdSet(ENCRYPTED_ID, this::decrypt);
+
+        // When
+        decryptedIdCache.getDecryptedIdSet(THIRD_ENCRYPTED_ID, this::decrypt);
+        decryptedIdCache.getDecryptedIdSet(ENCRYPTED_ID, this::decrypt);
+        decryptedIdCache.getDecryptedIdSet(ANOTHER_ENCRYPTED_ID, this::decrypt);
+
+        // Then
+        assertThat(decryptedIdCache.size()).isEqualTo(2);
+        assertThat(decryptionCount.get()).isEqualTo(4);
+    }
+
+    private Optional<DecryptedIdSet> decrypt(String encryptedId) {
+        decryptionCount.incrementAndGet();
+        return Optional.of(DECRYPTED_ID_SET);
+    }
+
+    private Optional<DecryptedIdSet> failDecryption(String encryptedId) {
+        decryptionCount.incrementAndGet();
+        return Optional.empty();
+    }
+}
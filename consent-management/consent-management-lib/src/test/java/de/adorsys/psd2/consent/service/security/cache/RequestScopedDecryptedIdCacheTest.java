@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018-2018 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security.cache;
+
+import de.adorsys.psd2.consent.service.security.DecryptedIdSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestScopedDecryptedIdCacheTest {
+    private static final String ENCRYPTED_ID = "encrypted id";
+    private static final DecryptedIdSet DECRYPTED_ID_SET = new DecryptedIdSet("fa6e687b-1ac9-4b1a-9c74-357c35c82ba1", "rvIgmcYarc8eMbqk");
+
+    private RequestScopedDecryptedIdCache decryptedIdCache;
+    private AtomicInteger decryptionCount;
+
+    @Before
+    public void setUp() {
+        decryptedIdCache = new RequestScopedDecryptedIdCache();
+        decryptionCount = new AtomicInteger();
+    }
+
+    @After
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            completeRequest();
+        }
+    }
+
+    @Test
+    public void getDecryptedIdSet_noActiveRequest_decryptedEveryTime() {
+        // When
+        decryptedIdCache.getDecryptedIdSet(ENCRYPTED_ID, this::decrypt);
+        decryptedIdCache.getDecryptedIdSet(ENCRYPTED_ID, this::decrypt);
+
+        // Then
+        assertThat(decryptionCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void getDecryptedIdSet_sameRequest_decryptedOnce() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        Optional<DecryptedIdSet> first = decryptedIdCache.getDecryptedIdSet(ENCRYPTED_ID, this::decrypt);
+        Optional<DecryptedIdSet> second = decryptedIdCache.getDecryptedIdSet(ENCRYPTED_ID, this::decrypt);
+
+        // Then
+        assertThat(first).isEqualTo(Optional.of(DECRYPTED_ID_SET));
+        assertThat(second).isEqualTo(Optional.of(DECRYPTED_ID_SET));
+        assertThat(decryptionCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void getDecryptedIdSet_requestCompleted_cacheDiscarded() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        decryptedIdCache.getDecryptedIdSet(ENCRYPTED_ID, this::decrypt);
+
+        // When
+        completeRequest();
+        TransactionSynchronizationManager.initSynchronization();
+        decryptedIdCache.getDecryptedIdSet(ENCRYPTED_ID, this::decrypt);
+
+        // Then
+        assertThat(decryptionCount.get()).isEqualTo(2);
+    }
+
+    private void completeRequest() {
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private Optional<DecryptedIdSet> decrypt(String encryptedId) {
+        decryptionCount.incrementAndGet();
+        return Optional.of(DECRYPTED_ID_SET);
+    }
+}
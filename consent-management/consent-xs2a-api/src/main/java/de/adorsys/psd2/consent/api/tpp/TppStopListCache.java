@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.api.tpp;
+
+import lombok.Value;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process cache for results of TPP stop list checks, keyed by TPP authorisation number and instance ID.
+ * <p>
+ * Both positive (blocked) and negative (not blocked) results are cached for a short time to live, so that a change
+ * of the stop list, made by another node, takes effect at the latest after this time. Changes, made by the current
+ * node, should be propagated immediately with {@link #invalidate(String)}. Time to live of zero disables the cache.
+ */
+public class TppStopListCache {
+    public static final int MAX_SIZE = 10_000;
+
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Map<CacheKey, CacheEntry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    public TppStopListCache(long ttlMillis) {
+        this(ttlMillis, System::currentTimeMillis);
+    }
+
+    TppStopListCache(long ttlMillis, LongSupplier clock) {
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("Time to live of the TPP stop list cache must not be negative");
+        }
+
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached stop list status of the TPP or checks it with given function, if there is no valid cached
+     * status.
+     *
+     * @param tppAuthorisationNumber authorisation number of the TPP
+     * @param instanceId             ID of the particular service instance
+     * @param check                  function, that checks whether the TPP is blocked
+     * @return <code>true</code> if the TPP is blocked, <code>false</code> otherwise
+     */
+    public boolean isBlocked(String tppAuthorisationNumber, String instanceId, BooleanSupplier check) {
+        if (ttlMillis == 0) {
+            return check.getAsBoolean();
+        }
+
+        CacheKey key = new CacheKey(tppAuthorisationNumber, instanceId);
+        long now = clock.getAsLong();
+        CacheEntry cached = entries.get(key);
+        if (cached != null && now - cached.getCreationTime() < ttlMillis) {
+            hitCount.incrementAndGet();
+            return cached.isBlocked();
+        }
+
+        missCount.incrementAndGet();
+        boolean blocked = check.getAsBoolean();
+
+        if (entries.size() >= MAX_SIZE) {
+            entries.values().removeIf(entry -> now - entry.getCreationTime() >= ttlMillis);
+            if (entries.size() >= MAX_SIZE) {
+                entries.clear();
+            }
+        }
+        entries.put(key, new CacheEntry(blocked, now));
+        return blocked;
+    }
+
+    /**
+     * Removes cached status of the TPP for all instances
+     *
+     * @param tppAuthorisationNumber authorisation number of the TPP
+     */
+    public void invalidate(String tppAuthorisationNumber) {
+        entries.keySet().removeIf(key -> Objects.equals(key.getTppAuthorisationNumber(), tppAuthorisationNumber));
+    }
+
+    /**
+     * Removes all cached statuses
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "TppStopListCache{size=" + size()
+                   + ", hits=" + getHitCount()
+                   + ", misses=" + getMissCount() + "}";
+    }
+
+    @Value
+    private static class CacheKey {
+        private String tppAuthorisationNumber;
+        private String instanceId;
+    }
+
+    @Value
+    private static class CacheEntry {
+        private boolean blocked;
+        private long creationTime;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.api.tpp;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class TppStopListCacheTest {
+    private static final String AUTHORISATION_NUMBER = "12345987";
+    private static final String ANOTHER_AUTHORISATION_NUMBER = "98765432";
+    private static final String INSTANCE_ID = "bank1";
+    private static final String ANOTHER_INSTANCE_ID = "bank2";
+    private static final long TTL = 5_000;
+
+    private AtomicLong now;
+    private AtomicInteger checkCount;
+    private TppStopListCache cache;
+
+    @Before
+    public void setUp() {
+        now = new AtomicLong(1_000);
+        checkCount = new AtomicInteger();
+        cache = new TppStopListCache(TTL, now::get);
+    }
+
+    @Test
+    public void isBlocked_withinTtl_checkedOnce() {
+        assertFalse(cache.isBlocked(AUTHORISATION_NUMBER, INSTANCE_ID, () -> check(false)));
+        assertFalse(cache.isBlocked(AUTHORISATION_NUMBER, INSTANCE_ID, () -> check(true)));
+
+        assertEquals(1, checkCount.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void isBlocked_ttlExpired_checkedAgain() {
+        assertTrue(cache.isBlocked(AUTHORISATION_NUMBER, INSTANCE_ID, () -> check(true)));
+
+        now.addAndGet(TTL);
+
+        assertFalse(cache.isBlocked(AUTHORISATION_NUMBER, INSTANCE_ID, () -> check(false)));
+        assertEquals(2, checkCount.get());
+    }
+
+    @Test
+    public void isBlocked_differentInstance_checkedSeparately() {
+        cache.isBlocked(AUTHORISATION_NUMBER, INSTANCE_ID, () -> check(false));
+
+        assertTrue(cache.isBlocked(AUTHORISATION_NUMBER, ANOTHER_INSTANCE_ID, () -> check(true)));
+        assertEquals(2, checkCount.get());
+    }
+
+    @Test
+    public void invalidate_allInstancesOfTppRemoved() {
+        cache.isBlocked(AUTHORISATION_NUMBER, INSTANCE_ID, () -> check(false));
+        cache.isBlocked(AUTHORISATION_NUMBER, ANOTHER_INSTANCE_ID, () -> check(false));
+        cache.isBlocked(ANOTHER_AUTHORISATION_NUMBER, INSTANCE_ID, () -> check(false));
+
+        cache.invalidate(AUTHORISATION_NUMBER);
+
+        assertEquals(1, cache.size());
+        assertTrue(cache.isBlocked(AUTHORISATION_NUMBER, INSTANCE_ID, () -> check(true)));
+    }
+
+    @Test
+    public void isBlocked_zeroTtl_notCached() {
+        cache = new TppStopListCache(0, now::get);
+
+        cache.isBlocked(AUTHORISATION_NUMBER, INSTANCE_ID, () -> check(false));
+        cache.isBlocked(AUTHORISATION_NUMBER, INSTANCE_ID, () -> check(false));
+
+        assertEquals(2, checkCount.get());
+        assertEquals(0, cache.size());
+    }
+
+    private boolean check(boolean blocked) {
+        checkCount.incrementAndGet();
+        return blocked;
+    }
+}
@@ -17,9 +17,11 @@
 package de.adorsys.psd2.consent.service;
 
 import de.adorsys.psd2.consent.api.service.TppStopListService;
+import de.adorsys.psd2.consent.api.tpp.TppStopListCache;
 import de.adorsys.psd2.consent.config.TppStopListRemoteUrls;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -29,6 +31,8 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 
+import javax.annotation.PostConstruct;
+
 @Service
 @RequiredArgsConstructor
 public class TppStopListServiceRemote implements TppStopListService {
@@ -38,8 +42,22 @@ public class TppStopListServiceRemote implements TppStopListService {
     private final RestTemplate consentRestTemplate;
     private final TppStopListRemoteUrls tppStopListRemoteUrls;
 
+    @Value("${stoplist.cache.ttl.ms:5000}")
+    private long stopListCacheTtlMs;
+    private TppStopListCache tppStopListCache;
+
+    @PostConstruct
+    void initStopListCache() {
+        tppStopListCache = new TppStopListCache(stopListCacheTtlMs);
+    }
+
     @Override
     public boolean checkIfTppBlocked(String tppAuthorisationNumber) {
+        // Instance ID is resolved by CMS, so the cache of the remote client is keyed by authorisation number only
+        return tppStopListCache.isBlocked(tppAuthorisationNumber, null, () -> requestStopListCheck(tppAuthorisationNumber));
+    }
+
+    private boolean requestStopListCheck(String tppAuthorisationNumber) {
         MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
         headers.add(HttpHeaders.ACCEPT, MediaType.ALL_VALUE);
         headers.add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
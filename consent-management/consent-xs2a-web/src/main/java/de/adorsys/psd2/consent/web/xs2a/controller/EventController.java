@@ -30,6 +30,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "api/v1/events")
@@ -45,4 +47,13 @@ public class EventController {
     public ResponseEntity<Boolean> recordEvent(@RequestBody EventBO event) {
         return new ResponseEntity<>(eventService.recordEvent(event), HttpStatus.OK);
     }
+
+    @PostMapping(path = "/batch")
+    @ApiOperation(value = "Creates several new events at once")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK"),
+        @ApiResponse(code = 400, message = "Bad Request")})
+    public ResponseEntity<Boolean> recordEvents(@RequestBody List<EventBO> events) {
+        return new ResponseEntity<>(eventService.recordEvents(events), HttpStatus.OK);
+    }
 }
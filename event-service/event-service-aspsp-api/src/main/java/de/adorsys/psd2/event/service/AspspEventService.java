@@ -24,6 +24,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Base version of AspspEventService that contains all method declarations.
@@ -41,6 +42,17 @@ public interface AspspEventService {
      */
     List<AspspEvent> getEventsForPeriod(@NotNull OffsetDateTime start, @NotNull OffsetDateTime end, @Nullable String instanceId);
 
+    /**
+     * Passes Event objects, recorded in given time period, one by one to the given consumer, without loading all of them
+     * into memory
+     *
+     * @param start         First date of the period
+     * @param end           Last date of the period
+     * @param instanceId    The id of particular service instance
+     * @param eventConsumer Consumer of the Event objects
+     */
+    void streamEventsForPeriod(@NotNull OffsetDateTime start, @NotNull OffsetDateTime end, @Nullable String instanceId, @NotNull Consumer<AspspEvent> eventConsumer);
+
     /**
      * Returns a list of Event objects, recorded in given time period and with the given consentId
      *
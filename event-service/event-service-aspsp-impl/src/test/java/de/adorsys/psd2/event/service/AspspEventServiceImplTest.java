@@ -19,7 +19,9 @@ package de.adorsys.psd2.event.service;
 import de.adorsys.psd2.event.core.model.EventOrigin;
 import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.event.persist.EventReportRepository;
+import de.adorsys.psd2.event.persist.model.ReportEvent;
 import de.adorsys.psd2.event.service.mapper.AspspEventMapper;
+import de.adorsys.psd2.event.service.model.AspspEvent;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mapstruct.factory.Mappers;
@@ -29,8 +31,13 @@ import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -59,6 +66,27 @@ public class AspspEventServiceImplTest {
         verify(eventReportRepository, times(1)).getEventsForPeriod(eq(START), eq(END), eq(INSTANCE_ID));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void streamEventsForPeriod() {
+        ReportEvent reportEvent = new ReportEvent();
+        AspspEvent aspspEvent = AspspEvent.builder()
+                                    .consentId(CONSENT_ID)
+                                    .build();
+        doReturn(aspspEvent).when(mapper).toAspspEvent(reportEvent);
+        doAnswer(invocation -> {
+            invocation.<Consumer<ReportEvent>>getArgument(3).accept(reportEvent);
+            return null;
+        }).when(eventReportRepository).streamEventsForPeriod(eq(START), eq(END), eq(INSTANCE_ID), any(Consumer.class));
+        List<AspspEvent> streamedEvents = new ArrayList<>();
+
+        aspspEventService.streamEventsForPeriod(START, END, INSTANCE_ID, streamedEvents::add);
+
+        assertEquals(1, streamedEvents.size());
+        assertEquals(CONSENT_ID, streamedEvents.get(0).getConsentId());
+        verify(eventReportRepository, never()).getEventsForPeriod(any(OffsetDateTime.class), any(OffsetDateTime.class), any());
+    }
+
     @Test
     public void getEventsForPeriodAndConsentId() {
         when(eventReportRepository.getEventsForPeriodAndConsentId(START, END, CONSENT_ID, INSTANCE_ID)).thenReturn(Collections.emptyList());
@@ -31,6 +31,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -45,6 +46,13 @@ public class EventReportRepositoryImpl implements EventReportRepository {
         return eventReportDBMapper.mapToAspspReportEvents(events);
     }
 
+    @Override
+    public void streamEventsForPeriod(@NotNull OffsetDateTime start, @NotNull OffsetDateTime end, @Nullable String instanceId, @NotNull Consumer<ReportEvent> eventConsumer) {
+        ReportEventMerger eventMerger = new ReportEventMerger(eventConsumer);
+        eventReportJPARepository.streamEventsForPeriod(start, end, instanceId, event -> eventMerger.accept(eventReportDBMapper.mapToReportEvent(event)));
+        eventMerger.flush();
+    }
+
     @Override
     public List<ReportEvent> getEventsForPeriodAndConsentId(@NotNull OffsetDateTime start, @NotNull OffsetDateTime end, @NotNull String consentId, @Nullable String instanceId) {
         List<EventEntityForReport> events = eventReportJPARepository.findByTimestampBetweenAndConsentIdAndInstanceIdOrderByTimestampAsc(start, end, consentId, instanceId);
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.report;
+
+import de.adorsys.psd2.event.persist.model.ReportEvent;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Merges consecutive report rows of the same event (one row per PSU of the event) and passes merged events to the
+ * delegate consumer. Rows of one event are expected to follow each other, {@link #flush()} has to be called after the
+ * last row.
+ */
+@RequiredArgsConstructor
+class ReportEventMerger implements Consumer<ReportEvent> {
+    private final Consumer<ReportEvent> delegate;
+    private ReportEvent current;
+
+    @Override
+    public void accept(ReportEvent event) {
+        if (current != null && Objects.equals(current.getId(), event.getId())) {
+            current.merge(event);
+            return;
+        }
+
+        flush();
+        current = event;
+    }
+
+    void flush() {
+        if (current != null) {
+            delegate.accept(current);
+            current = null;
+        }
+    }
+}
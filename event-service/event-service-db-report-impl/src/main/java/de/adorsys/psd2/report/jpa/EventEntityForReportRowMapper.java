@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.report.jpa;
+
+import de.adorsys.psd2.report.entity.EventEntityForReport;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Locale;
+
+/**
+ * Row mapper for event report queries, that reads columns by index instead of matching bean properties by reflection.
+ * <p>
+ * Column indexes are resolved once from the metadata of the first row, so the instance must not be shared between
+ * queries. Alternative PSU data (<code>psu_ex_*</code> columns) is read only if the event itself has no PSU ID, as it
+ * is ignored otherwise.
+ */
+class EventEntityForReportRowMapper implements RowMapper<EventEntityForReport> {
+    private int[] columnIndexes;
+
+    @Override
+    public EventEntityForReport mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        if (columnIndexes == null) {
+            columnIndexes = resolveColumnIndexes(resultSet.getMetaData());
+        }
+
+        EventEntityForReport event = new EventEntityForReport();
+        event.setId(getLong(resultSet, Column.ID));
+        event.setTimestamp(getOffsetDateTime(resultSet, Column.TIMESTAMP));
+        event.setConsentId(getString(resultSet, Column.CONSENT_ID));
+        event.setPaymentId(getString(resultSet, Column.PAYMENT_ID));
+        event.setPayload(getString(resultSet, Column.PAYLOAD));
+        event.setEventOrigin(getString(resultSet, Column.EVENT_ORIGIN));
+        event.setEventType(getString(resultSet, Column.EVENT_TYPE));
+        event.setInstanceId(getString(resultSet, Column.INSTANCE_ID));
+        event.setTppAuthorisationNumber(getString(resultSet, Column.TPP_AUTHORISATION_NUMBER));
+        event.setXRequestId(getString(resultSet, Column.X_REQUEST_ID));
+        event.setInternalRequestId(getString(resultSet, Column.INTERNAL_REQUEST_ID));
+
+        event.setPsuId(getString(resultSet, Column.PSU_ID));
+        if (StringUtils.isNotBlank(event.getPsuId())) {
+            event.setPsuIdType(getString(resultSet, Column.PSU_ID_TYPE));
+            event.setPsuCorporateId(getString(resultSet, Column.PSU_CORPORATE_ID));
+            event.setPsuCorporateIdType(getString(resultSet, Column.PSU_CORPORATE_ID_TYPE));
+        } else {
+            event.setPsuExId(getString(resultSet, Column.PSU_EX_ID));
+            event.setPsuExIdType(getString(resultSet, Column.PSU_EX_ID_TYPE));
+            event.setPsuExCorporateId(getString(resultSet, Column.PSU_EX_CORPORATE_ID));
+            event.setPsuExCorporateIdType(getString(resultSet, Column.PSU_EX_CORPORATE_ID_TYPE));
+        }
+
+        return event;
+    }
+
+    private int[] resolveColumnIndexes(ResultSetMetaData metaData) throws SQLException {
+        int[] indexes = new int[Column.values().length];
+        for (int index = 1; index <= metaData.getColumnCount(); index++) {
+            String columnName = JdbcUtils.lookupColumnName(metaData, index).toUpperCase(Locale.ROOT);
+            for (Column column : Column.values()) {
+                // The first column with given name wins, so that event columns take precedence over joined ones
+                if (column.name().equals(columnName) && indexes[column.ordinal()] == 0) {
+                    indexes[column.ordinal()] = index;
+                }
+            }
+        }
+        return indexes;
+    }
+
+    private String getString(ResultSet resultSet, Column column) throws SQLException {
+        int index = columnIndexes[column.ordinal()];
+        return index == 0 ? null : resultSet.getString(index);
+    }
+
+    private Long getLong(ResultSet resultSet, Column column) throws SQLException {
+        int index = columnIndexes[column.ordinal()];
+        if (index == 0) {
+            return null;
+        }
+
+        long value = resultSet.getLong(index);
+        return resultSet.wasNull() ? null : value;
+    }
+
+    private OffsetDateTime getOffsetDateTime(ResultSet resultSet, Column column) throws SQLException {
+        int index = columnIndexes[column.ordinal()];
+        if (index == 0) {
+            return null;
+        }
+
+        Object value = JdbcUtils.getResultSetValue(resultSet, index, OffsetDateTime.class);
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime().atZone(ZoneId.systemDefault()).toOffsetDateTime();
+        }
+        return (OffsetDateTime) value;
+    }
+
+    private enum Column {
+        ID,
+        TIMESTAMP,
+        CONSENT_ID,
+        PAYMENT_ID,
+        PAYLOAD,
+        EVENT_ORIGIN,
+        EVENT_TYPE,
+        INSTANCE_ID,
+        TPP_AUTHORISATION_NUMBER,
+        X_REQUEST_ID,
+        INTERNAL_REQUEST_ID,
+        PSU_ID,
+        PSU_ID_TYPE,
+        PSU_CORPORATE_ID,
+        PSU_CORPORATE_ID_TYPE,
+        PSU_EX_ID,
+        PSU_EX_ID_TYPE,
+        PSU_EX_CORPORATE_ID,
+        PSU_EX_CORPORATE_ID_TYPE
+    }
+}
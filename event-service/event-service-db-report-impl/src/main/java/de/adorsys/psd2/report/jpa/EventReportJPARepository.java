@@ -21,22 +21,35 @@ import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.report.entity.EventEntityForReport;
 import de.adorsys.psd2.report.jpa.builder.EventReportSqlParameterSourceBuilder;
 import de.adorsys.psd2.report.jpa.builder.SqlEventReportBuilder;
-import lombok.RequiredArgsConstructor;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Repository
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class EventReportJPARepository {
     private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
     private final SqlEventReportBuilder sqlEventReportBuilder;
 
+    public EventReportJPARepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate, SqlEventReportBuilder sqlEventReportBuilder,
+                                    @Value("${event-report.stream.fetch-size:500}") int streamFetchSize) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.sqlEventReportBuilder = sqlEventReportBuilder;
+
+        // Separate template, so that the fetch size applies only to the streamed reports
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(namedParameterJdbcTemplate.getJdbcTemplate().getDataSource());
+        jdbcTemplate.setFetchSize(streamFetchSize);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
     public List<EventEntityForReport> getEventsForPeriod(OffsetDateTime periodFrom, OffsetDateTime periodTo, String instanceId) {
         EventReportSqlParameterSourceBuilder parameters = new EventReportSqlParameterSourceBuilder()
                                                               .periodFrom(periodFrom)
@@ -50,7 +63,26 @@ public class EventReportJPARepository {
                                 .instanceId()
                                 .build();
 
-        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
+        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new EventEntityForReportRowMapper());
+    }
+
+    public void streamEventsForPeriod(OffsetDateTime periodFrom, OffsetDateTime periodTo, String instanceId, Consumer<EventEntityForReport> eventConsumer) {
+        EventReportSqlParameterSourceBuilder parameters = new EventReportSqlParameterSourceBuilder()
+                                                              .periodFrom(periodFrom)
+                                                              .periodTo(periodTo)
+                                                              .instanceId(instanceId)
+                                                              .build();
+
+        String sqlRequest = sqlEventReportBuilder
+                                .baseRequest()
+                                .period()
+                                .instanceId()
+                                .build();
+
+        RowMapper<EventEntityForReport> rowMapper = new EventEntityForReportRowMapper();
+        streamingJdbcTemplate.query(sqlRequest, parameters, resultSet -> {
+            eventConsumer.accept(rowMapper.mapRow(resultSet, resultSet.getRow()));
+        });
     }
 
     public List<EventEntityForReport> findByTimestampBetweenAndConsentIdAndInstanceIdOrderByTimestampAsc(OffsetDateTime periodFrom, OffsetDateTime periodTo, String consentId, String instanceId) {
@@ -68,7 +100,7 @@ public class EventReportJPARepository {
                                 .consentId()
                                 .build();
 
-        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
+        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new EventEntityForReportRowMapper());
     }
 
     public List<EventEntityForReport> findByTimestampBetweenAndPaymentIdAndInstanceIdOrderByTimestampAsc(OffsetDateTime periodFrom, OffsetDateTime periodTo, String paymentId, String instanceId) {
@@ -86,7 +118,7 @@ public class EventReportJPARepository {
                                 .paymentId()
                                 .build();
 
-        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
+        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new EventEntityForReportRowMapper());
     }
 
     public List<EventEntityForReport> findByTimestampBetweenAndEventTypeAndInstanceIdOrderByTimestampAsc(OffsetDateTime periodFrom, OffsetDateTime periodTo, EventType eventType, String instanceId) {
@@ -104,7 +136,7 @@ public class EventReportJPARepository {
                                 .eventType()
                                 .build();
 
-        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
+        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new EventEntityForReportRowMapper());
     }
 
     public List<EventEntityForReport> findByTimestampBetweenAndEventOriginAndInstanceIdOrderByTimestampAsc(OffsetDateTime periodFrom, OffsetDateTime periodTo, EventOrigin eventOrigin, String instanceId) {
@@ -122,6 +154,6 @@ public class EventReportJPARepository {
                                 .eventOrigin()
                                 .build();
 
-        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
+        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new EventEntityForReportRowMapper());
     }
 }
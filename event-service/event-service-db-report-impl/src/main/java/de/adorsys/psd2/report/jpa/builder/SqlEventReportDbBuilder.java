@@ -80,7 +80,7 @@ public class SqlEventReportDbBuilder extends MapSqlParameterSource implements Sq
     public String build() {
         return sqlRequest
                    .append(filterRequest)
-                   .append("order by timestamp ")
+                   .append("order by timestamp, ev.id ")
                    .toString();
     }
 
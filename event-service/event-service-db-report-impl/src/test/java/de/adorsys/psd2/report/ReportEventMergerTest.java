@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.report;
+
+import de.adorsys.psd2.event.persist.model.PsuIdDataPO;
+import de.adorsys.psd2.event.persist.model.ReportEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ReportEventMergerTest {
+    private List<ReportEvent> mergedEvents;
+    private ReportEventMerger eventMerger;
+
+    @Before
+    public void setUp() {
+        mergedEvents = new ArrayList<>();
+        eventMerger = new ReportEventMerger(mergedEvents::add);
+    }
+
+    @Test
+    public void accept_rowsOfSameEvent_merged() {
+        eventMerger.accept(buildReportEvent(1L, "psu 1"));
+        eventMerger.accept(buildReportEvent(1L, "psu 2"));
+        eventMerger.accept(buildReportEvent(2L, "psu 3"));
+
+        assertEquals(1, mergedEvents.size());
+        assertEquals(Long.valueOf(1), mergedEvents.get(0).getId());
+        assertEquals(2, mergedEvents.get(0).getPsuIdData().size());
+
+        eventMerger.flush();
+
+        assertEquals(2, mergedEvents.size());
+        assertEquals(Long.valueOf(2), mergedEvents.get(1).getId());
+        assertEquals(1, mergedEvents.get(1).getPsuIdData().size());
+    }
+
+    @Test
+    public void flush_noEvents_nothingPassed() {
+        eventMerger.flush();
+
+        assertTrue(mergedEvents.isEmpty());
+    }
+
+    private ReportEvent buildReportEvent(Long id, String psuId) {
+        PsuIdDataPO psuIdData = new PsuIdDataPO();
+        psuIdData.setPsuId(psuId);
+
+        ReportEvent reportEvent = new ReportEvent();
+        reportEvent.setId(id);
+        reportEvent.getPsuIdData().add(psuIdData);
+        return reportEvent;
+    }
+}
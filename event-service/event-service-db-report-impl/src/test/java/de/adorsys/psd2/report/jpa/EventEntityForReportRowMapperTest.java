@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.report.jpa;
+
+import de.adorsys.psd2.report.entity.EventEntityForReport;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class EventEntityForReportRowMapperTest {
+    private static final String[] COLUMNS = {"id", "timestamp", "consent_id", "payment_id", "payload", "event_origin",
+        "event_type", "instance_id", "psu_id", "psu_id_type", "psu_corporate_id", "psu_corporate_id_type",
+        "tpp_authorisation_number", "x_request_id", "internal_request_id", "psu_ex_id", "psu_ex_id_type",
+        "psu_ex_corporate_id", "psu_ex_corporate_id_type"};
+    private static final OffsetDateTime TIMESTAMP = OffsetDateTime.now();
+
+    private ResultSet resultSet;
+    private ResultSetMetaData metaData;
+    private EventEntityForReportRowMapper rowMapper;
+
+    @Before
+    public void setUp() throws SQLException {
+        resultSet = mock(ResultSet.class);
+        metaData = mock(ResultSetMetaData.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(COLUMNS.length);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            when(metaData.getColumnLabel(i + 1)).thenReturn(COLUMNS[i]);
+        }
+
+        rowMapper = new EventEntityForReportRowMapper();
+    }
+
+    @Test
+    public void mapRow_eventWithPsu_psuExColumnsNotRead() throws SQLException {
+        // Given
+        when(resultSet.getLong(1)).thenReturn(7L);
+        when(resultSet.getObject(2, OffsetDateTime.class)).thenReturn(TIMESTAMP);
+        when(resultSet.getString(3)).thenReturn("consent id");
+        when(resultSet.getString(5)).thenReturn("payload");
+        when(resultSet.getString(6)).thenReturn("TPP");
+        when(resultSet.getString(9)).thenReturn("psu id");
+        when(resultSet.getString(10)).thenReturn("psu id type");
+        when(resultSet.getString(14)).thenReturn("x-request-id");
+
+        // When
+        EventEntityForReport event = rowMapper.mapRow(resultSet, 1);
+
+        // Then
+        assertEquals(Long.valueOf(7), event.getId());
+        assertEquals(TIMESTAMP, event.getTimestamp());
+        assertEquals("consent id", event.getConsentId());
+        assertNull(event.getPaymentId());
+        assertEquals("payload", event.getPayload());
+        assertEquals("TPP", event.getEventOrigin());
+        assertEquals("psu id", event.getPsuId());
+        assertEquals("psu id type", event.getPsuIdType());
+        assertEquals("x-request-id", event.getXRequestId());
+        assertNull(event.getPsuExId());
+        verify(resultSet, never()).getString(16);
+    }
+
+    @Test
+    public void mapRow_eventWithoutPsu_psuExColumnsRead() throws SQLException {
+        // Given
+        when(resultSet.getString(16)).thenReturn("psu ex id");
+        when(resultSet.getString(18)).thenReturn("psu ex corporate id");
+
+        // When
+        EventEntityForReport event = rowMapper.mapRow(resultSet, 1);
+
+        // Then
+        assertNull(event.getPsuId());
+        assertEquals("psu ex id", event.getPsuExId());
+        assertEquals("psu ex corporate id", event.getPsuExCorporateId());
+        verify(resultSet, never()).getString(10);
+    }
+
+    @Test
+    public void mapRow_nullId_idIsNull() throws SQLException {
+        // Given
+        when(resultSet.wasNull()).thenReturn(true);
+
+        // When
+        EventEntityForReport event = rowMapper.mapRow(resultSet, 1);
+
+        // Then
+        assertNull(event.getId());
+    }
+
+    @Test
+    public void mapRow_severalRows_metadataResolvedOnce() throws SQLException {
+        // When
+        rowMapper.mapRow(resultSet, 1);
+        rowMapper.mapRow(resultSet, 2);
+
+        // Then
+        verify(resultSet, times(1)).getMetaData();
+        verify(metaData, times(COLUMNS.length)).getColumnLabel(anyInt());
+    }
+}
@@ -24,6 +24,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface EventReportRepository {
 
@@ -37,6 +38,19 @@ public interface EventReportRepository {
      */
     List<ReportEvent> getEventsForPeriod(@NotNull OffsetDateTime start, @NotNull OffsetDateTime end, @Nullable String instanceId);
 
+    /**
+     * Passes Event objects, recorded in given time period, one by one to the given consumer, ordered by timestamp.
+     * Implementations should override this method if they are able to read events without loading all of them into memory.
+     *
+     * @param start         First date of the period
+     * @param end           Last date of the period
+     * @param instanceId    The id of particular service instance
+     * @param eventConsumer Consumer of the Event objects
+     */
+    default void streamEventsForPeriod(@NotNull OffsetDateTime start, @NotNull OffsetDateTime end, @Nullable String instanceId, @NotNull Consumer<ReportEvent> eventConsumer) {
+        getEventsForPeriod(start, end, instanceId).forEach(eventConsumer);
+    }
+
     /**
      * Returns a list of Event objects, recorded in given time period and with the given consentId
      *
@@ -18,6 +18,9 @@ package de.adorsys.psd2.event.persist;
 
 import de.adorsys.psd2.event.persist.model.EventPO;
 
+import java.util.List;
+import java.util.Objects;
+
 public interface EventRepository {
 
     /**
@@ -25,4 +28,18 @@ public interface EventRepository {
      * @return identifier of saved event
      */
     Long save(EventPO eventPO);
+
+    /**
+     * Saves several events at once. Implementations should override this method if they are able to save events
+     * more efficiently than one by one.
+     *
+     * @param eventPOs list of {@link EventPO} objects for saving
+     * @return number of saved events
+     */
+    default int saveBatch(List<EventPO> eventPOs) {
+        return (int) eventPOs.stream()
+                         .map(this::save)
+                         .filter(Objects::nonNull)
+                         .count();
+    }
 }
@@ -24,6 +24,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -38,4 +41,14 @@ public class EventRepositoryImpl implements EventRepository {
         eventRepository.save(entity);
         return entity.getId();
     }
+
+    @Override
+    @Transactional
+    public int saveBatch(List<EventPO> eventPOs) {
+        List<EventEntity> entities = eventPOs.stream()
+                                         .map(eventDBMapper::toEventEntity)
+                                         .collect(Collectors.toList());
+        eventRepository.saveAll(entities);
+        return entities.size();
+    }
 }
@@ -16,8 +16,12 @@
 
 package de.adorsys.psd2.event.persist;
 
+import de.adorsys.psd2.event.persist.entity.EventEntity;
 import de.adorsys.psd2.event.persist.model.EventPO;
 import de.adorsys.xs2a.reader.JsonReader;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -26,9 +30,13 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import javax.persistence.EntityManagerFactory;
 import java.time.OffsetDateTime;
+import java.util.Arrays;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(SpringRunner.class)
 @DataJpaTest
@@ -39,6 +47,8 @@ public class EventRepositoryImplIT {
 
     @Autowired
     private EventRepositoryImpl repository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
     private JsonReader jsonReader = new JsonReader();
     private EventPO eventPO;
     private Long savedId;
@@ -58,4 +68,23 @@ public class EventRepositoryImplIT {
     public void save() {
         assertNotNull(savedId);
     }
+
+    @Test
+    public void saveBatch() {
+        EventPO anotherEventPO = jsonReader.getObjectFromFile("json/event.json", EventPO.class);
+        anotherEventPO.setTimestamp(CREATED_DATETIME);
+
+        int savedCount = repository.saveBatch(Arrays.asList(anotherEventPO, anotherEventPO));
+
+        assertEquals(2, savedCount);
+    }
+
+    @Test
+    public void idGenerator_pooledLoOptimizer() {
+        SequenceStyleGenerator generator = (SequenceStyleGenerator) entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                                                                          .getIdentifierGenerator(EventEntity.class.getName());
+
+        assertEquals(50, generator.getOptimizer().getIncrementSize());
+        assertTrue(generator.getOptimizer() instanceof PooledLoOptimizer);
+    }
 }
@@ -24,6 +24,8 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class EventServiceRestClientImpl implements Xs2aEventServiceEncrypted {
@@ -35,4 +37,9 @@ public class EventServiceRestClientImpl implements Xs2aEventServiceEncrypted {
     public boolean recordEvent(@NotNull EventBO event) {
         return consentRestTemplate.postForEntity(eventRemoteUrls.createEvent(), event, Boolean.class).getBody();
     }
+
+    @Override
+    public boolean recordEvents(@NotNull List<EventBO> events) {
+        return consentRestTemplate.postForEntity(eventRemoteUrls.createEvents(), events, Boolean.class).getBody();
+    }
 }
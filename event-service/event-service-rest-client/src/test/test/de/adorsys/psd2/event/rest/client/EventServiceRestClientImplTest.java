@@ -25,6 +25,9 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collections;
+import java.util.List;
+
 import static junit.framework.TestCase.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -56,4 +59,17 @@ public class EventServiceRestClientImplTest {
         verify(consentRestTemplate, times(1)).postForEntity(eq("create-url"), eq(event), eq(Boolean.class));
         verify(responseEntity, times(1)).getBody();
     }
+
+    @Test
+    public void recordEvents() {
+        List<EventBO> events = Collections.singletonList(EventBO.builder().build());
+
+        when(eventRemoteUrls.createEvents()).thenReturn("create-batch-url");
+        when(consentRestTemplate.postForEntity(eq("create-batch-url"), eq(events), eq(Boolean.class))).thenReturn(responseEntity);
+        when(responseEntity.getBody()).thenReturn(true);
+
+        assertTrue(eventServiceRestClient.recordEvents(events));
+
+        verify(consentRestTemplate, times(1)).postForEntity(eq("create-batch-url"), eq(events), eq(Boolean.class));
+    }
 }
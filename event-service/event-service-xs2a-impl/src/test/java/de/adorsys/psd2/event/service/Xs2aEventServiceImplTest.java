@@ -27,6 +27,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -55,4 +59,26 @@ public class Xs2aEventServiceImplTest {
 
         verify(eventRepository, times(1)).save(any(EventPO.class));
     }
+
+    @Test
+    public void recordEvents() {
+        EventBO eventBO = jsonReader.getObjectFromFile("json/event-po.json", EventBO.class);
+        EventPO eventPO = new EventPO();
+        when(mapper.toEventPO(eventBO)).thenReturn(eventPO);
+        when(eventRepository.saveBatch(Arrays.asList(eventPO, eventPO))).thenReturn(2);
+
+        assertTrue(xs2aEventService.recordEvents(Arrays.asList(eventBO, eventBO)));
+
+        verify(eventRepository, never()).save(any(EventPO.class));
+    }
+
+    @Test
+    public void recordEvents_notAllSaved() {
+        EventBO eventBO = jsonReader.getObjectFromFile("json/event-po.json", EventBO.class);
+        EventPO eventPO = new EventPO();
+        when(mapper.toEventPO(eventBO)).thenReturn(eventPO);
+        when(eventRepository.saveBatch(Collections.singletonList(eventPO))).thenReturn(0);
+
+        assertFalse(xs2aEventService.recordEvents(Collections.singletonList(eventBO)));
+    }
 }
@@ -16,12 +16,18 @@
 
 package de.adorsys.psd2.validator.certificate.util;
 
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.util.Date;
 import java.util.List;
 
 @Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
 public class TppCertificateData {
     private String pspAuthorisationNumber;
     private List<String> pspRoles;
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.validator.certificate.util;
+
+import lombok.Value;
+import no.difi.certvalidator.api.CertificateValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache for data, extracted from TPP certificates by {@link CertificateExtractorUtil}.
+ * <p>
+ * Entries are stored by SHA-256 fingerprint of the encoded certificate and are valid until the certificate expires.
+ * When the maximum size is reached, least recently used entries are evicted. Invalid certificates are never cached.
+ * Cached data is copied on every access, so callers may freely modify returned objects. Hit, miss and eviction counts
+ * are recorded for monitoring.
+ */
+public class TppCertificateDataCache {
+    public static final int DEFAULT_MAX_SIZE = 1_000;
+
+    private final int maxSize;
+    private final LongSupplier clock;
+    private final Map<String, CacheEntry> entries;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public TppCertificateDataCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param maxSize maximum number of cached certificates, 0 disables the cache
+     */
+    public TppCertificateDataCache(int maxSize) {
+        this(maxSize, System::currentTimeMillis);
+    }
+
+    TppCertificateDataCache(int maxSize, LongSupplier clock) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Max size of the TPP certificate data cache must not be negative");
+        }
+
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns data of given TPP certificate. The certificate is parsed only if there is no cached data for it.
+     *
+     * @param encodedCert PEM encoded certificate
+     * @return extracted certificate data
+     * @throws CertificateValidationException if the certificate couldn't be parsed
+     */
+    public TppCertificateData extract(String encodedCert) throws CertificateValidationException {
+        if (maxSize == 0) {
+            return CertificateExtractorUtil.extract(encodedCert);
+        }
+
+        String fingerprint = fingerprint(encodedCert);
+
+        synchronized (entries) {
+            CacheEntry cached = entries.get(fingerprint);
+            if (cached != null) {
+                if (clock.getAsLong() < cached.getExpirationTime()) {
+                    hitCount.incrementAndGet();
+                    return copy(cached.getData());
+                }
+                entries.remove(fingerprint);
+            }
+        }
+
+        missCount.incrementAndGet();
+        TppCertificateData data = CertificateExtractorUtil.extract(encodedCert);
+
+        Date notAfter = data.getNotAfter();
+        if (notAfter != null && clock.getAsLong() < notAfter.getTime()) {
+            synchronized (entries) {
+                entries.put(fingerprint, new CacheEntry(copy(data), notAfter.getTime()));
+                evictEldestEntries();
+            }
+        }
+
+        return data;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "TppCertificateDataCache{size=" + size()
+                   + ", hits=" + getHitCount()
+                   + ", misses=" + getMissCount()
+                   + ", evictions=" + getEvictionCount() + "}";
+    }
+
+    private void evictEldestEntries() {
+        while (entries.size() > maxSize) {
+            String eldest = entries.keySet().iterator().next();
+            entries.remove(eldest);
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    private String fingerprint(String encodedCert) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(encodedCert.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is supported by every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static TppCertificateData copy(TppCertificateData data) {
+        return data.toBuilder()
+                   .pspRoles(data.getPspRoles() == null ? null : new ArrayList<>(data.getPspRoles()))
+                   .notAfter(data.getNotAfter() == null ? null : new Date(data.getNotAfter().getTime()))
+                   .build();
+    }
+
+    @Value
+    private static class CacheEntry {
+        private TppCertificateData data;
+        private long expirationTime;
+    }
+}
@@ -19,6 +19,8 @@ package de.adorsys.psd2.validator.signature;
 import java.security.NoSuchAlgorithmException;
 import java.security.Provider;
 import java.security.PublicKey;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.tomitribe.auth.signatures.Algorithm;
 import org.tomitribe.auth.signatures.Base64;
@@ -27,6 +29,11 @@ import org.tomitribe.auth.signatures.UnsupportedAlgorithmException;
 
 public class Asymmetric implements Verify {
 
+	/**
+	 * Signature instances of the default provider, reused by algorithm within the current thread
+	 */
+	private static final ThreadLocal<Map<String, java.security.Signature>> INSTANCES = ThreadLocal.withInitial(HashMap::new);
+
 	private final PublicKey key;
 	private final Algorithm algorithm;
 	private final Provider provider;
@@ -44,7 +51,7 @@ public class Asymmetric implements Verify {
 		try {
 
 			final java.security.Signature instance = provider == null
-					? java.security.Signature.getInstance(algorithm.getJmvName())
+					? getDefaultInstance(algorithm.getJmvName())
 					: java.security.Signature.getInstance(algorithm.getJmvName(), provider);
 
 			instance.initVerify(key);
@@ -60,4 +67,14 @@ public class Asymmetric implements Verify {
 			throw new IllegalStateException(e);
 		}
 	}
+
+	private static java.security.Signature getDefaultInstance(String jvmName) throws NoSuchAlgorithmException {
+		Map<String, java.security.Signature> instances = INSTANCES.get();
+		java.security.Signature instance = instances.get(jvmName);
+		if (instance == null) {
+			instance = java.security.Signature.getInstance(jvmName);
+			instances.put(jvmName, instance);
+		}
+		return instance;
+	}
 }
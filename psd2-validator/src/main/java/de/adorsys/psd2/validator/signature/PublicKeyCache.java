@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.validator.signature;
+
+import com.nimbusds.jose.util.X509CertUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache for public keys of TPP signature certificates, stored by SHA-256 fingerprint of the encoded
+ * certificate.
+ */
+class PublicKeyCache {
+    private final int maxSize;
+    private final Map<String, PublicKey> entries;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    PublicKeyCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Max size of the public key cache must not be negative");
+        }
+
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the public key of given certificate, the certificate is parsed only on cache miss
+     *
+     * @param encodedCert PEM encoded certificate
+     * @return public key of the certificate
+     * @throws IllegalArgumentException if the certificate couldn't be parsed
+     */
+    PublicKey getPublicKey(String encodedCert) {
+        String fingerprint = fingerprint(encodedCert);
+
+        synchronized (entries) {
+            PublicKey cached = entries.get(fingerprint);
+            if (cached != null) {
+                hitCount.incrementAndGet();
+                return cached;
+            }
+        }
+
+        missCount.incrementAndGet();
+        X509Certificate cert = X509CertUtils.parse(encodedCert);
+        if (cert == null) {
+            throw new IllegalArgumentException("CERTIFICATE_INVALID");
+        }
+
+        PublicKey publicKey = cert.getPublicKey();
+        if (maxSize > 0) {
+            synchronized (entries) {
+                entries.put(fingerprint, publicKey);
+                while (entries.size() > maxSize) {
+                    entries.remove(entries.keySet().iterator().next());
+                }
+            }
+        }
+        return publicKey;
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    long getHitCount() {
+        return hitCount.get();
+    }
+
+    long getMissCount() {
+        return missCount.get();
+    }
+
+    private String fingerprint(String encodedCert) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(encodedCert.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is supported by every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+}
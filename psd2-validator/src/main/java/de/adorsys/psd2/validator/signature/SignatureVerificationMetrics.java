@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.validator.signature;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Number and total duration of signature verifications, grouped by signature algorithm, and of digest verifications,
+ * grouped by hash algorithm
+ */
+public class SignatureVerificationMetrics {
+    private final Map<String, AlgorithmMetrics> metrics = new ConcurrentHashMap<>();
+    private final Map<String, AlgorithmMetrics> digestMetrics = new ConcurrentHashMap<>();
+
+    void record(String algorithm, long durationNanos) {
+        record(metrics, algorithm, durationNanos);
+    }
+
+    /**
+     * Records the verification of the request body against the "Digest" header
+     *
+     * @param algorithm     hash algorithm of the digest
+     * @param durationNanos time, spent on hashing the body and comparing the hash with the header
+     */
+    public void recordDigestVerification(String algorithm, long durationNanos) {
+        record(digestMetrics, algorithm, durationNanos);
+    }
+
+    public Set<String> getAlgorithms() {
+        return Collections.unmodifiableSet(metrics.keySet());
+    }
+
+    public long getCount(String algorithm) {
+        AlgorithmMetrics algorithmMetrics = metrics.get(algorithm);
+        return algorithmMetrics == null ? 0 : algorithmMetrics.count.sum();
+    }
+
+    public long getTotalTime(String algorithm, TimeUnit unit) {
+        AlgorithmMetrics algorithmMetrics = metrics.get(algorithm);
+        return algorithmMetrics == null ? 0 : unit.convert(algorithmMetrics.totalNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getAverageTime(String algorithm, TimeUnit unit) {
+        long count = getCount(algorithm);
+        return count == 0 ? 0 : getTotalTime(algorithm, unit) / count;
+    }
+
+    public Set<String> getDigestAlgorithms() {
+        return Collections.unmodifiableSet(digestMetrics.keySet());
+    }
+
+    public long getDigestCount(String algorithm) {
+        AlgorithmMetrics algorithmMetrics = digestMetrics.get(algorithm);
+        return algorithmMetrics == null ? 0 : algorithmMetrics.count.sum();
+    }
+
+    public long getDigestTotalTime(String algorithm, TimeUnit unit) {
+        AlgorithmMetrics algorithmMetrics = digestMetrics.get(algorithm);
+        return algorithmMetrics == null ? 0 : unit.convert(algorithmMetrics.totalNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getDigestAverageTime(String algorithm, TimeUnit unit) {
+        long count = getDigestCount(algorithm);
+        return count == 0 ? 0 : getDigestTotalTime(algorithm, unit) / count;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("SignatureVerificationMetrics{");
+        metrics.keySet().forEach(a -> builder.append(a)
+                                          .append("=[count=").append(getCount(a))
+                                          .append(", avgMicros=").append(getAverageTime(a, TimeUnit.MICROSECONDS))
+                                          .append("] "));
+        digestMetrics.keySet().forEach(a -> builder.append("digest ").append(a)
+                                                .append("=[count=").append(getDigestCount(a))
+                                                .append(", avgMicros=").append(getDigestAverageTime(a, TimeUnit.MICROSECONDS))
+                                                .append("] "));
+        return builder.append('}').toString();
+    }
+
+    private static void record(Map<String, AlgorithmMetrics> metrics, String algorithm, long durationNanos) {
+        AlgorithmMetrics algorithmMetrics = metrics.computeIfAbsent(algorithm, a -> new AlgorithmMetrics());
+        algorithmMetrics.count.increment();
+        algorithmMetrics.totalNanos.add(durationNanos);
+    }
+
+    private static class AlgorithmMetrics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+    }
+}
@@ -16,18 +16,24 @@
 
 package de.adorsys.psd2.validator.signature;
 
-import com.nimbusds.jose.util.X509CertUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.tomitribe.auth.signatures.Algorithm;
 import org.tomitribe.auth.signatures.Signature;
+import org.tomitribe.auth.signatures.Signatures;
 
 import java.io.IOException;
 import java.security.PublicKey;
-import java.security.cert.X509Certificate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Verifies http signatures of TPP requests. Instances are thread-safe and meant to be reused: public keys of
+ * certificates are cached by certificate fingerprint and verification durations are recorded by algorithm. Durations of
+ * digest verifications, done by the caller, can be recorded in the same {@link SignatureVerificationMetrics}.
+ */
 public class TppSignatureValidator {
+	public static final int DEFAULT_KEY_CACHE_SIZE = 1_000;
 
 	/**
 	 * mandatory header fields for http signature in case of psd2
@@ -35,6 +41,20 @@ public class TppSignatureValidator {
 	private static final List<String> MANDATORY_HEADERS_PSD2 = Arrays
 			.asList("digest", "tpp-transaction-id", "x-request-id", "timestamp");
 
+	private final PublicKeyCache publicKeyCache;
+	private final SignatureVerificationMetrics metrics = new SignatureVerificationMetrics();
+
+	public TppSignatureValidator() {
+		this(DEFAULT_KEY_CACHE_SIZE);
+	}
+
+	/**
+	 * @param keyCacheSize maximum number of cached public keys, 0 disables the cache
+	 */
+	public TppSignatureValidator(int keyCacheSize) {
+		this.publicKeyCache = new PublicKeyCache(keyCacheSize);
+	}
+
     /**
      * signature should not be null signature should be conform with psd2
      * addition signature should be verifiable by the entry certificate
@@ -62,10 +82,33 @@ public class TppSignatureValidator {
 			throw new IllegalArgumentException("SIGNATURE_INVALID");
 		}
 
-		X509Certificate cert = X509CertUtils.parse(tppEncodedCert);
-		PublicKey key = cert.getPublicKey();
-		SignatureVerifier verifier = new SignatureVerifier(key, signatureData);
-		return verifier.verify("method", "uri", headers);
+		PublicKey key = publicKeyCache.getPublicKey(tppEncodedCert);
+		Algorithm algorithm = signatureData.getAlgorithm();
+
+		if (!java.security.Signature.class.equals(algorithm.getType())) {
+			long start = System.nanoTime();
+			boolean verified = new SignatureVerifier(key, signatureData).verify("method", "uri", headers);
+			metrics.record(algorithm.getPortableName(), System.nanoTime() - start);
+			return verified;
+		}
+
+		byte[] signingString = Signatures.createSigningString(signatureData.getHeaders(), "method", "uri", headers).getBytes();
+		long start = System.nanoTime();
+		boolean verified = new Asymmetric(key, null, algorithm, signatureData).verify(signingString);
+		metrics.record(algorithm.getPortableName(), System.nanoTime() - start);
+		return verified;
+	}
+
+	public SignatureVerificationMetrics getMetrics() {
+		return metrics;
+	}
+
+	public long getKeyCacheHitCount() {
+		return publicKeyCache.getHitCount();
+	}
+
+	public long getKeyCacheMissCount() {
+		return publicKeyCache.getMissCount();
 	}
 
 }
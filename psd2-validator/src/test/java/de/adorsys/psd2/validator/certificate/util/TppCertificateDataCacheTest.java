@@ -0,0 +1,165 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.validator.certificate.util;
+
+import no.difi.certvalidator.api.CertificateValidationException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class TppCertificateDataCacheTest {
+    private static final String VALID_CERTIFICATE = CertificateUtils.getCertificateByName("certificateValid.crt");
+    private static final String INVALID_CERTIFICATE = CertificateUtils.getCertificateByName("certificateInvalid.crt");
+
+    private AtomicLong currentTime;
+    private TppCertificateDataCache cache;
+
+    @Before
+    public void setUp() {
+        // Test certificates are already expired, so the clock is set before their expiration
+        currentTime = new AtomicLong(0);
+        cache = new TppCertificateDataCache(1, currentTime::get);
+    }
+
+    @Test
+    public void extract_sameCertificate_parsedOnce() throws CertificateValidationException {
+        // When
+        TppCertificateData first = cache.extract(VALID_CERTIFICATE);
+        TppCertificateData second = cache.extract(VALID_CERTIFICATE);
+
+        // Then
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void extract_returnedDataModified_cachedDataNotAffected() throws CertificateValidationException {
+        // Given
+        TppCertificateData first = cache.extract(VALID_CERTIFICATE);
+        TppCertificateData expected = CertificateExtractorUtil.extract(VALID_CERTIFICATE);
+
+        // When
+        first.setName("modified");
+        first.getPspRoles().clear();
+
+        // Then
+        assertEquals(expected, cache.extract(VALID_CERTIFICATE));
+    }
+
+    @Test
+    public void extract_certificateExpired_parsedAgain() throws CertificateValidationException {
+        // Given
+        TppCertificateData data = cache.extract(VALID_CERTIFICATE);
+
+        // When
+        currentTime.set(data.getNotAfter().getTime());
+        cache.extract(VALID_CERTIFICATE);
+
+        // Then
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void extract_invalidCertificate_notCached() {
+        // When
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.extract(INVALID_CERTIFICATE);
+                fail("CertificateValidationException expected");
+            } catch (CertificateValidationException e) {
+                // expected
+            }
+        }
+
+        // Then
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void extract_maxSizeExceeded_eldestEntryEvicted() throws CertificateValidationException {
+        // Given
+        cache.extract(VALID_CERTIFICATE);
+
+        // When
+        cache.extract(VALID_CERTIFICATE + "\n");
+        cache.extract(VALID_CERTIFICATE);
+
+        // Then
+        assertEquals(1, cache.size());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    public void extract_cacheDisabled_alwaysParsed() throws CertificateValidationException {
+        // Given
+        cache = new TppCertificateDataCache(0, currentTime::get);
+
+        // When
+        cache.extract(VALID_CERTIFICATE);
+        cache.extract(VALID_CERTIFICATE);
+
+        // Then
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void copy_allFieldsSet_allFieldsCopied() throws IllegalAccessException {
+        // Given
+        TppCertificateData data = new TppCertificateData();
+        for (Field field : TppCertificateData.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                field.setAccessible(true);
+                field.set(data, buildFieldValue(field));
+            }
+        }
+
+        // When
+        TppCertificateData copy = TppCertificateDataCache.copy(data);
+
+        // Then
+        assertEquals(data, copy);
+        assertNotSame(data.getPspRoles(), copy.getPspRoles());
+        assertNotSame(data.getNotAfter(), copy.getNotAfter());
+    }
+
+    private Object buildFieldValue(Field field) {
+        Class<?> type = field.getType();
+        if (type == String.class) {
+            return field.getName();
+        } else if (type == Date.class) {
+            return new Date(1_000L);
+        } else if (type.isAssignableFrom(ArrayList.class)) {
+            return new ArrayList<>(Collections.singletonList(field.getName()));
+        }
+        throw new AssertionError("No test value for field " + field.getName() + " of type " + type);
+    }
+}
@@ -21,6 +21,7 @@ import java.security.NoSuchAlgorithmException;
 import java.security.SignatureException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -90,4 +91,53 @@ public class TppSignatureValidatorTest {
 
 		Assert.assertFalse(new TppSignatureValidator().verifySignature(signature, tppEncodedInvalidCert, headersMap));
 	}
+
+	@Test
+	public void when_SameCertificateVerifiedTwice_Expected_KeyParsedOnceAndDurationRecorded() throws IOException {
+
+		Map<String, String> headersMap = buildValidHeaders();
+		TppSignatureValidator validator = new TppSignatureValidator();
+
+		Assert.assertTrue(validator.verifySignature(signature, tppEncodedValidCert, headersMap));
+		Assert.assertTrue(validator.verifySignature(signature, tppEncodedValidCert, headersMap));
+
+		Assert.assertEquals(1, validator.getKeyCacheMissCount());
+		Assert.assertEquals(1, validator.getKeyCacheHitCount());
+		Assert.assertEquals(2, validator.getMetrics().getCount("rsa-sha256"));
+	}
+
+	@Test
+	public void when_ValidSignatureAndKeyCacheDisabled_Expected_true() throws IOException {
+
+		TppSignatureValidator validator = new TppSignatureValidator(0);
+
+		Assert.assertTrue(validator.verifySignature(signature, tppEncodedValidCert, buildValidHeaders()));
+		Assert.assertTrue(validator.verifySignature(signature, tppEncodedValidCert, buildValidHeaders()));
+		Assert.assertEquals(2, validator.getKeyCacheMissCount());
+	}
+
+	@Test
+	public void when_DigestVerificationRecorded_Expected_RecordedSeparatelyFromSignatures() throws IOException {
+
+		TppSignatureValidator validator = new TppSignatureValidator();
+
+		Assert.assertTrue(validator.verifySignature(signature, tppEncodedValidCert, buildValidHeaders()));
+		validator.getMetrics().recordDigestVerification("SHA-256", 2_000);
+		validator.getMetrics().recordDigestVerification("SHA-256", 4_000);
+
+		Assert.assertEquals(1, validator.getMetrics().getCount("rsa-sha256"));
+		Assert.assertEquals(0, validator.getMetrics().getCount("SHA-256"));
+		Assert.assertEquals(2, validator.getMetrics().getDigestCount("SHA-256"));
+		Assert.assertEquals(3, validator.getMetrics().getDigestAverageTime("SHA-256", TimeUnit.MICROSECONDS));
+	}
+
+	private Map<String, String> buildValidHeaders() {
+		Map<String, String> headersMap = new HashMap<>();
+		headersMap.put("Digest", new SignatureGeneratorUtil().generateDigest());
+		headersMap.put("TPP-Transaction-ID", "3dc3d5b3-7023-4848-9853-f5400a64e80f");
+		headersMap.put("x-request-id", "99391c7e-ad88-49ec-a2ad-99ddcb1f7721");
+		headersMap.put("PSU-ID", "PSU-1234");
+		headersMap.put("Timestamp", "Sun, 06 Aug 2017 15:02:37 GMT");
+		return headersMap;
+	}
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.spi.domain.account;
+
+import lombok.Value;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Transaction report of Spi layer, whose transactions are read from the ASPSP while the response is written to the TPP.
+ * <p>
+ * Booked and pending transactions are provided as separate streams, that are consumed only once and in this order.
+ * Transactions in other formats than JSON (e.g. camt.052 or MT940) are provided as input stream instead.
+ * XS2A closes the report as soon as the response is written, resources held by the streams may be released by
+ * {@link Stream#onClose(Runnable)} handlers.
+ */
+@Value
+public class SpiTransactionReportStream implements Closeable {
+    @Nullable
+    private Stream<SpiTransaction> bookedTransactions;
+    @Nullable
+    private Stream<SpiTransaction> pendingTransactions;
+    @Nullable
+    private InputStream transactionsRaw;
+    @Nullable
+    private List<SpiAccountBalance> balances;
+    @NotNull
+    private String responseContentType;
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (bookedTransactions != null) {
+                bookedTransactions.close();
+            }
+            if (pendingTransactions != null) {
+                pendingTransactions.close();
+            }
+        } finally {
+            if (transactionsRaw != null) {
+                transactionsRaw.close();
+            }
+        }
+    }
+}
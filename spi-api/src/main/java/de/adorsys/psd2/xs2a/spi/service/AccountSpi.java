@@ -21,6 +21,7 @@ import de.adorsys.psd2.xs2a.spi.domain.SpiAspspConsentDataProvider;
 import de.adorsys.psd2.xs2a.spi.domain.SpiContextData;
 import de.adorsys.psd2.xs2a.spi.domain.account.*;
 import de.adorsys.psd2.xs2a.spi.domain.response.SpiResponse;
+import de.adorsys.psd2.xs2a.spi.domain.response.SpiResponseStatus;
 import org.jetbrains.annotations.NotNull;
 
 import java.time.LocalDate;
@@ -70,6 +71,37 @@ public interface AccountSpi {
      */
     SpiResponse<SpiTransactionReport> requestTransactionsForAccount(@NotNull SpiContextData contextData, String acceptMediaType, boolean withBalance, @NotNull LocalDate dateFrom, @NotNull LocalDate dateTo, @NotNull BookingStatus bookingStatus, @NotNull SpiAccountReference accountReference, @NotNull SpiAccountConsent accountConsent, @NotNull SpiAspspConsentDataProvider aspspConsentDataProvider);
 
+    /**
+     * Checks whether transactions can be requested as streams by {@link #requestTransactionStreamForAccount}. If so,
+     * XS2A uses the streaming call instead of {@link #requestTransactionsForAccount}.
+     *
+     * @return <code>true</code> if transaction streams are supported, <code>false</code> otherwise
+     */
+    default boolean isTransactionStreamSupported() {
+        return false;
+    }
+
+    /**
+     * Requests transactions as streams, that are written to the TPP while they are read. Used instead of
+     * {@link #requestTransactionsForAccount} only if {@link #isTransactionStreamSupported()} returns <code>true</code>,
+     * so that the memory needed for the response doesn't depend on the number of transactions.
+     *
+     * @param contextData              known Context of this call
+     * @param acceptMediaType          requested by TPP response media type e.g. text/plain. Shall be propagated to response. This string may contain several content-types according to HTTP "Accept"-Header format.
+     *                                 If desired media type is not possible to provide, NOT_SUPPORTED error to be returned. To provide formats other than JSON, use {@link SpiTransactionReportStream#transactionsRaw}
+     * @param withBalance              boolean representing if the responded AccountDetails should contain balance
+     * @param dateFrom                 Date representing the beginning of the search period
+     * @param dateTo                   Date representing the ending of the search period
+     * @param bookingStatus            booking status of the requested transations, e.g. PENDING
+     * @param accountReference         SpiAccountReference
+     * @param accountConsent           SpiAccountConsent
+     * @param aspspConsentDataProvider Provides access to read/write encrypted data to be stored in the consent management system
+     * @return Streams of transactions
+     */
+    default SpiResponse<SpiTransactionReportStream> requestTransactionStreamForAccount(@NotNull SpiContextData contextData, String acceptMediaType, boolean withBalance, @NotNull LocalDate dateFrom, @NotNull LocalDate dateTo, @NotNull BookingStatus bookingStatus, @NotNull SpiAccountReference accountReference, @NotNull SpiAccountConsent accountConsent, @NotNull SpiAspspConsentDataProvider aspspConsentDataProvider) {
+        return SpiResponse.<SpiTransactionReportStream>builder().fail(SpiResponseStatus.NOT_SUPPORTED);
+    }
+
     /**
      * Requests an transaction by transactionId
      *
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.component;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of buffers for request bodies, cached by {@link MultiReadHttpServletRequest}. At most the configured
+ * number of buffers is kept, buffers that have grown beyond the maximum retained capacity are dropped.
+ */
+public class BodyBufferPool {
+    private static final int INITIAL_CAPACITY = 8192;
+
+    private final BlockingQueue<BodyBuffer> buffers;
+    private final int maxRetainedCapacity;
+
+    /**
+     * @param size                maximum number of kept buffers, 0 disables pooling
+     * @param maxRetainedCapacity maximum capacity in bytes of a buffer, that is returned to the pool
+     */
+    public BodyBufferPool(int size, int maxRetainedCapacity) {
+        this.buffers = size > 0 ? new ArrayBlockingQueue<>(size) : null;
+        this.maxRetainedCapacity = maxRetainedCapacity;
+    }
+
+    BodyBuffer acquire() {
+        BodyBuffer buffer = buffers == null ? null : buffers.poll();
+        return buffer == null ? new BodyBuffer() : buffer;
+    }
+
+    void release(BodyBuffer buffer) {
+        if (buffers != null && buffer.capacity() <= maxRetainedCapacity) {
+            buffer.reset();
+            buffers.offer(buffer);
+        }
+    }
+
+    int getPooledCount() {
+        return buffers == null ? 0 : buffers.size();
+    }
+
+    /**
+     * Byte array output stream with access to its internal buffer
+     */
+    static class BodyBuffer extends ByteArrayOutputStream {
+        BodyBuffer() {
+            super(INITIAL_CAPACITY);
+        }
+
+        byte[] getBuffer() {
+            return buf;
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+    }
+}
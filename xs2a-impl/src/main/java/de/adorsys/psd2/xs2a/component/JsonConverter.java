@@ -20,13 +20,16 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
 import org.springframework.stereotype.Component;
 
+import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -35,6 +38,8 @@ import java.util.Optional;
 @Component
 @AllArgsConstructor
 public class JsonConverter {
+    private static final String BODY_TREE_ATTRIBUTE = JsonConverter.class.getName() + ".BODY_TREE";
+
     private final ObjectMapper objectMapper;
 
     public <T> Optional<String> toJson(final T object) {
@@ -46,6 +51,29 @@ public class JsonConverter {
         return Optional.empty();
     }
 
+    /**
+     * Checks whether the JSON representation of given object is longer than given number of characters
+     * <p>
+     * The JSON is not built for this check: serialised characters are only counted and the serialisation stops as soon as
+     * the limit is exceeded.
+     *
+     * @param object    object to be checked
+     * @param maxLength maximum number of characters in the JSON representation
+     * @return <code>true</code> if the JSON representation is longer than the limit, <code>false</code> otherwise or if
+     * the object couldn't be converted into JSON
+     */
+    public boolean isJsonLongerThan(Object object, long maxLength) {
+        LimitedCountingWriter writer = new LimitedCountingWriter(maxLength);
+        try {
+            objectMapper.writeValue(writer, object);
+        } catch (IOException e) {
+            if (!writer.isLimitExceeded()) {
+                log.info("Can't convert object to json: {}", e.getMessage());
+            }
+        }
+        return writer.isLimitExceeded();
+    }
+
     public <T> Optional<T> toObject(final String json, final Class<T> target) {
         try {
             return Optional.ofNullable(objectMapper.readValue(json, target));
@@ -74,33 +102,128 @@ public class JsonConverter {
      * @return value of the extracted field, if it was found in the valid JSON
      */
     public <T> Optional<T> toJsonField(InputStream stream, String fieldName, TypeReference<T> typeReference) {
-        try {
-            JsonNode jsonNode = objectMapper.readTree(stream);
-            JsonNode fieldNode = jsonNode.get(fieldName);
+        return readTree(stream)
+                   .flatMap(jsonNode -> extractField(jsonNode, fieldName, typeReference));
+    }
 
-            if (fieldNode == null) {
-                log.info("Couldn't extract field from json, because there is no this field {} at json.", fieldName);
-                return Optional.empty();
-            }
+    /**
+     * Extracts field by given name from the JSON body of the request
+     * <p>
+     * The body is parsed only once per request, the resulting tree is shared by all subsequent calls.
+     *
+     * @param request       request with JSON body
+     * @param fieldName     name of the JSON field to be extracted
+     * @param typeReference type reference of the field
+     * @param <T>           type of the field to be extracted
+     * @return value of the extracted field, if it was found in the valid JSON
+     * @throws IOException if the request body couldn't be read
+     */
+    public <T> Optional<T> toJsonField(HttpServletRequest request, String fieldName, TypeReference<T> typeReference) throws IOException {
+        return toJsonTree(request)
+                   .flatMap(jsonNode -> extractField(jsonNode, fieldName, typeReference));
+    }
 
-            T value = objectMapper.readValue(objectMapper.treeAsTokens(fieldNode), typeReference);
-            return Optional.ofNullable(value);
+    public List<String> toJsonGetValuesForField(InputStream stream, String fieldName) {
+        return readTree(stream)
+                   .map(jsonNode -> jsonNode.findValuesAsText(fieldName))
+                   .orElseGet(ArrayList::new);
+    }
+
+    /**
+     * Finds all values of the fields with given name in the JSON body of the request
+     * <p>
+     * The body is parsed only once per request, the resulting tree is shared by all subsequent calls.
+     *
+     * @param request   request with JSON body
+     * @param fieldName name of the JSON fields to be found
+     * @return values of all found fields as text, empty list if the body isn't a valid JSON
+     * @throws IOException if the request body couldn't be read
+     */
+    public List<String> toJsonGetValuesForField(HttpServletRequest request, String fieldName) throws IOException {
+        return toJsonTree(request)
+                   .map(jsonNode -> jsonNode.findValuesAsText(fieldName))
+                   .orElseGet(ArrayList::new);
+    }
+
+    /**
+     * Parses the JSON body of the request into a tree, that is cached in the request attributes
+     *
+     * @param request request with JSON body
+     * @return JSON tree of the body, if the body is a valid JSON
+     * @throws IOException if the request body couldn't be read
+     */
+    public Optional<JsonNode> toJsonTree(HttpServletRequest request) throws IOException {
+        JsonNode cachedTree = (JsonNode) request.getAttribute(BODY_TREE_ATTRIBUTE);
+        if (cachedTree == null) {
+            cachedTree = readTree(request.getInputStream())
+                             .orElse(MissingNode.getInstance());
+            request.setAttribute(BODY_TREE_ATTRIBUTE, cachedTree);
+        }
 
+        return cachedTree.isMissingNode()
+                   ? Optional.empty()
+                   : Optional.of(cachedTree);
+    }
+
+    private Optional<JsonNode> readTree(InputStream stream) {
+        try {
+            return Optional.ofNullable(objectMapper.readTree(stream));
         } catch (IOException e) {
-            log.info("Couldn't extract field {} from json: {}", fieldName, e.getMessage());
+            log.info("Couldn't convert input stream to json: {}", e.getMessage());
         }
 
         return Optional.empty();
     }
 
-    public List<String> toJsonGetValuesForField(InputStream stream, String fieldName) {
-        List<String> values = new ArrayList<>();
+    private <T> Optional<T> extractField(JsonNode jsonNode, String fieldName, TypeReference<T> typeReference) {
+        JsonNode fieldNode = jsonNode.get(fieldName);
+
+        if (fieldNode == null) {
+            log.info("Couldn't extract field from json, because there is no this field {} at json.", fieldName);
+            return Optional.empty();
+        }
+
         try {
-            JsonNode jsonNode = objectMapper.readTree(stream);
-            values.addAll(jsonNode.findValuesAsText(fieldName));
+            T value = objectMapper.readValue(objectMapper.treeAsTokens(fieldNode), typeReference);
+            return Optional.ofNullable(value);
         } catch (IOException e) {
             log.info("Couldn't extract field {} from json: {}", fieldName, e.getMessage());
         }
-        return values;
+
+        return Optional.empty();
+    }
+
+    /**
+     * Writer, that discards everything written to it and only counts the characters until given limit is exceeded
+     */
+    private static class LimitedCountingWriter extends Writer {
+        private final long maxLength;
+        private long length;
+
+        private LimitedCountingWriter(long maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int count) throws IOException {
+            length += count;
+            if (isLimitExceeded()) {
+                throw new IOException("JSON is longer than " + maxLength + " characters");
+            }
+        }
+
+        @Override
+        public void flush() {
+            // nothing is buffered
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+
+        private boolean isLimitExceeded() {
+            return length > maxLength;
+        }
     }
 }
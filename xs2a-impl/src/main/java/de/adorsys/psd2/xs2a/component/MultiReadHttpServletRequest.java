@@ -16,48 +16,207 @@
 
 package de.adorsys.psd2.xs2a.component;
 
-import org.apache.commons.io.IOUtils;
+import de.adorsys.psd2.xs2a.component.BodyBufferPool.BodyBuffer;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.Nullable;
 
 import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
-import java.io.*;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Optional;
 
 /**
  * This class decorates incoming HttpServletRequest, caches its body and is used by spring framework further
+ * <p>
+ * The body is read only once into a pooled buffer, every input stream and reader is a view on the same bytes. While the
+ * body is read, its hash is computed with the algorithm of the "Digest" header of the request, if there is one.
+ * {@link #release()} must be called once the request is processed to return the buffer to the pool.
  */
 public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
-    private ByteArrayOutputStream cachedBytes;
+    private static final String DIGEST_HEADER = "digest";
+    private static final int READ_CHUNK_SIZE = 8192;
 
-    public MultiReadHttpServletRequest(HttpServletRequest request) {
+    private final BodyBufferPool bufferPool;
+    private BodyBuffer cachedBytes;
+    private byte[] bodyDigest;
+    private long bodyDigestNanos;
+    private boolean released;
+
+    public MultiReadHttpServletRequest(HttpServletRequest request, BodyBufferPool bufferPool) {
         super(request);
+        this.bufferPool = bufferPool;
     }
 
     @Override
     public ServletInputStream getInputStream() throws IOException {
-        if (cachedBytes == null) {
-            cacheInputStream();
-        }
-
+        cacheInputStream();
         return new CachedServletInputStream();
     }
 
     @Override
     public BufferedReader getReader() throws IOException {
-        return new BufferedReader(new InputStreamReader(getInputStream()));
+        return new BufferedReader(new InputStreamReader(getInputStream(), getBodyCharset()));
+    }
+
+    /**
+     * Returns the body of the request as a string without copying the cached bytes
+     *
+     * @return body of the request
+     * @throws IOException if the body couldn't be read
+     */
+    public String getBodyAsString() throws IOException {
+        cacheInputStream();
+        return new String(cachedBytes.getBuffer(), 0, cachedBytes.size(), getBodyCharset());
+    }
+
+    /**
+     * Returns a copy of the request body, that stays valid after the request is released
+     *
+     * @return body of the request
+     * @throws IOException if the body couldn't be read
+     */
+    public byte[] getBodyBytes() throws IOException {
+        cacheInputStream();
+        return Arrays.copyOf(cachedBytes.getBuffer(), cachedBytes.size());
+    }
+
+    /**
+     * Returns the hash of the request body, computed with the algorithm of the "Digest" header
+     *
+     * @return hash of the body or empty Optional if the request has no "Digest" header with a known algorithm
+     * @throws IOException if the body couldn't be read
+     */
+    public Optional<byte[]> getBodyDigest() throws IOException {
+        cacheInputStream();
+        return Optional.ofNullable(bodyDigest)
+                   .map(byte[]::clone);
+    }
+
+    /**
+     * Returns the time, spent on hashing the body while it was read
+     *
+     * @return hashing time in nanoseconds, 0 if the body hasn't been hashed
+     */
+    public long getBodyDigestNanos() {
+        return bodyDigestNanos;
+    }
+
+    /**
+     * Normalises the value of the "Digest" header before its length is checked or it is compared with the body hash
+     *
+     * @param digest value of the "Digest" header
+     * @return value without surrounding whitespace or <code>null</code> if the value is blank
+     */
+    @Nullable
+    public static String normaliseDigest(@Nullable String digest) {
+        return StringUtils.trimToNull(digest);
+    }
+
+    /**
+     * Returns the buffer of the cached body to the pool. The body can't be read afterwards.
+     */
+    public void release() {
+        if (cachedBytes != null) {
+            bufferPool.release(cachedBytes);
+            cachedBytes = null;
+        }
+        released = true;
     }
 
     private void cacheInputStream() throws IOException {
-        cachedBytes = new ByteArrayOutputStream();
-        IOUtils.copy(super.getInputStream(), cachedBytes);
+        if (released) {
+            throw new IllegalStateException("Request body has already been released");
+        }
+        if (cachedBytes != null) {
+            return;
+        }
+
+        BodyBuffer buffer = bufferPool.acquire();
+        MessageDigest messageDigest = getBodyDigestAlgorithm()
+                                          .map(this::getMessageDigest)
+                                          .orElse(null);
+        try {
+            InputStream input = super.getInputStream();
+            byte[] chunk = new byte[READ_CHUNK_SIZE];
+            int read;
+            while ((read = input.read(chunk)) != -1) {
+                buffer.write(chunk, 0, read);
+                if (messageDigest != null) {
+                    long start = System.nanoTime();
+                    messageDigest.update(chunk, 0, read);
+                    bodyDigestNanos += System.nanoTime() - start;
+                }
+            }
+        } catch (IOException e) {
+            bufferPool.release(buffer);
+            throw e;
+        }
+
+        cachedBytes = buffer;
+        if (messageDigest != null) {
+            long start = System.nanoTime();
+            bodyDigest = messageDigest.digest();
+            bodyDigestNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Resolves hash algorithm of the body digest from the length of the hexadecimal value of the "Digest" header
+     *
+     * @return hash algorithm or empty Optional if the request has no "Digest" header with a known algorithm
+     */
+    public Optional<String> getBodyDigestAlgorithm() {
+        String digest = normaliseDigest(getHeader(DIGEST_HEADER));
+        if (digest == null) {
+            return Optional.empty();
+        }
+
+        int length = digest.length();
+        if (length == 64) {
+            return Optional.of("SHA-256");
+        } else if (length == 128) {
+            return Optional.of("SHA-512");
+        }
+        return Optional.empty();
+    }
+
+    private MessageDigest getMessageDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 and SHA-512 are supported by every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Charset getBodyCharset() {
+        String encoding = getCharacterEncoding();
+        if (encoding != null) {
+            try {
+                return Charset.forName(encoding);
+            } catch (IllegalArgumentException e) {
+                // unknown encoding is handled like a missing one
+            }
+        }
+        return StandardCharsets.UTF_8;
     }
 
     private class CachedServletInputStream extends ServletInputStream {
-        private ByteArrayInputStream input;
+        private final ByteArrayInputStream input;
 
-        public CachedServletInputStream() {
-            input = new ByteArrayInputStream(cachedBytes.toByteArray());
+        CachedServletInputStream() {
+            input = new ByteArrayInputStream(cachedBytes.getBuffer(), 0, cachedBytes.size());
         }
 
         @Override
@@ -65,21 +224,37 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
             return input.read();
         }
 
-		@Override
-		public boolean isFinished() {
-			// TODO Auto-generated method stub
-			return false;
-		}
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return input.read(b, off, len);
+        }
+
+        @Override
+        public int available() {
+            return input.available();
+        }
 
-		@Override
-		public boolean isReady() {
-			// TODO Auto-generated method stub
-			return false;
-		}
+        @Override
+        public boolean isFinished() {
+            return input.available() == 0;
+        }
 
-		@Override
-		public void setReadListener(ReadListener readListener) {
-			// TODO Auto-generated method stub
-		}
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            // cached body is always available, so the listener is notified immediately
+            try {
+                if (!isFinished()) {
+                    readListener.onDataAvailable();
+                }
+                readListener.onAllDataRead();
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
     }
 }
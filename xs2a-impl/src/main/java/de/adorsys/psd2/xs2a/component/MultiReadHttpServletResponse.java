@@ -16,29 +16,175 @@
 
 package de.adorsys.psd2.xs2a.component;
 
-import org.springframework.web.util.ContentCachingResponseWrapper;
-
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 
 /**
  * HttpServletResponse wrapper that allows response content to be stored and retrieved
+ * <p>
+ * The content is written through to the wrapped response, only its first bytes up to the capture limit are kept for
+ * logging. Content beyond the limit is not captured, so large responses are neither buffered twice nor delayed.
  */
-public class MultiReadHttpServletResponse extends ContentCachingResponseWrapper {
+public class MultiReadHttpServletResponse extends HttpServletResponseWrapper {
+    public static final int UNLIMITED_CAPTURE = -1;
+
+    private final int maxCaptureSize;
+    private final ByteArrayOutputStream capturedContent = new ByteArrayOutputStream();
+    private boolean truncated;
+
+    private TeeServletOutputStream outputStream;
+    private PrintWriter writer;
+
     /**
-     * Create a new ContentCachingResponseWrapper for the given servlet response.
+     * Creates new response wrapper, that captures the whole response content
      *
      * @param response the original servlet response
      */
     public MultiReadHttpServletResponse(HttpServletResponse response) {
+        this(response, UNLIMITED_CAPTURE);
+    }
+
+    /**
+     * Creates new response wrapper, that captures response content up to the given size
+     *
+     * @param response       the original servlet response
+     * @param maxCaptureSize maximum number of captured bytes, 0 disables capturing, negative value captures everything
+     */
+    public MultiReadHttpServletResponse(HttpServletResponse response, int maxCaptureSize) {
         super(response);
+        this.maxCaptureSize = maxCaptureSize;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        return getTeeOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(getTeeOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
     }
 
     /**
-     * Returns cached response content
+     * Returns captured response content
      *
-     * @return cached response
+     * @return captured response, truncated to the capture limit
      */
     public byte[] getCachedContent() {
-        return this.getContentAsByteArray();
+        if (writer != null) {
+            writer.flush();
+        }
+        return capturedContent.toByteArray();
+    }
+
+    /**
+     * @return whether response content is captured at all
+     */
+    public boolean isCaptureEnabled() {
+        return maxCaptureSize != 0;
+    }
+
+    /**
+     * @return whether the response content was longer than the capture limit
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Flushes content, written by the writer, to the client. Content of the output stream is always written through.
+     *
+     * @throws IOException if the content couldn't be written
+     */
+    public void copyBodyToResponse() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    private TeeServletOutputStream getTeeOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeServletOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    private void capture(byte[] b, int off, int len) {
+        int length = len;
+        if (maxCaptureSize >= 0) {
+            int remaining = maxCaptureSize - capturedContent.size();
+            if (len > remaining) {
+                length = Math.max(remaining, 0);
+                truncated = true;
+            }
+        }
+        capturedContent.write(b, off, length);
+    }
+
+    private class TeeServletOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+
+        TeeServletOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            if (maxCaptureSize < 0 || capturedContent.size() < maxCaptureSize) {
+                capturedContent.write(b);
+            } else {
+                truncated = true;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
     }
 }
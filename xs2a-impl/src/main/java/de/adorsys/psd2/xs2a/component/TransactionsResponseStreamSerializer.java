@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.component;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import de.adorsys.psd2.model.TransactionDetails;
+import de.adorsys.psd2.xs2a.web.stream.TransactionsResponseStream;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes transactions report with the structure of the transactions list response, taking transactions from the
+ * streams one at a time, so that the report is never held in memory as a whole
+ */
+public class TransactionsResponseStreamSerializer extends StdSerializer<TransactionsResponseStream> {
+
+    public TransactionsResponseStreamSerializer() {
+        super(TransactionsResponseStream.class);
+    }
+
+    @Override
+    public void serialize(TransactionsResponseStream response, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        try (TransactionsResponseStream closeableResponse = response) {
+            generator.writeStartObject();
+            writeField("account", closeableResponse.getAccount(), generator, provider);
+
+            generator.writeObjectFieldStart("transactions");
+            writeTransactions("booked", closeableResponse.getBooked(), generator, provider);
+            writeTransactions("pending", closeableResponse.getPending(), generator, provider);
+            writeField("_links", closeableResponse.getTransactionsLinks(), generator, provider);
+            generator.writeEndObject();
+
+            writeField("balances", closeableResponse.getBalances(), generator, provider);
+            writeField("_links", closeableResponse.getLinks(), generator, provider);
+            generator.writeEndObject();
+        }
+    }
+
+    private void writeTransactions(String fieldName, Stream<TransactionDetails> transactions, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (transactions == null) {
+            return;
+        }
+
+        generator.writeArrayFieldStart(fieldName);
+        Iterator<TransactionDetails> iterator = transactions.iterator();
+        while (iterator.hasNext()) {
+            provider.defaultSerializeValue(iterator.next(), generator);
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeField(String fieldName, Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (value != null) {
+            provider.defaultSerializeField(fieldName, value, generator);
+        }
+    }
+}
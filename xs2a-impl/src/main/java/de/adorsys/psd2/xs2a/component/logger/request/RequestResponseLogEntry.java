@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.component.logger.request;
+
+import de.adorsys.psd2.xs2a.component.MultiReadHttpServletRequest;
+import de.adorsys.psd2.xs2a.component.MultiReadHttpServletResponse;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Raw data of a request and its response for the request-log, captured in the request thread.
+ * <p>
+ * Only references to header values and copies of already cached bodies are taken, so that the capture is cheap and the
+ * entry stays valid after the request is completed. Formatting happens later in {@link RequestResponseLogMessage}.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class RequestResponseLogEntry {
+    private static final String MULTIPART_FORM_DATA = "multipart/form-data";
+
+    @Nullable
+    private UUID internalRequestId;
+    private String requestUri;
+    @Nullable
+    private String queryString;
+    @Nullable
+    private Map<String, String> requestHeaders;
+    @Nullable
+    private Map<String, String[]> requestParameters;
+    @Nullable
+    private byte[] requestBody;
+    @Nullable
+    private String requestCharacterEncoding;
+    private int responseStatus;
+    private Map<String, String> responseHeaders;
+    @Nullable
+    private byte[] responseBody;
+    private boolean responseBodyTruncated;
+    private long captureTimeNanos;
+
+    /**
+     * Captures request-log data from given request and response
+     *
+     * @param request           completed request
+     * @param response          response to the request
+     * @param internalRequestId internal ID of the request
+     * @return new entry
+     */
+    public static RequestResponseLogEntry capture(@NotNull HttpServletRequest request,
+                                                  @NotNull HttpServletResponse response,
+                                                  @Nullable UUID internalRequestId) {
+        Map<String, String[]> requestParameters = null;
+        byte[] requestBody = null;
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.contains(MULTIPART_FORM_DATA)) {
+            requestParameters = new LinkedHashMap<>(request.getParameterMap());
+        } else {
+            requestBody = extractRequestBody(request);
+        }
+
+        MultiReadHttpServletResponse responseWrapper =
+            WebUtils.getNativeResponse(response, MultiReadHttpServletResponse.class);
+        boolean captureResponse = responseWrapper != null && responseWrapper.isCaptureEnabled();
+
+        Enumeration<String> requestHeaderNames = request.getHeaderNames();
+        return new RequestResponseLogEntry(internalRequestId,
+                                           request.getRequestURI(),
+                                           request.getQueryString(),
+                                           requestHeaderNames == null
+                                               ? null
+                                               : extractHeaders(Collections.list(requestHeaderNames), request::getHeader),
+                                           requestParameters,
+                                           requestBody,
+                                           request.getCharacterEncoding(),
+                                           response.getStatus(),
+                                           extractHeaders(response.getHeaderNames(), response::getHeader),
+                                           captureResponse ? responseWrapper.getCachedContent() : null,
+                                           captureResponse && responseWrapper.isTruncated(),
+                                           System.nanoTime());
+    }
+
+    @Nullable
+    private static byte[] extractRequestBody(HttpServletRequest request) {
+        MultiReadHttpServletRequest wrapper =
+            WebUtils.getNativeRequest(request, MultiReadHttpServletRequest.class);
+        if (wrapper != null) {
+            try {
+                return wrapper.getBodyBytes();
+            } catch (IOException | IllegalStateException e) {
+                return null;
+            }
+        }
+
+        return null;
+    }
+
+    private static Map<String, String> extractHeaders(Collection<String> headerNames, Function<String, String> headerValueExtractor) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headerNames.forEach(name -> headers.put(name, headerValueExtractor.apply(name)));
+        return headers;
+    }
+}
@@ -16,22 +16,18 @@
 
 package de.adorsys.psd2.xs2a.component.logger.request;
 
-import de.adorsys.psd2.xs2a.component.MultiReadHttpServletRequest;
-import de.adorsys.psd2.xs2a.component.MultiReadHttpServletResponse;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
-import org.apache.commons.io.IOUtils;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
-import org.springframework.web.util.WebUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.IOException;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.*;
-import java.util.function.Function;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Value
@@ -48,7 +44,17 @@ public class RequestResponseLogMessage {
      */
     public static RequestResponseLogMessageBuilder builder(@NotNull HttpServletRequest request,
                                                            @NotNull HttpServletResponse response) {
-        return new RequestResponseLogMessageBuilder(request, response);
+        return new RequestResponseLogMessageBuilder(RequestResponseLogEntry.capture(request, response, null));
+    }
+
+    /**
+     * Creates new {@link RequestResponseLogMessage} builder from previously captured request and response data
+     *
+     * @param entry captured request and response data
+     * @return new builder
+     */
+    public static RequestResponseLogMessageBuilder builder(@NotNull RequestResponseLogEntry entry) {
+        return new RequestResponseLogMessageBuilder(entry);
     }
 
     public static class RequestResponseLogMessageBuilder {
@@ -59,17 +65,15 @@ public class RequestResponseLogMessage {
         private static final String PAYLOAD = "requestPayload";
         private static final String RESPONSE_STATUS = "responseStatus";
         private static final String RESPONSE_BODY = "responseBody";
-        private static final String MULTIPART_FORM_DATA = "multipart/form-data";
         private static final String MULTIPART_VALUES_SEPARATOR = "&";
         private static final String QUERY_SEPARATOR = "?";
+        private static final String TRUNCATED_BODY_SUFFIX = "...(truncated)";
 
         private Map<String, String> logParams = new LinkedHashMap<>();
-        private final HttpServletRequest request;
-        private final HttpServletResponse response;
+        private final RequestResponseLogEntry entry;
 
-        private RequestResponseLogMessageBuilder(HttpServletRequest request, HttpServletResponse response) {
-            this.request = request;
-            this.response = response;
+        private RequestResponseLogMessageBuilder(RequestResponseLogEntry entry) {
+            this.entry = entry;
         }
 
         public RequestResponseLogMessageBuilder withInternalRequestId(@NotNull UUID internalRequestId) {
@@ -83,7 +87,12 @@ public class RequestResponseLogMessage {
          * @return builder
          */
         public RequestResponseLogMessageBuilder withRequestUri() {
-            String uri = extractUri(request);
+            String uri = entry.getRequestUri();
+            String queryString = entry.getQueryString();
+            if (queryString != null) {
+                uri += QUERY_SEPARATOR + queryString;
+            }
+
             logParams.put(URI, uri);
             return this;
         }
@@ -94,10 +103,9 @@ public class RequestResponseLogMessage {
          * @return builder
          */
         public RequestResponseLogMessageBuilder withRequestHeaders() {
-            Enumeration<String> headerNames = request.getHeaderNames();
-            if (headerNames != null) {
-                String requestHeadersMessage = extractHeaders(Collections.list(headerNames), request::getHeader);
-                logParams.put(REQUEST_HEADERS, requestHeadersMessage);
+            Map<String, String> requestHeaders = entry.getRequestHeaders();
+            if (requestHeaders != null) {
+                logParams.put(REQUEST_HEADERS, formatHeaders(requestHeaders));
             }
 
             return this;
@@ -113,12 +121,11 @@ public class RequestResponseLogMessage {
          * @return builder
          */
         public RequestResponseLogMessageBuilder withRequestPayload() {
-            String payload;
-            String contentType = request.getContentType();
-            if (contentType != null && contentType.contains(MULTIPART_FORM_DATA)) {
-                payload = extractRequestParametersPayload(request);
-            } else {
-                payload = extractRequestBody(request);
+            String payload = null;
+            if (entry.getRequestParameters() != null) {
+                payload = formatRequestParameters(entry.getRequestParameters());
+            } else if (entry.getRequestBody() != null) {
+                payload = new String(entry.getRequestBody(), getRequestCharset());
             }
 
             if (payload != null) {
@@ -134,7 +141,7 @@ public class RequestResponseLogMessage {
          * @return builder
          */
         public RequestResponseLogMessageBuilder withResponseStatus() {
-            logParams.put(RESPONSE_STATUS, String.valueOf(response.getStatus()));
+            logParams.put(RESPONSE_STATUS, String.valueOf(entry.getResponseStatus()));
             return this;
         }
 
@@ -144,23 +151,23 @@ public class RequestResponseLogMessage {
          * @return builder
          */
         public RequestResponseLogMessageBuilder withResponseHeaders() {
-            String responseHeadersMessage = extractHeaders(response.getHeaderNames(), response::getHeader);
-            logParams.put(RESPONSE_HEADERS, responseHeadersMessage);
+            logParams.put(RESPONSE_HEADERS, formatHeaders(entry.getResponseHeaders()));
             return this;
         }
 
         /**
          * Adds response body to the log message
          * <p>
-         * No message will be added to the log if body isn't present in the response or if it couldn't be
-         * extracted.
+         * No message will be added to the log if body isn't present in the response, if it couldn't be
+         * extracted or if its capturing is disabled. Body, that exceeds the capture limit, is truncated.
          *
          * @return builder
          */
         public RequestResponseLogMessageBuilder withResponseBody() {
-            String body = extractResponseBody(response);
-            if (body != null) {
-                logParams.put(RESPONSE_BODY, body);
+            byte[] responseBody = entry.getResponseBody();
+            if (responseBody != null) {
+                String body = new String(responseBody, StandardCharsets.UTF_8);
+                logParams.put(RESPONSE_BODY, entry.isResponseBodyTruncated() ? body + TRUNCATED_BODY_SUFFIX : body);
             }
 
             return this;
@@ -180,63 +187,30 @@ public class RequestResponseLogMessage {
             return new RequestResponseLogMessage(logMessage);
         }
 
-        private String extractUri(HttpServletRequest request) {
-            String uri = request.getRequestURI();
-            String queryString = request.getQueryString();
-            if (queryString != null) {
-                uri += QUERY_SEPARATOR + queryString;
-            }
-
-            return uri;
-        }
-
-        @Nullable
-        private String extractRequestBody(HttpServletRequest request) {
-            MultiReadHttpServletRequest wrapper =
-                WebUtils.getNativeRequest(request, MultiReadHttpServletRequest.class);
-            if (wrapper != null) {
+        private Charset getRequestCharset() {
+            String encoding = entry.getRequestCharacterEncoding();
+            if (encoding != null) {
                 try {
-                    byte[] requestBytes = IOUtils.toByteArray(wrapper.getInputStream());
-                    return extractBody(requestBytes);
-                } catch (IOException e) {
-                    return null;
+                    return Charset.forName(encoding);
+                } catch (IllegalArgumentException e) {
+                    // unknown encoding is handled like a missing one
                 }
             }
-
-            return null;
+            return StandardCharsets.UTF_8;
         }
 
-        private String extractRequestParametersPayload(HttpServletRequest request) {
-            Map<String, String[]> requestParams = request.getParameterMap();
-
+        private String formatRequestParameters(Map<String, String[]> requestParams) {
             return requestParams.entrySet()
                        .stream()
                        .map(e -> e.getKey() + "=" + String.join(MULTIPART_VALUES_SEPARATOR, e.getValue()))
                        .collect(Collectors.joining(MULTIPART_VALUES_SEPARATOR));
         }
 
-        @Nullable
-        private String extractResponseBody(HttpServletResponse response) {
-            MultiReadHttpServletResponse wrapper =
-                WebUtils.getNativeResponse(response, MultiReadHttpServletResponse.class);
-
-            if (wrapper != null) {
-                byte[] cachedContent = wrapper.getCachedContent();
-                return extractBody(cachedContent);
-            }
-
-            return null;
-        }
-
-        private String extractHeaders(Collection<String> headerNames, Function<String, String> headerValueExtractor) {
-            return headerNames
+        private String formatHeaders(Map<String, String> headers) {
+            return headers.entrySet()
                        .stream()
-                       .map(header -> header + ": " + headerValueExtractor.apply(header))
+                       .map(header -> header.getKey() + ": " + header.getValue())
                        .collect(Collectors.joining(", "));
         }
-
-        private String extractBody(byte[] body) {
-            return new String(body, StandardCharsets.UTF_8);
-        }
     }
 }
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.component.logger.request;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded queue for writing the request-log outside of the request thread.
+ * <p>
+ * Entries are captured in the request thread and formatted and written by a single background worker. If the queue is
+ * full, the entry is either dropped or has to be written synchronously by the caller, depending on the configured
+ * {@link OverflowPolicy}. With a sample rate below <code>1.0</code> only the given share of requests is logged at all.
+ */
+@Slf4j
+@Component
+public class RequestResponseLogQueue {
+    private static final long POLL_TIMEOUT_MS = 500;
+
+    private final RequestResponseLogger requestResponseLogger;
+    private final boolean enabled;
+    private final OverflowPolicy overflowPolicy;
+    private final double sampleRate;
+    private final BlockingQueue<RequestResponseLogEntry> queue;
+
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong sampledOutCount = new AtomicLong();
+    private final AtomicLong totalQueueLagNanos = new AtomicLong();
+    private final AtomicLong maxQueueLagNanos = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public RequestResponseLogQueue(RequestResponseLogger requestResponseLogger,
+                                   @Value("${xs2a.request-log.async.enabled:true}") boolean enabled,
+                                   @Value("${xs2a.request-log.async.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${xs2a.request-log.async.overflow-policy:SYNCHRONOUS}") OverflowPolicy overflowPolicy,
+                                   @Value("${xs2a.request-log.sample-rate:1.0}") double sampleRate) {
+        this.requestResponseLogger = requestResponseLogger;
+        this.enabled = enabled;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = sampleRate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        running = true;
+        worker = new Thread(this::processEntries, "xs2a-request-logger");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stops accepting new entries and waits until all queued entries are written
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Decides whether the current request should be logged according to the configured sample rate
+     *
+     * @return <code>true</code> if the request should be logged, <code>false</code> otherwise
+     */
+    public boolean isSampled() {
+        if (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            return true;
+        }
+
+        sampledOutCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Passes the entry for asynchronous writing
+     *
+     * @param entry entry to be written
+     * @return <code>true</code> if the entry was taken over by the queue (or dropped due to overflow),
+     * <code>false</code> if the entry has to be written by the caller
+     */
+    public boolean offer(RequestResponseLogEntry entry) {
+        if (!running) {
+            return false;
+        }
+
+        if (queue.offer(entry)) {
+            return true;
+        }
+
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            droppedCount.incrementAndGet();
+            return true;
+        }
+
+        return false;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getSampledOutCount() {
+        return sampledOutCount.get();
+    }
+
+    public long getAverageQueueLagMs() {
+        long processed = writtenCount.get() + failedCount.get();
+        return processed == 0
+                   ? 0
+                   : TimeUnit.NANOSECONDS.toMillis(totalQueueLagNanos.get() / processed);
+    }
+
+    public long getMaxQueueLagMs() {
+        return TimeUnit.NANOSECONDS.toMillis(maxQueueLagNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return "RequestResponseLogQueue{queueDepth=" + getQueueDepth()
+                   + ", written=" + getWrittenCount()
+                   + ", failed=" + getFailedCount()
+                   + ", dropped=" + getDroppedCount()
+                   + ", sampledOut=" + getSampledOutCount()
+                   + ", averageQueueLagMs=" + getAverageQueueLagMs()
+                   + ", maxQueueLagMs=" + getMaxQueueLagMs() + "}";
+    }
+
+    private void processEntries() {
+        while (running) {
+            RequestResponseLogEntry entry;
+            try {
+                entry = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (entry != null) {
+                write(entry);
+            }
+        }
+
+        // Writing all entries, that are left in the queue after stop
+        RequestResponseLogEntry entry;
+        while ((entry = queue.poll()) != null) {
+            write(entry);
+        }
+    }
+
+    private void write(RequestResponseLogEntry entry) {
+        long queueLag = System.nanoTime() - entry.getCaptureTimeNanos();
+        totalQueueLagNanos.addAndGet(queueLag);
+        maxQueueLagNanos.accumulateAndGet(queueLag, Math::max);
+
+        try {
+            requestResponseLogger.logEntry(entry);
+            writtenCount.incrementAndGet();
+        } catch (RuntimeException e) {
+            failedCount.incrementAndGet();
+            log.warn("Couldn't write request-log entry for request {}: {}", entry.getRequestUri(), e.getMessage());
+        }
+    }
+
+    /**
+     * Defines, what happens with an entry, if the queue is full
+     */
+    public enum OverflowPolicy {
+        /**
+         * Entry is dropped and counted
+         */
+        DROP,
+        /**
+         * Entry is written synchronously in the request thread
+         */
+        SYNCHRONOUS
+    }
+}
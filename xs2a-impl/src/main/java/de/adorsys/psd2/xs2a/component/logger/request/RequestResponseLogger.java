@@ -33,6 +33,27 @@ public class RequestResponseLogger {
         getLogger().info(logMessage.getMessage());
     }
 
+    /**
+     * Formats given request and response data and logs it into the request-log
+     *
+     * @param entry captured request and response data
+     */
+    public void logEntry(RequestResponseLogEntry entry) {
+        RequestResponseLogMessage.RequestResponseLogMessageBuilder builder = RequestResponseLogMessage.builder(entry);
+        if (entry.getInternalRequestId() != null) {
+            builder.withInternalRequestId(entry.getInternalRequestId());
+        }
+
+        RequestResponseLogMessage message = builder.withRequestUri()
+                                                .withRequestHeaders()
+                                                .withRequestPayload()
+                                                .withResponseStatus()
+                                                .withResponseHeaders()
+                                                .withResponseBody()
+                                                .build();
+        logMessage(message);
+    }
+
     @NotNull
     Logger getLogger() {
         return log;
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.config;
+
+import de.adorsys.psd2.validator.certificate.util.TppCertificateDataCache;
+import de.adorsys.psd2.validator.signature.TppSignatureValidator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TppValidatorConfig {
+    @Value("${xs2a.qwac.certificate.cache.max-size:1000}")
+    private int qwacCertificateCacheMaxSize;
+    @Value("${xs2a.signature.key-cache.max-size:1000}")
+    private int signatureKeyCacheMaxSize;
+
+    @Bean
+    public TppCertificateDataCache tppCertificateDataCache() {
+        return new TppCertificateDataCache(qwacCertificateCacheMaxSize);
+    }
+
+    @Bean
+    public TppSignatureValidator tppSignatureValidator() {
+        return new TppSignatureValidator(signatureKeyCacheMaxSize);
+    }
+}
@@ -19,9 +19,11 @@ package de.adorsys.psd2.xs2a.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.adorsys.psd2.consent.api.service.TppStopListService;
 import de.adorsys.psd2.xs2a.component.PaymentTypeEnumConverter;
+import de.adorsys.psd2.xs2a.component.logger.request.RequestResponseLogQueue;
 import de.adorsys.psd2.xs2a.component.logger.request.RequestResponseLogger;
 import de.adorsys.psd2.xs2a.domain.InternalRequestIdHolder;
 import de.adorsys.psd2.xs2a.domain.RedirectIdHolder;
+import de.adorsys.psd2.xs2a.domain.RequestDataHolder;
 import de.adorsys.psd2.xs2a.domain.ScaApproachHolder;
 import de.adorsys.psd2.xs2a.service.RedirectIdService;
 import de.adorsys.psd2.xs2a.service.RequestProviderService;
@@ -71,6 +73,7 @@ public class WebConfig extends WebMvcConfigurerAdapter {
     private final RequestProviderService requestProviderService;
     private final RedirectIdService redirectIdService;
     private final RequestResponseLogger requestResponseLogger;
+    private final RequestResponseLogQueue requestResponseLogQueue;
 
     @Override
     public void configurePathMatch(PathMatchConfigurer configurer) {
@@ -88,7 +91,7 @@ public class WebConfig extends WebMvcConfigurerAdapter {
         registry.addInterceptor(new PaymentLoggingInterceptor(tppService, redirectIdService, requestProviderService)).addPathPatterns(SINGLE_PAYMENTS_PATH, BULK_PAYMENTS_PATH, PERIODIC_PAYMENTS_PATH);
         registry.addInterceptor(new SigningBasketLoggingInterceptor(tppService, redirectIdService, requestProviderService)).addPathPatterns(SIGNING_BASKETS_PATH);
 
-        registry.addInterceptor(new RequestResponseLoggingInterceptor(requestResponseLogger, requestProviderService)).addPathPatterns(getAllXs2aEndpointPaths());
+        registry.addInterceptor(new RequestResponseLoggingInterceptor(requestResponseLogger, requestProviderService, requestResponseLogQueue)).addPathPatterns(getAllXs2aEndpointPaths());
 
         registry.addInterceptor(new TppStopListInterceptor(errorMapperContainer, tppService, tppStopListService, serviceTypeDiscoveryService, errorTypeMapper, objectMapper, requestProviderService))
             .addPathPatterns(getAllXs2aEndpointPaths());
@@ -144,6 +147,12 @@ public class WebConfig extends WebMvcConfigurerAdapter {
         return new InternalRequestIdHolder();
     }
 
+    @Bean
+    @RequestScope
+    public RequestDataHolder getRequestDataHolder() {
+        return new RequestDataHolder();
+    }
+
     @Override
     public void addFormatters(FormatterRegistry registry) {
         registry.addConverter(new PaymentTypeEnumConverter());
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.domain.account;
+
+import de.adorsys.psd2.xs2a.domain.Links;
+import de.adorsys.psd2.xs2a.domain.Transactions;
+import lombok.Data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.stream.Stream;
+
+/**
+ * Account report, whose transactions are mapped from the SPI streams one by one, while the response is written
+ */
+@Data
+public class Xs2aAccountReportStream implements Closeable {
+    private final Stream<Transactions> booked;
+
+    private final Stream<Transactions> pending;
+
+    private final InputStream transactionsRaw;
+
+    private Links links;
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (booked != null) {
+                booked.close();
+            }
+            if (pending != null) {
+                pending.close();
+            }
+        } finally {
+            if (transactionsRaw != null) {
+                transactionsRaw.close();
+            }
+        }
+    }
+}
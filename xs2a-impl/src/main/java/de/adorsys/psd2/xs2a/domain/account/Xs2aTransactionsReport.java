@@ -36,21 +36,39 @@ public class Xs2aTransactionsReport implements CustomContentTypeProvider {
 
     private Xs2aAccountReport accountReport;
 
+    private Xs2aAccountReportStream accountReportStream;
+
     private List<Xs2aBalance> balances;
 
     private Links links;
 
     private boolean transactionReportHuge;
 
+    private String downloadId;
+
     private String responseContentType;
 
+    /**
+     * Checks whether the report is returned to the TPP as JSON. Spooled reports are always returned as JSON with the
+     * download link only, the report itself is downloaded in its original content type.
+     *
+     * @return <code>true</code> if the report is returned as JSON, <code>false</code> otherwise
+     */
     public boolean isResponseContentTypeJson() {
-        return RESPONSE_TYPE_JSON.equals(responseContentType);
+        return isSpooledForDownload() || RESPONSE_TYPE_JSON.equals(responseContentType);
+    }
+
+    public boolean isStreamed() {
+        return accountReportStream != null;
+    }
+
+    public boolean isSpooledForDownload() {
+        return downloadId != null;
     }
 
     @Override
     public MediaType getCustomContentType() {
-        if (StringUtils.isBlank(responseContentType)) {
+        if (isSpooledForDownload() || StringUtils.isBlank(responseContentType)) {
             return MediaType.parseMediaType(RESPONSE_TYPE_JSON);
         }
         return MediaType.parseMediaType(responseContentType);
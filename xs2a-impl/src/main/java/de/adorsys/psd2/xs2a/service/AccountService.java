@@ -53,9 +53,11 @@ import de.adorsys.psd2.xs2a.spi.service.AccountSpi;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
@@ -390,52 +392,78 @@ public class AccountService {
         SpiAspspConsentDataProvider aspspConsentDataProvider =
             aspspConsentDataProviderFactory.getSpiAspspDataProviderFor(consentId);
 
-        SpiResponse<SpiTransactionReport> spiResponse = accountSpi.requestTransactionsForAccount(
-            contextData,
-            request.getAcceptHeader(),
-            isTransactionsShouldContainBalances, dateFrom, dateToChecked,
-            request.getBookingStatus(),
-            requestedAccountReference,
-            consentMapper.mapToSpiAccountConsent(accountConsent),
-            aspspConsentDataProvider);
+        SpiAccountConsent spiAccountConsent = consentMapper.mapToSpiAccountConsent(accountConsent);
+        Xs2aTransactionsReport transactionsReport;
 
-        if (spiResponse.hasError()) {
-            // in this particular call we use NOT_SUPPORTED to indicate that requested Content-type is not ok for us
-            if (spiResponse.getResponseStatus() == SpiResponseStatus.NOT_SUPPORTED) {
-                log.info("InR-ID: [{}], X-Request-ID: [{}], Account-ID [{}], Consent-ID: [{}]. Get transactions report by period failed: requested content-type not json or text.",
+        if (accountSpi.isTransactionStreamSupported()) {
+            SpiResponse<SpiTransactionReportStream> spiResponse = accountSpi.requestTransactionStreamForAccount(
+                contextData,
+                request.getAcceptHeader(),
+                isTransactionsShouldContainBalances, dateFrom, dateToChecked,
+                request.getBookingStatus(),
+                requestedAccountReference,
+                spiAccountConsent,
+                aspspConsentDataProvider);
+
+            SpiTransactionReportStream spiTransactionReportStream = spiResponse.getPayload();
+
+            if (spiResponse.hasError()) {
+                closeTransactionReportStream(spiTransactionReportStream);
+                return buildTransactionsReportSpiError(spiResponse, accountId, consentId);
+            }
+
+            if (spiTransactionReportStream == null) {
+                log.info("InR-ID: [{}], X-Request-ID: [{}], Account-ID [{}], Consent-ID: [{}]. Get transactions report by period failed: transactions empty for account.",
                          requestProviderService.getInternalRequestId(), requestProviderService.getRequestId(), accountId, consentId);
                 return ResponseObject.<Xs2aTransactionsReport>builder()
-                           .fail(ErrorType.AIS_406, of(REQUESTED_FORMATS_INVALID))
+                           .fail(ErrorType.AIS_404, of(RESOURCE_UNKNOWN_404))
                            .build();
             }
 
-            ErrorHolder errorHolder = spiErrorMapper.mapToErrorHolder(spiResponse, ServiceType.AIS);
-            log.info("InR-ID: [{}], X-Request-ID: [{}], Account-ID [{}], Consent-ID: [{}]. Get transactions report by period failed: Request transactions for account fail at SPI level: {}",
-                     requestProviderService.getInternalRequestId(), requestProviderService.getRequestId(), accountId, consentId, errorHolder);
-            return ResponseObject.<Xs2aTransactionsReport>builder()
-                       .fail(errorHolder)
-                       .build();
-        }
+            try {
+                transactionsReport = new Xs2aTransactionsReport();
+                transactionsReport.setAccountReportStream(transactionsToAccountReportMapper.mapToXs2aAccountReportStream(spiTransactionReportStream));
+                transactionsReport.setBalances(balanceMapper.mapToXs2aBalanceList(spiTransactionReportStream.getBalances()));
+                transactionsReport.setResponseContentType(spiTransactionReportStream.getResponseContentType());
+            } catch (RuntimeException e) {
+                closeTransactionReportStream(spiTransactionReportStream);
+                throw e;
+            }
+        } else {
+            SpiResponse<SpiTransactionReport> spiResponse = accountSpi.requestTransactionsForAccount(
+                contextData,
+                request.getAcceptHeader(),
+                isTransactionsShouldContainBalances, dateFrom, dateToChecked,
+                request.getBookingStatus(),
+                requestedAccountReference,
+                spiAccountConsent,
+                aspspConsentDataProvider);
+
+            if (spiResponse.hasError()) {
+                return buildTransactionsReportSpiError(spiResponse, accountId, consentId);
+            }
 
-        SpiTransactionReport spiTransactionReport = spiResponse.getPayload();
+            SpiTransactionReport spiTransactionReport = spiResponse.getPayload();
 
-        if (spiTransactionReport == null) {
-            log.info("InR-ID: [{}], X-Request-ID: [{}], Account-ID [{}], Consent-ID: [{}]. Get transactions report by period failed: transactions empty for account.",
-                     requestProviderService.getInternalRequestId(), requestProviderService.getRequestId(), accountId, consentId);
-            return ResponseObject.<Xs2aTransactionsReport>builder()
-                       .fail(ErrorType.AIS_404, of(RESOURCE_UNKNOWN_404))
-                       .build();
-        }
+            if (spiTransactionReport == null) {
+                log.info("InR-ID: [{}], X-Request-ID: [{}], Account-ID [{}], Consent-ID: [{}]. Get transactions report by period failed: transactions empty for account.",
+                         requestProviderService.getInternalRequestId(), requestProviderService.getRequestId(), accountId, consentId);
+                return ResponseObject.<Xs2aTransactionsReport>builder()
+                           .fail(ErrorType.AIS_404, of(RESOURCE_UNKNOWN_404))
+                           .build();
+            }
 
-        Optional<Xs2aAccountReport> report =
-            transactionsToAccountReportMapper.mapToXs2aAccountReport(spiTransactionReport.getTransactions(), spiTransactionReport.getTransactionsRaw());
+            Optional<Xs2aAccountReport> report =
+                transactionsToAccountReportMapper.mapToXs2aAccountReport(spiTransactionReport.getTransactions(), spiTransactionReport.getTransactionsRaw());
+
+            transactionsReport = new Xs2aTransactionsReport();
+            transactionsReport.setAccountReport(report.orElseGet(() -> new Xs2aAccountReport(Collections.emptyList(),
+                                                                                             Collections.emptyList(), null)));
+            transactionsReport.setBalances(balanceMapper.mapToXs2aBalanceList(spiTransactionReport.getBalances()));
+            transactionsReport.setResponseContentType(spiTransactionReport.getResponseContentType());
+        }
 
-        Xs2aTransactionsReport transactionsReport = new Xs2aTransactionsReport();
-        transactionsReport.setAccountReport(report.orElseGet(() -> new Xs2aAccountReport(Collections.emptyList(),
-                                                                                         Collections.emptyList(), null)));
         transactionsReport.setAccountReference(referenceMapper.mapToXs2aAccountReference(requestedAccountReference));
-        transactionsReport.setBalances(balanceMapper.mapToXs2aBalanceList(spiTransactionReport.getBalances()));
-        transactionsReport.setResponseContentType(spiTransactionReport.getResponseContentType());
 
         ResponseObject<Xs2aTransactionsReport> response =
             ResponseObject.<Xs2aTransactionsReport>builder().body(transactionsReport).build();
@@ -447,6 +475,41 @@ public class AccountService {
         return response;
     }
 
+    private ResponseObject<Xs2aTransactionsReport> buildTransactionsReportSpiError(SpiResponse<?> spiResponse, String accountId, String consentId) {
+        // in this particular call we use NOT_SUPPORTED to indicate that requested Content-type is not ok for us
+        if (spiResponse.getResponseStatus() == SpiResponseStatus.NOT_SUPPORTED) {
+            log.info("InR-ID: [{}], X-Request-ID: [{}], Account-ID [{}], Consent-ID: [{}]. Get transactions report by period failed: requested content-type not json or text.",
+                     requestProviderService.getInternalRequestId(), requestProviderService.getRequestId(), accountId, consentId);
+            return ResponseObject.<Xs2aTransactionsReport>builder()
+                       .fail(ErrorType.AIS_406, of(REQUESTED_FORMATS_INVALID))
+                       .build();
+        }
+
+        ErrorHolder errorHolder = spiErrorMapper.mapToErrorHolder(spiResponse, ServiceType.AIS);
+        log.info("InR-ID: [{}], X-Request-ID: [{}], Account-ID [{}], Consent-ID: [{}]. Get transactions report by period failed: Request transactions for account fail at SPI level: {}",
+                 requestProviderService.getInternalRequestId(), requestProviderService.getRequestId(), accountId, consentId, errorHolder);
+        return ResponseObject.<Xs2aTransactionsReport>builder()
+                   .fail(errorHolder)
+                   .build();
+    }
+
+    /**
+     * Closes the transaction report stream, that won't be handed over to the response, so that the resources held by
+     * the SPI are released
+     */
+    private void closeTransactionReportStream(@Nullable SpiTransactionReportStream spiTransactionReportStream) {
+        if (spiTransactionReportStream == null) {
+            return;
+        }
+
+        try {
+            spiTransactionReportStream.close();
+        } catch (IOException e) {
+            log.warn("InR-ID: [{}], X-Request-ID: [{}]. Transaction report stream couldn't be closed: {}",
+                     requestProviderService.getInternalRequestId(), requestProviderService.getRequestId(), e.getMessage());
+        }
+    }
+
     /**
      * Gets transaction details by transaction id
      *
@@ -18,6 +18,7 @@ package de.adorsys.psd2.xs2a.service;
 
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import de.adorsys.psd2.xs2a.domain.RequestData;
+import de.adorsys.psd2.xs2a.domain.RequestDataHolder;
 import de.adorsys.psd2.xs2a.web.validator.constants.Xs2aHeaderConstant;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
@@ -44,6 +45,7 @@ public class RequestProviderService {
 
     private final HttpServletRequest httpServletRequest;
     private final InternalRequestIdService internalRequestIdService;
+    private final RequestDataHolder requestDataHolder;
 
     public Optional<Boolean> resolveTppRedirectPreferred() {
 
@@ -54,15 +56,22 @@ public class RequestProviderService {
         return Optional.of(Boolean.valueOf(header));
     }
 
+    /**
+     * Returns general information about the current request
+     * <p>
+     * The data is read from the request only once, subsequent calls within the same request return the same snapshot
+     *
+     * @return request data
+     */
     public RequestData getRequestData() {
-        String uri = httpServletRequest.getRequestURI();
-        UUID internalRequestId = getInternalRequestId();
-        UUID requestId = UUID.fromString(getHeader(X_REQUEST_ID_HEADER));
-        String ip = httpServletRequest.getRemoteAddr();
-        Map<String, String> headers = getRequestHeaders(httpServletRequest);
-        PsuIdData psuIdData = getPsuIdData();
+        RequestData requestData = requestDataHolder.getRequestData();
 
-        return new RequestData(uri, internalRequestId, requestId, ip, headers, psuIdData);
+        if (requestData == null) {
+            requestData = buildRequestData();
+            requestDataHolder.setRequestData(requestData);
+        }
+
+        return requestData;
     }
 
     public PsuIdData getPsuIdData() {
@@ -100,13 +109,25 @@ public class RequestProviderService {
         return getHeader(Xs2aHeaderConstant.PSU_IP_ADDRESS);
     }
 
+    private RequestData buildRequestData() {
+        String uri = httpServletRequest.getRequestURI();
+        UUID internalRequestId = getInternalRequestId();
+        UUID requestId = UUID.fromString(getHeader(X_REQUEST_ID_HEADER));
+        String ip = httpServletRequest.getRemoteAddr();
+        Map<String, String> headers = getRequestHeaders(httpServletRequest);
+        PsuIdData psuIdData = getPsuIdData();
+
+        return new RequestData(uri, internalRequestId, requestId, ip, headers, psuIdData);
+    }
+
     private String getHeader(String headerName) {
         return httpServletRequest.getHeader(headerName);
     }
 
     private Map<String, String> getRequestHeaders(HttpServletRequest request) {
-        return Collections.list(request.getHeaderNames())
-                   .stream()
-                   .collect(Collectors.toMap(Function.identity(), request::getHeader));
+        Map<String, String> headers = Collections.list(request.getHeaderNames())
+                                          .stream()
+                                          .collect(Collectors.toMap(Function.identity(), request::getHeader));
+        return Collections.unmodifiableMap(headers);
     }
 }
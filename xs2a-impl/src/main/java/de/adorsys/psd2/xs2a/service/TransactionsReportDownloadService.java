@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.adorsys.psd2.consent.api.ActionStatus;
+import de.adorsys.psd2.event.core.model.EventType;
+import de.adorsys.psd2.xs2a.domain.ResponseObject;
+import de.adorsys.psd2.xs2a.domain.account.Xs2aAccountReport;
+import de.adorsys.psd2.xs2a.domain.account.Xs2aTransactionsReport;
+import de.adorsys.psd2.xs2a.domain.account.Xs2aTransactionsReportByPeriodRequest;
+import de.adorsys.psd2.xs2a.domain.consent.AccountConsent;
+import de.adorsys.psd2.xs2a.service.consent.Xs2aAisConsentService;
+import de.adorsys.psd2.xs2a.service.download.SpooledTransactionsReport;
+import de.adorsys.psd2.xs2a.service.download.TransactionsReportSpool;
+import de.adorsys.psd2.xs2a.service.event.Xs2aEventService;
+import de.adorsys.psd2.xs2a.service.mapper.AccountModelMapper;
+import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorType;
+import de.adorsys.psd2.xs2a.service.validator.ValidationResult;
+import de.adorsys.psd2.xs2a.service.validator.ais.account.DownloadTransactionsReportValidator;
+import de.adorsys.psd2.xs2a.service.validator.ais.account.dto.CommonAccountTransactionsRequestObject;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.CONSENT_UNKNOWN_400;
+import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.RESOURCE_UNKNOWN_404;
+import static de.adorsys.psd2.xs2a.domain.TppMessageInformation.of;
+import static de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorType.AIS_400;
+
+@Slf4j
+@Service
+public class TransactionsReportDownloadService {
+    private final TransactionsReportSpool transactionsReportSpool;
+    private final AccountModelMapper accountModelMapper;
+    private final ObjectMapper objectMapper;
+    private final RequestProviderService requestProviderService;
+    private final Xs2aAisConsentService aisConsentService;
+    private final Xs2aEventService xs2aEventService;
+    private final TppService tppService;
+    private final DownloadTransactionsReportValidator downloadTransactionsReportValidator;
+    private final boolean enabled;
+
+    public TransactionsReportDownloadService(TransactionsReportSpool transactionsReportSpool,
+                                             AccountModelMapper accountModelMapper,
+                                             ObjectMapper objectMapper,
+                                             RequestProviderService requestProviderService,
+                                             Xs2aAisConsentService aisConsentService,
+                                             Xs2aEventService xs2aEventService,
+                                             TppService tppService,
+                                             DownloadTransactionsReportValidator downloadTransactionsReportValidator,
+                                             @Value("${xs2a.transactions-download.enabled:true}") boolean enabled) {
+        this.transactionsReportSpool = transactionsReportSpool;
+        this.accountModelMapper = accountModelMapper;
+        this.objectMapper = objectMapper;
+        this.requestProviderService = requestProviderService;
+        this.aisConsentService = aisConsentService;
+        this.xs2aEventService = xs2aEventService;
+        this.tppService = tppService;
+        this.downloadTransactionsReportValidator = downloadTransactionsReportValidator;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Writes the transactions report into the download spool in the same representation, it would be returned inline
+     *
+     * @param request            request, the report has been built for
+     * @param transactionsReport transactions report
+     * @return download ID of the report or empty value, if the report has not been spooled and has to be returned inline
+     */
+    public Optional<String> spoolTransactionsReport(Xs2aTransactionsReportByPeriodRequest request, Xs2aTransactionsReport transactionsReport) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        Xs2aAccountReport accountReport = transactionsReport.getAccountReport();
+        byte[] transactionsRaw = accountReport != null
+                                     ? accountReport.getTransactionsRaw()
+                                     : null;
+
+        try {
+            String downloadId = transactionsRaw != null
+                                    ? transactionsReportSpool.spool(request.getConsentId(), request.getAccountId(),
+                                                                    StringUtils.defaultIfBlank(transactionsReport.getResponseContentType(), MediaType.APPLICATION_JSON_VALUE),
+                                                                    outputStream -> outputStream.write(transactionsRaw))
+                                    : transactionsReportSpool.spool(request.getConsentId(), request.getAccountId(), MediaType.APPLICATION_JSON_VALUE,
+                                                                    outputStream -> objectMapper.writeValue(outputStream, accountModelMapper.mapToTransactionsResponse200Json(transactionsReport)));
+            return Optional.of(downloadId);
+        } catch (IOException e) {
+            log.warn("InR-ID: [{}], X-Request-ID: [{}], Account-ID [{}], Consent-ID: [{}]. Transactions report couldn't be spooled for downloading and will be returned inline: {}",
+                     requestProviderService.getInternalRequestId(), requestProviderService.getRequestId(), request.getAccountId(), request.getConsentId(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Gets the spooled transactions report for downloading. The consent is validated the same way, as for reading
+     * the transaction list, and the download is counted as an access to the consent.
+     *
+     * @param consentId  String representing an AccountConsent identification
+     * @param accountId  String representing a PSU`s Account at ASPSP
+     * @param downloadId download ID of the report
+     * @param requestUri the URI of incoming request
+     * @return spooled transactions report or error, if the consent is not valid or there is no such report for given consent and account
+     */
+    public ResponseObject<SpooledTransactionsReport> getTransactionsReportDownload(String consentId, String accountId, String downloadId, String requestUri) {
+        xs2aEventService.recordAisTppRequest(consentId, EventType.READ_TRANSACTION_LIST_REQUEST_RECEIVED);
+
+        Optional<AccountConsent> accountConsentOptional = aisConsentService.getAccountConsentById(consentId);
+        if (!accountConsentOptional.isPresent()) {
+            log.info("InR-ID: [{}], X-Request-ID: [{}], Account-ID [{}], Consent-ID [{}]. Get transactions report download failed. Account consent not found by id",
+                     requestProviderService.getInternalRequestId(), requestProviderService.getRequestId(), accountId, consentId);
+            return ResponseObject.<SpooledTransactionsReport>builder()
+                       .fail(AIS_400, of(CONSENT_UNKNOWN_400))
+                       .build();
+        }
+
+        AccountConsent accountConsent = accountConsentOptional.get();
+
+        ValidationResult validationResult = downloadTransactionsReportValidator.validate(
+            new CommonAccountTransactionsRequestObject(accountConsent, accountId, requestUri));
+
+        if (validationResult.isNotValid()) {
+            log.info("InR-ID: [{}], X-Request-ID: [{}], Account-ID [{}], Consent-ID [{}], RequestUri [{}]. Get transactions report download - validation failed: {}",
+                     requestProviderService.getInternalRequestId(), requestProviderService.getRequestId(), accountId, consentId, requestUri, validationResult.getMessageError());
+            return ResponseObject.<SpooledTransactionsReport>builder()
+                       .fail(validationResult.getMessageError())
+                       .build();
+        }
+
+        Optional<SpooledTransactionsReport> spooledReport = transactionsReportSpool.getReport(consentId, accountId, downloadId);
+
+        if (!spooledReport.isPresent()) {
+            log.info("InR-ID: [{}], X-Request-ID: [{}], Account-ID [{}], Consent-ID: [{}], Download-ID: [{}]. Get transactions report download failed: report is unknown or expired.",
+                     requestProviderService.getInternalRequestId(), requestProviderService.getRequestId(), accountId, consentId, downloadId);
+            return ResponseObject.<SpooledTransactionsReport>builder()
+                       .fail(ErrorType.AIS_404, of(RESOURCE_UNKNOWN_404))
+                       .build();
+        }
+
+        aisConsentService.consentActionLog(tppService.getTppId(), consentId, ActionStatus.SUCCESS, requestUri,
+                                           accountConsent.isOneAccessType() || requestProviderService.isRequestFromTPP());
+
+        return ResponseObject.<SpooledTransactionsReport>builder()
+                   .body(spooledReport.get())
+                   .build();
+    }
+}
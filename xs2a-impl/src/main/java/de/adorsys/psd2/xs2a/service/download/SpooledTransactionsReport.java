@@ -0,0 +1,35 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.download;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+
+/**
+ * Transactions report, that has been written to the spool directory for downloading
+ */
+@Value
+public class SpooledTransactionsReport {
+    private String downloadId;
+    private String consentId;
+    private String accountId;
+    private String contentType;
+    private Path file;
+    private long size;
+    private long creationTimeNanos;
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.download;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Local file store for huge transactions reports, that are offered to the TPP for downloading.
+ * <p>
+ * Each report is written once into a temporary file in the spool directory and registered under a random download ID.
+ * Reports are available for downloading until their time to live expires, expired files are deleted by a background
+ * reaper. The spool directory is created per application instance and is removed on shutdown.
+ * <p>
+ * Reports are registered in memory only, so a download request has to reach the instance, that has spooled the report.
+ */
+@Slf4j
+@Component
+public class TransactionsReportSpool {
+    private static final String SPOOL_DIRECTORY_PREFIX = "xs2a-transactions-download-";
+    private static final String SPOOL_FILE_PREFIX = "transactions-";
+    private static final String SPOOL_FILE_SUFFIX = ".spool";
+
+    private final String spoolDirectoryLocation;
+    private final long ttlNanos;
+    private final long reaperIntervalSeconds;
+    private final LongSupplier nanoClock;
+    private final Map<String, SpooledTransactionsReport> reports = new ConcurrentHashMap<>();
+
+    private final AtomicLong spooledCount = new AtomicLong();
+    private final AtomicLong spooledBytes = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+
+    private Path spoolDirectory;
+    private ScheduledExecutorService reaper;
+
+    @Autowired
+    public TransactionsReportSpool(@Value("${xs2a.transactions-download.spool-directory:}") String spoolDirectoryLocation,
+                                   @Value("${xs2a.transactions-download.ttl.seconds:3600}") long ttlSeconds,
+                                   @Value("${xs2a.transactions-download.reaper-interval.seconds:60}") long reaperIntervalSeconds) {
+        this(spoolDirectoryLocation, ttlSeconds, reaperIntervalSeconds, System::nanoTime);
+    }
+
+    TransactionsReportSpool(String spoolDirectoryLocation, long ttlSeconds, long reaperIntervalSeconds, LongSupplier nanoClock) {
+        if (ttlSeconds < 1 || reaperIntervalSeconds < 1) {
+            throw new IllegalArgumentException("Time to live and reaper interval of the transactions download spool must be positive");
+        }
+
+        this.spoolDirectoryLocation = spoolDirectoryLocation;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.reaperIntervalSeconds = reaperIntervalSeconds;
+        this.nanoClock = nanoClock;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Path baseDirectory = StringUtils.isBlank(spoolDirectoryLocation)
+                                 ? Paths.get(System.getProperty("java.io.tmpdir"))
+                                 : Files.createDirectories(Paths.get(spoolDirectoryLocation));
+        spoolDirectory = Files.createTempDirectory(baseDirectory, SPOOL_DIRECTORY_PREFIX);
+
+        reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "xs2a-transactions-download-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reaper.scheduleWithFixedDelay(this::removeExpired, reaperIntervalSeconds, reaperIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the reaper and deletes all spooled reports together with the spool directory
+     */
+    @PreDestroy
+    public void stop() {
+        if (reaper != null) {
+            reaper.shutdownNow();
+        }
+
+        reports.values().forEach(this::delete);
+        reports.clear();
+
+        if (spoolDirectory != null) {
+            deleteFile(spoolDirectory);
+        }
+    }
+
+    /**
+     * Writes the report into a new spool file and registers it for downloading
+     *
+     * @param consentId   ID of the consent, the report has been requested with
+     * @param accountId   ID of the account, the report belongs to
+     * @param contentType content type of the report
+     * @param writer      writer of the report content
+     * @return ID, the report can be downloaded with
+     * @throws IOException if the report couldn't be written
+     */
+    public String spool(String consentId, String accountId, String contentType, ContentWriter writer) throws IOException {
+        Path file = Files.createTempFile(spoolDirectory, SPOOL_FILE_PREFIX, SPOOL_FILE_SUFFIX);
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(file))) {
+            writer.write(outputStream);
+        } catch (IOException | RuntimeException e) {
+            deleteFile(file);
+            throw e;
+        }
+
+        String downloadId = UUID.randomUUID().toString();
+        long size = Files.size(file);
+        reports.put(downloadId, new SpooledTransactionsReport(downloadId, consentId, accountId, contentType, file, size, nanoClock.getAsLong()));
+
+        spooledCount.incrementAndGet();
+        spooledBytes.addAndGet(size);
+        return downloadId;
+    }
+
+    /**
+     * Returns the spooled report, if it was requested with the given consent for the given account and is not expired
+     *
+     * @param consentId  ID of the consent, given by the TPP
+     * @param accountId  ID of the account, given by the TPP
+     * @param downloadId download ID of the report
+     * @return spooled report
+     */
+    public Optional<SpooledTransactionsReport> getReport(String consentId, String accountId, String downloadId) {
+        return Optional.ofNullable(downloadId)
+                   .map(reports::get)
+                   .filter(report -> !isExpired(report))
+                   .filter(report -> report.getConsentId().equals(consentId)
+                                         && report.getAccountId().equals(accountId));
+    }
+
+    /**
+     * Removes all expired reports and deletes their files
+     */
+    public void removeExpired() {
+        Iterator<SpooledTransactionsReport> iterator = reports.values().iterator();
+        while (iterator.hasNext()) {
+            SpooledTransactionsReport report = iterator.next();
+            if (isExpired(report)) {
+                iterator.remove();
+                delete(report);
+                expiredCount.incrementAndGet();
+            }
+        }
+    }
+
+    public int size() {
+        return reports.size();
+    }
+
+    public long getSpooledCount() {
+        return spooledCount.get();
+    }
+
+    public long getSpooledBytes() {
+        return spooledBytes.get();
+    }
+
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionsReportSpool{size=" + size()
+                   + ", spooled=" + getSpooledCount()
+                   + ", spooledBytes=" + getSpooledBytes()
+                   + ", expired=" + getExpiredCount() + "}";
+    }
+
+    private boolean isExpired(SpooledTransactionsReport report) {
+        return nanoClock.getAsLong() - report.getCreationTimeNanos() >= ttlNanos;
+    }
+
+    private void delete(SpooledTransactionsReport report) {
+        deleteFile(report.getFile());
+    }
+
+    private void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Couldn't delete spooled transactions report file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the report content into the spool file
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void write(OutputStream outputStream) throws IOException;
+    }
+}
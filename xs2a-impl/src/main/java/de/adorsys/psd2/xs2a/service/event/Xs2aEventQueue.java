@@ -0,0 +1,238 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.event;
+
+import de.adorsys.psd2.event.service.Xs2aEventServiceEncrypted;
+import de.adorsys.psd2.event.service.model.EventBO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded queue for recording events in the CMS outside of the request thread.
+ * <p>
+ * Events are taken from the queue by a single background worker and recorded in batches, as soon as the batch size is
+ * reached or the flush interval elapses. If the queue is full, the event is either dropped or has to be recorded
+ * synchronously by the caller, depending on the configured {@link OverflowPolicy}.
+ */
+@Slf4j
+@Component
+public class Xs2aEventQueue {
+    private final Xs2aEventServiceEncrypted eventService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final BlockingQueue<EventBO> queue;
+
+    private final AtomicLong recordedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong totalFlushTimeNanos = new AtomicLong();
+    private final AtomicLong maxFlushTimeNanos = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public Xs2aEventQueue(Xs2aEventServiceEncrypted eventService,
+                          @Value("${xs2a.event.async.enabled:true}") boolean enabled,
+                          @Value("${xs2a.event.async.queue-capacity:10000}") int queueCapacity,
+                          @Value("${xs2a.event.async.batch-size:100}") int batchSize,
+                          @Value("${xs2a.event.async.flush-interval.ms:500}") long flushIntervalMs,
+                          @Value("${xs2a.event.async.overflow-policy:SYNCHRONOUS}") OverflowPolicy overflowPolicy) {
+        this.eventService = eventService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.overflowPolicy = overflowPolicy;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        running = true;
+        worker = new Thread(this::processEvents, "xs2a-event-recorder");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stops accepting new events and waits until all queued events are recorded
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Passes the event for asynchronous recording
+     *
+     * @param event event to be recorded
+     * @return <code>true</code> if the event was taken over by the queue (or dropped due to overflow),
+     * <code>false</code> if the event has to be recorded by the caller
+     */
+    public boolean offer(EventBO event) {
+        if (!running) {
+            return false;
+        }
+
+        if (queue.offer(event)) {
+            return true;
+        }
+
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            droppedCount.incrementAndGet();
+            log.warn("InR-ID: [{}], X-REQUEST-ID: [{}]. Event queue is full, event has been dropped: {}",
+                     event.getInternalRequestId(), event.getXRequestId(), event);
+            return true;
+        }
+
+        return false;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getRecordedCount() {
+        return recordedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getAverageFlushTimeMs() {
+        long flushes = flushCount.get();
+        return flushes == 0
+                   ? 0
+                   : TimeUnit.NANOSECONDS.toMillis(totalFlushTimeNanos.get() / flushes);
+    }
+
+    public long getMaxFlushTimeMs() {
+        return TimeUnit.NANOSECONDS.toMillis(maxFlushTimeNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return "Xs2aEventQueue{queueDepth=" + getQueueDepth()
+                   + ", recorded=" + getRecordedCount()
+                   + ", failed=" + getFailedCount()
+                   + ", dropped=" + getDroppedCount()
+                   + ", averageFlushTimeMs=" + getAverageFlushTimeMs()
+                   + ", maxFlushTimeMs=" + getMaxFlushTimeMs() + "}";
+    }
+
+    private void processEvents() {
+        List<EventBO> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            flush(batch);
+        }
+
+        // Recording all events, that are left in the queue after stop
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+        }
+        flush(batch);
+    }
+
+    private void fillBatch(List<EventBO> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            EventBO event = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (event == null) {
+                return;
+            }
+            batch.add(event);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    private void flush(List<EventBO> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean recorded;
+        try {
+            recorded = eventService.recordEvents(new ArrayList<>(batch));
+        } catch (RuntimeException e) {
+            log.warn("Couldn't record {} events in the CMS: {}", batch.size(), e.getMessage());
+            recorded = false;
+        }
+        long flushTime = System.nanoTime() - start;
+
+        flushCount.incrementAndGet();
+        totalFlushTimeNanos.addAndGet(flushTime);
+        maxFlushTimeNanos.accumulateAndGet(flushTime, Math::max);
+        if (recorded) {
+            recordedCount.addAndGet(batch.size());
+        } else {
+            failedCount.addAndGet(batch.size());
+            batch.forEach(event -> log.info("InR-ID: [{}], X-REQUEST-ID: [{}], TPP ID: [{}]. Couldn't record event from TPP request: {}",
+                                            event.getInternalRequestId(), event.getXRequestId(), event.getTppAuthorisationNumber(), event));
+        }
+        batch.clear();
+    }
+
+    /**
+     * Defines, what happens with an event, if the queue is full
+     */
+    public enum OverflowPolicy {
+        /**
+         * Event is dropped and counted
+         */
+        DROP,
+        /**
+         * Event is recorded synchronously in the request thread
+         */
+        SYNCHRONOUS
+    }
+}
@@ -24,11 +24,14 @@ import de.adorsys.psd2.xs2a.domain.Xs2aExchangeRate;
 import de.adorsys.psd2.xs2a.domain.account.*;
 import de.adorsys.psd2.xs2a.web.mapper.HrefLinkMapper;
 import de.adorsys.psd2.xs2a.web.mapper.PurposeCodeMapper;
+import de.adorsys.psd2.xs2a.web.stream.TransactionsResponseStream;
 import org.apache.commons.collections4.CollectionUtils;
 import org.jetbrains.annotations.Nullable;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
@@ -38,6 +41,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Mapper(componentModel = "spring", uses = {AmountModelMapper.class, PurposeCodeMapper.class})
 public abstract class AccountModelMapper {
@@ -87,6 +91,21 @@ public abstract class AccountModelMapper {
         return transactionsReport.getAccountReport().getTransactionsRaw();
     }
 
+    public TransactionsResponseStream mapToTransactionsResponseStream(Xs2aTransactionsReport transactionsReport) {
+        Xs2aAccountReportStream accountReportStream = transactionsReport.getAccountReportStream();
+        return new TransactionsResponseStream(mapToAccountReference(transactionsReport.getAccountReference()),
+                                              mapToTransactionDetailsStream(accountReportStream.getBooked()),
+                                              mapToTransactionDetailsStream(accountReportStream.getPending()),
+                                              hrefLinkMapper.mapToLinksMap(accountReportStream.getLinks()),
+                                              mapToBalanceList(transactionsReport.getBalances()),
+                                              hrefLinkMapper.mapToLinksMap(transactionsReport.getLinks()),
+                                              accountReportStream);
+    }
+
+    public Resource mapToTransactionsResponseRawStream(Xs2aTransactionsReport transactionsReport) {
+        return new InputStreamResource(transactionsReport.getAccountReportStream().getTransactionsRaw());
+    }
+
     @Mapping(target = "currencyExchange", expression = "java(mapToReportExchanges(transactions.getExchangeRate()))")
     @Mapping(target = "bankTransactionCode", source = "bankTransactionCodeCode.code")
     @Mapping(target = "transactionAmount", source = "amount")
@@ -100,6 +119,12 @@ public abstract class AccountModelMapper {
         return transactionDetails;
     }
 
+    protected Stream<TransactionDetails> mapToTransactionDetailsStream(Stream<Transactions> transactions) {
+        return transactions == null
+                   ? null
+                   : transactions.map(this::mapToTransaction);
+    }
+
     protected OffsetDateTime mapToOffsetDateTime(LocalDateTime localDateTime) {
         if (localDateTime == null) {
             return null;
@@ -18,17 +18,21 @@ package de.adorsys.psd2.xs2a.service.mapper.spi_xs2a_mappers;
 
 import de.adorsys.psd2.xs2a.domain.Transactions;
 import de.adorsys.psd2.xs2a.domain.account.Xs2aAccountReport;
+import de.adorsys.psd2.xs2a.domain.account.Xs2aAccountReportStream;
 import de.adorsys.psd2.xs2a.spi.domain.account.SpiTransaction;
+import de.adorsys.psd2.xs2a.spi.domain.account.SpiTransactionReportStream;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
@@ -52,6 +56,26 @@ public class SpiTransactionListToXs2aAccountReportMapper {
         return Optional.of(new Xs2aAccountReport(booked, pending, null));
     }
 
+    /**
+     * Maps transaction streams from the SPI without reading them, so that each transaction is mapped only when it is
+     * written to the response
+     *
+     * @param spiTransactionReportStream transaction report with streams from the SPI
+     * @return account report with mapped transaction streams
+     */
+    public Xs2aAccountReportStream mapToXs2aAccountReportStream(SpiTransactionReportStream spiTransactionReportStream) {
+        return new Xs2aAccountReportStream(mapTransactionStream(spiTransactionReportStream.getBookedTransactions()),
+                                           mapTransactionStream(spiTransactionReportStream.getPendingTransactions()),
+                                           spiTransactionReportStream.getTransactionsRaw());
+    }
+
+    @Nullable
+    private Stream<Transactions> mapTransactionStream(@Nullable Stream<SpiTransaction> spiTransactions) {
+        return spiTransactions == null
+                   ? null
+                   : spiTransactions.map(toXs2aTransactionMapper::mapToXs2aTransaction);
+    }
+
     @NotNull
     private List<Transactions> filterTransaction(List<SpiTransaction> spiTransactions, Predicate<SpiTransaction> predicate) {
         return spiTransactions
@@ -22,6 +22,7 @@ import de.adorsys.psd2.xs2a.domain.ResponseObject;
 import de.adorsys.psd2.xs2a.domain.Transactions;
 import de.adorsys.psd2.xs2a.domain.account.*;
 import de.adorsys.psd2.xs2a.domain.consent.Xs2aAccountAccess;
+import de.adorsys.psd2.xs2a.service.download.SpooledTransactionsReport;
 import de.adorsys.psd2.xs2a.service.message.MessageService;
 import de.adorsys.psd2.xs2a.web.controller.AccountController;
 import de.adorsys.psd2.xs2a.web.link.AccountDetailsLinks;
@@ -77,7 +78,10 @@ public class AccountAspect extends AbstractLinkAspect<AccountController> {
             Xs2aTransactionsReport transactionsReport = result.getBody();
 
             if (transactionsReport.isTransactionReportHuge()) {
-                transactionsReport.setLinks(new TransactionsReportByPeriodHugeLinks(getHttpUrl(), request.getAccountId(), request.isWithBalance()));
+                transactionsReport.setLinks(new TransactionsReportByPeriodHugeLinks(getHttpUrl(), request.getAccountId(), transactionsReport.getDownloadId(), request.isWithBalance()));
+            } else if (transactionsReport.isStreamed()) {
+                Xs2aAccountReportStream accountReportStream = transactionsReport.getAccountReportStream();
+                accountReportStream.setLinks(new TransactionsReportByPeriodLinks(getHttpUrl(), request.getAccountId(), request.isWithBalance()));
             } else {
                 Xs2aAccountReport accountReport = transactionsReport.getAccountReport();
                 accountReport.setLinks(new TransactionsReportByPeriodLinks(getHttpUrl(), request.getAccountId(), request.isWithBalance()));
@@ -88,6 +92,14 @@ public class AccountAspect extends AbstractLinkAspect<AccountController> {
         return enrichErrorTextMessage(result);
     }
 
+    @AfterReturning(pointcut = "execution(* de.adorsys.psd2.xs2a.service.TransactionsReportDownloadService.getTransactionsReportDownload(..)) && args( consentId, accountId, downloadId, ..)", returning = "result", argNames = "result,consentId,accountId,downloadId")
+    public ResponseObject<SpooledTransactionsReport> getTransactionsReportDownloadAspect(ResponseObject<SpooledTransactionsReport> result, String consentId, String accountId, String downloadId) {
+        if (!result.hasError()) {
+            return result;
+        }
+        return enrichErrorTextMessage(result);
+    }
+
     @AfterReturning(pointcut = "execution(* de.adorsys.psd2.xs2a.service.AccountService.getTransactionDetails(..)) && args( consentID, accountId, resourceId, requestUri)", returning = "result", argNames = "result,consentID,accountId,resourceId,requestUri")
     public ResponseObject<Transactions> getTransactionDetailsAspect(ResponseObject<Transactions> result, String consentID, String accountId, String resourceId, String requestUri) {
         if (!result.hasError()) {
@@ -18,7 +18,10 @@ package de.adorsys.psd2.xs2a.web.aspect;
 
 import de.adorsys.psd2.xs2a.component.JsonConverter;
 import de.adorsys.psd2.xs2a.domain.ResponseObject;
+import de.adorsys.psd2.xs2a.domain.account.Xs2aAccountReport;
 import de.adorsys.psd2.xs2a.domain.account.Xs2aTransactionsReport;
+import de.adorsys.psd2.xs2a.domain.account.Xs2aTransactionsReportByPeriodRequest;
+import de.adorsys.psd2.xs2a.service.TransactionsReportDownloadService;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
@@ -30,27 +33,48 @@ import org.springframework.stereotype.Component;
 public class TransactionReportAspect {
     private final int maxNumberOfCharInTransactionJson;
     private final JsonConverter jsonConverter;
+    private final TransactionsReportDownloadService transactionsReportDownloadService;
 
-    public TransactionReportAspect(int maxNumberOfCharInTransactionJson, JsonConverter jsonConverter) {
+    public TransactionReportAspect(int maxNumberOfCharInTransactionJson, JsonConverter jsonConverter,
+                                   TransactionsReportDownloadService transactionsReportDownloadService) {
         this.maxNumberOfCharInTransactionJson = maxNumberOfCharInTransactionJson;
         this.jsonConverter = jsonConverter;
+        this.transactionsReportDownloadService = transactionsReportDownloadService;
     }
 
-    @AfterReturning(pointcut = "execution(* de.adorsys.psd2.xs2a.service.AccountService.getTransactionsReportByPeriod(..))", returning = "result", argNames = "result")
-    public ResponseObject<Xs2aTransactionsReport> invokeGetTransactionsReportByPeriodAspect(ResponseObject<Xs2aTransactionsReport> result) {
+    @AfterReturning(pointcut = "execution(* de.adorsys.psd2.xs2a.service.AccountService.getTransactionsReportByPeriod(..)) && args(request)", returning = "result", argNames = "result,request")
+    public ResponseObject<Xs2aTransactionsReport> invokeGetTransactionsReportByPeriodAspect(ResponseObject<Xs2aTransactionsReport> result, Xs2aTransactionsReportByPeriodRequest request) {
         if (!result.hasError()) {
             Xs2aTransactionsReport report = result.getBody();
 
-            report.setTransactionReportHuge(isTransactionReportHuge(report));
+            boolean transactionReportHuge = isTransactionReportHuge(report);
+            report.setTransactionReportHuge(transactionReportHuge);
+
+            if (transactionReportHuge) {
+                // Huge report is offered for downloading, so that only the download link is returned inline
+                transactionsReportDownloadService.spoolTransactionsReport(request, report)
+                    .ifPresent(downloadId -> {
+                        report.setDownloadId(downloadId);
+                        report.setAccountReport(null);
+                    });
+            }
         }
 
         return result;
     }
 
     private boolean isTransactionReportHuge(Xs2aTransactionsReport transactionsReport) {
-        String jsonReport = jsonConverter.toJson(transactionsReport)
-                                .orElse("");
+        if (transactionsReport.isStreamed()) {
+            // Streamed transactions are written to the TPP while they are read, their size is not known in advance
+            return false;
+        }
+
+        Xs2aAccountReport accountReport = transactionsReport.getAccountReport();
+        if (accountReport != null && accountReport.getTransactionsRaw() != null) {
+            // Raw transactions are returned to the TPP as they are, so their size is known without serialisation
+            return accountReport.getTransactionsRaw().length > maxNumberOfCharInTransactionJson;
+        }
 
-        return jsonReport.length() > maxNumberOfCharInTransactionJson;
+        return jsonConverter.isJsonLongerThan(transactionsReport, maxNumberOfCharInTransactionJson);
     }
 }
@@ -22,14 +22,22 @@ import de.adorsys.psd2.xs2a.domain.ResponseObject;
 import de.adorsys.psd2.xs2a.domain.Transactions;
 import de.adorsys.psd2.xs2a.domain.account.*;
 import de.adorsys.psd2.xs2a.service.AccountService;
+import de.adorsys.psd2.xs2a.service.TransactionsReportDownloadService;
+import de.adorsys.psd2.xs2a.service.download.SpooledTransactionsReport;
 import de.adorsys.psd2.xs2a.service.mapper.AccountModelMapper;
 import de.adorsys.psd2.xs2a.service.mapper.ResponseMapper;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ResponseErrorMapper;
+import de.adorsys.psd2.xs2a.web.aspect.UrlHolder;
 import io.swagger.annotations.Api;
 import lombok.AllArgsConstructor;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.servlet.http.HttpServletRequest;
@@ -48,6 +56,7 @@ public class AccountController implements AccountApi {
     private final ResponseMapper responseMapper;
     private final AccountModelMapper accountModelMapper;
     private final ResponseErrorMapper responseErrorMapper;
+    private final TransactionsReportDownloadService transactionsReportDownloadService;
 
     @Override
     public ResponseEntity getAccountList(UUID xRequestID, String consentID, Boolean withBalance, String digest, String signature, byte[] tpPSignatureCertificate, String psUIPAddress, String psUIPPort, String psUAccept, String psUAcceptCharset, String psUAcceptEncoding, String psUAcceptLanguage, String psUUserAgent, String psUHttpMethod, UUID psUDeviceID, String psUGeoLocation) {
@@ -80,6 +89,10 @@ public class AccountController implements AccountApi {
 
         if (transactionsReport.hasError()) {
             return responseErrorMapper.generateErrorResponse(transactionsReport.getError());
+        } else if (transactionsReport.getBody().isStreamed()) {
+            return transactionsReport.getBody().isResponseContentTypeJson()
+                       ? responseMapper.ok(transactionsReport, accountModelMapper::mapToTransactionsResponseStream)
+                       : responseMapper.ok(transactionsReport, accountModelMapper::mapToTransactionsResponseRawStream);
         } else if (transactionsReport.getBody().isResponseContentTypeJson()) {
             return responseMapper.ok(transactionsReport, accountModelMapper::mapToTransactionsResponse200Json);
         } else {
@@ -96,6 +109,26 @@ public class AccountController implements AccountApi {
 
     }
 
+    /**
+     * Downloads the transactions report, that has been spooled because of its size. The report is streamed from the
+     * spool file, partial downloads are supported with the HTTP Range header.
+     */
+    @GetMapping(path = UrlHolder.ACCOUNT_TRANSACTIONS_DOWNLOAD_URL)
+    public ResponseEntity downloadTransactions(@PathVariable("accountId") String accountId,
+                                               @PathVariable("downloadId") String downloadId,
+                                               @RequestHeader(value = "Consent-ID") String consentID) {
+        ResponseObject<SpooledTransactionsReport> transactionsReportDownload = transactionsReportDownloadService.getTransactionsReportDownload(consentID, accountId, downloadId, trimEndingSlash(request.getRequestURI()));
+
+        if (transactionsReportDownload.hasError()) {
+            return responseErrorMapper.generateErrorResponse(transactionsReportDownload.getError());
+        }
+
+        SpooledTransactionsReport spooledReport = transactionsReportDownload.getBody();
+        return ResponseEntity.ok()
+                   .contentType(MediaType.parseMediaType(spooledReport.getContentType()))
+                   .body(new FileSystemResource(spooledReport.getFile()));
+    }
+
     private String trimEndingSlash(String input) {
         String result = input;
 
@@ -16,26 +16,113 @@
 
 package de.adorsys.psd2.xs2a.web.filter;
 
+import de.adorsys.psd2.xs2a.component.BodyBufferPool;
 import de.adorsys.psd2.xs2a.component.MultiReadHttpServletRequest;
 import de.adorsys.psd2.xs2a.component.MultiReadHttpServletResponse;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
 
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
+/**
+ * Wraps request and response for multiple reading of their bodies. Runs before other XS2A filters, so that they read
+ * the request body from the same cached buffer.
+ * <p>
+ * Request body buffers are reused from a bounded pool, whose size and maximum retained buffer size are configurable.
+ * <p>
+ * Response body is written through to the client and captured for logging only up to the configured size. Capturing is
+ * disabled for endpoints matching the excluded path patterns, e.g. for large transaction reports.
+ */
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
 public class ContentCachingWrappingFilter extends AbstractXs2aFilter {
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final int responseCaptureMaxSize;
+    private final List<String> responseCaptureExcludedPaths;
+    private final BodyBufferPool requestBodyBufferPool;
+
+    public ContentCachingWrappingFilter(@Value("${xs2a.request-log.response-body.max-size:65536}") int responseCaptureMaxSize,
+                                        @Value("${xs2a.request-log.response-body.excluded-paths:}") String[] responseCaptureExcludedPaths,
+                                        @Value("${xs2a.request-body.buffer-pool.size:16}") int requestBodyBufferPoolSize,
+                                        @Value("${xs2a.request-body.buffer-pool.max-retained-size:65536}") int requestBodyBufferMaxRetainedSize) {
+        this.responseCaptureMaxSize = responseCaptureMaxSize;
+        this.requestBodyBufferPool = new BodyBufferPool(requestBodyBufferPoolSize, requestBodyBufferMaxRetainedSize);
+        this.responseCaptureExcludedPaths = Arrays.stream(responseCaptureExcludedPaths)
+                                                .filter(StringUtils::isNotBlank)
+                                                .map(String::trim)
+                                                .collect(Collectors.toList());
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        MultiReadHttpServletRequest multiReadRequest = new MultiReadHttpServletRequest(request);
-        MultiReadHttpServletResponse multiReadResponse = new MultiReadHttpServletResponse(response);
+        MultiReadHttpServletRequest multiReadRequest = new MultiReadHttpServletRequest(request, requestBodyBufferPool);
+        MultiReadHttpServletResponse multiReadResponse = new MultiReadHttpServletResponse(response, getResponseCaptureSize(request));
+
+        try {
+            doFilter(multiReadRequest, multiReadResponse, filterChain);
+
+            multiReadResponse.copyBodyToResponse();
+        } finally {
+            releaseWhenProcessed(multiReadRequest);
+        }
+    }
+
+    private void releaseWhenProcessed(MultiReadHttpServletRequest multiReadRequest) {
+        if (multiReadRequest.isAsyncStarted()) {
+            // Async requests are still processed after the filter chain returns, so the body is released on completion
+            multiReadRequest.getAsyncContext().addListener(new ReleasingAsyncListener(multiReadRequest));
+        } else {
+            multiReadRequest.release();
+        }
+    }
+
+    private int getResponseCaptureSize(HttpServletRequest request) {
+        String servletPath = request.getServletPath();
+        boolean excluded = responseCaptureExcludedPaths.stream()
+                               .anyMatch(pattern -> pathMatcher.match(pattern, servletPath));
+        return excluded ? 0 : responseCaptureMaxSize;
+    }
+
+    private static class ReleasingAsyncListener implements AsyncListener {
+        private final MultiReadHttpServletRequest multiReadRequest;
+
+        ReleasingAsyncListener(MultiReadHttpServletRequest multiReadRequest) {
+            this.multiReadRequest = multiReadRequest;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            multiReadRequest.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // the request is completed after the timeout is handled
+        }
 
-        doFilter(multiReadRequest, multiReadResponse, filterChain);
+        @Override
+        public void onError(AsyncEvent event) {
+            // the request is completed after the error is handled
+        }
 
-        multiReadResponse.copyBodyToResponse();
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // listeners are removed when async processing is started again
+            event.getAsyncContext().addListener(this);
+        }
     }
 }
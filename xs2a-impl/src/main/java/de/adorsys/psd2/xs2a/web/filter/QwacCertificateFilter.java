@@ -16,14 +16,13 @@
 
 package de.adorsys.psd2.xs2a.web.filter;
 
-import de.adorsys.psd2.validator.certificate.util.CertificateExtractorUtil;
 import de.adorsys.psd2.validator.certificate.util.TppCertificateData;
+import de.adorsys.psd2.validator.certificate.util.TppCertificateDataCache;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
 import de.adorsys.psd2.xs2a.core.tpp.TppRole;
 import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.validator.tpp.TppInfoHolder;
 import de.adorsys.psd2.xs2a.service.validator.tpp.TppRoleValidationService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import no.difi.certvalidator.api.CertificateValidationException;
 import org.apache.commons.lang3.StringUtils;
@@ -56,11 +55,21 @@ import static de.adorsys.psd2.xs2a.exception.MessageCategory.ERROR;
 @Profile("!mock-qwac")
 @Component
 @Slf4j
-@RequiredArgsConstructor
 public class QwacCertificateFilter extends AbstractXs2aFilter {
     private final TppRoleValidationService tppRoleValidationService;
     private final TppInfoHolder tppInfoHolder;
     private final RequestProviderService requestProviderService;
+    private final TppCertificateDataCache tppCertificateDataCache;
+
+    public QwacCertificateFilter(TppRoleValidationService tppRoleValidationService,
+                                 TppInfoHolder tppInfoHolder,
+                                 RequestProviderService requestProviderService,
+                                 TppCertificateDataCache tppCertificateDataCache) {
+        this.tppRoleValidationService = tppRoleValidationService;
+        this.tppInfoHolder = tppInfoHolder;
+        this.requestProviderService = requestProviderService;
+        this.tppCertificateDataCache = tppCertificateDataCache;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws IOException, ServletException {
@@ -69,7 +78,7 @@ public class QwacCertificateFilter extends AbstractXs2aFilter {
 
         if (StringUtils.isNotBlank(encodedTppQwacCert)) {
             try {
-                TppCertificateData tppCertificateData = CertificateExtractorUtil.extract(encodedTppQwacCert);
+                TppCertificateData tppCertificateData = tppCertificateDataCache.extract(encodedTppQwacCert);
 
                 if (isCertificateExpired(tppCertificateData.getNotAfter())) {
                     log.info("InR-ID: [{}], X-Request-ID: [{}], TPP Certificate is expired",
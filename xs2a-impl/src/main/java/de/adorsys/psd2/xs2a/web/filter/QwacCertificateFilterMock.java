@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.xs2a.web.filter;
 
+import de.adorsys.psd2.validator.certificate.util.TppCertificateDataCache;
 import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.validator.tpp.TppInfoHolder;
 import de.adorsys.psd2.xs2a.service.validator.tpp.TppRoleValidationService;
@@ -39,8 +40,9 @@ public class QwacCertificateFilterMock extends QwacCertificateFilter {
     @Value("${qwac-certificate-mock}")
     private String qwacCertificateMock;
 
-    public QwacCertificateFilterMock(TppRoleValidationService tppRoleMatcher, TppInfoHolder tppInfoHolder, RequestProviderService requestProviderService) {
-        super(tppRoleMatcher, tppInfoHolder, requestProviderService);
+    public QwacCertificateFilterMock(TppRoleValidationService tppRoleMatcher, TppInfoHolder tppInfoHolder, RequestProviderService requestProviderService,
+                                     TppCertificateDataCache tppCertificateDataCache) {
+        super(tppRoleMatcher, tppInfoHolder, requestProviderService, tppCertificateDataCache);
     }
 
     @Override
@@ -18,31 +18,41 @@ package de.adorsys.psd2.xs2a.web.filter;
 
 import de.adorsys.psd2.validator.certificate.CertificateErrorMsgCode;
 import de.adorsys.psd2.validator.signature.TppSignatureValidator;
+import de.adorsys.psd2.xs2a.component.MultiReadHttpServletRequest;
 import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.profile.AspspProfileServiceWrapper;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
+import org.springframework.web.util.WebUtils;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class SignatureFilter extends AbstractXs2aFilter {
     private final AspspProfileServiceWrapper aspspProfileService;
     private final RequestProviderService requestProviderService;
+    private final TppSignatureValidator tppSignatureValidator;
+
+    public SignatureFilter(AspspProfileServiceWrapper aspspProfileService, RequestProviderService requestProviderService,
+                           TppSignatureValidator tppSignatureValidator) {
+        this.aspspProfileService = aspspProfileService;
+        this.requestProviderService = requestProviderService;
+        this.tppSignatureValidator = tppSignatureValidator;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
@@ -70,9 +80,16 @@ public class SignatureFilter extends AbstractXs2aFilter {
             return;
         }
 
+        if (digestDoesNotMatchBody(request)) {
+            errText = CertificateErrorMsgCode.SIGNATURE_INVALID.toString();
+            log.info("InR-ID: [{}], X-Request-ID: [{}], TPP unauthorized: {}, digest doesn't match the request body",
+                     requestProviderService.getInternalRequestId(), requestProviderService.getRequestId(), errText);
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, errText);
+            return;
+        }
+
         Map<String, String> headers = obtainRequestHeaders(request);
         String encodedTppCert = request.getHeader("tpp-signature-certificate");
-        TppSignatureValidator tppSignatureValidator = new TppSignatureValidator();
 
         if (tppSignatureValidator.verifySignature(signature, encodedTppCert, headers)) {
             chain.doFilter(request, response);
@@ -85,8 +102,34 @@ public class SignatureFilter extends AbstractXs2aFilter {
     }
 
     private boolean digestContainsErrors(HttpServletRequest httpRequest) {
-        String digest = httpRequest.getHeader("digest");
-        return StringUtils.isBlank(digest) || !Arrays.asList(64, 128).contains(digest.getBytes().length);
+        String digest = MultiReadHttpServletRequest.normaliseDigest(httpRequest.getHeader("digest"));
+        return digest == null || !Arrays.asList(64, 128).contains(digest.length());
+    }
+
+    /**
+     * Compares the digest header with the hash of the body, computed while the body was cached. The check is skipped if
+     * the body isn't cached by {@link MultiReadHttpServletRequest}. The duration of hashing and comparison is recorded
+     * in the signature verification metrics.
+     */
+    private boolean digestDoesNotMatchBody(HttpServletRequest httpRequest) throws IOException {
+        MultiReadHttpServletRequest multiReadRequest = WebUtils.getNativeRequest(httpRequest, MultiReadHttpServletRequest.class);
+        if (multiReadRequest == null) {
+            return false;
+        }
+
+        String digest = MultiReadHttpServletRequest.normaliseDigest(httpRequest.getHeader("digest"));
+        Optional<byte[]> bodyDigest = multiReadRequest.getBodyDigest();
+        long start = System.nanoTime();
+        boolean doesNotMatch = bodyDigest
+                                   .map(d -> String.format("%0" + d.length * 2 + "x", new BigInteger(1, d)))
+                                   .map(hex -> !hex.equalsIgnoreCase(digest))
+                                   .orElse(false);
+        long compareNanos = System.nanoTime() - start;
+
+        multiReadRequest.getBodyDigestAlgorithm()
+            .ifPresent(algorithm -> tppSignatureValidator.getMetrics()
+                                        .recordDigestVerification(algorithm, multiReadRequest.getBodyDigestNanos() + compareNanos));
+        return doesNotMatch;
     }
 
     private Map<String, String> obtainRequestHeaders(HttpServletRequest request) {
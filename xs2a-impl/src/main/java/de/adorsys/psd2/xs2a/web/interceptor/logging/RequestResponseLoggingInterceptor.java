@@ -16,7 +16,8 @@
 
 package de.adorsys.psd2.xs2a.web.interceptor.logging;
 
-import de.adorsys.psd2.xs2a.component.logger.request.RequestResponseLogMessage;
+import de.adorsys.psd2.xs2a.component.logger.request.RequestResponseLogEntry;
+import de.adorsys.psd2.xs2a.component.logger.request.RequestResponseLogQueue;
 import de.adorsys.psd2.xs2a.component.logger.request.RequestResponseLogger;
 import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import lombok.RequiredArgsConstructor;
@@ -27,23 +28,26 @@ import javax.servlet.http.HttpServletResponse;
 
 /**
  * Interceptor for logging request and response information into the request-log
+ * <p>
+ * Request and response data is captured in the request thread, formatting and writing is done asynchronously by the
+ * {@link RequestResponseLogQueue}, unless the queue rejects the entry.
  */
 @RequiredArgsConstructor
 public class RequestResponseLoggingInterceptor extends HandlerInterceptorAdapter {
     private final RequestResponseLogger requestResponseLogger;
     private final RequestProviderService requestProviderService;
+    private final RequestResponseLogQueue requestResponseLogQueue;
 
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
-        RequestResponseLogMessage message = RequestResponseLogMessage.builder(request, response)
-                                                .withInternalRequestId(requestProviderService.getInternalRequestId())
-                                                .withRequestUri()
-                                                .withRequestHeaders()
-                                                .withRequestPayload()
-                                                .withResponseStatus()
-                                                .withResponseHeaders()
-                                                .withResponseBody()
-                                                .build();
-        requestResponseLogger.logMessage(message);
+        if (!requestResponseLogQueue.isSampled()) {
+            return;
+        }
+
+        RequestResponseLogEntry entry =
+            RequestResponseLogEntry.capture(request, response, requestProviderService.getInternalRequestId());
+        if (!requestResponseLogQueue.offer(entry)) {
+            requestResponseLogger.logEntry(entry);
+        }
     }
 }
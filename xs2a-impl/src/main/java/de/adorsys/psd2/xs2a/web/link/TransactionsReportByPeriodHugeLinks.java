@@ -20,11 +20,12 @@ import de.adorsys.psd2.xs2a.web.aspect.UrlHolder;
 
 public class TransactionsReportByPeriodHugeLinks extends AbstractLinks {
 
-    public TransactionsReportByPeriodHugeLinks(String httpUrl, String accountId, boolean withBalance) {
+    public TransactionsReportByPeriodHugeLinks(String httpUrl, String accountId, String downloadId, boolean withBalance) {
         super(httpUrl);
 
-        // TODO we need return only download link without transactions info https://git.adorsys.de/adorsys/xs2a/aspsp-xs2a/issues/286
-        // TODO further we should implement real flow for downloading file https://git.adorsys.de/adorsys/xs2a/aspsp-xs2a/issues/286
+        if (downloadId != null) {
+            setDownload(buildPath(UrlHolder.ACCOUNT_TRANSACTIONS_DOWNLOAD_URL, accountId, downloadId));
+        }
 
         if (withBalance) {
             setBalances(buildPath(UrlHolder.ACCOUNT_BALANCES_URL, accountId));
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web.stream;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import de.adorsys.psd2.model.AccountReference;
+import de.adorsys.psd2.model.BalanceList;
+import de.adorsys.psd2.model.TransactionDetails;
+import de.adorsys.psd2.xs2a.component.TransactionsResponseStreamSerializer;
+import de.adorsys.psd2.xs2a.domain.HrefType;
+import lombok.Value;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Transactions report in the same JSON representation as {@link de.adorsys.psd2.model.TransactionsResponse200Json},
+ * whose booked and pending transactions are written to the TPP one by one while they are read from the SPI.
+ * The streams are closed as soon as the response is written.
+ */
+@Value
+@JsonSerialize(using = TransactionsResponseStreamSerializer.class)
+public class TransactionsResponseStream implements Closeable {
+    private AccountReference account;
+    private Stream<TransactionDetails> booked;
+    private Stream<TransactionDetails> pending;
+    private Map<String, HrefType> transactionsLinks;
+    private BalanceList balances;
+    private Map<String, HrefType> links;
+    private Closeable source;
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+}
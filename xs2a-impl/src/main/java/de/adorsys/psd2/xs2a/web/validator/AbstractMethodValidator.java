@@ -22,13 +22,13 @@ import de.adorsys.psd2.xs2a.web.validator.header.HeaderValidator;
 import de.adorsys.psd2.xs2a.web.validator.query.QueryParameterValidator;
 import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 import javax.servlet.http.HttpServletRequest;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
-@RequiredArgsConstructor(access = AccessLevel.PROTECTED)
 public abstract class AbstractMethodValidator<H extends HeaderValidator, B extends BodyValidator, P extends QueryParameterValidator> implements MethodValidator {
     @Getter(AccessLevel.PACKAGE)
     private final List<H> headerValidators;
@@ -37,34 +37,60 @@ public abstract class AbstractMethodValidator<H extends HeaderValidator, B exten
     @Getter(AccessLevel.PACKAGE)
     private final List<P> queryParameterValidators;
 
+    // Validation stages of the method, flattened once when the validator is created
+    private final HeaderValidator[] headerStages;
+    private final BodyValidator[] bodyStages;
+    private final QueryParameterValidator[] queryParameterStages;
+
+    protected AbstractMethodValidator(List<H> headerValidators, List<B> bodyValidators, List<P> queryParameterValidators) {
+        this.headerValidators = headerValidators;
+        this.bodyValidators = bodyValidators;
+        this.queryParameterValidators = queryParameterValidators;
+        this.headerStages = toStages(headerValidators, new HeaderValidator[0]);
+        this.bodyStages = toStages(bodyValidators, new BodyValidator[0]);
+        this.queryParameterStages = toStages(queryParameterValidators, new QueryParameterValidator[0]);
+    }
+
     /**
      * Common validator which validates request headers and body
+     * <p>
+     * Headers and query parameters are extracted from the request only once and only if there are validators for them.
+     * Headers are shared with body validators of the same request via {@link CaseInsensitiveHeaders#of(HttpServletRequest)}.
      *
      * @param request      {@link javax.servlet.http.HttpServletRequest}
      * @param messageError is populated by errors during validation
      */
     @Override
     public void validate(HttpServletRequest request, MessageError messageError) {
-        Map<String, String> headers = Collections.list(request.getHeaderNames())
-                                          .stream()
-                                          .collect(Collectors.toMap(h -> h, request::getHeader));
+        if (headerStages.length > 0) {
+            Map<String, String> headers = CaseInsensitiveHeaders.of(request);
+            for (HeaderValidator headerValidator : headerStages) {
+                headerValidator.validate(headers, messageError);
+            }
+        }
 
-        // This is implemented for handling the headers in case insensitive mode.
-        TreeMap<String, String> caseInsensitiveHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        caseInsensitiveHeaders.putAll(headers);
+        for (BodyValidator bodyValidator : bodyStages) {
+            bodyValidator.validate(request, messageError);
+        }
 
-        Map<String, List<String>> queryParameters = extractQueryParameters(request);
-
-        getHeaderValidators().forEach(v -> v.validate(caseInsensitiveHeaders, messageError));
-        getBodyValidators().forEach(v -> v.validate(request, messageError));
-        getQueryParameterValidators().forEach(v -> v.validate(queryParameters, messageError));
+        if (queryParameterStages.length > 0) {
+            Map<String, List<String>> queryParameters = extractQueryParameters(request);
+            for (QueryParameterValidator queryParameterValidator : queryParameterStages) {
+                queryParameterValidator.validate(queryParameters, messageError);
+            }
+        }
     }
 
     private Map<String, List<String>> extractQueryParameters(HttpServletRequest request) {
         Map<String, String[]> requestParameterMap = request.getParameterMap();
-        return requestParameterMap.entrySet()
-                   .stream()
-                   .collect(Collectors.toMap(Map.Entry::getKey,
-                                             e -> Arrays.asList(e.getValue())));
+        Map<String, List<String>> queryParameters = new HashMap<>(requestParameterMap.size() * 2);
+        for (Map.Entry<String, String[]> parameter : requestParameterMap.entrySet()) {
+            queryParameters.put(parameter.getKey(), Arrays.asList(parameter.getValue()));
+        }
+        return queryParameters;
+    }
+
+    private static <T> T[] toStages(List<? extends T> validators, T[] emptyStages) {
+        return validators == null ? emptyStages : validators.toArray(emptyStages);
     }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web.validator;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only map of request headers with case insensitive lookup of header names
+ * <p>
+ * Names and values are kept in two arrays and looked up by a linear scan, which is cheaper than hashing or sorting for
+ * the few headers of a request. The headers are read once per request, the map is shared by all validators of the
+ * request via a request attribute.
+ */
+public final class CaseInsensitiveHeaders extends AbstractMap<String, String> {
+    private static final String REQUEST_ATTRIBUTE = CaseInsensitiveHeaders.class.getName();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private String[] names;
+    private String[] values;
+    private int size;
+
+    private CaseInsensitiveHeaders(int capacity) {
+        names = new String[capacity];
+        values = new String[capacity];
+    }
+
+    /**
+     * Returns headers of given request, reading them from the request only on the first call
+     *
+     * @param request current request
+     * @return headers of the request
+     */
+    public static CaseInsensitiveHeaders of(HttpServletRequest request) {
+        Object cached = request.getAttribute(REQUEST_ATTRIBUTE);
+        if (cached instanceof CaseInsensitiveHeaders) {
+            return (CaseInsensitiveHeaders) cached;
+        }
+
+        CaseInsensitiveHeaders headers = read(request);
+        request.setAttribute(REQUEST_ATTRIBUTE, headers);
+        return headers;
+    }
+
+    private static CaseInsensitiveHeaders read(HttpServletRequest request) {
+        CaseInsensitiveHeaders headers = new CaseInsensitiveHeaders(INITIAL_CAPACITY);
+        Enumeration<String> headerNames = request.getHeaderNames();
+        if (headerNames != null) {
+            while (headerNames.hasMoreElements()) {
+                String headerName = headerNames.nextElement();
+                headers.add(headerName, request.getHeader(headerName));
+            }
+        }
+        return headers;
+    }
+
+    @Override
+    public String get(Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : values[index];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        return new AbstractSet<Map.Entry<String, String>>() {
+            @Override
+            public Iterator<Map.Entry<String, String>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private void add(String name, String value) {
+        int index = indexOf(name);
+        if (index >= 0) {
+            // Like in a case insensitive TreeMap, the first name is kept and the value is replaced
+            values[index] = value;
+            return;
+        }
+
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        names[size] = name;
+        values[size] = value;
+        size++;
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+
+        String name = (String) key;
+        for (int i = 0; i < size; i++) {
+            if (names[i].equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<String, String>> {
+        private int next;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Map.Entry<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<String, String> entry = new SimpleImmutableEntry<>(names[next], values[next]);
+            next++;
+            return entry;
+        }
+    }
+}
@@ -78,7 +78,7 @@ public class DateFieldValidator {
         try {
             // TODO: create common class with Jackson's functionality instead of two: JsonConverter and ObjectMapper.
             //  https://git.adorsys.de/adorsys/xs2a/aspsp-xs2a/issues/870
-            fieldOptional = jsonConverter.toJsonField(request.getInputStream(), fieldName, new TypeReference<String>() {
+            fieldOptional = jsonConverter.toJsonField(request, fieldName, new TypeReference<String>() {
             });
         } catch (IOException e) {
             errorBuildingService.enrichMessageError(messageError, BODY_DESERIALIZATION_ERROR);
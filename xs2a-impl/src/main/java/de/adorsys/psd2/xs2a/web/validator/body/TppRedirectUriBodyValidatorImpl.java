@@ -19,16 +19,15 @@ package de.adorsys.psd2.xs2a.web.validator.body;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import de.adorsys.psd2.xs2a.exception.MessageError;
 import de.adorsys.psd2.xs2a.service.ScaApproachResolver;
+import de.adorsys.psd2.xs2a.web.validator.CaseInsensitiveHeaders;
 import de.adorsys.psd2.xs2a.web.validator.ErrorBuildingService;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
 
 import javax.servlet.http.HttpServletRequest;
-import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import static de.adorsys.psd2.xs2a.web.validator.constants.Xs2aHeaderConstant.TPP_REDIRECT_URI;
 
@@ -45,10 +44,8 @@ public class TppRedirectUriBodyValidatorImpl implements BodyValidator {
     @Override
     public void validate(HttpServletRequest request, MessageError messageError) {
         if (isRedirectScaApproach()) {
-            String tppRedirectUriHeader = request.getHeader(TPP_REDIRECT_URI);
-            Map<String, String> headers = Collections.list(request.getHeaderNames())
-                                              .stream()
-                                              .collect(Collectors.toMap(String::toLowerCase, request::getHeader));
+            Map<String, String> headers = CaseInsensitiveHeaders.of(request);
+            String tppRedirectUriHeader = headers.get(TPP_REDIRECT_URI);
 
             if (!headers.containsKey(TPP_REDIRECT_URI)) {
                 errorBuildingService.enrichMessageError(messageError, String.format(ERROR_TEXT_ABSENT_HEADER, TPP_REDIRECT_URI));
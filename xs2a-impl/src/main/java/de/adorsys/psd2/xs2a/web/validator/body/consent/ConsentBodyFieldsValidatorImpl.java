@@ -150,7 +150,7 @@ public class ConsentBodyFieldsValidatorImpl extends AbstractBodyValidatorImpl im
     private Map<String, Object> extractConsentAccessMap(HttpServletRequest request, MessageError messageError) {
         Optional<Map<String, Object>> access = Optional.empty();
         try {
-            access = jsonConverter.toJsonField(request.getInputStream(), ACCESS_FIELD_NAME, new TypeReference<Map<String, Object>>() {
+            access = jsonConverter.toJsonField(request, ACCESS_FIELD_NAME, new TypeReference<Map<String, Object>>() {
             });
         } catch (IOException e) {
             errorBuildingService.enrichMessageError(messageError, BODY_DESERIALIZATION_ERROR);
@@ -128,7 +128,7 @@ public class PaymentBodyValidatorImpl extends AbstractBodyValidatorImpl implemen
     private List<String> extractPurposeCodes(HttpServletRequest request, MessageError messageError) {
         List<String> purposeCodes = new ArrayList<>();
         try {
-            purposeCodes.addAll(jsonConverter.toJsonGetValuesForField(request.getInputStream(), PURPOSE_CODE_FIELD_NAME));
+            purposeCodes.addAll(jsonConverter.toJsonGetValuesForField(request, PURPOSE_CODE_FIELD_NAME));
         } catch (IOException e) {
             errorBuildingService.enrichMessageError(messageError, BODY_DESERIALIZATION_ERROR);
         }
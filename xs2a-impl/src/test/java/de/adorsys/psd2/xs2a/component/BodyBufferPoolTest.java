@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.component;
+
+import de.adorsys.psd2.xs2a.component.BodyBufferPool.BodyBuffer;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class BodyBufferPoolTest {
+    @Test
+    public void release_bufferWithinMaxRetainedSize_reused() {
+        // Given
+        BodyBufferPool bodyBufferPool = new BodyBufferPool(2, 16 * 1024);
+        BodyBuffer buffer = bodyBufferPool.acquire();
+        buffer.write(new byte[10], 0, 10);
+
+        // When
+        bodyBufferPool.release(buffer);
+
+        // Then
+        assertEquals(1, bodyBufferPool.getPooledCount());
+        BodyBuffer reusedBuffer = bodyBufferPool.acquire();
+        assertSame(buffer, reusedBuffer);
+        assertEquals(0, reusedBuffer.size());
+    }
+
+    @Test
+    public void release_bufferBeyondMaxRetainedSize_dropped() {
+        // Given
+        BodyBufferPool bodyBufferPool = new BodyBufferPool(2, 16 * 1024);
+        BodyBuffer buffer = bodyBufferPool.acquire();
+        buffer.write(new byte[32 * 1024], 0, 32 * 1024);
+
+        // When
+        bodyBufferPool.release(buffer);
+
+        // Then
+        assertEquals(0, bodyBufferPool.getPooledCount());
+        assertNotSame(buffer, bodyBufferPool.acquire());
+    }
+
+    @Test
+    public void release_poolFull_bufferDropped() {
+        // Given
+        BodyBufferPool bodyBufferPool = new BodyBufferPool(1, 16 * 1024);
+        BodyBuffer firstBuffer = bodyBufferPool.acquire();
+        BodyBuffer secondBuffer = bodyBufferPool.acquire();
+
+        // When
+        bodyBufferPool.release(firstBuffer);
+        bodyBufferPool.release(secondBuffer);
+
+        // Then
+        assertEquals(1, bodyBufferPool.getPooledCount());
+    }
+
+    @Test
+    public void release_poolingDisabled_bufferDropped() {
+        // Given
+        BodyBufferPool bodyBufferPool = new BodyBufferPool(0, 16 * 1024);
+        BodyBuffer buffer = bodyBufferPool.acquire();
+
+        // When
+        bodyBufferPool.release(buffer);
+
+        // Then
+        assertEquals(0, bodyBufferPool.getPooledCount());
+        assertNotSame(buffer, bodyBufferPool.acquire());
+    }
+}
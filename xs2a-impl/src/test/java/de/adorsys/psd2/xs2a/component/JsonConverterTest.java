@@ -26,10 +26,17 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
@@ -146,4 +153,90 @@ public class JsonConverterTest {
 
         assertFalse(actualValue.isPresent());
     }
+
+    @Test
+    public void toJsonField_request_bodyParsedOnlyOnce() throws IOException {
+        // Given
+        JsonConverter converter = new JsonConverter(new ObjectMapper());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent("{\"first\": \"value 1\", \"second\": \"value 2\"}".getBytes(StandardCharsets.UTF_8));
+        TypeReference<String> typeReference = new TypeReference<String>() {
+        };
+
+        // When
+        Optional<String> first = converter.toJsonField(request, "first", typeReference);
+        request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+        Optional<String> second = converter.toJsonField(request, "second", typeReference);
+
+        // Then
+        assertEquals(Optional.of("value 1"), first);
+        assertEquals(Optional.of("value 2"), second);
+    }
+
+    @Test
+    public void toJsonField_request_invalidJson() throws IOException {
+        // Given
+        JsonConverter converter = new JsonConverter(new ObjectMapper());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent("{invalid".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        Optional<String> actualValue = converter.toJsonField(request, "field", new TypeReference<String>() {
+        });
+
+        // Then
+        assertFalse(actualValue.isPresent());
+        assertFalse(converter.toJsonTree(request).isPresent());
+    }
+
+    @Test
+    public void toJsonGetValuesForField_request() throws IOException {
+        // Given
+        JsonConverter converter = new JsonConverter(new ObjectMapper());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent("{\"payments\": [{\"purposeCode\": \"BKDF\"}, {\"purposeCode\": \"CASH\"}]}".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        assertEquals(Arrays.asList("BKDF", "CASH"), converter.toJsonGetValuesForField(request, "purposeCode"));
+    }
+
+    @Test
+    public void isJsonLongerThan() {
+        // Given
+        JsonConverter converter = new JsonConverter(new ObjectMapper());
+        Map<String, String> object = Collections.singletonMap("field", "value");
+        int jsonLength = "{\"field\":\"value\"}".length();
+
+        // Then
+        assertTrue(converter.isJsonLongerThan(object, jsonLength - 1));
+        assertFalse(converter.isJsonLongerThan(object, jsonLength));
+    }
+
+    @Test
+    public void isJsonLongerThan_serialisationStoppedAtLimit() {
+        // Given
+        JsonConverter converter = new JsonConverter(new ObjectMapper());
+        AtomicInteger serialisedElements = new AtomicInteger();
+        List<CountedElement> elements = Collections.nCopies(100_000, new CountedElement(serialisedElements));
+
+        // When
+        boolean longerThanLimit = converter.isJsonLongerThan(elements, 10_000);
+
+        // Then
+        assertTrue(longerThanLimit);
+        assertTrue(serialisedElements.get() < 10_000);
+    }
+
+    private static class CountedElement {
+        private final AtomicInteger counter;
+
+        private CountedElement(AtomicInteger counter) {
+            this.counter = counter;
+        }
+
+        public String getValue() {
+            counter.incrementAndGet();
+            return "element";
+        }
+    }
 }
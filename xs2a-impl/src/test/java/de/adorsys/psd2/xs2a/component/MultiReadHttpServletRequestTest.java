@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.component;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MultiReadHttpServletRequestTest {
+    private static final String BODY = "{\"instructedAmount\":{\"currency\":\"EUR\",\"amount\":\"1000.00\"}}";
+
+    private BodyBufferPool bodyBufferPool = new BodyBufferPool(1, 1024);
+
+    @Test
+    public void getInputStream_readSeveralTimes_sameBodyReturned() throws IOException {
+        // Given
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(buildRequest(null), bodyBufferPool);
+
+        // When
+        String first = IOUtils.toString(request.getInputStream(), StandardCharsets.UTF_8);
+        String second = IOUtils.toString(request.getReader());
+
+        // Then
+        assertEquals(BODY, first);
+        assertEquals(BODY, second);
+        assertEquals(BODY, request.getBodyAsString());
+        assertTrue(request.getInputStream().available() > 0);
+    }
+
+    @Test
+    public void getBodyDigest_sha256DigestHeader_hashOfBodyReturned() throws IOException, NoSuchAlgorithmException {
+        // Given
+        byte[] expected = MessageDigest.getInstance("SHA-256").digest(BODY.getBytes(StandardCharsets.UTF_8));
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(buildRequest(toHex(expected)), bodyBufferPool);
+
+        // When
+        Optional<byte[]> bodyDigest = request.getBodyDigest();
+
+        // Then
+        assertTrue(bodyDigest.isPresent());
+        assertArrayEquals(expected, bodyDigest.get());
+    }
+
+    @Test
+    public void getBodyDigest_sha512DigestHeader_hashOfBodyReturned() throws IOException, NoSuchAlgorithmException {
+        // Given
+        byte[] expected = MessageDigest.getInstance("SHA-512").digest(BODY.getBytes(StandardCharsets.UTF_8));
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(buildRequest(toHex(expected)), bodyBufferPool);
+
+        // When
+        Optional<byte[]> bodyDigest = request.getBodyDigest();
+
+        // Then
+        assertTrue(bodyDigest.isPresent());
+        assertArrayEquals(expected, bodyDigest.get());
+    }
+
+    @Test
+    public void getBodyDigest_noDigestHeader_empty() throws IOException {
+        // Given
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(buildRequest(null), bodyBufferPool);
+
+        // When
+        Optional<byte[]> bodyDigest = request.getBodyDigest();
+
+        // Then
+        assertFalse(bodyDigest.isPresent());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getInputStream_afterRelease_exception() throws IOException {
+        // Given
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(buildRequest(null), bodyBufferPool);
+        request.getInputStream();
+
+        // When
+        request.release();
+        request.getInputStream();
+    }
+
+    @Test
+    public void getInputStream_bufferReleasedByPreviousRequest_onlyOwnBodyReturned() throws IOException {
+        // Given
+        MultiReadHttpServletRequest previousRequest = new MultiReadHttpServletRequest(buildRequest(null), bodyBufferPool);
+        previousRequest.getInputStream();
+        previousRequest.release();
+
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest();
+        mockRequest.setContent("{}".getBytes(StandardCharsets.UTF_8));
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(mockRequest, bodyBufferPool);
+
+        // When
+        String body = IOUtils.toString(request.getInputStream(), StandardCharsets.UTF_8);
+
+        // Then
+        assertEquals("{}", body);
+    }
+
+    private MockHttpServletRequest buildRequest(String digest) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        if (digest != null) {
+            request.addHeader("Digest", digest);
+        }
+        return request;
+    }
+
+    private String toHex(byte[] bytes) {
+        return String.format("%0" + bytes.length * 2 + "x", new BigInteger(1, bytes));
+    }
+}
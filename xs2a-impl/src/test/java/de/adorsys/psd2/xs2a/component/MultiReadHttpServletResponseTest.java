@@ -17,21 +17,19 @@
 package de.adorsys.psd2.xs2a.component;
 
 import org.junit.Test;
-import org.junit.runner.RunWith;
-import org.mockito.Mock;
-import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.web.MockHttpServletResponse;
 
-import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
-@RunWith(MockitoJUnitRunner.class)
 public class MultiReadHttpServletResponseTest {
     private static final String CONTENT = "some string";
 
-    @Mock
-    private HttpServletResponse response;
+    private MockHttpServletResponse response = new MockHttpServletResponse();
 
     @Test
     public void getCachedContent_shouldReturnContentFromOutputStream() throws IOException {
@@ -58,4 +56,47 @@ public class MultiReadHttpServletResponseTest {
         // Then
         assertArrayEquals(CONTENT.getBytes(), cachedContent);
     }
+
+    @Test
+    public void getOutputStream_contentWrittenThroughToResponse() throws IOException {
+        // Given
+        MultiReadHttpServletResponse multiReadHttpServletResponse = new MultiReadHttpServletResponse(response);
+
+        // When
+        multiReadHttpServletResponse.getOutputStream().write(CONTENT.getBytes());
+
+        // Then
+        assertEquals(CONTENT, response.getContentAsString());
+    }
+
+    @Test
+    public void getCachedContent_contentExceedsCaptureLimit_truncated() throws IOException {
+        // Given
+        MultiReadHttpServletResponse multiReadHttpServletResponse = new MultiReadHttpServletResponse(response, 4);
+        multiReadHttpServletResponse.getOutputStream().write(CONTENT.getBytes());
+        multiReadHttpServletResponse.getOutputStream().write('!');
+
+        // When
+        byte[] cachedContent = multiReadHttpServletResponse.getCachedContent();
+
+        // Then
+        assertArrayEquals("some".getBytes(), cachedContent);
+        assertTrue(multiReadHttpServletResponse.isTruncated());
+        assertEquals(CONTENT + "!", response.getContentAsString());
+    }
+
+    @Test
+    public void getCachedContent_captureDisabled_nothingCaptured() throws IOException {
+        // Given
+        MultiReadHttpServletResponse multiReadHttpServletResponse = new MultiReadHttpServletResponse(response, 0);
+        multiReadHttpServletResponse.getWriter().write(CONTENT);
+
+        // When
+        byte[] cachedContent = multiReadHttpServletResponse.getCachedContent();
+
+        // Then
+        assertEquals(0, cachedContent.length);
+        assertFalse(multiReadHttpServletResponse.isCaptureEnabled());
+        assertEquals(CONTENT, response.getContentAsString());
+    }
 }
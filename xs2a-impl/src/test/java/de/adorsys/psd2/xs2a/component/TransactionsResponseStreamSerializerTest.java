@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.adorsys.psd2.model.TransactionDetails;
+import de.adorsys.psd2.xs2a.domain.HrefType;
+import de.adorsys.psd2.xs2a.web.stream.TransactionsResponseStream;
+import org.junit.Test;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TransactionsResponseStreamSerializerTest {
+    private static final String BOOKED_TRANSACTION_ID = "booked transaction id";
+    private static final String PENDING_TRANSACTION_ID = "pending transaction id";
+    private static final String DOWNLOAD_LINK = "http://localhost/v1/accounts/11111-999999999/transactions";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void serialize_sameShapeAsTransactionsResponse() throws Exception {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        TransactionsResponseStream response = new TransactionsResponseStream(null,
+                                                                             Stream.of(buildTransaction(BOOKED_TRANSACTION_ID)),
+                                                                             Stream.of(buildTransaction(PENDING_TRANSACTION_ID)),
+                                                                             Collections.singletonMap("account", new HrefType(DOWNLOAD_LINK)),
+                                                                             null, null, (Closeable) () -> closed.set(true));
+
+        // When
+        JsonNode actual = objectMapper.readTree(objectMapper.writeValueAsString(response));
+
+        // Then
+        assertThat(actual.has("account")).isFalse();
+        assertThat(actual.has("balances")).isFalse();
+        assertThat(actual.path("transactions").path("booked").size()).isEqualTo(1);
+        assertThat(actual.path("transactions").path("booked").get(0).path("transactionId").asText()).isEqualTo(BOOKED_TRANSACTION_ID);
+        assertThat(actual.path("transactions").path("pending").get(0).path("transactionId").asText()).isEqualTo(PENDING_TRANSACTION_ID);
+        assertThat(actual.path("transactions").path("_links").path("account").path("href").asText()).isEqualTo(DOWNLOAD_LINK);
+        assertThat(closed.get()).isTrue();
+    }
+
+    @Test
+    public void serialize_noPendingTransactions_pendingSkippedAndStreamClosed() throws Exception {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<TransactionDetails> booked = Stream.of(0, 1, 2)
+                                                .map(i -> buildTransaction(BOOKED_TRANSACTION_ID + i))
+                                                .onClose(() -> closed.set(true));
+        TransactionsResponseStream response = new TransactionsResponseStream(null, booked, null, null, null, null, booked::close);
+
+        // When
+        JsonNode actual = objectMapper.readTree(objectMapper.writeValueAsString(response));
+
+        // Then
+        assertThat(actual.path("transactions").path("booked").size()).isEqualTo(3);
+        assertThat(actual.path("transactions").has("pending")).isFalse();
+        assertThat(actual.path("transactions").has("_links")).isFalse();
+        assertThat(closed.get()).isTrue();
+    }
+
+    private TransactionDetails buildTransaction(String transactionId) {
+        TransactionDetails transactionDetails = new TransactionDetails();
+        transactionDetails.setTransactionId(transactionId);
+        return transactionDetails;
+    }
+}
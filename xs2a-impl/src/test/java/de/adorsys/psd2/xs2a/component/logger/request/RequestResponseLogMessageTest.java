@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.xs2a.component.logger.request;
 
+import de.adorsys.psd2.xs2a.component.BodyBufferPool;
 import de.adorsys.psd2.xs2a.component.MultiReadHttpServletRequest;
 import de.adorsys.psd2.xs2a.component.MultiReadHttpServletResponse;
 import de.adorsys.psd2.xs2a.util.reader.JsonReader;
@@ -56,6 +57,7 @@ public class RequestResponseLogMessageTest {
 
     private MockHttpServletRequest request = new MockHttpServletRequest();
     private MockHttpServletResponse response = new MockHttpServletResponse();
+    private BodyBufferPool bodyBufferPool = new BodyBufferPool(1, 1024);
 
     @Test
     public void withInternalRequestId_shouldAddInternalRequestId() {
@@ -163,7 +165,7 @@ public class RequestResponseLogMessageTest {
         byte[] jsonPayload = jsonReader.getBytesFromFile(REQUEST_BODY_JSON_PATH);
         request.setContent(jsonPayload);
         request.setContentType(JSON_CONTENT_TYPE);
-        MultiReadHttpServletRequest multiReadRequest = new MultiReadHttpServletRequest(request);
+        MultiReadHttpServletRequest multiReadRequest = new MultiReadHttpServletRequest(request, bodyBufferPool);
 
         String expectedMessage = String.format(REQUEST_PAYLOAD_JSON_MESSAGE_FORMAT, new String(jsonPayload));
 
@@ -218,7 +220,7 @@ public class RequestResponseLogMessageTest {
     @Test
     public void withRequestPayload_withoutPayloadInRequest_shouldAddEmptyPayload() {
         // Given
-        MultiReadHttpServletRequest multiReadRequest = new MultiReadHttpServletRequest(request);
+        MultiReadHttpServletRequest multiReadRequest = new MultiReadHttpServletRequest(request, bodyBufferPool);
 
         String expectedMessage = String.format(REQUEST_PAYLOAD_JSON_MESSAGE_FORMAT, "");
 
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.component.logger.request;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RequestResponseLogQueueTest {
+    private static final int QUEUE_CAPACITY = 10;
+
+    @Mock
+    private RequestResponseLogger requestResponseLogger;
+
+    private RequestResponseLogQueue logQueue;
+
+    @After
+    public void tearDown() {
+        logQueue.stop();
+    }
+
+    @Test
+    public void offer_disabled_notAccepted() {
+        // Given
+        logQueue = new RequestResponseLogQueue(requestResponseLogger, false, QUEUE_CAPACITY, RequestResponseLogQueue.OverflowPolicy.DROP, 1.0);
+        logQueue.start();
+
+        // When
+        boolean accepted = logQueue.offer(buildEntry());
+
+        // Then
+        assertThat(accepted).isFalse();
+        verifyZeroInteractions(requestResponseLogger);
+    }
+
+    @Test
+    public void offer_enabled_entriesWrittenByWorker() {
+        // Given
+        logQueue = new RequestResponseLogQueue(requestResponseLogger, true, QUEUE_CAPACITY, RequestResponseLogQueue.OverflowPolicy.DROP, 1.0);
+        logQueue.start();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertThat(logQueue.offer(buildEntry())).isTrue();
+        }
+        logQueue.stop();
+
+        // Then
+        verify(requestResponseLogger, times(5)).logEntry(any(RequestResponseLogEntry.class));
+        assertThat(logQueue.getWrittenCount()).isEqualTo(5);
+        assertThat(logQueue.getQueueDepth()).isZero();
+        assertThat(logQueue.getMaxQueueLagMs()).isGreaterThanOrEqualTo(logQueue.getAverageQueueLagMs());
+    }
+
+    @Test
+    public void offer_afterStop_notAccepted() {
+        // Given
+        logQueue = new RequestResponseLogQueue(requestResponseLogger, true, QUEUE_CAPACITY, RequestResponseLogQueue.OverflowPolicy.DROP, 1.0);
+        logQueue.start();
+        logQueue.stop();
+
+        // When
+        boolean accepted = logQueue.offer(buildEntry());
+
+        // Then
+        assertThat(accepted).isFalse();
+    }
+
+    @Test
+    public void write_loggingFailed_failedEntriesCounted() {
+        // Given
+        doThrow(new IllegalStateException("Appender failed")).when(requestResponseLogger).logEntry(any(RequestResponseLogEntry.class));
+        logQueue = new RequestResponseLogQueue(requestResponseLogger, true, QUEUE_CAPACITY, RequestResponseLogQueue.OverflowPolicy.DROP, 1.0);
+        logQueue.start();
+
+        // When
+        logQueue.offer(buildEntry());
+        logQueue.stop();
+
+        // Then
+        assertThat(logQueue.getFailedCount()).isEqualTo(1);
+        assertThat(logQueue.getWrittenCount()).isZero();
+    }
+
+    @Test
+    public void offer_queueFull_overflowPolicyApplied() throws InterruptedException {
+        // Given
+        logQueue = new RequestResponseLogQueue(requestResponseLogger, true, 1, RequestResponseLogQueue.OverflowPolicy.DROP, 1.0);
+        CountDownLatch writeAllowed = blockWorker();
+
+        // When
+        boolean accepted = logQueue.offer(buildEntry());
+        writeAllowed.countDown();
+
+        // Then
+        assertThat(accepted).isTrue();
+        assertThat(logQueue.getDroppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void offer_queueFullWithSynchronousPolicy_notAccepted() throws InterruptedException {
+        // Given
+        logQueue = new RequestResponseLogQueue(requestResponseLogger, true, 1, RequestResponseLogQueue.OverflowPolicy.SYNCHRONOUS, 1.0);
+        CountDownLatch writeAllowed = blockWorker();
+
+        // When
+        boolean accepted = logQueue.offer(buildEntry());
+        writeAllowed.countDown();
+
+        // Then
+        assertThat(accepted).isFalse();
+        assertThat(logQueue.getDroppedCount()).isZero();
+    }
+
+    @Test
+    public void isSampled_zeroSampleRate_sampledOutRequestsCounted() {
+        // Given
+        logQueue = new RequestResponseLogQueue(requestResponseLogger, true, QUEUE_CAPACITY, RequestResponseLogQueue.OverflowPolicy.DROP, 0.0);
+
+        // When
+        boolean sampled = logQueue.isSampled();
+
+        // Then
+        assertThat(sampled).isFalse();
+        assertThat(logQueue.getSampledOutCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void isSampled_fullSampleRate_allRequestsSampled() {
+        // Given
+        logQueue = new RequestResponseLogQueue(requestResponseLogger, true, QUEUE_CAPACITY, RequestResponseLogQueue.OverflowPolicy.DROP, 1.0);
+
+        // When
+        boolean sampled = logQueue.isSampled();
+
+        // Then
+        assertThat(sampled).isTrue();
+        assertThat(logQueue.getSampledOutCount()).isZero();
+    }
+
+    private CountDownLatch blockWorker() throws InterruptedException {
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch writeAllowed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writeStarted.countDown();
+            writeAllowed.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(requestResponseLogger).logEntry(any(RequestResponseLogEntry.class));
+        logQueue.start();
+        logQueue.offer(buildEntry());
+        assertThat(writeStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        logQueue.offer(buildEntry());
+        return writeAllowed;
+    }
+
+    private RequestResponseLogEntry buildEntry() {
+        return RequestResponseLogEntry.capture(new MockHttpServletRequest(), new MockHttpServletResponse(), null);
+    }
+}
@@ -22,6 +22,10 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.slf4j.Logger;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.UUID;
 
 import static org.mockito.Mockito.verify;
 
@@ -46,4 +50,20 @@ public class RequestResponseLoggerTest {
         // Then
         verify(logger).info(MESSAGE);
     }
+
+    @Test
+    public void logEntry_shouldWriteFormattedEntryToLogger() {
+        // Given
+        RequestResponseLogger requestResponseLogger = new MockRequestResponseLogger(logger);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/accounts");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(200);
+        RequestResponseLogEntry entry = RequestResponseLogEntry.capture(request, response, UUID.fromString("b87028ad-6925-41fa-b892-88912606a2f4"));
+
+        // When
+        requestResponseLogger.logEntry(entry);
+
+        // Then
+        verify(logger).info("internalRequestId: [b87028ad-6925-41fa-b892-88912606a2f4], uri: [/v1/accounts], requestHeaders: [], responseStatus: [200], responseHeaders: []");
+    }
 }
@@ -67,9 +67,12 @@ import org.springframework.http.MediaType;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static de.adorsys.psd2.xs2a.domain.TppMessageInformation.of;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
@@ -692,6 +695,158 @@ public class AccountServiceTest {
         assertThat(CollectionUtils.isEqualCollection(body.getBalances(), Collections.emptyList())).isTrue();
     }
 
+    @Test
+    public void getTransactionsReportByPeriod_transactionStreamSupported_Success() {
+        // Given
+        doNothing().when(validatorService).validateAccountIdPeriod(ACCOUNT_ID, DATE_FROM, DATE_TO);
+
+        when(aspspProfileService.isTransactionsWithoutBalancesSupported())
+            .thenReturn(true);
+
+        SpiTransactionReportStream spiTransactionReportStream = new SpiTransactionReportStream(Stream.empty(), Stream.empty(), null, Collections.emptyList(), MediaType.APPLICATION_JSON_VALUE);
+
+        when(accountSpi.isTransactionStreamSupported())
+            .thenReturn(true);
+
+        when(accountSpi.requestTransactionStreamForAccount(SPI_CONTEXT_DATA, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, SPI_ACCOUNT_REFERENCE, SPI_ACCOUNT_CONSENT, spiAspspConsentDataProviderFactory.getSpiAspspDataProviderFor(CONSENT_ID)))
+            .thenReturn(buildSuccessSpiResponse(spiTransactionReportStream));
+
+        Xs2aAccountReportStream xs2aAccountReportStream = new Xs2aAccountReportStream(Stream.empty(), Stream.empty(), null);
+
+        when(transactionsToAccountReportMapper.mapToXs2aAccountReportStream(spiTransactionReportStream))
+            .thenReturn(xs2aAccountReportStream);
+
+        when(referenceMapper.mapToXs2aAccountReference(SPI_ACCOUNT_REFERENCE))
+            .thenReturn(XS2A_ACCOUNT_REFERENCE);
+
+        when(xs2aToSpiAccountReferenceMapper.mapToSpiAccountReference(XS2A_ACCOUNT_REFERENCE))
+            .thenReturn(SPI_ACCOUNT_REFERENCE);
+
+        when(balanceMapper.mapToXs2aBalanceList(Collections.emptyList()))
+            .thenReturn(Collections.emptyList());
+
+        when(consentMapper.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+
+        // When
+        ResponseObject<Xs2aTransactionsReport> actualResponse = accountService.getTransactionsReportByPeriod(XS2A_TRANSACTIONS_REPORT_BY_PERIOD_REQUEST);
+
+        // Then
+        assertThat(actualResponse).isNotNull();
+        assertThat(actualResponse.hasError()).isFalse();
+
+        Xs2aTransactionsReport body = actualResponse.getBody();
+
+        assertThat(body).isNotNull();
+        assertThat(body.isStreamed()).isTrue();
+        assertThat(body.getAccountReportStream()).isEqualTo(xs2aAccountReportStream);
+        assertThat(body.getAccountReport()).isNull();
+        assertThat(body.getAccountReference()).isEqualTo(XS2A_ACCOUNT_REFERENCE);
+        verify(accountSpi, never()).requestTransactionsForAccount(any(), any(), anyBoolean(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void getTransactionsReportByPeriod_transactionStreamSupported_payloadNull_spiError() {
+        // Given
+        doNothing().when(validatorService).validateAccountIdPeriod(ACCOUNT_ID, DATE_FROM, DATE_TO);
+
+        when(aspspProfileService.isTransactionsWithoutBalancesSupported())
+            .thenReturn(true);
+
+        when(accountSpi.isTransactionStreamSupported())
+            .thenReturn(true);
+
+        when(accountSpi.requestTransactionStreamForAccount(SPI_CONTEXT_DATA, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, SPI_ACCOUNT_REFERENCE, SPI_ACCOUNT_CONSENT, spiAspspConsentDataProviderFactory.getSpiAspspDataProviderFor(CONSENT_ID)))
+            .thenReturn(buildSuccessSpiResponse(null));
+
+        when(spiErrorMapper.mapToErrorHolder(buildSuccessSpiResponse(null), ServiceType.AIS))
+            .thenReturn(ErrorHolder.builder(MessageErrorCode.INTERNAL_SERVER_ERROR).errorType(ErrorType.AIS_500).build());
+
+        when(xs2aToSpiAccountReferenceMapper.mapToSpiAccountReference(XS2A_ACCOUNT_REFERENCE))
+            .thenReturn(SPI_ACCOUNT_REFERENCE);
+
+        when(consentMapper.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+
+        // When
+        ResponseObject<Xs2aTransactionsReport> actualResponse = accountService.getTransactionsReportByPeriod(XS2A_TRANSACTIONS_REPORT_BY_PERIOD_REQUEST);
+
+        // Then
+        assertThat(actualResponse.hasError()).isTrue();
+        assertThat(actualResponse.getError().getTppMessage().getMessageErrorCode()).isEqualTo(MessageErrorCode.INTERNAL_SERVER_ERROR);
+        verify(transactionsToAccountReportMapper, never()).mapToXs2aAccountReportStream(any());
+    }
+
+    @Test
+    public void getTransactionsReportByPeriod_transactionStreamSupported_spiResponseHasError_streamClosed() {
+        // Given
+        doNothing().when(validatorService).validateAccountIdPeriod(ACCOUNT_ID, DATE_FROM, DATE_TO);
+
+        when(aspspProfileService.isTransactionsWithoutBalancesSupported())
+            .thenReturn(true);
+
+        AtomicBoolean closed = new AtomicBoolean();
+        SpiTransactionReportStream spiTransactionReportStream = new SpiTransactionReportStream(Stream.<SpiTransaction>empty().onClose(() -> closed.set(true)), null, null, Collections.emptyList(), MediaType.APPLICATION_JSON_VALUE);
+
+        when(accountSpi.isTransactionStreamSupported())
+            .thenReturn(true);
+
+        when(accountSpi.requestTransactionStreamForAccount(SPI_CONTEXT_DATA, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, SPI_ACCOUNT_REFERENCE, SPI_ACCOUNT_CONSENT, spiAspspConsentDataProviderFactory.getSpiAspspDataProviderFor(CONSENT_ID)))
+            .thenReturn(buildErrorSpiResponse(spiTransactionReportStream));
+
+        when(spiErrorMapper.mapToErrorHolder(buildErrorSpiResponse(spiTransactionReportStream), ServiceType.AIS))
+            .thenReturn(ErrorHolder.builder(FORMAT_ERROR_CODE).errorType(ErrorType.AIS_400).build());
+
+        when(xs2aToSpiAccountReferenceMapper.mapToSpiAccountReference(XS2A_ACCOUNT_REFERENCE))
+            .thenReturn(SPI_ACCOUNT_REFERENCE);
+
+        when(consentMapper.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+
+        // When
+        ResponseObject<Xs2aTransactionsReport> actualResponse = accountService.getTransactionsReportByPeriod(XS2A_TRANSACTIONS_REPORT_BY_PERIOD_REQUEST);
+
+        // Then
+        assertThat(actualResponse.hasError()).isTrue();
+        assertThat(actualResponse.getError().getTppMessage().getMessageErrorCode()).isEqualTo(FORMAT_ERROR_CODE);
+        assertThat(closed.get()).isTrue();
+    }
+
+    @Test
+    public void getTransactionsReportByPeriod_transactionStreamSupported_mappingFailed_streamClosed() {
+        // Given
+        doNothing().when(validatorService).validateAccountIdPeriod(ACCOUNT_ID, DATE_FROM, DATE_TO);
+
+        when(aspspProfileService.isTransactionsWithoutBalancesSupported())
+            .thenReturn(true);
+
+        AtomicBoolean closed = new AtomicBoolean();
+        SpiTransactionReportStream spiTransactionReportStream = new SpiTransactionReportStream(Stream.<SpiTransaction>empty().onClose(() -> closed.set(true)), null, null, Collections.emptyList(), MediaType.APPLICATION_JSON_VALUE);
+
+        when(accountSpi.isTransactionStreamSupported())
+            .thenReturn(true);
+
+        when(accountSpi.requestTransactionStreamForAccount(SPI_CONTEXT_DATA, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, SPI_ACCOUNT_REFERENCE, SPI_ACCOUNT_CONSENT, spiAspspConsentDataProviderFactory.getSpiAspspDataProviderFor(CONSENT_ID)))
+            .thenReturn(buildSuccessSpiResponse(spiTransactionReportStream));
+
+        when(transactionsToAccountReportMapper.mapToXs2aAccountReportStream(spiTransactionReportStream))
+            .thenThrow(new IllegalStateException("mapping failed"));
+
+        when(xs2aToSpiAccountReferenceMapper.mapToSpiAccountReference(XS2A_ACCOUNT_REFERENCE))
+            .thenReturn(SPI_ACCOUNT_REFERENCE);
+
+        when(consentMapper.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+
+        // When
+        Throwable thrown = catchThrowable(() -> accountService.getTransactionsReportByPeriod(XS2A_TRANSACTIONS_REPORT_BY_PERIOD_REQUEST));
+
+        // Then
+        assertThat(thrown).isInstanceOf(IllegalStateException.class);
+        assertThat(closed.get()).isTrue();
+        verify(aisConsentService, never()).consentActionLog(any(), any(), any(), any(), anyBoolean());
+    }
+
     @Test
     public void getTransactionsReportByPeriod_WhenConsentIsGlobal_Success() {
         // Given
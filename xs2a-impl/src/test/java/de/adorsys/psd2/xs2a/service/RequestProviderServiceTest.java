@@ -19,6 +19,7 @@ package de.adorsys.psd2.xs2a.service;
 import com.fasterxml.jackson.core.type.TypeReference;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import de.adorsys.psd2.xs2a.domain.RequestData;
+import de.adorsys.psd2.xs2a.domain.RequestDataHolder;
 import de.adorsys.psd2.xs2a.util.reader.JsonReader;
 import de.adorsys.psd2.xs2a.web.validator.constants.Xs2aHeaderConstant;
 import org.junit.Before;
@@ -26,6 +27,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import javax.servlet.http.HttpServletRequest;
@@ -34,6 +36,7 @@ import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -53,6 +56,8 @@ public class RequestProviderServiceTest {
     private HttpServletRequest httpServletRequest;
     @Mock
     private InternalRequestIdService internalRequestIdService;
+    @Spy
+    private RequestDataHolder requestDataHolder = new RequestDataHolder();
 
     @Before
     public void setUp() {
@@ -78,6 +83,26 @@ public class RequestProviderServiceTest {
         assertEquals(INTERNAL_REQUEST_ID, requestData.getInternalRequestId());
     }
 
+    @Test
+    public void getRequestData_calledTwice_requestReadOnce() {
+        //Given
+        RequestData firstRequestData = requestProviderService.getRequestData();
+        //When
+        RequestData secondRequestData = requestProviderService.getRequestData();
+        UUID requestId = requestProviderService.getRequestId();
+        //Then
+        assertSame(firstRequestData, secondRequestData);
+        assertEquals(firstRequestData.getRequestId(), requestId);
+        verify(httpServletRequest, times(1)).getHeaderNames();
+        verify(internalRequestIdService, times(1)).getInternalRequestId();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getRequestData_headersImmutable() {
+        //When
+        requestProviderService.getRequestData().getHeaders().put("x-request-id", null);
+    }
+
     @Test
     public void getPsuIpAddress() {
         //Given
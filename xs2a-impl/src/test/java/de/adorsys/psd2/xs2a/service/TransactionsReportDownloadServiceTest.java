@@ -0,0 +1,248 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.adorsys.psd2.consent.api.ActionStatus;
+import de.adorsys.psd2.event.core.model.EventType;
+import de.adorsys.psd2.model.TransactionsResponse200Json;
+import de.adorsys.psd2.xs2a.domain.TppMessageInformation;
+import de.adorsys.psd2.xs2a.domain.ResponseObject;
+import de.adorsys.psd2.xs2a.domain.account.Xs2aAccountReport;
+import de.adorsys.psd2.xs2a.domain.account.Xs2aTransactionsReport;
+import de.adorsys.psd2.xs2a.domain.account.Xs2aTransactionsReportByPeriodRequest;
+import de.adorsys.psd2.xs2a.domain.consent.AccountConsent;
+import de.adorsys.psd2.xs2a.exception.MessageError;
+import de.adorsys.psd2.xs2a.service.consent.Xs2aAisConsentService;
+import de.adorsys.psd2.xs2a.service.download.SpooledTransactionsReport;
+import de.adorsys.psd2.xs2a.service.download.TransactionsReportSpool;
+import de.adorsys.psd2.xs2a.service.event.Xs2aEventService;
+import de.adorsys.psd2.xs2a.service.mapper.AccountModelMapper;
+import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorType;
+import de.adorsys.psd2.xs2a.service.validator.ValidationResult;
+import de.adorsys.psd2.xs2a.service.validator.ais.account.DownloadTransactionsReportValidator;
+import de.adorsys.psd2.xs2a.service.validator.ais.account.dto.CommonAccountTransactionsRequestObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Optional;
+
+import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TransactionsReportDownloadServiceTest {
+    private static final String CONSENT_ID = "consent ID";
+    private static final String ACCOUNT_ID = "account ID";
+    private static final String DOWNLOAD_ID = "download ID";
+    private static final String REQUEST_URI = "/v1/accounts/account ID/transactions/download/download ID";
+    private static final String TPP_ID = "Test TppId";
+    private static final String TEXT_PLAIN = "text/plain";
+    private static final String APPLICATION_JSON = "application/json";
+    private static final byte[] TRANSACTIONS_RAW = "raw transactions".getBytes();
+
+    @Mock
+    private TransactionsReportSpool transactionsReportSpool;
+    @Mock
+    private AccountModelMapper accountModelMapper;
+    @Mock
+    private RequestProviderService requestProviderService;
+    @Mock
+    private Xs2aAisConsentService aisConsentService;
+    @Mock
+    private Xs2aEventService xs2aEventService;
+    @Mock
+    private TppService tppService;
+    @Mock
+    private DownloadTransactionsReportValidator downloadTransactionsReportValidator;
+    @Mock
+    private AccountConsent accountConsent;
+
+    private ObjectMapper objectMapper = new ObjectMapper();
+    private Xs2aTransactionsReportByPeriodRequest request;
+    private TransactionsReportDownloadService transactionsReportDownloadService;
+
+    @Before
+    public void setUp() {
+        request = new Xs2aTransactionsReportByPeriodRequest(CONSENT_ID, ACCOUNT_ID, TEXT_PLAIN, false, null, null, null, null, null, null);
+        transactionsReportDownloadService = new TransactionsReportDownloadService(transactionsReportSpool, accountModelMapper, objectMapper, requestProviderService,
+                                                                                  aisConsentService, xs2aEventService, tppService, downloadTransactionsReportValidator, true);
+    }
+
+    @Test
+    public void spoolTransactionsReport_rawReport_spooledInOriginalContentType() throws IOException {
+        // Given
+        Xs2aTransactionsReport transactionsReport = buildTransactionsReport(new Xs2aAccountReport(null, null, TRANSACTIONS_RAW), TEXT_PLAIN);
+        when(transactionsReportSpool.spool(eq(CONSENT_ID), eq(ACCOUNT_ID), eq(TEXT_PLAIN), any())).thenReturn(DOWNLOAD_ID);
+
+        // When
+        Optional<String> downloadId = transactionsReportDownloadService.spoolTransactionsReport(request, transactionsReport);
+
+        // Then
+        assertThat(downloadId).isEqualTo(Optional.of(DOWNLOAD_ID));
+        assertThat(writeSpooledContent(TEXT_PLAIN)).isEqualTo(TRANSACTIONS_RAW);
+        verifyZeroInteractions(accountModelMapper);
+    }
+
+    @Test
+    public void spoolTransactionsReport_jsonReport_spooledAsMappedResponse() throws IOException {
+        // Given
+        Xs2aTransactionsReport transactionsReport = buildTransactionsReport(new Xs2aAccountReport(Collections.emptyList(), Collections.emptyList(), null), null);
+        TransactionsResponse200Json response = new TransactionsResponse200Json();
+        when(accountModelMapper.mapToTransactionsResponse200Json(transactionsReport)).thenReturn(response);
+        when(transactionsReportSpool.spool(eq(CONSENT_ID), eq(ACCOUNT_ID), eq(APPLICATION_JSON), any())).thenReturn(DOWNLOAD_ID);
+
+        // When
+        Optional<String> downloadId = transactionsReportDownloadService.spoolTransactionsReport(request, transactionsReport);
+
+        // Then
+        assertThat(downloadId).isEqualTo(Optional.of(DOWNLOAD_ID));
+        assertThat(writeSpooledContent(APPLICATION_JSON)).isEqualTo(objectMapper.writeValueAsBytes(response));
+    }
+
+    @Test
+    public void spoolTransactionsReport_spoolFailed_empty() throws IOException {
+        // Given
+        Xs2aTransactionsReport transactionsReport = buildTransactionsReport(new Xs2aAccountReport(null, null, TRANSACTIONS_RAW), TEXT_PLAIN);
+        when(transactionsReportSpool.spool(any(), any(), any(), any())).thenThrow(new IOException("No space left on device"));
+
+        // When
+        Optional<String> downloadId = transactionsReportDownloadService.spoolTransactionsReport(request, transactionsReport);
+
+        // Then
+        assertFalse(downloadId.isPresent());
+    }
+
+    @Test
+    public void spoolTransactionsReport_disabled_empty() {
+        // Given
+        transactionsReportDownloadService = new TransactionsReportDownloadService(transactionsReportSpool, accountModelMapper, objectMapper, requestProviderService,
+                                                                                  aisConsentService, xs2aEventService, tppService, downloadTransactionsReportValidator, false);
+        Xs2aTransactionsReport transactionsReport = buildTransactionsReport(new Xs2aAccountReport(null, null, TRANSACTIONS_RAW), TEXT_PLAIN);
+
+        // When
+        Optional<String> downloadId = transactionsReportDownloadService.spoolTransactionsReport(request, transactionsReport);
+
+        // Then
+        assertFalse(downloadId.isPresent());
+        verifyZeroInteractions(transactionsReportSpool);
+    }
+
+    @Test
+    public void getTransactionsReportDownload_success() {
+        // Given
+        SpooledTransactionsReport spooledReport = new SpooledTransactionsReport(DOWNLOAD_ID, CONSENT_ID, ACCOUNT_ID, TEXT_PLAIN, Paths.get("transactions.spool"), 16, 0);
+        givenValidConsent();
+        when(transactionsReportSpool.getReport(CONSENT_ID, ACCOUNT_ID, DOWNLOAD_ID)).thenReturn(Optional.of(spooledReport));
+        when(tppService.getTppId()).thenReturn(TPP_ID);
+        when(requestProviderService.isRequestFromTPP()).thenReturn(true);
+
+        // When
+        ResponseObject<SpooledTransactionsReport> response = transactionsReportDownloadService.getTransactionsReportDownload(CONSENT_ID, ACCOUNT_ID, DOWNLOAD_ID, REQUEST_URI);
+
+        // Then
+        assertFalse(response.hasError());
+        assertThat(response.getBody()).isEqualTo(spooledReport);
+        verify(xs2aEventService).recordAisTppRequest(CONSENT_ID, EventType.READ_TRANSACTION_LIST_REQUEST_RECEIVED);
+        verify(aisConsentService).consentActionLog(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, true);
+    }
+
+    @Test
+    public void getTransactionsReportDownload_unknownReport_resourceUnknown() {
+        // Given
+        givenValidConsent();
+        when(transactionsReportSpool.getReport(CONSENT_ID, ACCOUNT_ID, DOWNLOAD_ID)).thenReturn(Optional.empty());
+
+        // When
+        ResponseObject<SpooledTransactionsReport> response = transactionsReportDownloadService.getTransactionsReportDownload(CONSENT_ID, ACCOUNT_ID, DOWNLOAD_ID, REQUEST_URI);
+
+        // Then
+        assertTrue(response.hasError());
+        MessageError error = response.getError();
+        assertThat(error.getErrorType()).isEqualTo(ErrorType.AIS_404);
+        assertThat(error.getTppMessage().getMessageErrorCode()).isEqualTo(RESOURCE_UNKNOWN_404);
+        verify(aisConsentService, never()).consentActionLog(any(), any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    public void getTransactionsReportDownload_unknownConsent_consentUnknown() {
+        // Given
+        when(aisConsentService.getAccountConsentById(CONSENT_ID)).thenReturn(Optional.empty());
+
+        // When
+        ResponseObject<SpooledTransactionsReport> response = transactionsReportDownloadService.getTransactionsReportDownload(CONSENT_ID, ACCOUNT_ID, DOWNLOAD_ID, REQUEST_URI);
+
+        // Then
+        assertTrue(response.hasError());
+        MessageError error = response.getError();
+        assertThat(error.getErrorType()).isEqualTo(ErrorType.AIS_400);
+        assertThat(error.getTppMessage().getMessageErrorCode()).isEqualTo(CONSENT_UNKNOWN_400);
+        verifyZeroInteractions(transactionsReportSpool);
+    }
+
+    @Test
+    public void getTransactionsReportDownload_invalidConsent_validationError() {
+        // Given
+        MessageError validationError = new MessageError(ErrorType.AIS_429, TppMessageInformation.of(ACCESS_EXCEEDED));
+        when(aisConsentService.getAccountConsentById(CONSENT_ID)).thenReturn(Optional.of(accountConsent));
+        when(downloadTransactionsReportValidator.validate(new CommonAccountTransactionsRequestObject(accountConsent, ACCOUNT_ID, REQUEST_URI)))
+            .thenReturn(ValidationResult.invalid(validationError));
+
+        // When
+        ResponseObject<SpooledTransactionsReport> response = transactionsReportDownloadService.getTransactionsReportDownload(CONSENT_ID, ACCOUNT_ID, DOWNLOAD_ID, REQUEST_URI);
+
+        // Then
+        assertTrue(response.hasError());
+        assertThat(response.getError()).isEqualTo(validationError);
+        verifyZeroInteractions(transactionsReportSpool);
+        verify(aisConsentService, never()).consentActionLog(any(), any(), any(), any(), anyBoolean());
+    }
+
+    private void givenValidConsent() {
+        when(aisConsentService.getAccountConsentById(CONSENT_ID)).thenReturn(Optional.of(accountConsent));
+        when(downloadTransactionsReportValidator.validate(new CommonAccountTransactionsRequestObject(accountConsent, ACCOUNT_ID, REQUEST_URI)))
+            .thenReturn(ValidationResult.valid());
+    }
+
+    private byte[] writeSpooledContent(String contentType) throws IOException {
+        ArgumentCaptor<TransactionsReportSpool.ContentWriter> writerCaptor = ArgumentCaptor.forClass(TransactionsReportSpool.ContentWriter.class);
+        verify(transactionsReportSpool).spool(eq(CONSENT_ID), eq(ACCOUNT_ID), eq(contentType), writerCaptor.capture());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writerCaptor.getValue().write(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private Xs2aTransactionsReport buildTransactionsReport(Xs2aAccountReport accountReport, String responseContentType) {
+        Xs2aTransactionsReport transactionsReport = new Xs2aTransactionsReport();
+        transactionsReport.setAccountReport(accountReport);
+        transactionsReport.setResponseContentType(responseContentType);
+        return transactionsReport;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.download;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TransactionsReportSpoolTest {
+    private static final String CONSENT_ID = "consent ID";
+    private static final String WRONG_CONSENT_ID = "wrong consent ID";
+    private static final String ACCOUNT_ID = "account ID";
+    private static final String WRONG_ACCOUNT_ID = "wrong account ID";
+    private static final String CONTENT_TYPE = "application/json";
+    private static final byte[] CONTENT = "{\"transactions\":{}}".getBytes(StandardCharsets.UTF_8);
+    private static final long TTL_SECONDS = 60;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private AtomicLong nanoTime;
+    private TransactionsReportSpool transactionsReportSpool;
+
+    @Before
+    public void setUp() throws IOException {
+        nanoTime = new AtomicLong();
+        transactionsReportSpool = new TransactionsReportSpool(temporaryFolder.getRoot().getPath(), TTL_SECONDS, 60, nanoTime::get);
+        transactionsReportSpool.start();
+    }
+
+    @After
+    public void tearDown() {
+        transactionsReportSpool.stop();
+    }
+
+    @Test
+    public void spool_success() throws IOException {
+        // When
+        String downloadId = transactionsReportSpool.spool(CONSENT_ID, ACCOUNT_ID, CONTENT_TYPE, outputStream -> outputStream.write(CONTENT));
+
+        // Then
+        Optional<SpooledTransactionsReport> spooledReport = transactionsReportSpool.getReport(CONSENT_ID, ACCOUNT_ID, downloadId);
+        assertTrue(spooledReport.isPresent());
+        assertThat(spooledReport.get().getContentType()).isEqualTo(CONTENT_TYPE);
+        assertThat(spooledReport.get().getSize()).isEqualTo(CONTENT.length);
+        assertThat(Files.readAllBytes(spooledReport.get().getFile())).isEqualTo(CONTENT);
+        assertThat(transactionsReportSpool.getSpooledCount()).isEqualTo(1);
+        assertThat(transactionsReportSpool.getSpooledBytes()).isEqualTo(CONTENT.length);
+    }
+
+    @Test
+    public void spool_writerFailed_fileDeleted() {
+        // When
+        try {
+            transactionsReportSpool.spool(CONSENT_ID, ACCOUNT_ID, CONTENT_TYPE, outputStream -> {
+                outputStream.write(CONTENT);
+                throw new IOException("Serialisation failed");
+            });
+            fail("IOException expected");
+        } catch (IOException e) {
+            // expected
+        }
+
+        // Then
+        assertThat(transactionsReportSpool.size()).isEqualTo(0);
+        assertThat(countSpoolFiles()).isEqualTo(0);
+    }
+
+    @Test
+    public void getReport_wrongConsentOrAccount_notFound() throws IOException {
+        // Given
+        String downloadId = transactionsReportSpool.spool(CONSENT_ID, ACCOUNT_ID, CONTENT_TYPE, outputStream -> outputStream.write(CONTENT));
+
+        // Then
+        assertFalse(transactionsReportSpool.getReport(WRONG_CONSENT_ID, ACCOUNT_ID, downloadId).isPresent());
+        assertFalse(transactionsReportSpool.getReport(CONSENT_ID, WRONG_ACCOUNT_ID, downloadId).isPresent());
+        assertFalse(transactionsReportSpool.getReport(CONSENT_ID, ACCOUNT_ID, "unknown download ID").isPresent());
+        assertFalse(transactionsReportSpool.getReport(CONSENT_ID, ACCOUNT_ID, null).isPresent());
+    }
+
+    @Test
+    public void getReport_expired_notFound() throws IOException {
+        // Given
+        String downloadId = transactionsReportSpool.spool(CONSENT_ID, ACCOUNT_ID, CONTENT_TYPE, outputStream -> outputStream.write(CONTENT));
+
+        // When
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(TTL_SECONDS));
+
+        // Then
+        assertFalse(transactionsReportSpool.getReport(CONSENT_ID, ACCOUNT_ID, downloadId).isPresent());
+    }
+
+    @Test
+    public void removeExpired_expiredFilesDeleted() throws IOException {
+        // Given
+        transactionsReportSpool.spool(CONSENT_ID, ACCOUNT_ID, CONTENT_TYPE, outputStream -> outputStream.write(CONTENT));
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(TTL_SECONDS));
+        String actualDownloadId = transactionsReportSpool.spool(CONSENT_ID, ACCOUNT_ID, CONTENT_TYPE, outputStream -> outputStream.write(CONTENT));
+
+        // When
+        transactionsReportSpool.removeExpired();
+
+        // Then
+        assertThat(transactionsReportSpool.size()).isEqualTo(1);
+        assertThat(transactionsReportSpool.getExpiredCount()).isEqualTo(1);
+        assertThat(countSpoolFiles()).isEqualTo(1);
+        assertTrue(transactionsReportSpool.getReport(CONSENT_ID, ACCOUNT_ID, actualDownloadId).isPresent());
+    }
+
+    @Test
+    public void stop_spoolDirectoryDeleted() throws IOException {
+        // Given
+        transactionsReportSpool.spool(CONSENT_ID, ACCOUNT_ID, CONTENT_TYPE, outputStream -> outputStream.write(CONTENT));
+
+        // When
+        transactionsReportSpool.stop();
+
+        // Then
+        assertThat(temporaryFolder.getRoot().list()).isEmpty();
+    }
+
+    private long countSpoolFiles() {
+        try (Stream<Path> spoolDirectories = Files.list(temporaryFolder.getRoot().toPath())) {
+            Path spoolDirectory = spoolDirectories.findFirst()
+                                      .orElseThrow(IllegalStateException::new);
+            try (Stream<Path> spoolFiles = Files.list(spoolDirectory)) {
+                return spoolFiles.count();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.event;
+
+import de.adorsys.psd2.event.service.Xs2aEventServiceEncrypted;
+import de.adorsys.psd2.event.service.model.EventBO;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class Xs2aEventQueueTest {
+    private static final int QUEUE_CAPACITY = 10;
+    private static final int BATCH_SIZE = 2;
+    private static final long FLUSH_INTERVAL_MS = 50;
+
+    @Mock
+    private Xs2aEventServiceEncrypted eventService;
+
+    private Xs2aEventQueue eventQueue;
+
+    @After
+    public void tearDown() {
+        eventQueue.stop();
+    }
+
+    @Test
+    public void offer_disabled_notAccepted() {
+        // Given
+        eventQueue = new Xs2aEventQueue(eventService, false, QUEUE_CAPACITY, BATCH_SIZE, FLUSH_INTERVAL_MS, Xs2aEventQueue.OverflowPolicy.DROP);
+        eventQueue.start();
+
+        // When
+        boolean accepted = eventQueue.offer(buildEvent());
+
+        // Then
+        assertThat(accepted).isFalse();
+        verifyZeroInteractions(eventService);
+    }
+
+    @Test
+    public void offer_enabled_eventsRecordedInBatches() {
+        // Given
+        when(eventService.recordEvents(anyList())).thenReturn(true);
+        eventQueue = new Xs2aEventQueue(eventService, true, QUEUE_CAPACITY, BATCH_SIZE, FLUSH_INTERVAL_MS, Xs2aEventQueue.OverflowPolicy.DROP);
+        eventQueue.start();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertThat(eventQueue.offer(buildEvent())).isTrue();
+        }
+        eventQueue.stop();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EventBO>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(eventService, atLeast(3)).recordEvents(batchCaptor.capture());
+        for (List<EventBO> batch : batchCaptor.getAllValues()) {
+            assertThat(batch.size()).isBetween(1, BATCH_SIZE);
+        }
+        assertThat(batchCaptor.getAllValues().stream().mapToInt(List::size).sum()).isEqualTo(5);
+        assertThat(eventQueue.getRecordedCount()).isEqualTo(5);
+        assertThat(eventQueue.getQueueDepth()).isZero();
+        verify(eventService, never()).recordEvent(any(EventBO.class));
+    }
+
+    @Test
+    public void offer_afterStop_notAccepted() {
+        // Given
+        eventQueue = new Xs2aEventQueue(eventService, true, QUEUE_CAPACITY, BATCH_SIZE, FLUSH_INTERVAL_MS, Xs2aEventQueue.OverflowPolicy.DROP);
+        eventQueue.start();
+        eventQueue.stop();
+
+        // When
+        boolean accepted = eventQueue.offer(buildEvent());
+
+        // Then
+        assertThat(accepted).isFalse();
+    }
+
+    @Test
+    public void flush_recordingFailed_failedEventsCounted() {
+        // Given
+        when(eventService.recordEvents(anyList())).thenThrow(new IllegalStateException("CMS is unavailable"));
+        eventQueue = new Xs2aEventQueue(eventService, true, QUEUE_CAPACITY, BATCH_SIZE, FLUSH_INTERVAL_MS, Xs2aEventQueue.OverflowPolicy.DROP);
+        eventQueue.start();
+
+        // When
+        eventQueue.offer(buildEvent());
+        eventQueue.stop();
+
+        // Then
+        assertThat(eventQueue.getFailedCount()).isEqualTo(1);
+        assertThat(eventQueue.getRecordedCount()).isZero();
+    }
+
+    @Test
+    public void offer_queueFull_overflowPolicyApplied() throws InterruptedException {
+        // Given
+        CountDownLatch flushStarted = new CountDownLatch(1);
+        CountDownLatch flushAllowed = new CountDownLatch(1);
+        when(eventService.recordEvents(anyList())).thenAnswer(invocation -> {
+            flushStarted.countDown();
+            flushAllowed.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        eventQueue = new Xs2aEventQueue(eventService, true, 1, 1, FLUSH_INTERVAL_MS, Xs2aEventQueue.OverflowPolicy.DROP);
+        eventQueue.start();
+        eventQueue.offer(buildEvent());
+        assertThat(flushStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        eventQueue.offer(buildEvent());
+
+        // When
+        boolean accepted = eventQueue.offer(buildEvent());
+        flushAllowed.countDown();
+
+        // Then
+        assertThat(accepted).isTrue();
+        assertThat(eventQueue.getDroppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void offer_queueFullWithSynchronousPolicy_notAccepted() throws InterruptedException {
+        // Given
+        CountDownLatch flushStarted = new CountDownLatch(1);
+        CountDownLatch flushAllowed = new CountDownLatch(1);
+        when(eventService.recordEvents(anyList())).thenAnswer(invocation -> {
+            flushStarted.countDown();
+            flushAllowed.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        eventQueue = new Xs2aEventQueue(eventService, true, 1, 1, FLUSH_INTERVAL_MS, Xs2aEventQueue.OverflowPolicy.SYNCHRONOUS);
+        eventQueue.start();
+        eventQueue.offer(buildEvent());
+        assertThat(flushStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        eventQueue.offer(buildEvent());
+
+        // When
+        boolean accepted = eventQueue.offer(buildEvent());
+        flushAllowed.countDown();
+
+        // Then
+        assertThat(accepted).isFalse();
+        assertThat(eventQueue.getDroppedCount()).isZero();
+    }
+
+    private EventBO buildEvent() {
+        return EventBO.builder().build();
+    }
+}
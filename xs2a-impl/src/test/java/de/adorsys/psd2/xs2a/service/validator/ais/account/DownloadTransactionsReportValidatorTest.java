@@ -0,0 +1,176 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.service.validator.ais.account;
+
+import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
+import de.adorsys.psd2.xs2a.domain.TppMessageInformation;
+import de.adorsys.psd2.xs2a.domain.consent.AccountConsent;
+import de.adorsys.psd2.xs2a.domain.consent.Xs2aAccountAccess;
+import de.adorsys.psd2.xs2a.exception.MessageError;
+import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorType;
+import de.adorsys.psd2.xs2a.service.validator.ValidationResult;
+import de.adorsys.psd2.xs2a.service.validator.ais.account.common.AccountConsentValidator;
+import de.adorsys.psd2.xs2a.service.validator.ais.account.common.AccountReferenceAccessValidator;
+import de.adorsys.psd2.xs2a.service.validator.ais.account.common.PermittedAccountReferenceValidator;
+import de.adorsys.psd2.xs2a.service.validator.ais.account.dto.CommonAccountTransactionsRequestObject;
+import de.adorsys.psd2.xs2a.service.validator.tpp.AisTppInfoValidator;
+import de.adorsys.psd2.xs2a.util.reader.JsonReader;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Collections;
+
+import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.*;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DownloadTransactionsReportValidatorTest {
+    private static final TppInfo TPP_INFO = buildTppInfo("authorisation number");
+    private static final TppInfo INVALID_TPP_INFO = buildTppInfo("invalid authorisation number");
+    private static final String REQUEST_URI = "/v1/accounts/11111-999999999/transactions/download/download id";
+    private static final String ACCOUNT_ID = "11111-999999999";
+
+    private static final MessageError TPP_VALIDATION_ERROR =
+        new MessageError(ErrorType.PIS_401, TppMessageInformation.of(UNAUTHORIZED));
+    private static final MessageError CONSENT_EXPIRED_ERROR =
+        new MessageError(ErrorType.AIS_401, TppMessageInformation.of(CONSENT_EXPIRED));
+
+    @Mock
+    private PermittedAccountReferenceValidator permittedAccountReferenceValidator;
+    @Mock
+    private AccountConsentValidator accountConsentValidator;
+    @Mock
+    private AccountReferenceAccessValidator accountReferenceAccessValidator;
+    @Mock
+    private AisTppInfoValidator aisTppInfoValidator;
+
+    @InjectMocks
+    private DownloadTransactionsReportValidator downloadTransactionsReportValidator;
+
+    private JsonReader jsonReader = new JsonReader();
+    private Xs2aAccountAccess accountAccess;
+
+    @Before
+    public void setUp() {
+        accountAccess = jsonReader.getObjectFromFile("json/service/validator/ais/account/xs2a-account-access.json", Xs2aAccountAccess.class);
+
+        // Inject pisTppInfoValidator via setter
+        downloadTransactionsReportValidator.setPisTppInfoValidator(aisTppInfoValidator);
+
+        when(aisTppInfoValidator.validateTpp(TPP_INFO))
+            .thenReturn(ValidationResult.valid());
+        when(aisTppInfoValidator.validateTpp(INVALID_TPP_INFO))
+            .thenReturn(ValidationResult.invalid(TPP_VALIDATION_ERROR));
+    }
+
+    @Test
+    public void validate_withValidConsentObject_shouldReturnValid() {
+        // Given
+        AccountConsent accountConsent = buildAccountConsent(TPP_INFO);
+        when(accountReferenceAccessValidator.validate(accountConsent.getAccess(), accountConsent.getAccess().getTransactions(), ACCOUNT_ID))
+            .thenReturn(ValidationResult.valid());
+        when(permittedAccountReferenceValidator.validate(accountConsent, ACCOUNT_ID, false))
+            .thenReturn(ValidationResult.valid());
+        when(accountConsentValidator.validate(accountConsent, REQUEST_URI))
+            .thenReturn(ValidationResult.valid());
+
+        // When
+        ValidationResult validationResult = downloadTransactionsReportValidator.validate(new CommonAccountTransactionsRequestObject(accountConsent, ACCOUNT_ID, REQUEST_URI));
+
+        // Then
+        verify(aisTppInfoValidator).validateTpp(accountConsent.getTppInfo());
+
+        assertNotNull(validationResult);
+        assertTrue(validationResult.isValid());
+        assertNull(validationResult.getMessageError());
+    }
+
+    @Test
+    public void validate_withInvalidAccountReferenceAccess_error() {
+        // Given
+        AccountConsent accountConsent = buildAccountConsent(TPP_INFO);
+        when(accountReferenceAccessValidator.validate(accountConsent.getAccess(), accountConsent.getAccess().getTransactions(), ACCOUNT_ID))
+            .thenReturn(ValidationResult.invalid(ErrorType.AIS_401, TppMessageInformation.of(CONSENT_INVALID)));
+
+        // When
+        ValidationResult validationResult = downloadTransactionsReportValidator.validate(new CommonAccountTransactionsRequestObject(accountConsent, ACCOUNT_ID, REQUEST_URI));
+
+        // Then
+        assertNotNull(validationResult);
+        assertTrue(validationResult.isNotValid());
+
+        verify(permittedAccountReferenceValidator, never()).validate(any(AccountConsent.class), anyString(), anyBoolean());
+        verify(accountConsentValidator, never()).validate(any(AccountConsent.class), anyString());
+    }
+
+    @Test
+    public void validate_withExpiredConsent_shouldReturnConsentError() {
+        // Given
+        AccountConsent accountConsent = buildAccountConsent(TPP_INFO);
+        when(accountReferenceAccessValidator.validate(accountConsent.getAccess(), accountConsent.getAccess().getTransactions(), ACCOUNT_ID))
+            .thenReturn(ValidationResult.valid());
+        when(permittedAccountReferenceValidator.validate(accountConsent, ACCOUNT_ID, false))
+            .thenReturn(ValidationResult.valid());
+        when(accountConsentValidator.validate(accountConsent, REQUEST_URI))
+            .thenReturn(ValidationResult.invalid(CONSENT_EXPIRED_ERROR));
+
+        // When
+        ValidationResult validationResult = downloadTransactionsReportValidator.validate(new CommonAccountTransactionsRequestObject(accountConsent, ACCOUNT_ID, REQUEST_URI));
+
+        // Then
+        assertNotNull(validationResult);
+        assertTrue(validationResult.isNotValid());
+        assertEquals(CONSENT_EXPIRED_ERROR, validationResult.getMessageError());
+    }
+
+    @Test
+    public void validate_withInvalidTppInConsent_shouldReturnTppValidationError() {
+        // Given
+        AccountConsent accountConsent = buildAccountConsent(INVALID_TPP_INFO);
+
+        // When
+        ValidationResult validationResult = downloadTransactionsReportValidator.validate(new CommonAccountTransactionsRequestObject(accountConsent, ACCOUNT_ID, REQUEST_URI));
+
+        // Then
+        verify(aisTppInfoValidator).validateTpp(accountConsent.getTppInfo());
+
+        assertNotNull(validationResult);
+        assertTrue(validationResult.isNotValid());
+        assertEquals(TPP_VALIDATION_ERROR, validationResult.getMessageError());
+    }
+
+    private static TppInfo buildTppInfo(String authorisationNumber) {
+        TppInfo tppInfo = new TppInfo();
+        tppInfo.setAuthorisationNumber(authorisationNumber);
+        return tppInfo;
+    }
+
+    private AccountConsent buildAccountConsent(TppInfo tppInfo) {
+        return new AccountConsent("id", accountAccess, false, null, 0,
+                                  null, null, false, false,
+                                  Collections.emptyList(), tppInfo, null, false,
+                                  Collections.emptyList(), null, Collections.emptyMap());
+    }
+}
@@ -23,6 +23,8 @@ import de.adorsys.psd2.xs2a.domain.Transactions;
 import de.adorsys.psd2.xs2a.domain.account.*;
 import de.adorsys.psd2.xs2a.domain.consent.AccountConsent;
 import de.adorsys.psd2.xs2a.domain.consent.Xs2aCreatePisCancellationAuthorisationResponse;
+import de.adorsys.psd2.xs2a.service.TransactionsReportDownloadService;
+import de.adorsys.psd2.xs2a.service.download.SpooledTransactionsReport;
 import de.adorsys.psd2.xs2a.service.message.MessageService;
 import de.adorsys.psd2.xs2a.util.reader.JsonReader;
 import de.adorsys.psd2.xs2a.web.link.AccountDetailsLinks;
@@ -34,12 +36,16 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
 
 import java.util.Collections;
+import java.util.stream.Stream;
 
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.CONSENT_UNKNOWN_400;
+import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.RESOURCE_UNKNOWN_404;
 import static de.adorsys.psd2.xs2a.domain.TppMessageInformation.of;
 import static de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorType.AIS_400;
+import static de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorType.AIS_404;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
@@ -49,6 +55,7 @@ public class AccountAspectTest {
     private static final String CONSENT_ID = "some consent id";
     private static final String ACCOUNT_ID = "some account id";
     private static final String RESOURCE_ID = "some resource id";
+    private static final String DOWNLOAD_ID = "some download id";
     private static final String REQUEST_URI = "/v1/accounts";
     private static final String ERROR_TEXT = "Error occurred while processing";
     private Xs2aTransactionsReportByPeriodRequest xs2aTransactionsReportByPeriodRequest;
@@ -173,6 +180,27 @@ public class AccountAspectTest {
         assertFalse(actualResponse.hasError());
     }
 
+    @Test
+    public void getTransactionsReportByPeriod_successStreamedReport() {
+        xs2aTransactionsReportByPeriodRequest = jsonReader.getObjectFromFile("json/Xs2aTransactionsReportByPeriodRequest.json", Xs2aTransactionsReportByPeriodRequest.class);
+        Xs2aAccountReportStream accountReportStream = new Xs2aAccountReportStream(Stream.empty(), Stream.empty(), null);
+
+        when(aspspProfileService.getAspspSettings()).thenReturn(aspspSettings);
+        when(transactionsReport.isTransactionReportHuge()).thenReturn(false);
+        when(transactionsReport.isStreamed()).thenReturn(true);
+        when(transactionsReport.getAccountReportStream()).thenReturn(accountReportStream);
+
+        responseObject = ResponseObject.<Xs2aTransactionsReport>builder()
+                             .body(transactionsReport)
+                             .build();
+        ResponseObject actualResponse = aspect.getTransactionsReportByPeriod(responseObject, xs2aTransactionsReportByPeriodRequest);
+
+        assertTrue(accountReportStream.getLinks() instanceof TransactionsReportByPeriodLinks);
+        verify(transactionsReport, never()).getAccountReport();
+
+        assertFalse(actualResponse.hasError());
+    }
+
     @Test
     public void getTransactionsReportByPeriod_withError_shouldAddTextErrorMessage() {
         xs2aTransactionsReportByPeriodRequest = jsonReader.getObjectFromFile("json/Xs2aTransactionsReportByPeriodRequest.json", Xs2aTransactionsReportByPeriodRequest.class);
@@ -189,6 +217,42 @@ public class AccountAspectTest {
         assertEquals(ERROR_TEXT, actualResponse.getError().getTppMessage().getText());
     }
 
+    @Test
+    public void getTransactionsReportDownloadAspect_withError_shouldAddTextErrorMessage() {
+        when(messageService.getMessage(any())).thenReturn(ERROR_TEXT);
+
+        responseObject = ResponseObject.<SpooledTransactionsReport>builder()
+                             .fail(AIS_404, of(RESOURCE_UNKNOWN_404))
+                             .build();
+        ResponseObject actualResponse = aspect.getTransactionsReportDownloadAspect(responseObject, CONSENT_ID, ACCOUNT_ID, DOWNLOAD_ID);
+
+        assertTrue(actualResponse.hasError());
+        assertEquals(ERROR_TEXT, actualResponse.getError().getTppMessage().getText());
+    }
+
+    @Test
+    public void getTransactionsReportDownloadAspect_invokedThroughProxy_shouldAddTextErrorMessage() {
+        // Given
+        when(messageService.getMessage(any())).thenReturn(ERROR_TEXT);
+        TransactionsReportDownloadService transactionsReportDownloadService = mock(TransactionsReportDownloadService.class);
+        when(transactionsReportDownloadService.getTransactionsReportDownload(CONSENT_ID, ACCOUNT_ID, DOWNLOAD_ID, REQUEST_URI))
+            .thenReturn(ResponseObject.<SpooledTransactionsReport>builder()
+                            .fail(AIS_404, of(RESOURCE_UNKNOWN_404))
+                            .build());
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(transactionsReportDownloadService);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(aspect);
+        TransactionsReportDownloadService proxy = proxyFactory.getProxy();
+
+        // When
+        ResponseObject<SpooledTransactionsReport> actualResponse = proxy.getTransactionsReportDownload(CONSENT_ID, ACCOUNT_ID, DOWNLOAD_ID, REQUEST_URI);
+
+        // Then
+        assertTrue(actualResponse.hasError());
+        assertEquals(ERROR_TEXT, actualResponse.getError().getTppMessage().getText());
+    }
+
     @Test
     public void getTransactionDetailsAspect_successNotHugeReport() {
         responseObject = ResponseObject.<Transactions>builder()
@@ -18,7 +18,10 @@ package de.adorsys.psd2.xs2a.web.aspect;
 
 import de.adorsys.psd2.xs2a.component.JsonConverter;
 import de.adorsys.psd2.xs2a.domain.ResponseObject;
+import de.adorsys.psd2.xs2a.domain.account.Xs2aAccountReport;
 import de.adorsys.psd2.xs2a.domain.account.Xs2aTransactionsReport;
+import de.adorsys.psd2.xs2a.domain.account.Xs2aTransactionsReportByPeriodRequest;
+import de.adorsys.psd2.xs2a.service.TransactionsReportDownloadService;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -36,44 +39,91 @@ import static org.mockito.Mockito.*;
 @RunWith(MockitoJUnitRunner.class)
 public class TransactionReportAspectTest {
     private static final int MAX_NUMBER = 15;
-    private static final String HUGE_REPORT = "very_big_report_the_has_too_many_symbols";
-    private static final String SMALL_REPORT = "small_report";
+    private static final byte[] HUGE_RAW_REPORT = "very_big_report_the_has_too_many_symbols".getBytes();
+    private static final String DOWNLOAD_ID = "5c7b6a8e-43b2-4d0b-92e8-1b1e0dbb2a54";
 
     @Mock
     private JsonConverter jsonConverter;
     @Mock
+    private TransactionsReportDownloadService transactionsReportDownloadService;
+    @Mock
     private Xs2aTransactionsReport transactionsReport;
+    @Mock
+    private Xs2aTransactionsReportByPeriodRequest request;
 
     private TransactionReportAspect aspect;
     private ResponseObject responseObject;
 
     @Before
     public void setUp() {
-        aspect = new TransactionReportAspect(MAX_NUMBER, jsonConverter);
+        aspect = new TransactionReportAspect(MAX_NUMBER, jsonConverter, transactionsReportDownloadService);
     }
 
     @Test
     public void invokeGetTransactionsReportByPeriodAspect_isTransactionReportHuge() {
-        when(jsonConverter.toJson(transactionsReport)).thenReturn(Optional.of(HUGE_REPORT));
+        when(jsonConverter.isJsonLongerThan(transactionsReport, MAX_NUMBER)).thenReturn(true);
 
         responseObject = ResponseObject.<Xs2aTransactionsReport>builder()
                              .body(transactionsReport)
                              .build();
-        aspect.invokeGetTransactionsReportByPeriodAspect(responseObject);
+        aspect.invokeGetTransactionsReportByPeriodAspect(responseObject, request);
 
         verify(transactionsReport, times(1)).setTransactionReportHuge(true);
+        verify(transactionsReport, never()).setDownloadId(any());
+    }
+
+    @Test
+    public void invokeGetTransactionsReportByPeriodAspect_isTransactionReportHuge_spooledForDownload() {
+        when(jsonConverter.isJsonLongerThan(transactionsReport, MAX_NUMBER)).thenReturn(true);
+        when(transactionsReportDownloadService.spoolTransactionsReport(request, transactionsReport)).thenReturn(Optional.of(DOWNLOAD_ID));
+
+        responseObject = ResponseObject.<Xs2aTransactionsReport>builder()
+                             .body(transactionsReport)
+                             .build();
+        aspect.invokeGetTransactionsReportByPeriodAspect(responseObject, request);
+
+        verify(transactionsReport, times(1)).setTransactionReportHuge(true);
+        verify(transactionsReport, times(1)).setDownloadId(DOWNLOAD_ID);
+        verify(transactionsReport, times(1)).setAccountReport(null);
     }
 
     @Test
     public void invokeGetTransactionsReportByPeriodAspect_isNotTransactionReportHuge() {
-        when(jsonConverter.toJson(transactionsReport)).thenReturn(Optional.of(SMALL_REPORT));
+        when(jsonConverter.isJsonLongerThan(transactionsReport, MAX_NUMBER)).thenReturn(false);
+
+        responseObject = ResponseObject.<Xs2aTransactionsReport>builder()
+                             .body(transactionsReport)
+                             .build();
+        aspect.invokeGetTransactionsReportByPeriodAspect(responseObject, request);
+
+        verify(transactionsReport, times(1)).setTransactionReportHuge(false);
+        verifyZeroInteractions(transactionsReportDownloadService);
+    }
+
+    @Test
+    public void invokeGetTransactionsReportByPeriodAspect_hugeRawReport_notSerialised() {
+        when(transactionsReport.getAccountReport()).thenReturn(new Xs2aAccountReport(null, null, HUGE_RAW_REPORT));
+
+        responseObject = ResponseObject.<Xs2aTransactionsReport>builder()
+                             .body(transactionsReport)
+                             .build();
+        aspect.invokeGetTransactionsReportByPeriodAspect(responseObject, request);
+
+        verify(transactionsReport, times(1)).setTransactionReportHuge(true);
+        verifyZeroInteractions(jsonConverter);
+    }
+
+    @Test
+    public void invokeGetTransactionsReportByPeriodAspect_streamedReport_notHuge() {
+        when(transactionsReport.isStreamed()).thenReturn(true);
 
         responseObject = ResponseObject.<Xs2aTransactionsReport>builder()
                              .body(transactionsReport)
                              .build();
-        aspect.invokeGetTransactionsReportByPeriodAspect(responseObject);
+        aspect.invokeGetTransactionsReportByPeriodAspect(responseObject, request);
 
         verify(transactionsReport, times(1)).setTransactionReportHuge(false);
+        verifyZeroInteractions(jsonConverter, transactionsReportDownloadService);
     }
 
     @Test
@@ -81,7 +131,7 @@ public class TransactionReportAspectTest {
         responseObject = ResponseObject.builder()
                              .fail(AIS_400, of(CONSENT_UNKNOWN_400))
                              .build();
-        ResponseObject actualResponse = aspect.invokeGetTransactionsReportByPeriodAspect(responseObject);
+        ResponseObject actualResponse = aspect.invokeGetTransactionsReportByPeriodAspect(responseObject, request);
         assertTrue(actualResponse.hasError());
     }
 }
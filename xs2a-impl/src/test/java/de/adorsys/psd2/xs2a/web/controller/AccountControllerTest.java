@@ -31,10 +31,13 @@ import de.adorsys.psd2.xs2a.domain.code.BankTransactionCode;
 import de.adorsys.psd2.xs2a.core.pis.PurposeCode;
 import de.adorsys.psd2.xs2a.exception.MessageError;
 import de.adorsys.psd2.xs2a.service.AccountService;
+import de.adorsys.psd2.xs2a.service.TransactionsReportDownloadService;
+import de.adorsys.psd2.xs2a.service.download.SpooledTransactionsReport;
 import de.adorsys.psd2.xs2a.service.mapper.AccountModelMapper;
 import de.adorsys.psd2.xs2a.service.mapper.ResponseMapper;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorType;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ResponseErrorMapper;
+import de.adorsys.psd2.xs2a.web.stream.TransactionsResponseStream;
 import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
@@ -42,17 +45,26 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 import javax.servlet.http.HttpServletRequest;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Currency;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static de.adorsys.psd2.xs2a.domain.TppMessageInformation.of;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -64,6 +76,7 @@ public class AccountControllerTest {
     private final String ACCOUNT_ID = "33333-999999999";
     private final String WRONG_ACCOUNT_ID = "Wrong account id";
     private final String CONSENT_ID = "12345";
+    private static final String DOWNLOAD_ID = "5c7b6a8e-43b2-4d0b-92e8-1b1e0dbb2a54";
     private final String ACCOUNT_DETAILS_LIST_SOURCE = "/json/AccountDetailsList.json";
     private final String ACCOUNT_REPORT_SOURCE = "/json/AccountReportTestData.json";
     private final String BALANCES_SOURCE = "/json/ReadBalanceResponse.json";
@@ -88,6 +101,8 @@ public class AccountControllerTest {
     private HttpServletRequest request;
     @Mock
     private ResponseErrorMapper responseErrorMapper;
+    @Mock
+    private TransactionsReportDownloadService transactionsReportDownloadService;
 
     @Before
     public void setUp() {
@@ -294,6 +309,43 @@ public class AccountControllerTest {
         assertThat(result).isEqualTo(expectedResult);
     }
 
+    @Test
+    public void getTransactionList_streamedJson_success() {
+        // Given
+        Xs2aTransactionsReport transactionsReport = buildStreamedTransactionsReport("application/json");
+        TransactionsResponseStream expectedResult = new TransactionsResponseStream(null, Stream.empty(), Stream.empty(), null, null, null, transactionsReport.getAccountReportStream());
+        when(accountModelMapper.mapToTransactionsResponseStream(transactionsReport)).thenReturn(expectedResult);
+
+        // When
+        Object result = accountController.getTransactionList(ACCOUNT_ID, "pending",
+                                                             null, CONSENT_ID, null, null, "both", false,
+                                                             false, null, null, null, null, null,
+                                                             null, null, null, null, null,
+                                                             null, null, null).getBody();
+
+        // Then
+        assertThat(result).isEqualTo(expectedResult);
+    }
+
+    @Test
+    public void getTransactionList_streamedRaw_success() {
+        // Given
+        Xs2aTransactionsReport transactionsReport = buildStreamedTransactionsReport("text/plain");
+        Resource expectedResult = new InputStreamResource(new ByteArrayInputStream(new byte[0]));
+        when(accountModelMapper.mapToTransactionsResponseRawStream(transactionsReport)).thenReturn(expectedResult);
+
+        // When
+        Object result = accountController.getTransactionList(ACCOUNT_ID, "pending",
+                                                             null, CONSENT_ID, null, null, "both", false,
+                                                             false, null, null, null, null, null,
+                                                             null, null, null, null, null,
+                                                             null, null, null).getBody();
+
+        // Then
+        assertThat(result).isEqualTo(expectedResult);
+        verify(accountModelMapper, never()).mapToTransactionsResponseRaw(any());
+    }
+
     @Test
     public void getTransactionDetails_success() throws IOException {
         doReturn(new ResponseEntity<>(createAccountReport(ACCOUNT_REPORT_SOURCE).getBody(), HttpStatus.OK))
@@ -332,6 +384,51 @@ public class AccountControllerTest {
         assertThat(result).isEqualTo(expectedResult);
     }
 
+    @Test
+    public void downloadTransactions_success() {
+        // Given
+        Path file = Paths.get("transactions.spool");
+        SpooledTransactionsReport spooledReport = new SpooledTransactionsReport(DOWNLOAD_ID, CONSENT_ID, ACCOUNT_ID, "text/plain", file, 100, 0);
+        when(transactionsReportDownloadService.getTransactionsReportDownload(CONSENT_ID, ACCOUNT_ID, DOWNLOAD_ID, REQUEST_URI))
+            .thenReturn(ResponseObject.<SpooledTransactionsReport>builder().body(spooledReport).build());
+
+        // When
+        ResponseEntity response = accountController.downloadTransactions(ACCOUNT_ID, DOWNLOAD_ID, CONSENT_ID);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.TEXT_PLAIN);
+        assertThat(response.getBody()).isEqualTo(new FileSystemResource(file));
+    }
+
+    @Test
+    public void downloadTransactions_unknownDownload() {
+        // Given
+        when(transactionsReportDownloadService.getTransactionsReportDownload(CONSENT_ID, ACCOUNT_ID, DOWNLOAD_ID, REQUEST_URI))
+            .thenReturn(ResponseObject.<SpooledTransactionsReport>builder().fail(MESSAGE_ERROR_AIS_404).build());
+        ResponseEntity errorResponse = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        doReturn(errorResponse).when(responseErrorMapper).generateErrorResponse(MESSAGE_ERROR_AIS_404);
+
+        // When
+        ResponseEntity response = accountController.downloadTransactions(ACCOUNT_ID, DOWNLOAD_ID, CONSENT_ID);
+
+        // Then
+        assertThat(response).isEqualTo(errorResponse);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Xs2aTransactionsReport buildStreamedTransactionsReport(String responseContentType) {
+        Xs2aTransactionsReport transactionsReport = new Xs2aTransactionsReport();
+        transactionsReport.setAccountReportStream(new Xs2aAccountReportStream(Stream.empty(), Stream.empty(), null));
+        transactionsReport.setResponseContentType(responseContentType);
+        ResponseObject<Xs2aTransactionsReport> responseObject = ResponseObject.<Xs2aTransactionsReport>builder().body(transactionsReport).build();
+        doReturn(responseObject)
+            .when(accountService).getTransactionsReportByPeriod(any(Xs2aTransactionsReportByPeriodRequest.class));
+        when(responseMapper.ok(eq(responseObject), any()))
+            .thenAnswer(invocation -> new ResponseEntity<>(((Function<Xs2aTransactionsReport, ?>) invocation.getArgument(1)).apply(transactionsReport), HttpStatus.OK));
+        return transactionsReport;
+    }
+
     private ResponseObject<Xs2aAccountListHolder> getXs2aAccountListHolder() {
         List<Xs2aAccountDetails> accountDetails = Collections.singletonList(
             new Xs2aAccountDetails(ASPSP_ACCOUNT_ID, "33333-999999999", "DE371234599997", null, null, null,
@@ -32,13 +32,21 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ContentCachingWrappingFilterTest {
     private static final String SERVLET_PATH = "/v1/accounts";
+    private static final String TRANSACTIONS_PATH = "/v1/accounts/*/transactions";
+    private static final String BODY = "{\"access\":{\"allPsd2\":\"allAccounts\"}}";
 
     @Mock
     private FilterChain filterChain;
@@ -54,7 +62,7 @@ public class ContentCachingWrappingFilterTest {
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
         mockRequest.setServletPath(SERVLET_PATH);
         MockHttpServletResponse mockResponse = new MockHttpServletResponse();
-        ContentCachingWrappingFilter contentCachingWrappingFilter = new ContentCachingWrappingFilter();
+        ContentCachingWrappingFilter contentCachingWrappingFilter = new ContentCachingWrappingFilter(1024, new String[]{TRANSACTIONS_PATH}, 1, 1024);
 
         // When
         contentCachingWrappingFilter.doFilter(mockRequest, mockResponse, filterChain);
@@ -65,4 +73,69 @@ public class ContentCachingWrappingFilterTest {
         assertTrue(capturedResponse.getValue() instanceof MultiReadHttpServletResponse);
     }
 
+    @Test
+    public void doFilterInternal_excludedPath_responseNotCaptured() throws ServletException, IOException {
+        // Given
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest();
+        mockRequest.setServletPath("/v1/accounts/account-id/transactions");
+        MockHttpServletResponse mockResponse = new MockHttpServletResponse();
+        ContentCachingWrappingFilter contentCachingWrappingFilter = new ContentCachingWrappingFilter(1024, new String[]{TRANSACTIONS_PATH}, 1, 1024);
+
+        // When
+        contentCachingWrappingFilter.doFilter(mockRequest, mockResponse, filterChain);
+
+        // Then
+        verify(filterChain).doFilter(capturedRequest.capture(), capturedResponse.capture());
+        assertFalse(((MultiReadHttpServletResponse) capturedResponse.getValue()).isCaptureEnabled());
+    }
+
+    @Test
+    public void doFilterInternal_syncRequest_bodyReleasedAfterChain() throws ServletException, IOException {
+        // Given
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest();
+        mockRequest.setServletPath(SERVLET_PATH);
+        ContentCachingWrappingFilter contentCachingWrappingFilter = new ContentCachingWrappingFilter(1024, new String[0], 1, 1024);
+
+        // When
+        contentCachingWrappingFilter.doFilter(mockRequest, new MockHttpServletResponse(), filterChain);
+
+        // Then
+        verify(filterChain).doFilter(capturedRequest.capture(), capturedResponse.capture());
+        assertReleased((MultiReadHttpServletRequest) capturedRequest.getValue());
+    }
+
+    @Test
+    public void doFilterInternal_asyncRequest_bodyReleasedOnCompletion() throws ServletException, IOException {
+        // Given
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest();
+        mockRequest.setServletPath(SERVLET_PATH);
+        mockRequest.setAsyncSupported(true);
+        mockRequest.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        ContentCachingWrappingFilter contentCachingWrappingFilter = new ContentCachingWrappingFilter(1024, new String[0], 1, 1024);
+        doAnswer(invocation -> ((HttpServletRequest) invocation.getArgument(0)).startAsync())
+            .when(filterChain).doFilter(any(), any());
+
+        // When
+        contentCachingWrappingFilter.doFilter(mockRequest, new MockHttpServletResponse(), filterChain);
+
+        // Then
+        verify(filterChain).doFilter(capturedRequest.capture(), capturedResponse.capture());
+        MultiReadHttpServletRequest multiReadRequest = (MultiReadHttpServletRequest) capturedRequest.getValue();
+        assertEquals(BODY, multiReadRequest.getBodyAsString());
+
+        // When
+        mockRequest.getAsyncContext().complete();
+
+        // Then
+        assertReleased(multiReadRequest);
+    }
+
+    private void assertReleased(MultiReadHttpServletRequest multiReadRequest) throws IOException {
+        try {
+            multiReadRequest.getBodyAsString();
+            fail("Request body should have been released");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
 }
@@ -16,13 +16,14 @@
 
 package de.adorsys.psd2.xs2a.web.filter;
 
+import de.adorsys.psd2.validator.certificate.util.TppCertificateDataCache;
 import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.validator.tpp.TppInfoHolder;
 import de.adorsys.psd2.xs2a.service.validator.tpp.TppRoleValidationService;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -48,7 +49,6 @@ public class QwacCertificateFilterTest {
     private static final TppErrorMessage TPP_ERROR_MESSAGE_ACCESS = new TppErrorMessage(ERROR, CERTIFICATE_INVALID, "You don't have access to this resource");
     private static final TppErrorMessage TPP_ERROR_MESSAGE_EXPIRED = new TppErrorMessage(ERROR, CERTIFICATE_EXPIRED, "Certificate is expired");
 
-    @InjectMocks
     private QwacCertificateFilter qwacCertificateFilter;
     @Mock
     private TppRoleValidationService tppRoleValidationService;
@@ -65,6 +65,11 @@ public class QwacCertificateFilterTest {
     @Mock
     private RequestProviderService requestProviderService;
 
+    @Before
+    public void setUp() {
+        qwacCertificateFilter = new QwacCertificateFilter(tppRoleValidationService, tppInfoHolder, requestProviderService, new TppCertificateDataCache(10));
+    }
+
     @Test
     public void doFilterInternal_success() throws IOException, ServletException {
         //Given
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web.filter;
+
+import de.adorsys.psd2.validator.certificate.CertificateErrorMsgCode;
+import de.adorsys.psd2.validator.signature.SignatureVerificationMetrics;
+import de.adorsys.psd2.validator.signature.TppSignatureValidator;
+import de.adorsys.psd2.xs2a.component.BodyBufferPool;
+import de.adorsys.psd2.xs2a.component.MultiReadHttpServletRequest;
+import de.adorsys.psd2.xs2a.service.RequestProviderService;
+import de.adorsys.psd2.xs2a.service.profile.AspspProfileServiceWrapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SignatureFilterTest {
+    private static final String BODY = "{\"instructedAmount\":{\"currency\":\"EUR\",\"amount\":\"1000.00\"}}";
+    private static final String ANOTHER_BODY = "{\"instructedAmount\":{\"currency\":\"EUR\",\"amount\":\"9000.00\"}}";
+    private static final String SIGNATURE = "keyId=\"SN=1,CA=CN=ca\",algorithm=\"rsa-sha256\",headers=\"digest\",signature=\"c2lnbmF0dXJl\"";
+    private static final String TPP_SIGNATURE_CERTIFICATE = "certificate";
+
+    private SignatureFilter signatureFilter;
+    private SignatureVerificationMetrics metrics = new SignatureVerificationMetrics();
+    private BodyBufferPool bodyBufferPool = new BodyBufferPool(1, 1024);
+    @Mock
+    private AspspProfileServiceWrapper aspspProfileService;
+    @Mock
+    private RequestProviderService requestProviderService;
+    @Mock
+    private TppSignatureValidator tppSignatureValidator;
+    @Mock
+    private FilterChain chain;
+
+    @Before
+    public void setUp() {
+        signatureFilter = new SignatureFilter(aspspProfileService, requestProviderService, tppSignatureValidator);
+        when(aspspProfileService.getTppSignatureRequired()).thenReturn(true);
+    }
+
+    @Test
+    public void doFilterInternal_digestMatchesBody_signatureVerified() throws Exception {
+        // Given
+        MultiReadHttpServletRequest request = buildRequest(sha256Hex(BODY));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(tppSignatureValidator.verifySignature(eq(SIGNATURE), eq(TPP_SIGNATURE_CERTIFICATE), anyMap())).thenReturn(true);
+        when(tppSignatureValidator.getMetrics()).thenReturn(metrics);
+
+        // When
+        signatureFilter.doFilterInternal(request, response, chain);
+
+        // Then
+        verify(chain).doFilter(request, response);
+        assertEquals(200, response.getStatus());
+        assertEquals(1, metrics.getDigestCount("SHA-256"));
+    }
+
+    @Test
+    public void doFilterInternal_digestDoesNotMatchBody_unauthorized() throws Exception {
+        // Given
+        MultiReadHttpServletRequest request = buildRequest(sha256Hex(ANOTHER_BODY));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(tppSignatureValidator.getMetrics()).thenReturn(metrics);
+
+        // When
+        signatureFilter.doFilterInternal(request, response, chain);
+
+        // Then
+        verify(chain, never()).doFilter(any(), any());
+        verify(tppSignatureValidator, never()).verifySignature(any(), any(), anyMap());
+        assertEquals(401, response.getStatus());
+        assertEquals(CertificateErrorMsgCode.SIGNATURE_INVALID.toString(), response.getErrorMessage());
+        assertEquals(1, metrics.getDigestCount("SHA-256"));
+    }
+
+    @Test
+    public void doFilterInternal_digestPaddedWithWhitespace_signatureVerified() throws Exception {
+        // Given
+        MultiReadHttpServletRequest request = buildRequest(" " + sha256Hex(BODY) + "\t");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(tppSignatureValidator.verifySignature(eq(SIGNATURE), eq(TPP_SIGNATURE_CERTIFICATE), anyMap())).thenReturn(true);
+        when(tppSignatureValidator.getMetrics()).thenReturn(metrics);
+
+        // When
+        signatureFilter.doFilterInternal(request, response, chain);
+
+        // Then
+        verify(chain).doFilter(request, response);
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    public void doFilterInternal_digestOfWrongLength_badRequest() throws IOException, ServletException {
+        // Given
+        MultiReadHttpServletRequest request = buildRequest("abcdef");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        signatureFilter.doFilterInternal(request, response, chain);
+
+        // Then
+        verify(chain, never()).doFilter(any(), any());
+        assertEquals(400, response.getStatus());
+        assertEquals(CertificateErrorMsgCode.FORMAT_ERROR.toString(), response.getErrorMessage());
+    }
+
+    private MultiReadHttpServletRequest buildRequest(String digest) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/payments/sepa-credit-transfers");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        request.addHeader("signature", SIGNATURE);
+        request.addHeader("tpp-signature-certificate", TPP_SIGNATURE_CERTIFICATE);
+        request.addHeader("digest", digest);
+        return new MultiReadHttpServletRequest(request, bodyBufferPool);
+    }
+
+    private String sha256Hex(String body) throws NoSuchAlgorithmException {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8));
+        return String.format("%064x", new BigInteger(1, hash));
+    }
+}
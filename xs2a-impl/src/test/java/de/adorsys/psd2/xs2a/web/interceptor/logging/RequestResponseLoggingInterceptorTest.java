@@ -16,55 +16,90 @@
 
 package de.adorsys.psd2.xs2a.web.interceptor.logging;
 
-import de.adorsys.psd2.xs2a.component.logger.request.RequestResponseLogMessage;
+import de.adorsys.psd2.xs2a.component.logger.request.RequestResponseLogEntry;
+import de.adorsys.psd2.xs2a.component.logger.request.RequestResponseLogQueue;
 import de.adorsys.psd2.xs2a.component.logger.request.RequestResponseLogger;
 import de.adorsys.psd2.xs2a.service.RequestProviderService;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
 import java.util.UUID;
 
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
 public class RequestResponseLoggingInterceptorTest {
-    @Mock
-    private HttpServletRequest httpServletRequest;
-    @Mock
-    private HttpServletResponse httpServletResponse;
+    private static final UUID INTERNAL_REQUEST_ID = UUID.fromString("b87028ad-6925-41fa-b892-88912606a2f4");
+    private static final String REQUEST_URI = "/v1/accounts";
+
+    private MockHttpServletRequest httpServletRequest;
+    private MockHttpServletResponse httpServletResponse;
     @Mock
     private RequestResponseLogger requestResponseLogger;
     @Mock
     private RequestProviderService requestProviderService;
+    @Mock
+    private RequestResponseLogQueue requestResponseLogQueue;
     @InjectMocks
     private RequestResponseLoggingInterceptor requestResponseLoggingInterceptor;
 
+    @Before
+    public void setUp() {
+        httpServletRequest = new MockHttpServletRequest("GET", REQUEST_URI);
+        httpServletResponse = new MockHttpServletResponse();
+    }
+
+    @Test
+    public void afterCompletion_entryAcceptedByQueue_shouldNotLogInRequestThread() {
+        // Given
+        when(requestResponseLogQueue.isSampled()).thenReturn(true);
+        when(requestProviderService.getInternalRequestId()).thenReturn(INTERNAL_REQUEST_ID);
+        when(requestResponseLogQueue.offer(any(RequestResponseLogEntry.class))).thenReturn(true);
+        ArgumentCaptor<RequestResponseLogEntry> entryCaptor = ArgumentCaptor.forClass(RequestResponseLogEntry.class);
+
+        // When
+        requestResponseLoggingInterceptor.afterCompletion(httpServletRequest, httpServletResponse, null, null);
+
+        // Then
+        verify(requestResponseLogQueue).offer(entryCaptor.capture());
+        assertEquals(INTERNAL_REQUEST_ID, entryCaptor.getValue().getInternalRequestId());
+        assertEquals(REQUEST_URI, entryCaptor.getValue().getRequestUri());
+        verify(requestResponseLogger, never()).logEntry(any());
+    }
+
+    @Test
+    public void afterCompletion_entryRejectedByQueue_shouldLogInRequestThread() {
+        // Given
+        when(requestResponseLogQueue.isSampled()).thenReturn(true);
+        when(requestProviderService.getInternalRequestId()).thenReturn(INTERNAL_REQUEST_ID);
+        when(requestResponseLogQueue.offer(any(RequestResponseLogEntry.class))).thenReturn(false);
+
+        // When
+        requestResponseLoggingInterceptor.afterCompletion(httpServletRequest, httpServletResponse, null, null);
+
+        // Then
+        verify(requestResponseLogger).logEntry(any(RequestResponseLogEntry.class));
+    }
+
     @Test
-    public void afterCompletion_shouldLogRequestAndResponse() {
+    public void afterCompletion_requestNotSampled_shouldNotLog() {
         // Given
-        UUID internalRequestId = UUID.fromString("b87028ad-6925-41fa-b892-88912606a2f4");
-        when(requestProviderService.getInternalRequestId()).thenReturn(internalRequestId);
-
-        RequestResponseLogMessage message = RequestResponseLogMessage.builder(httpServletRequest, httpServletResponse)
-                                                .withInternalRequestId(internalRequestId)
-                                                .withRequestUri()
-                                                .withRequestHeaders()
-                                                .withRequestPayload()
-                                                .withResponseStatus()
-                                                .withResponseHeaders()
-                                                .withResponseBody()
-                                                .build();
+        when(requestResponseLogQueue.isSampled()).thenReturn(false);
 
         // When
         requestResponseLoggingInterceptor.afterCompletion(httpServletRequest, httpServletResponse, null, null);
 
         // Then
-        verify(requestResponseLogger).logMessage(message);
+        verify(requestResponseLogQueue, never()).offer(any());
+        verify(requestResponseLogger, never()).logEntry(any());
     }
 }
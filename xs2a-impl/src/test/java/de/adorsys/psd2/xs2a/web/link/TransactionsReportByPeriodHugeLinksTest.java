@@ -27,6 +27,7 @@ public class TransactionsReportByPeriodHugeLinksTest {
 
     private static final String HTTP_URL = "http://url";
     private static final String ACCOUNT_ID = "33333-999999999";
+    private static final String DOWNLOAD_ID = "5c7b6a8e-43b2-4d0b-92e8-1b1e0dbb2a54";
     private Links expectedLinks;
 
     @Before
@@ -38,7 +39,7 @@ public class TransactionsReportByPeriodHugeLinksTest {
     public void success_noBalance() {
         boolean withBalance = false;
 
-        TransactionsReportByPeriodHugeLinks links = new TransactionsReportByPeriodHugeLinks(HTTP_URL, ACCOUNT_ID, withBalance);
+        TransactionsReportByPeriodHugeLinks links = new TransactionsReportByPeriodHugeLinks(HTTP_URL, ACCOUNT_ID, null, withBalance);
 
         assertEquals(expectedLinks, links);
     }
@@ -47,9 +48,19 @@ public class TransactionsReportByPeriodHugeLinksTest {
     public void success_with_balance() {
         boolean withBalance = true;
 
-        TransactionsReportByPeriodHugeLinks links = new TransactionsReportByPeriodHugeLinks(HTTP_URL, ACCOUNT_ID, withBalance);
+        TransactionsReportByPeriodHugeLinks links = new TransactionsReportByPeriodHugeLinks(HTTP_URL, ACCOUNT_ID, null, withBalance);
 
         expectedLinks.setBalances(new HrefType("http://url/v1/accounts/33333-999999999/balances"));
         assertEquals(expectedLinks, links);
     }
+
+    @Test
+    public void success_withDownloadId() {
+        boolean withBalance = false;
+
+        TransactionsReportByPeriodHugeLinks links = new TransactionsReportByPeriodHugeLinks(HTTP_URL, ACCOUNT_ID, DOWNLOAD_ID, withBalance);
+
+        expectedLinks.setDownload(new HrefType("http://url/v1/accounts/33333-999999999/transactions/download/5c7b6a8e-43b2-4d0b-92e8-1b1e0dbb2a54"));
+        assertEquals(expectedLinks, links);
+    }
 }
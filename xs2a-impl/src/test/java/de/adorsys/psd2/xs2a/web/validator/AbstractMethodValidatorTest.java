@@ -29,11 +29,13 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.mock.web.MockHttpServletRequest;
 
+import javax.servlet.http.HttpServletRequest;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -86,6 +88,40 @@ public class AbstractMethodValidatorTest {
 
         assertEquals(1, headersCaptor.getValue().size());
         assertEquals("application/json", headersCaptor.getValue().get("Content-Type"));
+        assertEquals("application/json", headersCaptor.getValue().get("content-type"));
         assertEquals(Collections.singletonList(QUERY_PARAMETER_VALUE), queryParametersCaptor.getValue().get(QUERY_PARAMETER_NAME));
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void validate_noHeaderAndQueryValidators_headersAndParametersNotExtracted() {
+        // Given
+        HttpServletRequest mockRequest = mock(HttpServletRequest.class);
+        methodValidator = new AbstractMethodValidator(Collections.emptyList(),
+                                                      Collections.singletonList(bodyValidator),
+                                                      Collections.emptyList()) {
+            @Override
+            public String getMethodName() {
+                return "method_name";
+            }
+        };
+
+        // When
+        methodValidator.validate(mockRequest, messageError);
+
+        // Then
+        verify(bodyValidator).validate(mockRequest, messageError);
+        verify(mockRequest, never()).getHeaderNames();
+        verify(mockRequest, never()).getParameterMap();
+    }
+
+    @Test
+    public void validate_headersSharedWithBodyValidators() {
+        // When
+        methodValidator.validate(request, messageError);
+
+        // Then
+        verify(headerValidator).validate(headersCaptor.capture(), eq(messageError));
+        assertSame(CaseInsensitiveHeaders.of(request), headersCaptor.getValue());
+    }
 }
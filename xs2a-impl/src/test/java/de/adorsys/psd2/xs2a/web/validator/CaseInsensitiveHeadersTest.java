@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web.validator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CaseInsensitiveHeadersTest {
+    private static final String X_REQUEST_ID = "2f77a125-aa7a-45c0-b414-cea25a116035";
+
+    private MockHttpServletRequest request;
+
+    @Before
+    public void setUp() {
+        request = new MockHttpServletRequest();
+        request.addHeader("X-Request-ID", X_REQUEST_ID);
+        request.addHeader("Content-Type", "application/json");
+    }
+
+    @Test
+    public void get_anyCase_valueReturned() {
+        // When
+        Map<String, String> headers = CaseInsensitiveHeaders.of(request);
+
+        // Then
+        assertEquals(2, headers.size());
+        assertEquals(X_REQUEST_ID, headers.get("x-request-id"));
+        assertEquals(X_REQUEST_ID, headers.get("X-REQUEST-ID"));
+        assertTrue(headers.containsKey("content-type"));
+        assertFalse(headers.containsKey("psu-id"));
+        assertNull(headers.get("psu-id"));
+        assertNull(headers.get(null));
+    }
+
+    @Test
+    public void entrySet_originalNamesAndValuesReturned() {
+        // Given
+        Map<String, String> expected = new HashMap<>();
+        expected.put("X-Request-ID", X_REQUEST_ID);
+        expected.put("Content-Type", "application/json");
+
+        // When
+        Map<String, String> headers = new HashMap<>(CaseInsensitiveHeaders.of(request));
+
+        // Then
+        assertEquals(expected, headers);
+    }
+
+    @Test
+    public void of_calledTwice_headersReadOnce() {
+        // Given
+        CaseInsensitiveHeaders first = CaseInsensitiveHeaders.of(request);
+
+        // When
+        CaseInsensitiveHeaders second = CaseInsensitiveHeaders.of(request);
+
+        // Then
+        assertSame(first, second);
+    }
+
+    @Test
+    public void of_manyHeaders_allHeadersKept() {
+        // Given
+        for (int i = 0; i < 40; i++) {
+            request.addHeader("header-" + i, "value-" + i);
+        }
+
+        // When
+        Map<String, String> headers = CaseInsensitiveHeaders.of(request);
+
+        // Then
+        assertEquals(42, headers.size());
+        assertEquals("value-39", headers.get("HEADER-39"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void put_readOnly() {
+        CaseInsensitiveHeaders.of(request).put("psu-id", "anton.brueckner");
+    }
+}
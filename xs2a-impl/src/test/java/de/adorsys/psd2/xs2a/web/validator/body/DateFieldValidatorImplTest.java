@@ -32,7 +32,8 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.mock.web.MockHttpServletRequest;
 
-import java.io.InputStream;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
 import java.util.Optional;
 
 import static de.adorsys.psd2.xs2a.web.validator.constants.Xs2aRequestBodyDateFields.PAYMENT_DATE_FIELDS;
@@ -74,11 +75,11 @@ public class DateFieldValidatorImplTest {
     }
 
     @Test
-    public void validate_requestedExecutionDateWrongValue_wrongFormat_error() {
+    public void validate_requestedExecutionDateWrongValue_wrongFormat_error() throws IOException {
         // Given
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
 
-        when(jsonConverter.toJsonField(any(InputStream.class), eq(REQUESTED_EXECUTION_DATE_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_FORMAT_DATE));
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq(REQUESTED_EXECUTION_DATE_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_FORMAT_DATE));
 
         // When
         validator.validateDateFormat(mockRequest, PAYMENT_DATE_FIELDS.getDateFields(), messageError);
@@ -88,11 +89,11 @@ public class DateFieldValidatorImplTest {
     }
 
     @Test
-    public void validate_requestedExecutionDateWrongValue_success() {
+    public void validate_requestedExecutionDateWrongValue_success() throws IOException {
         // Given
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
 
-        when(jsonConverter.toJsonField(any(InputStream.class), eq(REQUESTED_EXECUTION_DATE_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_FORMAT_DATE));
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq(REQUESTED_EXECUTION_DATE_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_FORMAT_DATE));
 
         // When
         validator.validateDateFormat(mockRequest, PAYMENT_DATE_FIELDS.getDateFields(), messageError);
@@ -102,11 +103,11 @@ public class DateFieldValidatorImplTest {
     }
 
     @Test
-    public void validate_requestedExecutionTimeWrongValue_wrongFormat_error() {
+    public void validate_requestedExecutionTimeWrongValue_wrongFormat_error() throws IOException {
         // Given
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
 
-        when(jsonConverter.toJsonField(any(InputStream.class), eq(REQUESTED_EXECUTION_TIME_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_FORMAT_TIME));
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq(REQUESTED_EXECUTION_TIME_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_FORMAT_TIME));
 
         // When
         validator.validateDateFormat(mockRequest, PAYMENT_DATE_FIELDS.getDateFields(), messageError);
@@ -116,11 +117,11 @@ public class DateFieldValidatorImplTest {
     }
 
     @Test
-    public void validate_requestedExecutionTimeWrongValue_success() {
+    public void validate_requestedExecutionTimeWrongValue_success() throws IOException {
         // Given
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
 
-        when(jsonConverter.toJsonField(any(InputStream.class), eq(REQUESTED_EXECUTION_TIME_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_FORMAT_TIME));
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq(REQUESTED_EXECUTION_TIME_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_FORMAT_TIME));
 
         // When
         validator.validateDateFormat(mockRequest, PAYMENT_DATE_FIELDS.getDateFields(), messageError);
@@ -130,11 +131,11 @@ public class DateFieldValidatorImplTest {
     }
 
     @Test
-    public void validate_dayOfExecutionWrongValue_wrongFormat_error() {
+    public void validate_dayOfExecutionWrongValue_wrongFormat_error() throws IOException {
         // Given
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
 
-        when(jsonConverter.toJsonField(any(InputStream.class), eq(DAY_OF_EXECUTION_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_DAY_OF_MONTH));
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq(DAY_OF_EXECUTION_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_DAY_OF_MONTH));
 
         // When
         validator.validateDayOfExecution(mockRequest, messageError);
@@ -144,11 +145,11 @@ public class DateFieldValidatorImplTest {
     }
 
     @Test
-    public void validate_dayOfExecutionWrongValue_success() {
+    public void validate_dayOfExecutionWrongValue_success() throws IOException {
         // Given
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
 
-        when(jsonConverter.toJsonField(any(InputStream.class), eq(DAY_OF_EXECUTION_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_DAY_OF_MONTH));
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq(DAY_OF_EXECUTION_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_DAY_OF_MONTH));
 
         // When
         validator.validateDayOfExecution(mockRequest, messageError);
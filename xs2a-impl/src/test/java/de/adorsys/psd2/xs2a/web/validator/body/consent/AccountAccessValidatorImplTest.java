@@ -40,7 +40,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.mock.web.MockHttpServletRequest;
 
 import javax.servlet.http.HttpServletRequest;
-import java.io.InputStream;
+import java.io.IOException;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
@@ -193,9 +193,9 @@ public class AccountAccessValidatorImplTest {
     }
 
     @Test
-    public void validate_validUntilDateWrongValue_wrongFormat_error() {
+    public void validate_validUntilDateWrongValue_wrongFormat_error() throws IOException {
         // Given
-        when(jsonConverter.toJsonField(any(InputStream.class), eq(VALID_UNTIL_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_FORMAT_DATE));
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq(VALID_UNTIL_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_FORMAT_DATE));
 
         // When
         validator.validate(request, messageError);
@@ -205,9 +205,9 @@ public class AccountAccessValidatorImplTest {
     }
 
     @Test
-    public void validate_requestedExecutionDateCorrectValue_success() {
+    public void validate_requestedExecutionDateCorrectValue_success() throws IOException {
         // Given
-        when(jsonConverter.toJsonField(any(InputStream.class), eq(VALID_UNTIL_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_FORMAT_DATE));
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq(VALID_UNTIL_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_FORMAT_DATE));
 
         // When
         validator.validate(request, messageError);
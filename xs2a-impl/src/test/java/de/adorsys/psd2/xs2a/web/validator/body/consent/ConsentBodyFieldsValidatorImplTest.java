@@ -78,7 +78,7 @@ public class ConsentBodyFieldsValidatorImplTest {
     @Before
     public void setUp() throws IOException {
         // noinspection unchecked
-        when(jsonConverter.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class)))
             .thenReturn(Optional.empty());
 
         consents = jsonReader.getObjectFromFile("json/validation/ais/consents.json", Consents.class);
@@ -94,14 +94,14 @@ public class ConsentBodyFieldsValidatorImplTest {
     }
 
     @Test
-    public void validate_success() {
+    public void validate_success() throws IOException {
         // Given
         Map<String, Object> accessMap = new HashMap<>();
         accessMap.put("availableAccounts", "allAccounts");
         accessMap.put("allPsd2", "allAccounts");
 
         // noinspection unchecked
-        when(jsonConverter.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -124,7 +124,7 @@ public class ConsentBodyFieldsValidatorImplTest {
         accessMap.put("allPsd2", "allAccounts");
 
         // noinspection unchecked
-        when(jsonConverter.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -147,7 +147,7 @@ public class ConsentBodyFieldsValidatorImplTest {
         accessMap.put("availableAccounts", "allAccounts");
 
         // noinspection unchecked
-        when(jsonConverter.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -170,7 +170,7 @@ public class ConsentBodyFieldsValidatorImplTest {
         accessMap.put("availableAccountsWithBalances", "allAccounts");
 
         // noinspection unchecked
-        when(jsonConverter.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -251,7 +251,7 @@ public class ConsentBodyFieldsValidatorImplTest {
         Map<String, Object> accessMap = new HashMap<>();
         accessMap.put("availableAccounts", "Accounts");
 
-        when(jsonConverter.toJsonField(any(InputStream.class), eq("access"), any(TypeReference.class)))
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq("access"), any(TypeReference.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -272,7 +272,7 @@ public class ConsentBodyFieldsValidatorImplTest {
         accessMap.put("availableAccounts", 1);
 
         // noinspection unchecked
-        when(jsonConverter.toJsonField(any(InputStream.class), eq("access"), any(TypeReference.class)))
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq("access"), any(TypeReference.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -293,7 +293,7 @@ public class ConsentBodyFieldsValidatorImplTest {
         accessMap.put("allPsd2", "AllAccounts");
 
         // noinspection unchecked
-        when(jsonConverter.toJsonField(any(InputStream.class), eq("access"), any(TypeReference.class)))
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq("access"), any(TypeReference.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -314,7 +314,7 @@ public class ConsentBodyFieldsValidatorImplTest {
         accessMap.put("allPsd2", 1);
 
         // noinspection unchecked
-        when(jsonConverter.toJsonField(any(InputStream.class), eq("access"), any(TypeReference.class)))
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq("access"), any(TypeReference.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -334,7 +334,7 @@ public class ConsentBodyFieldsValidatorImplTest {
         Map<String, Object> accessMap = new HashMap<>();
         accessMap.put("availableAccountsWithBalances", "Accounts");
 
-        when(jsonConverter.toJsonField(any(InputStream.class), eq("access"), any(TypeReference.class)))
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq("access"), any(TypeReference.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -355,7 +355,7 @@ public class ConsentBodyFieldsValidatorImplTest {
         accessMap.put("availableAccountsWithBalances", 1);
 
         // noinspection unchecked
-        when(jsonConverter.toJsonField(any(InputStream.class), eq("access"), any(TypeReference.class)))
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq("access"), any(TypeReference.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -382,9 +382,9 @@ public class ConsentBodyFieldsValidatorImplTest {
     }
 
     @Test
-    public void validate_validUntilDateWrongValue_wrongFormat_error() {
+    public void validate_validUntilDateWrongValue_wrongFormat_error() throws IOException {
         // Given
-        when(jsonConverter.toJsonField(any(InputStream.class), eq(VALID_UNTIL_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_FORMAT_DATE));
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq(VALID_UNTIL_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_FORMAT_DATE));
 
         // When
         validator.validate(request, messageError);
@@ -394,9 +394,9 @@ public class ConsentBodyFieldsValidatorImplTest {
     }
 
     @Test
-    public void validate_requestedExecutionDateCorrectValue_success() {
+    public void validate_requestedExecutionDateCorrectValue_success() throws IOException {
         // Given
-        when(jsonConverter.toJsonField(any(InputStream.class), eq(VALID_UNTIL_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_FORMAT_DATE));
+        when(jsonConverter.toJsonField(any(HttpServletRequest.class), eq(VALID_UNTIL_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_FORMAT_DATE));
 
         // When
         validator.validate(request, messageError);
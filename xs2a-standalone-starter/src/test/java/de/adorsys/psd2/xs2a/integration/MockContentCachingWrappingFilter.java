@@ -17,6 +17,7 @@
 package de.adorsys.psd2.xs2a.integration;
 
 import de.adorsys.psd2.xs2a.web.filter.ContentCachingWrappingFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.servlet.http.HttpServletRequest;
@@ -28,6 +29,13 @@ import javax.servlet.http.HttpServletRequest;
 // TODO: remove this mock filter and properly enable XS2A filters for integration tests https://git.adorsys.de/adorsys/xs2a/aspsp-xs2a/issues/815
 @Component
 public class MockContentCachingWrappingFilter extends ContentCachingWrappingFilter {
+    public MockContentCachingWrappingFilter(@Value("${xs2a.request-log.response-body.max-size:65536}") int responseCaptureMaxSize,
+                                            @Value("${xs2a.request-log.response-body.excluded-paths:}") String[] responseCaptureExcludedPaths,
+                                            @Value("${xs2a.request-body.buffer-pool.size:16}") int requestBodyBufferPoolSize,
+                                            @Value("${xs2a.request-body.buffer-pool.max-retained-size:65536}") int requestBodyBufferMaxRetainedSize) {
+        super(responseCaptureMaxSize, responseCaptureExcludedPaths, requestBodyBufferPoolSize, requestBodyBufferMaxRetainedSize);
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         return false;